@@ -0,0 +1,70 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.benchmarks.device.NullBatchRenderBackend;
+import de.lessvoid.nifty.render.batch.BatchRenderConfiguration;
+import de.lessvoid.nifty.render.batch.BatchRenderDevice;
+import de.lessvoid.nifty.tools.Color;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the work of the {@link BatchRenderDevice} for a frame of quads. The backend does not render anything, so
+ * this covers the clipping, the batching and the retained mode bookkeeping until the quads reach
+ * {@link de.lessvoid.nifty.render.batch.spi.BatchRenderBackend#addQuad}.
+ *
+ * @author void
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BatchRenderDeviceBenchmark {
+  private static final int QUAD_SIZE = 16;
+
+  @Param({"1000", "10000"})
+  public int quadCount;
+
+  @Param({"false", "true"})
+  public boolean retainedMode;
+
+  private NullBatchRenderBackend renderBackend;
+  private BatchRenderDevice renderDevice;
+  private final Color color = new Color(1.f, 0.5f, 0.25f, 1.f);
+
+  @Setup(Level.Trial)
+  public void setup() {
+    BenchmarkScreens.disableLogging();
+    BatchRenderConfiguration configuration = new BatchRenderConfiguration();
+    configuration.useRetainedMode = retainedMode;
+    renderBackend = new NullBatchRenderBackend(BenchmarkScreens.WIDTH, BenchmarkScreens.HEIGHT);
+    renderDevice = new BatchRenderDevice(renderBackend, configuration);
+  }
+
+  @Benchmark
+  public int renderQuads() {
+    final int columns = BenchmarkScreens.WIDTH / QUAD_SIZE;
+    renderDevice.beginFrame();
+    renderDevice.enableClip(8, 8, BenchmarkScreens.WIDTH - 8, BenchmarkScreens.HEIGHT - 8);
+    for (int i = 0; i < quadCount; i++) {
+      renderDevice.renderQuad((i % columns) * QUAD_SIZE, (i / columns) * QUAD_SIZE % BenchmarkScreens.HEIGHT,
+          QUAD_SIZE, QUAD_SIZE, color);
+    }
+    renderDevice.disableClip();
+    renderDevice.endFrame();
+    return renderBackend.getQuadCount();
+  }
+}
@@ -0,0 +1,134 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.benchmarks.device.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.spi.render.RenderDevice;
+import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+
+/**
+ * Creates the synthetic screens the benchmarks run against.
+ *
+ * @author void
+ */
+public final class BenchmarkScreens {
+  public static final String SCREEN_ID = "start";
+  public static final int WIDTH = 1024;
+  public static final int HEIGHT = 768;
+
+  /**
+   * The number of children of each panel of the generated element trees.
+   */
+  private static final int CHILDREN_PER_PANEL = 8;
+
+  private BenchmarkScreens() {
+  }
+
+  /**
+   * Only log severe problems. Logging would dominate the measurements otherwise.
+   */
+  public static void disableLogging() {
+    Logger.getLogger("de.lessvoid").setLevel(Level.SEVERE);
+  }
+
+  /**
+   * Create a new Nifty instance that uses the given RenderDevice and stub devices for everything else.
+   */
+  @Nonnull
+  public static Nifty createNifty(@Nonnull final RenderDevice renderDevice) {
+    disableLogging();
+    return new Nifty(renderDevice, new NullSoundDevice(), new NullInputSystem(), new AccurateTimeProvider());
+  }
+
+  /**
+   * Load the given xml into the Nifty instance and start its screen.
+   */
+  @Nonnull
+  public static Screen startScreen(@Nonnull final Nifty nifty, @Nonnull final String xml) {
+    nifty.fromXml("benchmark.xml", new ByteArrayInputStream(toBytes(xml)), SCREEN_ID);
+    nifty.update();
+    Screen screen = nifty.getCurrentScreen();
+    if (screen == null) {
+      throw new IllegalStateException("The benchmark screen could not be started.");
+    }
+    return screen;
+  }
+
+  /**
+   * Create the xml of a screen with a single layer that contains a tree of panels with the given number of elements.
+   * The layout managers of the panels alternate between vertical and horizontal. Each panel has a background color so
+   * that it renders a quad and every third panel is visible to mouse events.
+   */
+  @Nonnull
+  public static String createPanelTreeXml(final int elementCount) {
+    StringBuilder xml = new StringBuilder();
+    xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    xml.append("<nifty xmlns=\"http://nifty-gui.lessvoid.com/nifty-gui\">\n");
+    xml.append("<screen id=\"").append(SCREEN_ID).append("\">\n");
+    xml.append("<layer id=\"layer\" childLayout=\"vertical\">\n");
+    // element 0 is the layer, the children of element i are the elements i * CHILDREN_PER_PANEL + 1 ...
+    for (int i = 1; i <= CHILDREN_PER_PANEL && i < elementCount; i++) {
+      appendPanel(xml, i, elementCount, 1);
+    }
+    xml.append("</layer>\n");
+    xml.append("</screen>\n");
+    xml.append("</nifty>\n");
+    return xml.toString();
+  }
+
+  /**
+   * Create the xml of a screen with a single text element that wraps the given text.
+   */
+  @Nonnull
+  public static String createTextXml(@Nonnull final String text) {
+    return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+        "<nifty xmlns=\"http://nifty-gui.lessvoid.com/nifty-gui\">\n" +
+        "<screen id=\"" + SCREEN_ID + "\">\n" +
+        "<layer id=\"layer\" childLayout=\"vertical\">\n" +
+        "<text id=\"text\" font=\"benchmark.fnt\" wrap=\"true\" width=\"100%\" text=\"" + text + "\"/>\n" +
+        "</layer>\n" +
+        "</screen>\n" +
+        "</nifty>\n";
+  }
+
+  @Nonnull
+  public static byte[] toBytes(@Nonnull final String xml) {
+    try {
+      return xml.getBytes("UTF-8");
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void appendPanel(
+      @Nonnull final StringBuilder xml,
+      final int index,
+      final int elementCount,
+      final int depth) {
+    xml.append("<panel id=\"p").append(index).append('"');
+    xml.append(" width=\"*\" height=\"*\"");
+    xml.append(" childLayout=\"").append(depth % 2 == 0 ? "vertical" : "horizontal").append('"');
+    xml.append(" backgroundColor=\"#").append(Integer.toHexString(index % 15 + 1)).append("00f\"");
+    if (index % 3 == 0) {
+      xml.append(" visibleToMouse=\"true\"");
+    }
+
+    final int firstChild = index * CHILDREN_PER_PANEL + 1;
+    if (firstChild >= elementCount) {
+      xml.append("/>\n");
+      return;
+    }
+    xml.append(">\n");
+    for (int i = firstChild; i < firstChild + CHILDREN_PER_PANEL && i < elementCount; i++) {
+      appendPanel(xml, i, elementCount, depth + 1);
+    }
+    xml.append("</panel>\n");
+  }
+}
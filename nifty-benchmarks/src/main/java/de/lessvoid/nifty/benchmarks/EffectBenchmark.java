@@ -0,0 +1,124 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.benchmarks.device.RecordingRenderDevice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders frames of a screen with the given number of active effects (fade, colorPulsate and move on panels or
+ * textSize and textSizePulsate on text elements). Run this with the gc profiler ({@code -prof gc}) and check
+ * {@code gc.alloc.rate.norm}: executing the effects should not allocate anything, so the bytes allocated per frame
+ * must not grow with the number of effects.
+ *
+ * @author void
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EffectBenchmark {
+  @Param({"0", "500"})
+  public int effectCount;
+
+  @Param({"false", "true"})
+  public boolean textEffects;
+
+  private RecordingRenderDevice renderDevice;
+  private Nifty nifty;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    renderDevice = new RecordingRenderDevice(BenchmarkScreens.WIDTH, BenchmarkScreens.HEIGHT);
+    nifty = BenchmarkScreens.createNifty(renderDevice);
+    BenchmarkScreens.startScreen(
+        nifty, textEffects ? createTextEffectXml(effectCount) : createEffectXml(effectCount));
+  }
+
+  @Benchmark
+  public int renderFrame() {
+    renderDevice.reset();
+    nifty.update();
+    nifty.render(true);
+    return renderDevice.getCallCount();
+  }
+
+  @Nonnull
+  private static String createEffectXml(final int effectCount) {
+    StringBuilder xml = new StringBuilder();
+    xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    xml.append("<nifty xmlns=\"http://nifty-gui.lessvoid.com/nifty-gui\">\n");
+    xml.append("<registerEffect name=\"fade\" class=\"de.lessvoid.nifty.effects.impl.Fade\"/>\n");
+    xml.append("<registerEffect name=\"colorPulsate\" class=\"de.lessvoid.nifty.effects.impl.ColorPulsate\"/>\n");
+    xml.append("<registerEffect name=\"move\" class=\"de.lessvoid.nifty.effects.impl.Move\"/>\n");
+    xml.append("<screen id=\"").append(BenchmarkScreens.SCREEN_ID).append("\">\n");
+    xml.append("<layer id=\"layer\" childLayout=\"absolute\">\n");
+    // a panel has up to three effects so that every kind of effect is executed about the same number of times
+    int panelCount = (effectCount + 2) / 3;
+    for (int i = 0; i < panelCount; i++) {
+      xml.append("<panel id=\"p").append(i).append('"');
+      xml.append(" x=\"").append(i % 32 * 32).append("px\" y=\"").append(i / 32 * 24).append("px\"");
+      xml.append(" width=\"32px\" height=\"24px\" backgroundColor=\"#f00f\">\n");
+      xml.append("<effect>\n");
+      xml.append("<onActive name=\"fade\" start=\"#0\" end=\"#f\" length=\"infinite\"/>\n");
+      if (i * 3 + 1 < effectCount) {
+        xml.append("<onActive name=\"colorPulsate\" startColor=\"#f00f\" endColor=\"#00ff\" period=\"1000\"");
+        xml.append(" length=\"infinite\"/>\n");
+      }
+      if (i * 3 + 2 < effectCount) {
+        xml.append("<onActive name=\"move\" mode=\"toOffset\" offsetX=\"10\" offsetY=\"10\" length=\"infinite\"/>\n");
+      }
+      xml.append("</effect>\n");
+      xml.append("</panel>\n");
+    }
+    xml.append("</layer>\n");
+    xml.append("</screen>\n");
+    xml.append("</nifty>\n");
+    return xml.toString();
+  }
+
+  @Nonnull
+  private static String createTextEffectXml(final int effectCount) {
+    StringBuilder xml = new StringBuilder();
+    xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    xml.append("<nifty xmlns=\"http://nifty-gui.lessvoid.com/nifty-gui\">\n");
+    xml.append("<registerEffect name=\"textSize\" class=\"de.lessvoid.nifty.effects.impl.TextSize\"/>\n");
+    xml.append("<registerEffect name=\"textSizePulsate\" class=\"de.lessvoid.nifty.effects.impl.TextSizePulsate\"/>\n");
+    xml.append("<screen id=\"").append(BenchmarkScreens.SCREEN_ID).append("\">\n");
+    xml.append("<layer id=\"layer\" childLayout=\"absolute\">\n");
+    // a text has up to two effects so that both kinds of effect are executed about the same number of times
+    int textCount = (effectCount + 1) / 2;
+    for (int i = 0; i < textCount; i++) {
+      xml.append("<text id=\"t").append(i).append("\" font=\"benchmark.fnt\" text=\"Effect ").append(i).append('"');
+      xml.append(" x=\"").append(i % 16 * 64).append("px\" y=\"").append(i / 16 * 24).append("px\"");
+      xml.append(" width=\"64px\" height=\"24px\">\n");
+      xml.append("<effect>\n");
+      xml.append("<onActive name=\"textSize\" startSize=\"1.0\" endSize=\"1.5\" length=\"infinite\"/>\n");
+      if (i * 2 + 1 < effectCount) {
+        xml.append("<onActive name=\"textSizePulsate\" startSize=\"100%\" endSize=\"150%\" period=\"1000\"");
+        xml.append(" length=\"infinite\"/>\n");
+      }
+      xml.append("</effect>\n");
+      xml.append("</text>\n");
+    }
+    xml.append("</layer>\n");
+    xml.append("</screen>\n");
+    xml.append("</nifty>\n");
+    return xml.toString();
+  }
+}
@@ -0,0 +1,59 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.benchmarks.device.RecordingRenderDevice;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.screen.Screen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a complete layout of synthetic element trees with {@link Element#layoutElements()}.
+ *
+ * @author void
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LayoutBenchmark {
+  @Param({"1000", "10000", "50000"})
+  public int elementCount;
+
+  private List<Element> layers;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Nifty nifty = BenchmarkScreens.createNifty(
+        new RecordingRenderDevice(BenchmarkScreens.WIDTH, BenchmarkScreens.HEIGHT));
+    Screen screen = BenchmarkScreens.startScreen(nifty, BenchmarkScreens.createPanelTreeXml(elementCount));
+    layers = screen.getLayerElements();
+  }
+
+  @Benchmark
+  public int layoutElements() {
+    int width = 0;
+    for (int i = 0; i < layers.size(); i++) {
+      Element layer = layers.get(i);
+      layer.invalidateLayout();
+      layer.layoutElements();
+      width += layer.getWidth();
+    }
+    return width;
+  }
+}
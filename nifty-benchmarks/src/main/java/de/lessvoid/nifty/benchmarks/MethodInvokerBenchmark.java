@@ -0,0 +1,106 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.NiftyMethodInvoker;
+import de.lessvoid.nifty.benchmarks.device.RecordingRenderDevice;
+import de.lessvoid.xml.tools.MethodInvoker;
+import de.lessvoid.xml.tools.MethodResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the invoke of an interact method, e.g. "onSelect(1, next)" from the xml, using {@link NiftyMethodInvoker}
+ * and {@link MethodInvoker}. The "resolveEveryInvoke" benchmark shows the old behaviour that looked up the method
+ * and parsed the constant parameters on every single invoke.
+ *
+ * @author void
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MethodInvokerBenchmark {
+  @Param({"onClick()", "onSelect(1, next)"})
+  public String method;
+
+  private Controller controller;
+  private NiftyMethodInvoker niftyMethodInvoker;
+  private MethodInvoker methodInvoker;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    BenchmarkScreens.disableLogging();
+    Nifty nifty = BenchmarkScreens.createNifty(
+        new RecordingRenderDevice(BenchmarkScreens.WIDTH, BenchmarkScreens.HEIGHT));
+    controller = new Controller();
+    niftyMethodInvoker = new NiftyMethodInvoker(nifty, method, controller);
+    methodInvoker = new MethodInvoker(method, controller);
+  }
+
+  @Benchmark
+  public int resolveEveryInvoke() throws Exception {
+    Method m = MethodResolver.findMethod(controller.getClass(), method);
+    Object[] parameters = MethodResolver.extractParameters(method);
+    if (parameters.length == m.getParameterTypes().length) {
+      m.invoke(controller, parameters);
+    } else {
+      m.invoke(controller);
+    }
+    return controller.count;
+  }
+
+  @Benchmark
+  public int niftyMethodInvoker() {
+    niftyMethodInvoker.performInvoke();
+    return controller.count;
+  }
+
+  @Benchmark
+  public int methodInvoker() {
+    methodInvoker.invoke();
+    return controller.count;
+  }
+
+  /**
+   * A typical controller with some more public methods the method lookup has to skip.
+   */
+  public static class Controller {
+    private int count;
+
+    public void bind() {
+    }
+
+    public void onStartScreen() {
+    }
+
+    public void onEndScreen() {
+    }
+
+    public boolean inputEvent() {
+      return false;
+    }
+
+    public void onClick() {
+      count++;
+    }
+
+    public void onSelect(final String index, final String action) {
+      count += index.length() + action.length();
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.benchmarks.device.RecordingRenderDevice;
+import de.lessvoid.nifty.input.NiftyMouseInputEvent;
+import de.lessvoid.nifty.screen.Screen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the hit testing of mouse move events in {@link Screen#mouseEvent(NiftyMouseInputEvent)} with and without
+ * the mouse hit index (see {@link Nifty#setMouseHitIndex(boolean)}).
+ *
+ * @author void
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MouseHitTestBenchmark {
+  private static final int EVENT_COUNT = 256;
+
+  @Param({"1000", "10000", "50000"})
+  public int elementCount;
+
+  @Param({"false", "true"})
+  public boolean mouseHitIndex;
+
+  private Screen screen;
+  private NiftyMouseInputEvent[] events;
+  private int nextEvent;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Nifty nifty = BenchmarkScreens.createNifty(
+        new RecordingRenderDevice(BenchmarkScreens.WIDTH, BenchmarkScreens.HEIGHT));
+    nifty.setMouseHitIndex(mouseHitIndex);
+    screen = BenchmarkScreens.startScreen(nifty, BenchmarkScreens.createPanelTreeXml(elementCount));
+
+    Random random = new Random(42);
+    events = new NiftyMouseInputEvent[EVENT_COUNT];
+    for (int i = 0; i < events.length; i++) {
+      events[i] = new NiftyMouseInputEvent();
+      events[i].initialize(
+          random.nextInt(BenchmarkScreens.WIDTH), random.nextInt(BenchmarkScreens.HEIGHT), 0, false, false, false);
+    }
+  }
+
+  @Benchmark
+  public boolean mouseMove() {
+    NiftyMouseInputEvent event = events[nextEvent];
+    nextEvent = (nextEvent + 1) % events.length;
+    return screen.mouseEvent(event);
+  }
+}
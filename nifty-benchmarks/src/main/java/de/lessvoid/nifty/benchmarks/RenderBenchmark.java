@@ -0,0 +1,58 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.benchmarks.device.RecordingRenderDevice;
+import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.screen.Screen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the traversal of the element tree in {@link Screen#renderLayers(NiftyRenderEngine)} through the
+ * {@link de.lessvoid.nifty.render.NiftyRenderEngineImpl} into a RenderDevice that only counts the calls.
+ *
+ * @author void
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RenderBenchmark {
+  @Param({"1000", "10000", "50000"})
+  public int elementCount;
+
+  private RecordingRenderDevice renderDevice;
+  private NiftyRenderEngine renderEngine;
+  private Screen screen;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    renderDevice = new RecordingRenderDevice(BenchmarkScreens.WIDTH, BenchmarkScreens.HEIGHT);
+    Nifty nifty = BenchmarkScreens.createNifty(renderDevice);
+    screen = BenchmarkScreens.startScreen(nifty, BenchmarkScreens.createPanelTreeXml(elementCount));
+    renderEngine = nifty.getRenderEngine();
+  }
+
+  @Benchmark
+  public int renderLayers() {
+    renderDevice.reset();
+    renderEngine.beginFrame();
+    screen.renderLayers(renderEngine);
+    renderEngine.endFrame();
+    return renderDevice.getCallCount();
+  }
+}
@@ -0,0 +1,59 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.benchmarks.device.RecordingRenderDevice;
+import de.lessvoid.nifty.render.NiftyRenderEngineImpl;
+import de.lessvoid.nifty.tools.Color;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link NiftyRenderEngineImpl#saveStates()} and {@link NiftyRenderEngineImpl#restoreStates()} the way the
+ * elements use them while rendering: nested saves with only a few states changed on each level.
+ *
+ * @author void
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RenderStateBenchmark {
+  @Param({"1", "8", "32"})
+  public int depth;
+
+  private NiftyRenderEngineImpl renderEngine;
+  private final Color color = new Color(1.f, 1.f, 1.f, 0.5f);
+
+  @Setup(Level.Trial)
+  public void setup() {
+    BenchmarkScreens.disableLogging();
+    renderEngine = new NiftyRenderEngineImpl(
+        new RecordingRenderDevice(BenchmarkScreens.WIDTH, BenchmarkScreens.HEIGHT));
+  }
+
+  @Benchmark
+  public boolean saveAndRestore() {
+    for (int i = 0; i < depth; i++) {
+      renderEngine.saveStates();
+      renderEngine.moveToRelative(1, 1);
+      renderEngine.setColorAlpha(color.getAlpha());
+    }
+    for (int i = 0; i < depth; i++) {
+      renderEngine.restoreStates();
+    }
+    return renderEngine.isColorAlphaChanged();
+  }
+}
@@ -0,0 +1,98 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.benchmarks.device.NullBatchRenderBackend;
+import de.lessvoid.nifty.render.batch.BatchRenderConfiguration;
+import de.lessvoid.nifty.render.batch.BatchRenderDevice;
+import de.lessvoid.nifty.spi.render.RenderFont;
+import de.lessvoid.nifty.tools.Color;
+import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BatchRenderDevice#renderFont} for a frame of text lines, with and without inline color markup
+ * ({@code \#f00#}). The backend does not render anything, so this covers the glyph lookup and the markup handling
+ * until the glyph quads reach the backend.
+ *
+ * @author void
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TextRenderBenchmark {
+  private static final String FONT = "aurulent-sans-16.fnt";
+  private static final String[] WORDS = {"The", "quick", "brown", "fox", "jumps", "over", "the", "lazy", "dog."};
+  private static final String[] COLORS = {"\\#f00#", "\\#0f0#", "\\#00f#", "\\#fff#"};
+
+  @Param({"1000", "10000"})
+  public int glyphCount;
+
+  @Param({"false", "true"})
+  public boolean inlineColors;
+
+  private NullBatchRenderBackend renderBackend;
+  private BatchRenderDevice renderDevice;
+  private RenderFont font;
+  private String[] lines;
+  private final Color color = new Color(1.f, 1.f, 1.f, 1.f);
+
+  @Setup(Level.Trial)
+  public void setup() {
+    BenchmarkScreens.disableLogging();
+    renderBackend = new NullBatchRenderBackend(BenchmarkScreens.WIDTH, BenchmarkScreens.HEIGHT);
+    renderDevice = new BatchRenderDevice(renderBackend, new BatchRenderConfiguration());
+    renderDevice.setResourceLoader(new NiftyResourceLoader());
+    font = renderDevice.createFont(FONT);
+    lines = createLines(glyphCount, inlineColors);
+  }
+
+  @Benchmark
+  public int renderText() {
+    renderDevice.beginFrame();
+    for (int i = 0; i < lines.length; i++) {
+      renderDevice.renderFont(font, lines[i], 0, i * font.getHeight() % BenchmarkScreens.HEIGHT, color, 1.f, 1.f);
+    }
+    renderDevice.endFrame();
+    return renderBackend.getQuadCount();
+  }
+
+  /**
+   * Create lines of about 60 glyphs until there are the given number of glyphs. With inline colors every word gets
+   * its own color.
+   */
+  private static String[] createLines(final int glyphCount, final boolean inlineColors) {
+    final int glyphsPerLine = 60;
+    String[] result = new String[(glyphCount + glyphsPerLine - 1) / glyphsPerLine];
+    int word = 0;
+    for (int i = 0; i < result.length; i++) {
+      StringBuilder line = new StringBuilder();
+      int glyphs = 0;
+      while (glyphs < glyphsPerLine) {
+        if (inlineColors) {
+          line.append(COLORS[word % COLORS.length]);
+        }
+        String text = WORDS[word % WORDS.length] + ' ';
+        line.append(text);
+        glyphs += text.length();
+        word++;
+      }
+      result[i] = line.toString();
+    }
+    return result;
+  }
+}
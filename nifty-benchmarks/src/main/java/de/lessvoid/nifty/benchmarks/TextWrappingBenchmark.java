@@ -0,0 +1,78 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.benchmarks.device.RecordingRenderDevice;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.render.TextRenderer;
+import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.tools.SizeValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the automatic line wrapping of the {@link TextRenderer}.
+ *
+ * @author void
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TextWrappingBenchmark {
+  private static final String SENTENCE = "The quick brown fox jumps over the lazy dog. ";
+
+  @Param({"10", "100"})
+  public int sentenceCount;
+
+  @Param({"200", "800"})
+  public int width;
+
+  private NiftyRenderEngine renderEngine;
+  private Element element;
+  private TextRenderer textRenderer;
+  private SizeValue widthConstraint;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < sentenceCount; i++) {
+      text.append(SENTENCE);
+    }
+
+    Nifty nifty = BenchmarkScreens.createNifty(
+        new RecordingRenderDevice(BenchmarkScreens.WIDTH, BenchmarkScreens.HEIGHT));
+    Screen screen = BenchmarkScreens.startScreen(nifty, BenchmarkScreens.createTextXml(text.toString()));
+    renderEngine = nifty.getRenderEngine();
+    element = screen.findElementById("text");
+    if (element == null) {
+      throw new IllegalStateException("The text element of the benchmark screen is missing.");
+    }
+    textRenderer = element.getRenderer(TextRenderer.class);
+    if (textRenderer == null) {
+      throw new IllegalStateException("The text element of the benchmark screen has no TextRenderer.");
+    }
+    widthConstraint = SizeValue.px(width);
+  }
+
+  @Benchmark
+  public int wrapText() {
+    textRenderer.resetLayout(element);
+    textRenderer.setWidthConstraint(element, widthConstraint, BenchmarkScreens.WIDTH, renderEngine);
+    return textRenderer.getTextHeight();
+  }
+}
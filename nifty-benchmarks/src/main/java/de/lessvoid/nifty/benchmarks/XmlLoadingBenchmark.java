@@ -0,0 +1,85 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.benchmarks.device.RecordingRenderDevice;
+import de.lessvoid.nifty.loaderv2.NiftyLoader;
+import de.lessvoid.nifty.loaderv2.XmlDefinitionCache;
+import de.lessvoid.nifty.loaderv2.compiled.NiftyXmlCompiler;
+import de.lessvoid.nifty.loaderv2.types.NiftyType;
+import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of a nifty xml with {@link NiftyLoader#loadNiftyXml(String, java.io.InputStream)} and the
+ * validation of the same xml against the nifty schema. The same xml is loaded from its compiled form with
+ * {@link NiftyLoader#loadCompiledNiftyXml(java.io.InputStream)} and from a {@link XmlDefinitionCache} that already
+ * contains it, which is what happens when the same xml is loaded again or by another Nifty instance.
+ *
+ * @author void
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class XmlLoadingBenchmark {
+  @Param({"100", "1000", "10000"})
+  public int elementCount;
+
+  private Nifty nifty;
+  private NiftyLoader loader;
+  private NiftyLoader cachedLoader;
+  private byte[] xml;
+  private byte[] compiledXml;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    nifty = BenchmarkScreens.createNifty(new RecordingRenderDevice(BenchmarkScreens.WIDTH, BenchmarkScreens.HEIGHT));
+    loader = nifty.getLoader();
+    cachedLoader = new NiftyLoader(nifty, new AccurateTimeProvider());
+    cachedLoader.setDefinitionCache(new XmlDefinitionCache(XmlDefinitionCache.DEFAULT_MAX_DEFINITIONS));
+    cachedLoader.registerSchema("nifty.nxs", nifty.getResourceAsStream("nifty.nxs"));
+    xml = BenchmarkScreens.toBytes(BenchmarkScreens.createPanelTreeXml(elementCount));
+    // fill the cache so the benchmark measures loading an xml that has been loaded before
+    cachedLoader.loadNiftyXml("nifty.nxs", new ByteArrayInputStream(xml));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new NiftyXmlCompiler(nifty.getResourceLoader()).compile("benchmark.xml", new ByteArrayInputStream(xml)).write(out);
+    compiledXml = out.toByteArray();
+  }
+
+  @Benchmark
+  public NiftyType loadNiftyXml() throws Exception {
+    return loader.loadNiftyXml("nifty.nxs", new ByteArrayInputStream(xml));
+  }
+
+  @Benchmark
+  public NiftyType loadCachedNiftyXml() throws Exception {
+    return cachedLoader.loadNiftyXml("nifty.nxs", new ByteArrayInputStream(xml));
+  }
+
+  @Benchmark
+  public NiftyType loadCompiledNiftyXml() throws Exception {
+    return loader.loadCompiledNiftyXml(new ByteArrayInputStream(compiledXml));
+  }
+
+  @Benchmark
+  public boolean validateNiftyXml() throws Exception {
+    return loader.validateNiftyXml("nifty.xsd", new ByteArrayInputStream(xml));
+  }
+}
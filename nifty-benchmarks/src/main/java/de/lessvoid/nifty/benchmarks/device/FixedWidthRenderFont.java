@@ -0,0 +1,45 @@
+package de.lessvoid.nifty.benchmarks.device;
+
+import de.lessvoid.nifty.spi.render.RenderFont;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A RenderFont where every character has the same width. Good enough to measure text layout without loading a real
+ * font.
+ *
+ * @author void
+ */
+public class FixedWidthRenderFont implements RenderFont {
+  private final int characterWidth;
+  private final int height;
+
+  public FixedWidthRenderFont(final int characterWidth, final int height) {
+    this.characterWidth = characterWidth;
+    this.height = height;
+  }
+
+  @Override
+  public int getWidth(@Nonnull final String text) {
+    return text.length() * characterWidth;
+  }
+
+  @Override
+  public int getWidth(@Nonnull final String text, final float size) {
+    return (int) (text.length() * characterWidth * size);
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public int getCharacterAdvance(final char currentCharacter, final char nextCharacter, final float size) {
+    return (int) (characterWidth * size);
+  }
+
+  @Override
+  public void dispose() {
+  }
+}
@@ -0,0 +1,170 @@
+package de.lessvoid.nifty.benchmarks.device;
+
+import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.render.batch.spi.BatchRenderBackend;
+import de.lessvoid.nifty.spi.render.MouseCursor;
+import de.lessvoid.nifty.tools.Color;
+import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+
+import java.nio.ByteBuffer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A BatchRenderBackend that does not talk to any graphics API. It only counts the quads and batches it receives so
+ * that the work of the {@link de.lessvoid.nifty.render.batch.BatchRenderDevice} can be measured on its own.
+ *
+ * @author void
+ */
+public class NullBatchRenderBackend implements BatchRenderBackend {
+  private static final int IMAGE_SIZE = 16;
+
+  private final int width;
+  private final int height;
+  private int nextTextureId = 1;
+  private int quadCount;
+  private int batchCount;
+
+  public NullBatchRenderBackend(final int width, final int height) {
+    this.width = width;
+    this.height = height;
+  }
+
+  /**
+   * The number of quads that have been added since the last call to {@link #beginFrame()}.
+   */
+  public int getQuadCount() {
+    return quadCount;
+  }
+
+  @Override
+  public void setResourceLoader(@Nonnull final NiftyResourceLoader resourceLoader) {
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public void beginFrame() {
+    quadCount = 0;
+    batchCount = 0;
+  }
+
+  @Override
+  public void endFrame() {
+  }
+
+  @Override
+  public void clear() {
+  }
+
+  @Nullable
+  @Override
+  public MouseCursor createMouseCursor(@Nonnull final String filename, final int hotspotX, final int hotspotY) {
+    return null;
+  }
+
+  @Override
+  public void enableMouseCursor(@Nonnull final MouseCursor mouseCursor) {
+  }
+
+  @Override
+  public void disableMouseCursor() {
+  }
+
+  @Override
+  public int createTextureAtlas(final int atlasWidth, final int atlasHeight) {
+    return nextTextureId++;
+  }
+
+  @Override
+  public void clearTextureAtlas(final int atlasTextureId) {
+  }
+
+  @Nonnull
+  @Override
+  public Image loadImage(@Nonnull final String filename) {
+    return new ByteBufferedImage(ByteBuffer.allocate(IMAGE_SIZE * IMAGE_SIZE * 4), IMAGE_SIZE, IMAGE_SIZE);
+  }
+
+  @Nullable
+  @Override
+  public Image loadImage(@Nonnull final ByteBuffer imageData, final int imageWidth, final int imageHeight) {
+    return new ByteBufferedImage(imageData, imageWidth, imageHeight);
+  }
+
+  @Override
+  public void addImageToAtlas(
+      @Nonnull final Image image,
+      final int atlasX,
+      final int atlasY,
+      final int atlasTextureId) {
+  }
+
+  @Override
+  public int createNonAtlasTexture(@Nonnull final Image image) {
+    return nextTextureId++;
+  }
+
+  @Override
+  public void deleteNonAtlasTexture(final int textureId) {
+  }
+
+  @Override
+  public boolean existsNonAtlasTexture(final int textureId) {
+    return textureId > 0 && textureId < nextTextureId;
+  }
+
+  @Override
+  public void addQuad(
+      final float x,
+      final float y,
+      final float width,
+      final float height,
+      @Nonnull final Color color1,
+      @Nonnull final Color color2,
+      @Nonnull final Color color3,
+      @Nonnull final Color color4,
+      final float textureX,
+      final float textureY,
+      final float textureWidth,
+      final float textureHeight,
+      final int textureId) {
+    quadCount++;
+  }
+
+  @Override
+  public void beginBatch(@Nonnull final BlendMode blendMode, final int textureId) {
+    batchCount++;
+  }
+
+  @Override
+  public int render() {
+    return batchCount;
+  }
+
+  @Override
+  public void removeImageFromAtlas(
+      @Nonnull final Image image,
+      final int atlasX,
+      final int atlasY,
+      final int imageWidth,
+      final int imageHeight,
+      final int atlasTextureId) {
+  }
+
+  @Override
+  public void useHighQualityTextures(final boolean shouldUseHighQualityTextures) {
+  }
+
+  @Override
+  public void fillRemovedImagesInAtlas(final boolean shouldFill) {
+  }
+}
@@ -0,0 +1,26 @@
+package de.lessvoid.nifty.benchmarks.device;
+
+import de.lessvoid.nifty.NiftyInputConsumer;
+import de.lessvoid.nifty.spi.input.InputSystem;
+import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+
+import javax.annotation.Nonnull;
+
+/**
+ * An InputSystem that never creates any input events. The benchmarks feed the events into Nifty directly.
+ *
+ * @author void
+ */
+public class NullInputSystem implements InputSystem {
+  @Override
+  public void setResourceLoader(@Nonnull final NiftyResourceLoader niftyResourceLoader) {
+  }
+
+  @Override
+  public void forwardEvents(@Nonnull final NiftyInputConsumer inputEventConsumer) {
+  }
+
+  @Override
+  public void setMousePosition(final int x, final int y) {
+  }
+}
@@ -0,0 +1,212 @@
+package de.lessvoid.nifty.benchmarks.device;
+
+import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.spi.render.MouseCursor;
+import de.lessvoid.nifty.spi.render.RenderDevice;
+import de.lessvoid.nifty.spi.render.RenderFont;
+import de.lessvoid.nifty.spi.render.RenderImage;
+import de.lessvoid.nifty.tools.Color;
+import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A RenderDevice that does not render anything but only counts the calls it receives. This allows to measure the
+ * work Nifty does when it renders a screen without the cost of an actual graphics API.
+ *
+ * @author void
+ */
+public class RecordingRenderDevice implements RenderDevice {
+  private final int width;
+  private final int height;
+  private int quadCount;
+  private int imageCount;
+  private int textCount;
+  private int clipCount;
+  private int blendModeCount;
+
+  public RecordingRenderDevice(final int width, final int height) {
+    this.width = width;
+    this.height = height;
+  }
+
+  /**
+   * Reset all counters.
+   */
+  public void reset() {
+    quadCount = 0;
+    imageCount = 0;
+    textCount = 0;
+    clipCount = 0;
+    blendModeCount = 0;
+  }
+
+  public int getQuadCount() {
+    return quadCount;
+  }
+
+  public int getImageCount() {
+    return imageCount;
+  }
+
+  public int getTextCount() {
+    return textCount;
+  }
+
+  public int getClipCount() {
+    return clipCount;
+  }
+
+  public int getBlendModeCount() {
+    return blendModeCount;
+  }
+
+  /**
+   * The sum of all calls that have been recorded since the last {@link #reset()}.
+   */
+  public int getCallCount() {
+    return quadCount + imageCount + textCount + clipCount + blendModeCount;
+  }
+
+  @Override
+  public void setResourceLoader(@Nonnull final NiftyResourceLoader niftyResourceLoader) {
+  }
+
+  @Nonnull
+  @Override
+  public RenderImage createImage(@Nonnull final String filename, final boolean filterLinear) {
+    return new RenderImage() {
+      @Override
+      public int getWidth() {
+        return 32;
+      }
+
+      @Override
+      public int getHeight() {
+        return 32;
+      }
+
+      @Override
+      public void dispose() {
+      }
+    };
+  }
+
+  @Nonnull
+  @Override
+  public RenderFont createFont(@Nonnull final String filename) {
+    return new FixedWidthRenderFont(8, 16);
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public void beginFrame() {
+  }
+
+  @Override
+  public void endFrame() {
+  }
+
+  @Override
+  public void clear() {
+  }
+
+  @Override
+  public void setBlendMode(@Nonnull final BlendMode renderMode) {
+    blendModeCount++;
+  }
+
+  @Override
+  public void renderQuad(final int x, final int y, final int width, final int height, @Nonnull final Color color) {
+    quadCount++;
+  }
+
+  @Override
+  public void renderQuad(
+      final int x,
+      final int y,
+      final int width,
+      final int height,
+      @Nonnull final Color topLeft,
+      @Nonnull final Color topRight,
+      @Nonnull final Color bottomRight,
+      @Nonnull final Color bottomLeft) {
+    quadCount++;
+  }
+
+  @Override
+  public void renderImage(
+      @Nonnull final RenderImage image,
+      final int x,
+      final int y,
+      final int width,
+      final int height,
+      @Nonnull final Color color,
+      final float imageScale) {
+    imageCount++;
+  }
+
+  @Override
+  public void renderImage(
+      @Nonnull final RenderImage image,
+      final int x,
+      final int y,
+      final int w,
+      final int h,
+      final int srcX,
+      final int srcY,
+      final int srcW,
+      final int srcH,
+      @Nonnull final Color color,
+      final float scale,
+      final int centerX,
+      final int centerY) {
+    imageCount++;
+  }
+
+  @Override
+  public void renderFont(
+      @Nonnull final RenderFont font,
+      @Nonnull final String text,
+      final int x,
+      final int y,
+      @Nonnull final Color fontColor,
+      final float sizeX,
+      final float sizeY) {
+    textCount++;
+  }
+
+  @Override
+  public void enableClip(final int x0, final int y0, final int x1, final int y1) {
+    clipCount++;
+  }
+
+  @Override
+  public void disableClip() {
+    clipCount++;
+  }
+
+  @Nullable
+  @Override
+  public MouseCursor createMouseCursor(@Nonnull final String filename, final int hotspotX, final int hotspotY) {
+    return null;
+  }
+
+  @Override
+  public void enableMouseCursor(@Nonnull final MouseCursor mouseCursor) {
+  }
+
+  @Override
+  public void disableMouseCursor() {
+  }
+}
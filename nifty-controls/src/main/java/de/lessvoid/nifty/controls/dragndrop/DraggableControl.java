@@ -112,8 +112,8 @@ public class DraggableControl extends AbstractController implements Draggable {
     }
 
     originalParent = draggable.getParent();
-    originalPositionX = draggable.getX();
-    originalPositionY = draggable.getY();
+    originalPositionX = draggable.getScreenX();
+    originalPositionY = draggable.getScreenY();
     originalConstraintX = draggable.getConstraintX();
     originalConstraintY = draggable.getConstraintY();
     dragStartX = mouseX;
@@ -267,6 +267,10 @@ public class DraggableControl extends AbstractController implements Draggable {
     if (revert) {
       draggable.setConstraintX(originalConstraintX);
       draggable.setConstraintY(originalConstraintY);
+    } else if (originalParent != null) {
+      // the popup isn't scrolled but the original parent might be
+      draggable.setConstraintX(SizeValue.px(draggable.getX() - originalParent.getAbsoluteRenderOffsetX()));
+      draggable.setConstraintY(SizeValue.px(draggable.getY() - originalParent.getAbsoluteRenderOffsetY()));
     } else {
       draggable.setConstraintX(SizeValue.px(draggable.getX()));
       draggable.setConstraintY(SizeValue.px(draggable.getY()));
@@ -328,8 +332,8 @@ public class DraggableControl extends AbstractController implements Draggable {
       if (draggable == null) {
         return null;
       }
-      int dragAnkerX = draggable.getX() + draggable.getWidth() / 2;
-      int dragAnkerY = draggable.getY() + draggable.getHeight() / 2;
+      int dragAnkerX = draggable.getScreenX() + draggable.getWidth() / 2;
+      int dragAnkerY = draggable.getScreenY() + draggable.getHeight() / 2;
       List<Element> layers = screen.getLayerElements();
       final int layerCount = layers.size();
       for (int i = layerCount - 1; i >= 0; i--) {
@@ -100,7 +100,7 @@ public class DropDownPopup<T> extends AbstractController {
     if (dropDownElement == null) {
       return;
     }
-    panel.setConstraintX(SizeValue.px(dropDownControl.getElement().getX()));
+    panel.setConstraintX(SizeValue.px(dropDownControl.getElement().getScreenX()));
     panel.setConstraintWidth(SizeValue.px(dropDownControl.getWidth()));
     element.layoutElements();
 
@@ -111,11 +111,11 @@ public class DropDownPopup<T> extends AbstractController {
 
       panel.setConstraintHeight(SizeValue.px(listHeight));
 
-      if ((dropDownControl.getElement().getY() + listHeight) > nifty.getRenderEngine().getHeight()) {
-        panel.setConstraintY(SizeValue.px(dropDownControl.getElement().getY() - listHeight));
+      if ((dropDownControl.getElement().getScreenY() + listHeight) > nifty.getRenderEngine().getHeight()) {
+        panel.setConstraintY(SizeValue.px(dropDownControl.getElement().getScreenY() - listHeight));
         updateMoveEffect(panel, listBox, 1);
       } else {
-        panel.setConstraintY(SizeValue.px(dropDownControl.getElement().getY() + dropDownControl.getHeight()));
+        panel.setConstraintY(SizeValue.px(dropDownControl.getElement().getScreenY() + dropDownControl.getHeight()));
         updateMoveEffect(panel, listBox, -1);
       }
       getElement().layoutElements();
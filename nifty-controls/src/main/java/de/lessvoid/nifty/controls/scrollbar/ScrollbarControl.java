@@ -270,7 +270,7 @@ public class ScrollbarControl extends AbstractController implements Scrollbar {
 
     @Override
     public int filter(final int pixelX, final int pixelY) {
-      return pixelY - elementBackground.getY();
+      return pixelY - elementBackground.getScreenY();
     }
   }
 
@@ -339,7 +339,7 @@ public class ScrollbarControl extends AbstractController implements Scrollbar {
 
     @Override
     public int filter(final int pixelX, final int pixelY) {
-      return pixelX - elementBackground.getX();
+      return pixelX - elementBackground.getScreenX();
     }
   }
 }
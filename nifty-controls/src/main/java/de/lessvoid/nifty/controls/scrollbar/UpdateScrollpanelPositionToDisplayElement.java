@@ -53,9 +53,9 @@ public class UpdateScrollpanelPositionToDisplayElement implements EffectImpl {
       int minY = (int) verticalScrollbar.getValue();
       int maxY = (int) verticalScrollbar.getValue() + (int) verticalScrollbar.getWorldPageSize();
 
-      int currentMinY = element.getY() - targetElement.getY() + (int) verticalScrollbar.getValue();
-      int currentMaxY = element.getY() - targetElement.getY() + element.getHeight() + (int) verticalScrollbar
-          .getValue();
+      int currentMinY = element.getScreenY() - targetElement.getScreenY() + (int) verticalScrollbar.getValue();
+      int currentMaxY = element.getScreenY() - targetElement.getScreenY() + element.getHeight() +
+          (int) verticalScrollbar.getValue();
 
       // below?
       int delta = -1;
@@ -337,6 +337,7 @@ public class ScrollPanelControl extends AbstractController implements ScrollPane
         }
         scrollElement.setConstraintX(SizeValue.px(0));
         scrollElement.setConstraintY(SizeValue.px(0));
+        scrollElement.setRenderOffset(0, 0);
         childRootElement.layoutElements();
       }
     }
@@ -405,9 +406,9 @@ public class ScrollPanelControl extends AbstractController implements ScrollPane
       }
       final Element scrollElement = childRootElement.getChildren().get(0);
       if (scrollElement != null) {
-        scrollElement.setConstraintY(SizeValue.px(-(int) event.getValue()));
+        // scrolling only moves the content on the screen, the layout of the content stays the same
+        scrollElement.setRenderOffset(scrollElement.getRenderOffsetX(), -(int) event.getValue());
         updateWorldV();
-        childRootElement.layoutElements();
 
         float xPos = 0.f;
         Scrollbar horizontalS = getHorizontalScrollbarControl();
@@ -442,9 +443,9 @@ public class ScrollPanelControl extends AbstractController implements ScrollPane
       }
       final Element scrollElement = childRootElement.getChildren().get(0);
       if (scrollElement != null) {
-        scrollElement.setConstraintX(SizeValue.px(-(int) event.getValue()));
+        // scrolling only moves the content on the screen, the layout of the content stays the same
+        scrollElement.setRenderOffset(-(int) event.getValue(), scrollElement.getRenderOffsetY());
         updateWorldH();
-        childRootElement.layoutElements();
 
         float yPos = 0.f;
         Scrollbar verticalS = getVerticalScrollbarControl();
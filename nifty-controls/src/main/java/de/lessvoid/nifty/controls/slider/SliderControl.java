@@ -105,8 +105,8 @@ public class SliderControl extends AbstractController implements Slider {
   public void mouseClick(final int mouseX, final int mouseY) {
     if (elementBackground != null && elementPosition != null) {
       sliderImpl.setValueFromPosition(
-          mouseX - elementBackground.getX() - elementPosition.getWidth() / 2,
-          mouseY - elementBackground.getY() - elementPosition.getHeight() / 2);
+          mouseX - elementBackground.getScreenX() - elementPosition.getWidth() / 2,
+          mouseY - elementBackground.getScreenY() - elementPosition.getHeight() / 2);
     }
   }
 
@@ -221,7 +221,8 @@ public class TextFieldControl extends AbstractController implements TextField, T
     if (font == null) {
       return 0;
     }
-    return FontHelper.getCharacterIndexFromPixelPosition(font, visibleString, mouseX - fieldElement.getX(), 1.0f);
+    return FontHelper.getCharacterIndexFromPixelPosition(font, visibleString, mouseX - fieldElement.getScreenX(),
+        1.0f);
   }
 
   @Override
@@ -22,6 +22,7 @@ import de.lessvoid.nifty.screen.Screen;
 import de.lessvoid.nifty.screen.ScreenController;
 import de.lessvoid.nifty.sound.SoundSystem;
 import de.lessvoid.nifty.spi.input.InputSystem;
+import de.lessvoid.nifty.spi.render.FrameStatsRenderDevice;
 import de.lessvoid.nifty.spi.render.RenderDevice;
 import de.lessvoid.nifty.spi.render.RenderFont;
 import de.lessvoid.nifty.spi.sound.SoundDevice;
@@ -29,10 +30,10 @@ import de.lessvoid.nifty.spi.time.TimeProvider;
 import de.lessvoid.nifty.tools.FlipFlop;
 import de.lessvoid.nifty.tools.SizeValue;
 import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+import de.lessvoid.nifty.tools.time.FrameClock;
 import de.lessvoid.xml.tools.SpecialValuesReplace;
 import de.lessvoid.xml.xpp3.Attributes;
 import org.bushe.swing.event.*;
-import org.bushe.swing.event.annotation.ReferenceStrength;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -61,6 +62,9 @@ public class Nifty {
   private final InputSystem inputSystem;
   @Nonnull
   private final TimeProvider timeProvider;
+  @Nonnull
+  private final FrameClock frameClock;
+  private boolean frameStarted;
 
   @Nonnull
   private final NiftyResourceLoader resourceLoader;
@@ -123,7 +127,9 @@ public class Nifty {
   private final NiftyInputConsumerImpl niftyInputConsumer = new NiftyInputConsumerImpl();
   private NiftyInputConsumerNotify niftyInputConsumerNotify = new NiftyInputConsumerNotifyDefault();
   @Nonnull
-  private final SubscriberRegistry subscriberRegister = new SubscriberRegistry();
+  private final NiftyEventDispatcher eventDispatcher = new NiftyEventDispatcher();
+  @Nonnull
+  private final EventService eventService = new ThreadSafeEventService();
   private boolean debugOptionPanelColors;
   @Nonnull
   private Clipboard clipboard;
@@ -141,6 +147,25 @@ public class Nifty {
   // set to true when NiftyMethodInvoker should throw exceptions (true) instead of only logging them (false)
   private boolean niftyMethodInvokerDebugEnabled;
 
+  // set to true when elements should only layout the parts that have been changed since the last layout
+  private boolean incrementalLayout;
+
+  // set to true when screens should use a spatial index of their elements to find the elements below the mouse
+  private boolean mouseHitIndex;
+
+  // set to true when the elements should add their values to the frame statistics while they are rendered
+  private boolean frameStatsEnabled;
+
+  // the statistics of the frame that is currently processed and of the last complete frame
+  @Nonnull
+  private final NiftyFrameStats frameStats = new NiftyFrameStats();
+  @Nonnull
+  private final NiftyFrameStats lastFrameStats = new NiftyFrameStats();
+  @Nonnull
+  private final List<NiftyFrameStatsListener> frameStatsListeners = new ArrayList<NiftyFrameStatsListener>();
+  @Nullable
+  private FrameStatsRenderDevice frameStatsRenderDevice;
+
   public Nifty(
       @Nonnull final RenderDevice newRenderDevice,
       @Nonnull final SoundDevice newSoundDevice,
@@ -166,12 +191,16 @@ public class Nifty {
     newInputSystem.setResourceLoader(resourceLoader);
 
     renderEngine = new NiftyRenderEngineImpl(newRenderDevice);
+    if (newRenderDevice instanceof FrameStatsRenderDevice) {
+      frameStatsRenderDevice = (FrameStatsRenderDevice) newRenderDevice;
+    }
     soundSystem = new SoundSystem(newSoundDevice);
     inputSystem = newInputSystem;
     timeProvider = newTimeProvider;
+    frameClock = new FrameClock(newTimeProvider);
 
     mouseInputEventProcessor = new MouseInputEventProcessor();
-    niftyMouse = new NiftyMouseImpl(newRenderDevice, newInputSystem, newTimeProvider);
+    niftyMouse = new NiftyMouseImpl(newRenderDevice, newInputSystem, frameClock);
     loader = new NiftyLoader(this, timeProvider);
 
     locale = Locale.getDefault();
@@ -186,9 +215,8 @@ public class Nifty {
 
     initializeLoaderSchemas();
     NiftyDefaults.initDefaultEffects(this);
-    initializeEventBus();
 
-    lastTime = timeProvider.getMsTime();
+    lastTime = frameClock.getMsTime();
   }
 
   public String getVersion() {
@@ -237,36 +265,39 @@ public class Nifty {
     }
   }
 
-  private void initializeEventBus() {
-    try {
-      if (EventServiceLocator.getEventService("NiftyEventBus") == null) {
-        EventServiceLocator.setEventService("NiftyEventBus", new ThreadSafeEventService());
-      }
-    } catch (EventServiceExistsException e) {
-      log.log(Level.SEVERE, "Initialization failure. EventBus failed to initialize.", e);
-    }
+  /**
+   * The event service of this Nifty instance for class based events like the {@link NiftyLocaleChangedEvent}. Events
+   * for elements (topics) are not published to this service, use {@link #publishEvent(String, NiftyEvent)} and
+   * {@link #subscribe(Screen, String, Class, EventTopicSubscriber)} for them.
+   *
+   * @return the event service
+   */
+  @Nonnull
+  public EventService getEventService() {
+    return eventService;
   }
 
+  /**
+   * The dispatcher for the events of the elements of this Nifty instance.
+   *
+   * @return the event dispatcher
+   */
   @Nonnull
-  public EventService getEventService() {
-    @Nullable EventService service = EventServiceLocator.getEventService("NiftyEventBus");
-    if (service == null) {
-      log.severe("NiftyEventBus service was not found. Problem during initialization is likely.");
-      return EventServiceLocator.getEventBusService();
-    }
-    return service;
+  public NiftyEventDispatcher getEventDispatcher() {
+    return eventDispatcher;
   }
 
   public void publishEvent(@Nonnull final String id, @Nonnull final NiftyEvent event) {
-    getEventService().publish(id, event);
+    eventDispatcher.publish(id, event);
+    NiftyEventAnnotationProcessor.globalDispatcher.publish(id, event);
   }
 
   public void subscribeAnnotations(@Nonnull final Object object) {
-    NiftyEventAnnotationProcessor.process(object);
+    NiftyEventAnnotationProcessor.process(eventDispatcher, object);
   }
 
   public void unsubscribeAnnotations(@Nonnull final Object object) {
-    NiftyEventAnnotationProcessor.unprocess(object);
+    NiftyEventAnnotationProcessor.unprocess(eventDispatcher, object);
   }
 
   public <T, S extends EventTopicSubscriber<? extends T>> void subscribe(
@@ -274,12 +305,10 @@ public class Nifty {
       @Nonnull final String elementId,
       @Nonnull final Class<T> eventClass,
       @Nonnull final S subscriber) {
-    ClassSaveEventTopicSubscriber theSubscriber = new ClassSaveEventTopicSubscriber(elementId, subscriber, eventClass);
-    getEventService().subscribeStrongly(elementId, theSubscriber);
-    log.fine("-> subscribe [" + elementId + "] screen [" + screen + "] -> [" + theSubscriber + "(" + subscriber + ")," +
-        "(" + eventClass + ")]");
-
-    subscriberRegister.register(screen, elementId, theSubscriber);
+    eventDispatcher.subscribe(screen, elementId, eventClass, subscriber, subscriber);
+    if (log.isLoggable(Level.FINE)) {
+      log.fine("-> subscribe [" + elementId + "] screen [" + screen + "] -> [" + subscriber + "(" + eventClass + ")]");
+    }
   }
 
   public void unsubscribe(@Nullable final String elementId, final Object object) {
@@ -290,17 +319,17 @@ public class Nifty {
             "object \"" + object + "\". try to find the offending element and give it an id!");
         return;
       }
-      getEventService().unsubscribe(elementId, (EventTopicSubscriber<?>) object);
+      eventDispatcher.unsubscribe(elementId, object);
       log.fine("<- unsubscribe [" + elementId + "] -> [" + object + "]");
     }
   }
 
   public void unsubscribeScreen(@Nonnull final Screen screen) {
-    subscriberRegister.unsubscribeScreen(screen);
+    eventDispatcher.unsubscribeScope(screen);
   }
 
   public void unsubscribeElement(@Nonnull final Screen screen, @Nonnull final String elementId) {
-    subscriberRegister.unsubscribeElement(screen, elementId);
+    eventDispatcher.unsubscribeScope(screen, elementId);
   }
 
   public void setAlternateKeyForNextLoadXml(@Nullable final String alternateKeyForNextLoadXmlParam) {
@@ -313,12 +342,17 @@ public class Nifty {
    * @return true when nifty has finished processing the screen and false when rendering should continue.
    */
   public boolean update() {
+    final long updateStart = System.nanoTime();
+    startFrame();
     if (currentScreen != null) {
       mouseInputEventProcessor.begin();
       inputSystem.forwardEvents(niftyInputConsumer);
+      niftyInputConsumer.dispatchCoalescedEvent();
       if (mouseInputEventProcessor.hasLastMouseDownEvent()) {
         forwardMouseEventToScreen(mouseInputEventProcessor.getLastMouseDownEvent(), currentScreen);
       }
+      mouseInputEventProcessor.addFrameStats(frameStats);
+      frameStats.addInputTime(System.nanoTime() - updateStart);
     }
     handleDynamicElements();
     updateSoundSystem();
@@ -329,6 +363,7 @@ public class Nifty {
         log.fine(currentScreen.debugOutputFocusElements());
       }
     }
+    frameStats.addUpdateTime(System.nanoTime() - updateStart);
     return exit;
   }
 
@@ -348,6 +383,10 @@ public class Nifty {
    * @param clearScreen true if nifty should clean the screen and false when you've done that already.
    */
   public void render(final boolean clearScreen) {
+    final long renderStart = System.nanoTime();
+    if (!frameStarted) {
+      startFrame(); // render() has been called without update()
+    }
     renderEngine.beginFrame();
     if (clearScreen) {
       renderEngine.clear();
@@ -362,6 +401,10 @@ public class Nifty {
     }
     renderEngine.endFrame();
 
+    frameStats.addRenderTime(System.nanoTime() - renderStart);
+    finishFrameStats();
+    frameStarted = false;
+
     // now that the frame is complete we can reset the render device in case of the resolution change
     if (resolutionChanged) {
       resolutionChanged = false;
@@ -369,8 +412,25 @@ public class Nifty {
     }
   }
 
+  // take the time once for the whole frame
+  private void startFrame() {
+    frameClock.nextFrame();
+    frameStarted = true;
+  }
+
+  private void finishFrameStats() {
+    if (frameStatsRenderDevice != null) {
+      frameStatsRenderDevice.addFrameStats(frameStats);
+    }
+    lastFrameStats.set(frameStats);
+    frameStats.reset(lastFrameStats.getFrame() + 1);
+    for (int i = 0; i < frameStatsListeners.size(); i++) {
+      frameStatsListeners.get(i).frameFinished(lastFrameStats);
+    }
+  }
+
   private void updateSoundSystem() {
-    long current = timeProvider.getMsTime();
+    long current = frameClock.getMsTime();
     int delta = (int) (current - lastTime);
     soundSystem.update(delta);
     lastTime = current;
@@ -562,6 +622,39 @@ public class Nifty {
     loadFromStream(stream);
   }
 
+  /**
+   * Initialize this Nifty instance from the given compiled xml file. The file is created from a nifty xml file with
+   * the {@link de.lessvoid.nifty.loaderv2.compiled.NiftyXmlCompiler} and contains all the style and control files the
+   * xml file uses. Loading it is a lot faster than loading the xml file.
+   *
+   * @param filename    filename to the compiled nifty xml
+   * @param startScreen screen to start exec
+   */
+  public void fromCompiledXml(@Nonnull final String filename, @Nonnull final String startScreen) {
+    prepareScreens(filename);
+    loadFromCompiledFile(filename);
+    gotoScreen(startScreen);
+  }
+
+  /**
+   * Initialize this Nifty instance from the given compiled xml file.
+   *
+   * @param filename filename to the compiled nifty xml
+   */
+  public void fromCompiledXmlWithoutStartScreen(@Nonnull final String filename) {
+    prepareScreens(filename);
+    loadFromCompiledFile(filename);
+  }
+
+  /**
+   * Load an additional compiled xml file without removing any of the data that might already been loaded.
+   *
+   * @param filename the compiled file to load
+   */
+  public void addCompiledXml(@Nonnull final String filename) {
+    loadFromCompiledFile(filename);
+  }
+
   /**
    * Load and validate the given filename. If the file is valid, nothing happens. If it
    * is invalid you'll get an exception explaining the error.
@@ -603,7 +696,7 @@ public class Nifty {
         throw new IOException("Failed to open stream to resource \"" + filename + "\" for loading.");
       }
       NiftyType niftyType = loader.loadNiftyXml("nifty.nxs", stream);
-      niftyType.create(this, timeProvider);
+      niftyType.create(this, frameClock);
       if (log.isLoggable(Level.FINE)) {
         log.fine(niftyType.output());
       }
@@ -614,6 +707,32 @@ public class Nifty {
     }
   }
 
+  /**
+   * load from the given compiled file.
+   *
+   * @param filename filename to load
+   */
+  void loadFromCompiledFile(@Nonnull final String filename) {
+    log.fine("loadFromCompiledFile [" + filename + "]");
+
+    try {
+      long start = timeProvider.getMsTime();
+      final InputStream stream = getResourceAsStream(filename);
+      if (stream == null) {
+        throw new IOException("Failed to open stream to resource \"" + filename + "\" for loading.");
+      }
+      NiftyType niftyType = loader.loadCompiledNiftyXml(stream);
+      niftyType.create(this, frameClock);
+      if (log.isLoggable(Level.FINE)) {
+        log.fine(niftyType.output());
+      }
+      long end = timeProvider.getMsTime();
+      log.fine("loadFromCompiledFile took [" + (end - start) + "]");
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   /**
    * load from the given file.
    *
@@ -625,7 +744,7 @@ public class Nifty {
     try {
       long start = timeProvider.getMsTime();
       NiftyType niftyType = loader.loadNiftyXml("nifty.nxs", stream);
-      niftyType.create(this, timeProvider);
+      niftyType.create(this, frameClock);
       if (log.isLoggable(Level.FINE)) {
         log.fine(niftyType.output());
       }
@@ -1271,9 +1390,22 @@ public class Nifty {
     return loader;
   }
 
+  /**
+   * The time provider everything in Nifty should use. It is the {@link #getFrameClock()}, so the time stays the same
+   * during a frame.
+   */
   @Nonnull
   public TimeProvider getTimeProvider() {
-    return timeProvider;
+    return frameClock;
+  }
+
+  /**
+   * The clock that takes the time once per frame in {@link #update()} (or {@link #render(boolean)} when update() is
+   * not called). Use {@link FrameClock#setFixedTimeStep(long)} to advance the time by a fixed step each frame.
+   */
+  @Nonnull
+  public FrameClock getFrameClock() {
+    return frameClock;
   }
 
   public class ClosePopUp {
@@ -1546,6 +1678,7 @@ public class Nifty {
     private boolean button0Down = false;
     private boolean button1Down = false;
     private boolean button2Down = false;
+    private boolean lastProcessed = false;
 
     @Override
     public boolean processMouseEvent(
@@ -1556,7 +1689,15 @@ public class Nifty {
         final boolean buttonDown) {
       boolean processed = false;
       if (!isIgnoreMouseEvents()) {
-        processed = processEvent(createEvent(mouseX, mouseY, mouseWheel, button, buttonDown));
+        NiftyMouseInputEvent mouseInputEvent = createEvent(mouseX, mouseY, mouseWheel, button, buttonDown);
+        if (mouseInputEventProcessor.coalesce(mouseInputEvent)) {
+          // the event will be dispatched later. we don't know the result yet so we report the result of the last
+          // event dispatched which has been at nearly the same mouse position.
+          processed = lastProcessed;
+        } else {
+          dispatchCoalescedEvent();
+          processed = processEvent(mouseInputEvent);
+        }
         if (log.isLoggable(Level.FINE)) {
           log.fine("[processMouseEvent] [" + mouseX + ", " + mouseY + ", " + mouseWheel + ", " + button + ", " +
               "" + buttonDown + "] processed [" + processed + "]");
@@ -1568,6 +1709,8 @@ public class Nifty {
 
     @Override
     public boolean processKeyboardEvent(@Nonnull final KeyboardInputEvent keyEvent) {
+      // a mouse move held back must reach the screen before the key event that has been received after it
+      dispatchCoalescedEvent();
       boolean processed = false;
       if (!isIgnoreKeyboardEvents()) {
         if (currentScreen != null) {
@@ -1581,6 +1724,16 @@ public class Nifty {
       return processed;
     }
 
+    /**
+     * Dispatch the mouse move event that has been held back by the {@link MouseInputEventProcessor}, if any.
+     */
+    void dispatchCoalescedEvent() {
+      NiftyMouseInputEvent coalescedEvent = mouseInputEventProcessor.takeCoalescedEvent();
+      if (coalescedEvent != null) {
+        processEvent(coalescedEvent);
+      }
+    }
+
     void resetMouseDown() {
       button0Down = false;
       button1Down = false;
@@ -1615,72 +1768,12 @@ public class Nifty {
     private boolean processEvent(@Nonnull final NiftyMouseInputEvent mouseInputEvent) {
       mouseInputEventProcessor.process(mouseInputEvent);
       if (currentScreen == null) {
-        return false;
+        lastProcessed = false;
       } else {
-        boolean handled = forwardMouseEventToScreen(mouseInputEvent, currentScreen);
+        lastProcessed = forwardMouseEventToScreen(mouseInputEvent, currentScreen);
         handleDynamicElements();
-        return handled;
       }
-    }
-  }
-
-  /**
-   * Helper class to connect better to the eventbus.
-   *
-   * @author void
-   */
-  @SuppressWarnings("rawtypes")
-  private static class ClassSaveEventTopicSubscriber implements EventTopicSubscriber, ProxySubscriber {
-    @Nonnull
-    private final String elementId;
-    @Nullable
-    private EventTopicSubscriber target;
-    @Nonnull
-    private final Class eventClass;
-
-    private ClassSaveEventTopicSubscriber(
-        @Nonnull final String elementId,
-        @Nullable final EventTopicSubscriber target,
-        @Nonnull final Class eventClass) {
-      this.elementId = elementId;
-      this.target = target;
-      this.eventClass = eventClass;
-    }
-
-    @Override
-    @Nonnull
-    public String toString() {
-      return super.toString() + "{" + elementId + "}{" + target + "}{" + eventClass + "}";
-    }
-
-    @SuppressWarnings("unchecked")
-    @Override
-    public void onEvent(final String topic, final Object data) {
-      if (target != null && eventClass.isInstance(data)) {
-        target.onEvent(topic, data);
-      }
-    }
-
-    @Nonnull
-    public String getElementId() {
-      return elementId;
-    }
-
-    @Nullable
-    @Override
-    public Object getProxiedSubscriber() {
-      return target;
-    }
-
-    @Override
-    public void proxyUnsubscribed() {
-      this.target = null;
-    }
-
-    @Nonnull
-    @Override
-    public ReferenceStrength getReferenceStrength() {
-      return ReferenceStrength.STRONG;
+      return lastProcessed;
     }
   }
 
@@ -1800,60 +1893,6 @@ public class Nifty {
         locale);
   }
 
-  private class SubscriberRegistry {
-    @Nonnull
-    private final Map<Screen, Map<String, List<ClassSaveEventTopicSubscriber>>> screenBasedSubscribers = new
-        HashMap<Screen, Map<String, List<ClassSaveEventTopicSubscriber>>>();
-
-    public void register(final Screen screen, final String elementId, final ClassSaveEventTopicSubscriber subscriber) {
-      Map<String, List<ClassSaveEventTopicSubscriber>> elements = screenBasedSubscribers.get(screen);
-      if (elements == null) {
-        elements = new HashMap<String, List<ClassSaveEventTopicSubscriber>>();
-        screenBasedSubscribers.put(screen, elements);
-      }
-      List<ClassSaveEventTopicSubscriber> list = elements.get(elementId);
-      if (list == null) {
-        list = new ArrayList<ClassSaveEventTopicSubscriber>();
-        elements.put(elementId, list);
-      }
-      list.add(subscriber);
-    }
-
-    public void unsubscribeScreen(@Nonnull final Screen screen) {
-      Map<String, List<ClassSaveEventTopicSubscriber>> elements = screenBasedSubscribers.get(screen);
-      if (elements != null && !elements.isEmpty()) {
-        for (Map.Entry<String, List<ClassSaveEventTopicSubscriber>> entry : elements.entrySet()) {
-          List<ClassSaveEventTopicSubscriber> list = entry.getValue();
-          for (int i = 0; i < list.size(); i++) {
-            ClassSaveEventTopicSubscriber subscriber = list.get(i);
-            getEventService().unsubscribe(subscriber.getElementId(), subscriber);
-            log.fine("<- unsubscribe screen for [" + screen + "] [" + subscriber.getElementId() + "] -> [" +
-                subscriber + "]");
-          }
-          list.clear();
-        }
-        elements.clear();
-      }
-      screenBasedSubscribers.remove(screen);
-    }
-
-    public void unsubscribeElement(@Nonnull final Screen screen, @Nonnull final String elementId) {
-      Map<String, List<ClassSaveEventTopicSubscriber>> elements = screenBasedSubscribers.get(screen);
-      if (elements != null && !elements.isEmpty()) {
-        List<ClassSaveEventTopicSubscriber> list = elements.get(elementId);
-        if (list != null && !list.isEmpty()) {
-          for (int i = 0; i < list.size(); i++) {
-            ClassSaveEventTopicSubscriber subscriber = list.get(i);
-            getEventService().unsubscribe(subscriber.getElementId(), subscriber);
-            log.fine("<- unsubscribe element [" + elementId + "] [" + subscriber.getElementId() + "] -> [" +
-                subscriber + "]");
-          }
-          list.clear();
-        }
-      }
-    }
-  }
-
   @Nonnull
   public Clipboard getClipboard() {
     return clipboard;
@@ -2010,4 +2049,118 @@ public class Nifty {
   public boolean isNiftyMethodInvokerDebugEnabled() {
     return niftyMethodInvokerDebugEnabled;
   }
+
+  /**
+   * Enable or disable the incremental layout. When enabled changes to the constraints of an element mark this element
+   * and its parents as dirty and {@link Element#layoutElements()} will only layout the dirty parts of the element tree
+   * again. When disabled (the default) {@link Element#layoutElements()} will always layout all child elements.
+   *
+   * @param incrementalLayout true to enable the incremental layout and false to disable it
+   */
+  public void setIncrementalLayout(final boolean incrementalLayout) {
+    this.incrementalLayout = incrementalLayout;
+  }
+
+  public boolean isIncrementalLayout() {
+    return incrementalLayout;
+  }
+
+  /**
+   * Enable or disable the mouse hit index. When enabled each screen keeps a spatial index of all elements that are
+   * visible to mouse events and uses it to find the elements below the mouse instead of walking the whole element
+   * tree for each mouse event. The index is rebuilt automatically after the elements have been changed or laid out.
+   * When disabled (the default) the whole element tree is checked for each mouse event.
+   *
+   * @param mouseHitIndex true to enable the mouse hit index and false to disable it
+   */
+  public void setMouseHitIndex(final boolean mouseHitIndex) {
+    this.mouseHitIndex = mouseHitIndex;
+  }
+
+  public boolean isMouseHitIndex() {
+    return mouseHitIndex;
+  }
+
+  /**
+   * This is called by the elements to report a finished layout. You should not need to call this yourself.
+   *
+   * @param layoutPartsRecomputed the number of LayoutParts recalculated
+   * @param time the time the layout took in nanoseconds
+   */
+  public void addLayoutPass(final int layoutPartsRecomputed, final long time) {
+    frameStats.addLayoutPass(layoutPartsRecomputed, time);
+  }
+
+  /**
+   * This is called by the elements to report how many LayoutParts have been recalculated during a layout. You should
+   * not need to call this yourself.
+   *
+   * @param count the number of LayoutParts recalculated
+   * @deprecated The time of the layout is unknown this way, use {@link #addLayoutPass(int, long)}
+   */
+  @Deprecated
+  public void addLayoutPartsRecomputed(final int count) {
+    addLayoutPass(count, 0);
+  }
+
+  /**
+   * Get the number of LayoutParts that have been recalculated during the last frame. This is useful to check how
+   * expensive the layout of the current screen is.
+   *
+   * @return the number of LayoutParts recalculated in the last frame
+   * @see #getFrameStats()
+   */
+  public int getLayoutPartsRecomputed() {
+    return lastFrameStats.getLayoutPartsRecomputed();
+  }
+
+  /**
+   * Get the statistics of the last complete frame. The returned instance is updated at the end of every frame.
+   *
+   * @return the statistics of the last frame
+   */
+  @Nonnull
+  public NiftyFrameStats getFrameStats() {
+    return lastFrameStats;
+  }
+
+  /**
+   * Enable or disable the statistics the elements collect while they are rendered: the number of elements rendered
+   * and culled and the number of active effects. Collecting them costs a little time for every single element so
+   * this is disabled by default and these values stay 0 in the {@link NiftyFrameStats}. All other values of the frame
+   * statistics are always collected.
+   *
+   * @param frameStatsEnabled true to collect the statistics of the elements and false to skip them
+   */
+  public void setFrameStatsEnabled(final boolean frameStatsEnabled) {
+    this.frameStatsEnabled = frameStatsEnabled;
+  }
+
+  public boolean isFrameStatsEnabled() {
+    return frameStatsEnabled;
+  }
+
+  /**
+   * Get the statistics of the frame that is currently processed. This is used by the elements to add their values.
+   * You should not need to call this yourself, use {@link #getFrameStats()} instead.
+   *
+   * @return the statistics of the current frame
+   */
+  @Nonnull
+  public NiftyFrameStats getCurrentFrameStats() {
+    return frameStats;
+  }
+
+  /**
+   * Add a listener that is notified with the statistics of every frame at the end of {@link #render(boolean)}.
+   *
+   * @param listener the listener to add
+   */
+  public void addFrameStatsListener(@Nonnull final NiftyFrameStatsListener listener) {
+    frameStatsListeners.add(listener);
+  }
+
+  public void removeFrameStatsListener(@Nonnull final NiftyFrameStatsListener listener) {
+    frameStatsListeners.remove(listener);
+  }
 }
@@ -9,22 +9,45 @@ import java.util.regex.Pattern;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import org.bushe.swing.event.EventService;
-import org.bushe.swing.event.EventServiceLocator;
 import org.bushe.swing.event.EventTopicSubscriber;
 
 public class NiftyEventAnnotationProcessor {
   private static final Logger log = Logger.getLogger(NiftyEventAnnotationProcessor.class.getName());
 
+  // the dispatcher shared by all Nifty instances for the deprecated process(Object) and unprocess(Object) methods
+  @Nonnull
+  static final NiftyEventDispatcher globalDispatcher = new NiftyEventDispatcher();
+
+  /**
+   * @deprecated Subscribes to the events of all Nifty instances. Use {@link Nifty#subscribeAnnotations(Object)} or
+   * {@link #process(NiftyEventDispatcher, Object)} to subscribe to the events of a single Nifty instance.
+   */
+  @Deprecated
   public static void process(final Object obj) {
-    processOrUnprocess(obj, true);
+    processOrUnprocess(globalDispatcher, obj, true);
   }
 
+  /**
+   * @deprecated Use {@link Nifty#unsubscribeAnnotations(Object)} or
+   * {@link #unprocess(NiftyEventDispatcher, Object)} instead.
+   */
+  @Deprecated
   public static void unprocess(final Object obj) {
-    processOrUnprocess(obj, false);
+    processOrUnprocess(globalDispatcher, obj, false);
+  }
+
+  public static void process(@Nonnull final NiftyEventDispatcher dispatcher, final Object obj) {
+    processOrUnprocess(dispatcher, obj, true);
   }
 
-  private static void processOrUnprocess(@Nullable final Object obj, final boolean add) {
+  public static void unprocess(@Nonnull final NiftyEventDispatcher dispatcher, final Object obj) {
+    processOrUnprocess(dispatcher, obj, false);
+  }
+
+  private static void processOrUnprocess(
+      @Nonnull final NiftyEventDispatcher dispatcher,
+      @Nullable final Object obj,
+      final boolean add) {
     if (obj == null) {
       return;
     }
@@ -39,22 +62,26 @@ public class NiftyEventAnnotationProcessor {
         if (log.isLoggable(Level.FINE)) {
           log.fine("Found NiftyEventSubscriber:" + niftyEventSubscriber + " on method:" + method);
         }
-        process(niftyEventSubscriber, obj, method, add);
+        process(dispatcher, niftyEventSubscriber, obj, method, add);
       }
     }
   }
 
-  private static void process(@Nonnull final NiftyEventSubscriber annotation, final Object obj, @Nonnull final Method method, final boolean add) {
+  private static void process(
+      @Nonnull final NiftyEventDispatcher dispatcher,
+      @Nonnull final NiftyEventSubscriber annotation,
+      final Object obj,
+      @Nonnull final Method method,
+      final boolean add) {
     String id = annotation.id();
     String pattern = annotation.pattern();
     ensureNotNull(id, pattern);
     ensureMethodParamCount(method.getParameterTypes());
-    EventService eventService = getEventService();
     Class<?> eventClass = method.getParameterTypes()[1];
     if (isSet(id)) {
-      idProcess(obj, method, add, id, eventClass, eventService);
+      idProcess(obj, method, add, id, eventClass, dispatcher);
     } else {
-      patternProcess(obj, method, add, pattern, eventClass, eventService);
+      patternProcess(obj, method, add, pattern, eventClass, dispatcher);
     }
   }
 
@@ -74,33 +101,29 @@ public class NiftyEventAnnotationProcessor {
     }
   }
 
-  private static void patternProcess(final Object obj, final Method method, final boolean add, @Nonnull final String topicPattern, final Class<?> eventClass, @Nonnull final EventService eventService) {
+  private static void patternProcess(final Object obj, final Method method, final boolean add, @Nonnull final String topicPattern, final Class<?> eventClass, @Nonnull final NiftyEventDispatcher dispatcher) {
     Pattern pattern = Pattern.compile(topicPattern);
     if (add) {
       Subscriber subscriber = new Subscriber(obj, method, eventClass);
-      eventService.subscribeStrongly(pattern, subscriber);
+      dispatcher.subscribe(null, pattern, eventClass, subscriber, obj);
       log.fine("-> subscribe [" + pattern + "] -> [" + subscriber + "]");
     } else {
-      eventService.unsubscribe(pattern, obj);
+      dispatcher.unsubscribe(pattern, obj);
       log.fine("<- unsubscribe [" + pattern + "] -> [" + obj + "]");
     }
   }
 
-  private static void idProcess(final Object obj, final Method method, final boolean add, final String id, final Class<?> eventClass, @Nonnull final EventService eventService) {
+  private static void idProcess(final Object obj, final Method method, final boolean add, final String id, final Class<?> eventClass, @Nonnull final NiftyEventDispatcher dispatcher) {
     if (add) {
       Subscriber subscriber = new Subscriber(obj, method, eventClass);
-      eventService.subscribeStrongly(id, subscriber);
+      dispatcher.subscribe(null, id, eventClass, subscriber, obj);
       log.fine("-> subscribe [" + id + "] -> [" + subscriber + "]");
     } else {
-      eventService.unsubscribe(id, obj);
+      dispatcher.unsubscribe(id, obj);
       log.fine("<- unsubscribe [" + id + "] -> [" + obj + "]");
     }
   }
 
-  private static EventService getEventService() {
-    return EventServiceLocator.getEventService("NiftyEventBus");
-  }
-
   private static class Subscriber implements EventTopicSubscriber<Object> {
     private final Object obj;
     private final Method method;
@@ -0,0 +1,475 @@
+package de.lessvoid.nifty;
+
+import org.bushe.swing.event.EventTopicSubscriber;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * The topic based event dispatcher of a single Nifty instance. All events published with
+ * {@link Nifty#publishEvent(String, NiftyEvent)} and all subscriptions made with {@link Nifty#subscribe} or with the
+ * {@link NiftyEventSubscriber} annotation go through this class.
+ * <p>
+ * Each topic (the id of the element the event belongs to) that has subscriptions is interned into a {@link Topic}
+ * that keeps its subscriptions in an array. Subscribing and unsubscribing copy that array while holding a lock.
+ * Publishing to an interned topic only reads the current array and never locks or allocates. Events for topics
+ * without subscriptions of their own are matched against the pattern subscriptions every time instead, so that
+ * generated element ids don't pile up as topics while a pattern subscription exists. Subscribers removed while an
+ * event is dispatched don't receive that event anymore. Subscribers added while an event is dispatched receive the
+ * next event.
+ * <p>
+ * Subscriptions can belong to a scope (Nifty uses the {@link de.lessvoid.nifty.screen.Screen}) so that all
+ * subscriptions of a scope can be removed at once with {@link #unsubscribeScope(Object)}.
+ *
+ * @author void
+ */
+public final class NiftyEventDispatcher {
+  private static final Logger log = Logger.getLogger(NiftyEventDispatcher.class.getName());
+  @Nonnull
+  private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+
+  @Nonnull
+  private final Object lock = new Object();
+
+  // topic name -> topic. the map is read without the lock but only modified while holding it
+  @Nonnull
+  private final Map<String, Topic> topics = new ConcurrentHashMap<String, Topic>();
+
+  // all subscriptions that use a pattern instead of a single topic
+  @Nonnull
+  private volatile Subscription[] patternSubscriptions = NO_SUBSCRIPTIONS;
+
+  // scope -> subscriptions made for this scope. only accessed while holding the lock
+  @Nonnull
+  private final Map<Object, List<Subscription>> scopes = new HashMap<Object, List<Subscription>>();
+
+  /**
+   * Publish the event to all subscribers of the topic.
+   *
+   * @param topic the topic, usually the id of the element that sends the event
+   * @param event the event
+   */
+  public void publish(@Nonnull final String topic, @Nonnull final Object event) {
+    Topic t = topics.get(topic);
+    if (t == null) {
+      dispatchMatching(patternSubscriptions, topic, event);
+      return;
+    }
+    dispatch(t.subscriptions, topic, event);
+    dispatch(t.patternSubscriptions, topic, event);
+  }
+
+  /**
+   * Subscribe to all events of the given topic that are instances of the event class.
+   *
+   * @param scope the scope this subscription belongs to or {@code null} if it doesn't belong to any scope
+   * @param topic the topic
+   * @param eventClass only events that are an instance of this class are forwarded to the subscriber
+   * @param subscriber the subscriber
+   * @param target the object that can be used in {@link #unsubscribe(String, Object)} to remove this subscription
+   */
+  public void subscribe(
+      @Nullable final Object scope,
+      @Nonnull final String topic,
+      @Nonnull final Class<?> eventClass,
+      @Nonnull final EventTopicSubscriber<?> subscriber,
+      @Nonnull final Object target) {
+    Subscription subscription = new Subscription(scope, topic, null, eventClass, subscriber, target);
+    synchronized (lock) {
+      Topic t = internTopic(topic);
+      t.subscriptions = add(removeEqual(t.subscriptions, subscription), subscription);
+      addToScope(subscription);
+    }
+  }
+
+  /**
+   * Subscribe to all events of all topics that match the given pattern and that are instances of the event class.
+   *
+   * @param scope the scope this subscription belongs to or {@code null} if it doesn't belong to any scope
+   * @param pattern the pattern the topics need to match
+   * @param eventClass only events that are an instance of this class are forwarded to the subscriber
+   * @param subscriber the subscriber
+   * @param target the object that can be used in {@link #unsubscribe(Pattern, Object)} to remove this subscription
+   */
+  public void subscribe(
+      @Nullable final Object scope,
+      @Nonnull final Pattern pattern,
+      @Nonnull final Class<?> eventClass,
+      @Nonnull final EventTopicSubscriber<?> subscriber,
+      @Nonnull final Object target) {
+    Subscription subscription = new Subscription(scope, null, pattern, eventClass, subscriber, target);
+    synchronized (lock) {
+      updatePatternSubscriptions(add(removeEqual(patternSubscriptions, subscription), subscription));
+      addToScope(subscription);
+    }
+  }
+
+  /**
+   * Remove all subscriptions of the topic that use the given object either as subscriber or as target.
+   *
+   * @param topic the topic
+   * @param object the subscriber or the target of the subscriptions to remove
+   */
+  public void unsubscribe(@Nonnull final String topic, @Nonnull final Object object) {
+    synchronized (lock) {
+      Topic t = topics.get(topic);
+      if (t == null) {
+        return;
+      }
+      t.subscriptions = remove(t.subscriptions, object);
+      removeTopicIfUnused(t);
+    }
+  }
+
+  /**
+   * Remove all subscriptions for the pattern that use the given object either as subscriber or as target.
+   *
+   * @param pattern the pattern
+   * @param object the subscriber or the target of the subscriptions to remove
+   */
+  public void unsubscribe(@Nonnull final Pattern pattern, @Nonnull final Object object) {
+    synchronized (lock) {
+      Subscription[] remaining = patternSubscriptions;
+      for (Subscription subscription : patternSubscriptions) {
+        if (pattern.pattern().equals(subscription.getPattern()) && subscription.isFor(object)) {
+          remaining = remove(remaining, subscription);
+          removeFromScope(subscription);
+        }
+      }
+      updatePatternSubscriptions(remaining);
+    }
+  }
+
+  /**
+   * Remove all subscriptions of the given scope.
+   *
+   * @param scope the scope
+   */
+  public void unsubscribeScope(@Nonnull final Object scope) {
+    synchronized (lock) {
+      List<Subscription> subscriptions = scopes.remove(scope);
+      if (subscriptions != null) {
+        removeAll(subscriptions);
+      }
+    }
+  }
+
+  /**
+   * Remove all subscriptions of the given scope for a single topic.
+   *
+   * @param scope the scope
+   * @param topic the topic
+   */
+  public void unsubscribeScope(@Nonnull final Object scope, @Nonnull final String topic) {
+    synchronized (lock) {
+      List<Subscription> subscriptions = scopes.get(scope);
+      if (subscriptions == null) {
+        return;
+      }
+      List<Subscription> removed = new ArrayList<Subscription>();
+      for (Iterator<Subscription> i = subscriptions.iterator(); i.hasNext(); ) {
+        Subscription subscription = i.next();
+        if (topic.equals(subscription.topic)) {
+          removed.add(subscription);
+          i.remove();
+        }
+      }
+      if (subscriptions.isEmpty()) {
+        scopes.remove(scope);
+      }
+      removeAll(removed);
+    }
+  }
+
+  /**
+   * Get the number of subscriptions that would receive an event published to the given topic. This does not check
+   * the class of the events the subscriptions accept.
+   *
+   * @param topic the topic
+   * @return the number of subscriptions
+   */
+  public int getSubscriptionCount(@Nonnull final String topic) {
+    Topic t = topics.get(topic);
+    if (t != null) {
+      return t.subscriptions.length + t.patternSubscriptions.length;
+    }
+    int count = 0;
+    for (Subscription subscription : patternSubscriptions) {
+      if (subscription.matches(topic)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Get the number of interned topics, only topics that have subscriptions of their own are interned.
+   */
+  int getTopicCount() {
+    return topics.size();
+  }
+
+  private void dispatch(
+      @Nonnull final Subscription[] subscriptions,
+      @Nonnull final String topic,
+      @Nonnull final Object event) {
+    for (int i = 0; i < subscriptions.length; i++) {
+      dispatch(subscriptions[i], topic, event);
+    }
+  }
+
+  private void dispatchMatching(
+      @Nonnull final Subscription[] subscriptions,
+      @Nonnull final String topic,
+      @Nonnull final Object event) {
+    for (int i = 0; i < subscriptions.length; i++) {
+      Subscription subscription = subscriptions[i];
+      if (subscription.matches(topic)) {
+        dispatch(subscription, topic, event);
+      }
+    }
+  }
+
+  private void dispatch(
+      @Nonnull final Subscription subscription,
+      @Nonnull final String topic,
+      @Nonnull final Object event) {
+    if (subscription.active && subscription.eventClass.isInstance(event)) {
+      try {
+        subscription.onEvent(topic, event);
+      } catch (RuntimeException e) {
+        log.log(Level.WARNING, "subscriber [" + subscription.subscriber + "] failed to process event [" + event +
+            "] for topic [" + topic + "]", e);
+      }
+    }
+  }
+
+  @Nonnull
+  private Topic internTopic(@Nonnull final String topic) {
+    synchronized (lock) {
+      Topic t = topics.get(topic);
+      if (t == null) {
+        t = new Topic(topic);
+        for (Subscription subscription : patternSubscriptions) {
+          if (subscription.matches(topic)) {
+            t.patternSubscriptions = add(t.patternSubscriptions, subscription);
+          }
+        }
+        topics.put(topic, t);
+      }
+      return t;
+    }
+  }
+
+  private void removeTopicIfUnused(@Nonnull final Topic t) {
+    if (t.subscriptions.length == 0) {
+      topics.remove(t.name);
+    }
+  }
+
+  /**
+   * Replace the pattern subscriptions and update the pattern subscriptions of all topics accordingly.
+   */
+  private void updatePatternSubscriptions(@Nonnull final Subscription[] newPatternSubscriptions) {
+    if (newPatternSubscriptions == patternSubscriptions) {
+      return;
+    }
+    patternSubscriptions = newPatternSubscriptions;
+    for (Topic t : topics.values()) {
+      Subscription[] subscriptions = NO_SUBSCRIPTIONS;
+      for (Subscription subscription : newPatternSubscriptions) {
+        if (subscription.matches(t.name)) {
+          subscriptions = add(subscriptions, subscription);
+        }
+      }
+      t.patternSubscriptions = subscriptions;
+    }
+  }
+
+  private void removeAll(@Nonnull final List<Subscription> subscriptions) {
+    for (int i = 0; i < subscriptions.size(); i++) {
+      Subscription subscription = subscriptions.get(i);
+      if (subscription.topic != null) {
+        Topic t = topics.get(subscription.topic);
+        if (t != null) {
+          t.subscriptions = remove(t.subscriptions, subscription);
+          removeTopicIfUnused(t);
+        }
+      } else {
+        updatePatternSubscriptions(remove(patternSubscriptions, subscription));
+      }
+      subscription.active = false;
+    }
+  }
+
+  private void addToScope(@Nonnull final Subscription subscription) {
+    if (subscription.scope == null) {
+      return;
+    }
+    List<Subscription> subscriptions = scopes.get(subscription.scope);
+    if (subscriptions == null) {
+      subscriptions = new ArrayList<Subscription>();
+      scopes.put(subscription.scope, subscriptions);
+    }
+    subscriptions.add(subscription);
+  }
+
+  private void removeFromScope(@Nonnull final Subscription subscription) {
+    subscription.active = false;
+    if (subscription.scope == null) {
+      return;
+    }
+    List<Subscription> subscriptions = scopes.get(subscription.scope);
+    if (subscriptions != null) {
+      subscriptions.remove(subscription);
+      if (subscriptions.isEmpty()) {
+        scopes.remove(subscription.scope);
+      }
+    }
+  }
+
+  @Nonnull
+  private static Subscription[] add(@Nonnull final Subscription[] subscriptions, @Nonnull final Subscription add) {
+    Subscription[] result = new Subscription[subscriptions.length + 1];
+    System.arraycopy(subscriptions, 0, result, 0, subscriptions.length);
+    result[subscriptions.length] = add;
+    return result;
+  }
+
+  @Nonnull
+  private static Subscription[] remove(
+      @Nonnull final Subscription[] subscriptions,
+      @Nonnull final Subscription remove) {
+    for (int i = 0; i < subscriptions.length; i++) {
+      if (subscriptions[i] == remove) {
+        if (subscriptions.length == 1) {
+          return NO_SUBSCRIPTIONS;
+        }
+        Subscription[] result = new Subscription[subscriptions.length - 1];
+        System.arraycopy(subscriptions, 0, result, 0, i);
+        System.arraycopy(subscriptions, i + 1, result, i, result.length - i);
+        return result;
+      }
+    }
+    return subscriptions;
+  }
+
+  /**
+   * Remove all subscriptions that use the given object as subscriber or as target from the array. The subscriptions
+   * removed are deactivated and removed from their scope as well.
+   */
+  @Nonnull
+  private Subscription[] remove(@Nonnull final Subscription[] subscriptions, @Nonnull final Object object) {
+    Subscription[] result = subscriptions;
+    for (Subscription subscription : subscriptions) {
+      if (subscription.isFor(object)) {
+        result = remove(result, subscription);
+        removeFromScope(subscription);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Remove the subscriptions that are equal to the given new subscription from the array. Subscribing the same
+   * subscriber twice therefore replaces the first subscription instead of delivering every event twice.
+   */
+  @Nonnull
+  private Subscription[] removeEqual(
+      @Nonnull final Subscription[] subscriptions,
+      @Nonnull final Subscription subscription) {
+    Subscription[] result = subscriptions;
+    for (Subscription existing : subscriptions) {
+      if (existing.isEqual(subscription)) {
+        result = remove(result, existing);
+        removeFromScope(existing);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * A topic and all subscriptions for it.
+   */
+  private static final class Topic {
+    @Nonnull
+    private final String name;
+    @Nonnull
+    private volatile Subscription[] subscriptions = NO_SUBSCRIPTIONS;
+    @Nonnull
+    private volatile Subscription[] patternSubscriptions = NO_SUBSCRIPTIONS;
+
+    private Topic(@Nonnull final String name) {
+      this.name = name;
+    }
+  }
+
+  /**
+   * A single subscription.
+   */
+  private static final class Subscription {
+    @Nullable
+    private final Object scope;
+    @Nullable
+    private final String topic;
+    @Nullable
+    private final Pattern pattern;
+    @Nonnull
+    private final Class<?> eventClass;
+    @Nonnull
+    private final EventTopicSubscriber<?> subscriber;
+    @Nonnull
+    private final Object target;
+    private volatile boolean active = true;
+
+    private Subscription(
+        @Nullable final Object scope,
+        @Nullable final String topic,
+        @Nullable final Pattern pattern,
+        @Nonnull final Class<?> eventClass,
+        @Nonnull final EventTopicSubscriber<?> subscriber,
+        @Nonnull final Object target) {
+      this.scope = scope;
+      this.topic = topic;
+      this.pattern = pattern;
+      this.eventClass = eventClass;
+      this.subscriber = subscriber;
+      this.target = target;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onEvent(@Nonnull final String topic, @Nonnull final Object event) {
+      ((EventTopicSubscriber<Object>) subscriber).onEvent(topic, event);
+    }
+
+    private boolean matches(@Nonnull final String topic) {
+      return pattern != null && pattern.matcher(topic).matches();
+    }
+
+    @Nullable
+    private String getPattern() {
+      return pattern == null ? null : pattern.pattern();
+    }
+
+    private boolean isFor(@Nonnull final Object object) {
+      return subscriber == object || target == object;
+    }
+
+    private boolean isEqual(@Nonnull final Subscription other) {
+      if (eventClass != other.eventClass || !subscriber.equals(other.subscriber)) {
+        return false;
+      }
+      String otherPattern = other.getPattern();
+      return otherPattern == null ? pattern == null : otherPattern.equals(getPattern());
+    }
+  }
+}
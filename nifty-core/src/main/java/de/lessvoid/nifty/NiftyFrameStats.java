@@ -0,0 +1,318 @@
+package de.lessvoid.nifty;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Statistics about a single frame of Nifty. A frame starts after {@link Nifty#render(boolean)} has been called and
+ * ends with the next call to {@link Nifty#render(boolean)}. So everything Nifty does in {@link Nifty#update()} and in
+ * {@link Nifty#render(boolean)} belongs to the same frame when you call them once per frame in that order.
+ * <p/>
+ * You can get the statistics of the last complete frame with {@link Nifty#getFrameStats()} or you can register a
+ * {@link NiftyFrameStatsListener} that is notified at the end of every frame. Nifty reuses the same instances for
+ * every frame, so please copy the values you need (see {@link #set(NiftyFrameStats)}) instead of keeping a reference.
+ * <p/>
+ * All times are in nanoseconds. The layout time is part of the update or the render time depending on when the
+ * layout happened and the input time is part of the update time.
+ * <p/>
+ * The add methods are called by Nifty, the elements and the RenderDevice while the frame is processed. You should
+ * not need to call them yourself.
+ *
+ * @author void
+ */
+public class NiftyFrameStats {
+  private long frame;
+
+  private long updateTime;
+  private long inputTime;
+  private long layoutTime;
+  private long renderTime;
+
+  private int layoutPasses;
+  private int layoutPartsRecomputed;
+
+  private int elementsRendered;
+  private int elementsCulled;
+  private int activeEffects;
+
+  private int quads;
+  private int glyphs;
+  private int batches;
+  private int textureSwitches;
+  private int clipDiscards;
+  private int retainedCalls;
+  private int retainedReplays;
+
+  private int mouseEventsReceived;
+  private int mouseEventsDispatched;
+
+  /**
+   * Reset all values and start collecting the statistics for the given frame.
+   */
+  public void reset(final long newFrame) {
+    frame = newFrame;
+    updateTime = 0;
+    inputTime = 0;
+    layoutTime = 0;
+    renderTime = 0;
+    layoutPasses = 0;
+    layoutPartsRecomputed = 0;
+    elementsRendered = 0;
+    elementsCulled = 0;
+    activeEffects = 0;
+    quads = 0;
+    glyphs = 0;
+    batches = 0;
+    textureSwitches = 0;
+    clipDiscards = 0;
+    retainedCalls = 0;
+    retainedReplays = 0;
+    mouseEventsReceived = 0;
+    mouseEventsDispatched = 0;
+  }
+
+  /**
+   * Copy all values of the given statistics into this one.
+   */
+  public void set(@Nonnull final NiftyFrameStats other) {
+    frame = other.frame;
+    updateTime = other.updateTime;
+    inputTime = other.inputTime;
+    layoutTime = other.layoutTime;
+    renderTime = other.renderTime;
+    layoutPasses = other.layoutPasses;
+    layoutPartsRecomputed = other.layoutPartsRecomputed;
+    elementsRendered = other.elementsRendered;
+    elementsCulled = other.elementsCulled;
+    activeEffects = other.activeEffects;
+    quads = other.quads;
+    glyphs = other.glyphs;
+    batches = other.batches;
+    textureSwitches = other.textureSwitches;
+    clipDiscards = other.clipDiscards;
+    retainedCalls = other.retainedCalls;
+    retainedReplays = other.retainedReplays;
+    mouseEventsReceived = other.mouseEventsReceived;
+    mouseEventsDispatched = other.mouseEventsDispatched;
+  }
+
+  /**
+   * The number of this frame. The first frame has the number 0.
+   */
+  public long getFrame() {
+    return frame;
+  }
+
+  /**
+   * The time spent in {@link Nifty#update()}.
+   */
+  public long getUpdateTime() {
+    return updateTime;
+  }
+
+  public void addUpdateTime(final long time) {
+    updateTime += time;
+  }
+
+  /**
+   * The time spent to read the input events and to dispatch them to the current screen.
+   */
+  public long getInputTime() {
+    return inputTime;
+  }
+
+  public void addInputTime(final long time) {
+    inputTime += time;
+  }
+
+  /**
+   * The time spent in {@link de.lessvoid.nifty.elements.Element#layoutElements()}.
+   */
+  public long getLayoutTime() {
+    return layoutTime;
+  }
+
+  /**
+   * The number of calls to {@link de.lessvoid.nifty.elements.Element#layoutElements()} that actually did layout
+   * something.
+   */
+  public int getLayoutPasses() {
+    return layoutPasses;
+  }
+
+  /**
+   * The number of LayoutParts that have been recalculated during all layout passes of the frame.
+   */
+  public int getLayoutPartsRecomputed() {
+    return layoutPartsRecomputed;
+  }
+
+  public void addLayoutPass(final int partsRecomputed, final long time) {
+    layoutPasses++;
+    layoutPartsRecomputed += partsRecomputed;
+    layoutTime += time;
+  }
+
+  /**
+   * The time spent in {@link Nifty#render(boolean)}.
+   */
+  public long getRenderTime() {
+    return renderTime;
+  }
+
+  public void addRenderTime(final long time) {
+    renderTime += time;
+  }
+
+  /**
+   * The number of visible elements that have been rendered. This is only collected when
+   * {@link Nifty#setFrameStatsEnabled(boolean)} is enabled.
+   */
+  public int getElementsRendered() {
+    return elementsRendered;
+  }
+
+  public void addElementsRendered(final int count) {
+    elementsRendered += count;
+  }
+
+  /**
+   * The number of elements that have been skipped while rendering because they are outside of the visible area. When
+   * an element is skipped all of its children are counted as well. This is only collected when
+   * {@link Nifty#setFrameStatsEnabled(boolean)} is enabled.
+   */
+  public int getElementsCulled() {
+    return elementsCulled;
+  }
+
+  public void addElementsCulled(final int count) {
+    elementsCulled += count;
+  }
+
+  /**
+   * The number of effects that have been active on the rendered elements. This is only collected when
+   * {@link Nifty#setFrameStatsEnabled(boolean)} is enabled.
+   */
+  public int getActiveEffects() {
+    return activeEffects;
+  }
+
+  public void addActiveEffects(final int count) {
+    activeEffects += count;
+  }
+
+  /**
+   * The number of quads the RenderDevice has sent to the graphics API, including the quads of the glyphs.
+   */
+  public int getQuads() {
+    return quads;
+  }
+
+  public void addQuads(final int count) {
+    quads += count;
+  }
+
+  /**
+   * The number of glyphs the RenderDevice has rendered.
+   */
+  public int getGlyphs() {
+    return glyphs;
+  }
+
+  public void addGlyphs(final int count) {
+    glyphs += count;
+  }
+
+  /**
+   * The number of batches (draw calls) the RenderDevice has sent to the graphics API.
+   */
+  public int getBatches() {
+    return batches;
+  }
+
+  public void addBatches(final int count) {
+    batches += count;
+  }
+
+  /**
+   * The number of times the RenderDevice had to switch to another texture.
+   */
+  public int getTextureSwitches() {
+    return textureSwitches;
+  }
+
+  public void addTextureSwitches(final int count) {
+    textureSwitches += count;
+  }
+
+  /**
+   * The number of render calls the RenderDevice has skipped because they were completely clipped.
+   */
+  public int getClipDiscards() {
+    return clipDiscards;
+  }
+
+  public void addClipDiscards(final int count) {
+    clipDiscards += count;
+  }
+
+  /**
+   * The number of render calls the RenderDevice has checked against its retained mode cache.
+   */
+  public int getRetainedCalls() {
+    return retainedCalls;
+  }
+
+  /**
+   * The number of render calls the RenderDevice has replayed from its retained mode cache.
+   */
+  public int getRetainedReplays() {
+    return retainedReplays;
+  }
+
+  public void addRetained(final int calls, final int replays) {
+    retainedCalls += calls;
+    retainedReplays += replays;
+  }
+
+  /**
+   * The number of mouse events Nifty has received from the InputSystem.
+   */
+  public int getMouseEventsReceived() {
+    return mouseEventsReceived;
+  }
+
+  /**
+   * The number of mouse events that have been dispatched to the screen. When mouse move events are coalesced this is
+   * less than {@link #getMouseEventsReceived()}.
+   */
+  public int getMouseEventsDispatched() {
+    return mouseEventsDispatched;
+  }
+
+  public void addMouseEvents(final int received, final int dispatched) {
+    mouseEventsReceived += received;
+    mouseEventsDispatched += dispatched;
+  }
+
+  @Nonnull
+  @Override
+  public String toString() {
+    return "frame: " + frame +
+        ", update: " + updateTime +
+        ", input: " + inputTime +
+        ", layout: " + layoutTime +
+        ", render: " + renderTime +
+        ", layoutPasses: " + layoutPasses +
+        ", layoutPartsRecomputed: " + layoutPartsRecomputed +
+        ", elementsRendered: " + elementsRendered +
+        ", elementsCulled: " + elementsCulled +
+        ", activeEffects: " + activeEffects +
+        ", quads: " + quads +
+        ", glyphs: " + glyphs +
+        ", batches: " + batches +
+        ", textureSwitches: " + textureSwitches +
+        ", clipDiscards: " + clipDiscards +
+        ", retained: " + retainedReplays + " of " + retainedCalls +
+        ", mouseEvents: " + mouseEventsDispatched + " of " + mouseEventsReceived;
+  }
+}
@@ -0,0 +1,19 @@
+package de.lessvoid.nifty;
+
+import javax.annotation.Nonnull;
+
+/**
+ * You can register an instance of this interface with {@link Nifty#addFrameStatsListener(NiftyFrameStatsListener)}
+ * and Nifty will call it at the end of every frame with the statistics of that frame.
+ *
+ * @author void
+ */
+public interface NiftyFrameStatsListener {
+  /**
+   * Called at the end of {@link Nifty#render(boolean)}. The statistics instance is reused for the next frame, so copy
+   * the values you need and don't keep a reference to it.
+   *
+   * @param frameStats the statistics of the frame that has just been finished
+   */
+  void frameFinished(@Nonnull NiftyFrameStats frameStats);
+}
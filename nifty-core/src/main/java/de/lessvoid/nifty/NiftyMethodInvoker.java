@@ -1,6 +1,6 @@
 package de.lessvoid.nifty;
 
-import de.lessvoid.xml.tools.MethodResolver;
+import de.lessvoid.xml.tools.ResolvedMethodCache;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -21,6 +21,8 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
   private final Object[] target;
   @Nullable
   private final String methodWithName;
+  @Nullable
+  private final ResolvedMethodCache methodCache;
   private final Nifty nifty;
 
   /**
@@ -29,6 +31,7 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
   public NiftyMethodInvoker(final Nifty nifty) {
     this.nifty = nifty;
     this.methodWithName = null;
+    this.methodCache = null;
     this.target = null;
   }
 
@@ -40,15 +43,18 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
   public NiftyMethodInvoker(final Nifty nifty, @Nullable final String methodParam, @Nonnull final Object ... targetParam) {
     this.nifty = nifty;
     this.methodWithName = methodParam;
+    this.methodCache = methodParam == null ? null : new ResolvedMethodCache(methodParam);
     if (targetParam.length == 0) {
       this.target = null;
     } else {
       this.target = new Object[targetParam.length];
       System.arraycopy(targetParam, 0, target, 0, targetParam.length);
 
-      log.fine("target objects for [" + methodWithName + "]");
-      for (Object o : target) {
-        log.fine(o.toString());
+      if (log.isLoggable(Level.FINE)) {
+        log.fine("target objects for [" + methodWithName + "]");
+        for (Object o : target) {
+          log.fine(o.toString());
+        }
       }
     }
   }
@@ -74,13 +80,13 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
 
   @Override
   public void performInvoke(@Nonnull final Object ... invokeParametersParam) {
-    if (target == null || methodWithName == null) {
+    if (target == null || methodWithName == null || methodCache == null) {
       return;
     }
     // process all methods (first one wins)
     for (Object object : target) {
       if (object != null) {
-        Method method = MethodResolver.findMethod(object.getClass(), methodWithName);
+        Method method = methodCache.findMethod(object.getClass());
         if (method != null) {
           // we've found a method with the given name. now we need to match the parameters.
           //
@@ -93,41 +99,55 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
           //        if this is not possible we fall back to 2b)
           //    2b) just call the method without any parameters
           Object methodResult;
-          Object[] invokeParameters = MethodResolver.extractParameters(methodWithName);
+          Object[] invokeParameters = methodCache.getConstantParameters();
           if (invokeParameters.length > 0) {
             // does the method supports the parameters?
             // TODO: not only check for the count but check the type too
             if (getMethodParameterCount(method) == invokeParameters.length) {
-              log.fine("invoking method '" + methodWithName + "' with (" + debugParaString(invokeParameters) + ")");
+              if (log.isLoggable(Level.FINE)) {
+                log.fine("invoking method '" + methodWithName + "' with (" + debugParaString(invokeParameters) + ")");
+              }
               methodResult = callMethod(object, method, invokeParameters);
             } else {
-              log.fine("invoking method '" + methodWithName + "' (note: given invokeParameters have been ignored)");
+              if (log.isLoggable(Level.FINE)) {
+                log.fine("invoking method '" + methodWithName + "' (note: given invokeParameters have been ignored)");
+              }
               methodResult = callMethod(object, method);
             }
           } else {
             // no invokeParameters encoded. this means we can call the method as is or with the invokeParametersParam
             if (invokeParametersParam.length > 0) {
               if (getMethodParameterCount(method) == invokeParametersParam.length) {
-                log.fine("invoking method '" + methodWithName + "' with the actual parameters (" + debugParaString(invokeParametersParam) + ")");
+                if (log.isLoggable(Level.FINE)) {
+                  log.fine("invoking method '" + methodWithName + "' with the actual parameters (" + debugParaString(invokeParametersParam) + ")");
+                }
                 methodResult = callMethod(object, method, invokeParametersParam);
               } else {
-                log.fine("invoking method '" + methodWithName + "' without parameters (invokeParametersParam mismatch)");
+                if (log.isLoggable(Level.FINE)) {
+                  log.fine("invoking method '" + methodWithName + "' without parameters (invokeParametersParam mismatch)");
+                }
                 methodResult = callMethod(object, method);
               }
             } else {
-              log.fine("invoking method '" + methodWithName + "' without parameters");
+              if (log.isLoggable(Level.FINE)) {
+                log.fine("invoking method '" + methodWithName + "' without parameters");
+              }
               methodResult = callMethod(object, method);
             }
           }
           if (methodResult != null && (methodResult.getClass().equals(Boolean.class))) {
             if ((Boolean) methodResult) {
-              log.fine("method invoke for '" + methodWithName + "' returns true. by definition this means we're not calling any other targets for this method.");
+              if (log.isLoggable(Level.FINE)) {
+                log.fine("method invoke for '" + methodWithName + "' returns true. by definition this means we're not calling any other targets for this method.");
+              }
               return;
             }
             
           }
         } else {
-          log.fine("method [" + methodWithName + "] not found at object class [" + object.getClass() + "]");
+          if (log.isLoggable(Level.FINE)) {
+            log.fine("method [" + methodWithName + "] not found at object class [" + object.getClass() + "]");
+          }
         }
       } else {
         log.warning("target object is null");
@@ -148,11 +168,13 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
       @Nonnull final Method method,
       @Nonnull final Object... invokeParameters) {
     try {
-      log.fine("method: " + method + "on targetObject: " + targetObject + ", parameters: " + Arrays.toString
-          (invokeParameters));
-      log.fine(method.getName());
-      for (Object o : invokeParameters) {
-        log.fine("parameter: " + o);
+      if (log.isLoggable(Level.FINE)) {
+        log.fine("method: " + method + "on targetObject: " + targetObject + ", parameters: " + Arrays.toString
+            (invokeParameters));
+        log.fine(method.getName());
+        for (Object o : invokeParameters) {
+          log.fine("parameter: " + o);
+        }
       }
       return method.invoke(targetObject, invokeParameters);
     } catch (RuntimeException e) {
@@ -69,6 +69,17 @@ public class EffectBuilder {
     return this;
   }
 
+  /**
+   * Set this for effects that render outside of the element they are attached to. The element is never skipped for
+   * being outside of the visible area while the effect is active. This is enabled by default for the effects that
+   * move their element (move, shake and autoScroll).
+   */
+  @Nonnull
+  public EffectBuilder neverCull(final boolean neverCull) {
+    attributes.setNeverCull(String.valueOf(neverCull));
+    return this;
+  }
+
   @Nonnull
   public EffectBuilder effectParameter(@Nonnull final String key, @Nonnull final String value) {
     attributes.setAttribute(key, value);
@@ -72,6 +72,13 @@ public class HoverEffectBuilder extends EffectBuilder {
     return this;
   }
 
+  @Override
+  @Nonnull
+  public HoverEffectBuilder neverCull(final boolean neverCull) {
+    super.neverCull(neverCull);
+    return this;
+  }
+
   @Override
   @Nonnull
   public HoverEffectBuilder effectParameter(@Nonnull final String key, @Nonnull final String value) {
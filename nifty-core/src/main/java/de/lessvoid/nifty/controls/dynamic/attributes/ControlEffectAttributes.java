@@ -58,6 +58,10 @@ public class ControlEffectAttributes {
     attributes.set("neverStopRendering", neverStopRendering);
   }
 
+  public void setNeverCull(@Nonnull final String neverCull) {
+    attributes.set("neverCull", neverCull);
+  }
+
   public void setName(@Nonnull final String name) {
     attributes.set("name", name);
   }
@@ -21,14 +21,27 @@ public class ActiveEffects {
   private final List<Effect> overlay = new ArrayList<Effect>();
 
   public void clear() {
+    Effect neverCull = null;
+    for (int i = 0; i < all.size(); i++) {
+      if (all.get(i).isNeverCull()) {
+        neverCull = all.get(i);
+      }
+    }
     all.clear();
     post.clear();
     pre.clear();
     overlay.clear();
+    // all effects belong to the same element so it needs to know only once
+    if (neverCull != null) {
+      neverCull.neverCullChanged();
+    }
   }
 
   public void add(@Nonnull final Effect e) {
     all.add(e);
+    if (e.isNeverCull()) {
+      e.neverCullChanged();
+    }
 
     if (e.isOverlay()) {
       overlay.add(e);
@@ -40,10 +53,13 @@ public class ActiveEffects {
   }
 
   public void remove(final Effect e) {
-    all.remove(e);
+    boolean removed = all.remove(e);
     post.remove(e);
     pre.remove(e);
     overlay.remove(e);
+    if (removed && e.isNeverCull()) {
+      e.neverCullChanged();
+    }
   }
 
   public boolean isEmpty() {
@@ -2,6 +2,9 @@ package de.lessvoid.nifty.effects;
 
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.effects.Falloff.HoverFalloffConstraint;
+import de.lessvoid.nifty.effects.impl.AutoScroll;
+import de.lessvoid.nifty.effects.impl.Move;
+import de.lessvoid.nifty.effects.impl.Shake;
 import de.lessvoid.nifty.elements.Element;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
 import de.lessvoid.nifty.spi.time.TimeProvider;
@@ -54,6 +57,7 @@ public class Effect {
   @Nonnull
   private final EffectEvents effectEvents;
   private final boolean neverStopRendering;
+  private final boolean neverCull;
   private boolean customFlag;
 
   public Effect(
@@ -71,6 +75,26 @@ public class Effect {
       @Nonnull final EffectProperties parameter,
       @Nonnull final TimeProvider timeProvider,
       @Nonnull final Collection<Object> controllers) {
+    this(nifty, inherit, post, overlay, alternateEnable, alternateDisable, customKey, neverStopRendering,
+        isNeverCullByDefault(effectImpl), effectEventId, element, effectImpl, parameter, timeProvider, controllers);
+  }
+
+  public Effect(
+      @Nonnull final Nifty nifty,
+      final boolean inherit,
+      final boolean post,
+      final boolean overlay,
+      @Nullable final String alternateEnable,
+      @Nullable final String alternateDisable,
+      @Nullable final String customKey,
+      final boolean neverStopRendering,
+      final boolean neverCull,
+      @Nonnull final EffectEventId effectEventId,
+      @Nonnull final Element element,
+      @Nonnull final EffectImpl effectImpl,
+      @Nonnull final EffectProperties parameter,
+      @Nonnull final TimeProvider timeProvider,
+      @Nonnull final Collection<Object> controllers) {
     this.nifty = nifty;
     this.inherit = inherit;
     this.post = post;
@@ -84,6 +108,7 @@ public class Effect {
     hoverEffect = false;
     infiniteEffect = false;
     this.neverStopRendering = neverStopRendering;
+    this.neverCull = neverCull;
     effectEvents = new EffectEvents();
     customFlag = false;
 
@@ -227,13 +252,21 @@ public class Effect {
   }
 
   public boolean isInsideFalloff(final int x, final int y) {
-    if (falloff != null && falloff.getFalloffConstraint() != HoverFalloffConstraint.none) {
+    if (hasHoverFalloff()) {
       return falloff.isInside(element, x, y);
     } else {
       return element.isMouseInsideElement(x, y);
     }
   }
 
+  /**
+   * Returns true when this hover effect uses a hover area different from the bounds of its element (see
+   * {@link Falloff}).
+   */
+  public boolean hasHoverFalloff() {
+    return falloff != null && falloff.getFalloffConstraint() != HoverFalloffConstraint.none;
+  }
+
   public boolean isOverlay() {
     return overlay;
   }
@@ -242,6 +275,30 @@ public class Effect {
     return neverStopRendering;
   }
 
+  /**
+   * Effects that render outside of the bounds of their element return true here. An element is never skipped for
+   * being outside of the visible area as long as such an effect is active.
+   */
+  public boolean isNeverCull() {
+    return neverCull;
+  }
+
+  /**
+   * Called when this effect has been added to or removed from the active effects of its element while it is an
+   * effect that is never culled.
+   */
+  void neverCullChanged() {
+    element.neverCullEffectsChanged();
+  }
+
+  /**
+   * The default of {@link #isNeverCull()} for the given effect implementation. This is true for the effects that move
+   * their element away from its bounds.
+   */
+  public static boolean isNeverCullByDefault(@Nonnull final EffectImpl effectImpl) {
+    return effectImpl instanceof Move || effectImpl instanceof Shake || effectImpl instanceof AutoScroll;
+  }
+
   @Nonnull
   public EffectProperties getParameters() {
     return parameter;
@@ -33,7 +33,7 @@ public enum EffectEventId {
   }
 
   @Nonnull
-  EffectProcessor createEffectProcessor(@Nonnull final Notify notify) {
+  EffectProcessorImpl createEffectProcessor(@Nonnull final Notify notify) {
     return new EffectProcessorImpl(notify, neverStopRendering);
   }
 }
@@ -61,9 +61,16 @@ public class EffectManager {
       EffectEventId.onClick
   };
 
+  // the effects that react to the mouse hovering over the element
+  private static final EffectEventId[] hoverEffects = new EffectEventId[] {
+      EffectEventId.onHover,
+      EffectEventId.onStartHover,
+      EffectEventId.onEndHover
+  };
+
   @Nonnull
-  private final Map<EffectEventId, EffectProcessor> effectProcessor = new EnumMap<EffectEventId,
-      EffectProcessor>(EffectEventId.class);
+  private final Map<EffectEventId, EffectProcessorImpl> effectProcessor = new EnumMap<EffectEventId,
+      EffectProcessorImpl>(EffectEventId.class);
   @Nonnull
   private final List<EffectProcessor> effectProcessorList = new ArrayList<EffectProcessor>(0);
   @Nullable
@@ -97,7 +104,7 @@ public class EffectManager {
    * @param e  the effect
    */
   public void registerEffect(@Nonnull final EffectEventId id, @Nonnull final Effect e) {
-    EffectProcessor processor = effectProcessor.get(id);
+    EffectProcessorImpl processor = effectProcessor.get(id);
     if (processor == null) {
       processor = id.createEffectProcessor(new NotifyAdapter(id, notify));
       effectProcessor.put(id, processor);
@@ -322,6 +329,61 @@ public class EffectManager {
     return isEmpty;
   }
 
+  /**
+   * The number of effects that are currently active.
+   */
+  public int getActiveEffectCount() {
+    int count = 0;
+    for (int i = 0; i < effectsRenderOrder.length; i++) {
+      EffectProcessorImpl processor = getEffectProcessor(effectsRenderOrder[i]);
+      if (processor != null) {
+        count += processor.getActiveEffectCount();
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Check if any of the currently active effects renders outside of the element (see {@link Effect#isNeverCull()}).
+   */
+  public boolean isNeverCull() {
+    for (int i = 0; i < effectsRenderOrder.length; i++) {
+      EffectProcessorImpl processor = getEffectProcessor(effectsRenderOrder[i]);
+      if (processor != null && processor.isNeverCull()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Check if any of the hover effects is active or is waiting for the mouse to leave the element. The element still
+   * needs to see mouse events outside of it as long as this is the case.
+   */
+  public boolean isHoverTracking() {
+    for (int i = 0; i < hoverEffects.length; i++) {
+      EffectProcessorImpl processor = getEffectProcessor(hoverEffects[i]);
+      if (processor != null && processor.isHoverTracking()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Check if any of the hover effects uses a hover area different from the bounds of the element (see
+   * {@link Falloff}). Such an element needs to see all mouse events because it can react to the mouse outside of it.
+   */
+  public boolean hasHoverFalloff() {
+    for (int i = 0; i < hoverEffects.length; i++) {
+      EffectProcessorImpl processor = getEffectProcessor(hoverEffects[i]);
+      if (processor != null && processor.hasHoverFalloff()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Nonnull
   public <T extends EffectImpl> List<Effect> getEffects(
       @Nonnull final EffectEventId effectEventId,
@@ -380,8 +442,8 @@ public class EffectManager {
   }
 
   @Nullable
-  private EffectProcessor getEffectProcessor(@Nonnull final EffectEventId id) {
-    EffectProcessor processor = effectProcessor.get(id);
+  private EffectProcessorImpl getEffectProcessor(@Nonnull final EffectEventId id) {
+    EffectProcessorImpl processor = effectProcessor.get(id);
     if (processor == null) {
       return null;
     }
@@ -69,6 +69,52 @@ public class EffectProcessorImpl implements EffectProcessor {
     return active;
   }
 
+  /**
+   * The number of effects of this processor that are currently active.
+   */
+  public int getActiveEffectCount() {
+    return activeEffects.size();
+  }
+
+  /**
+   * Check if any of the active effects renders outside of the element (see {@link Effect#isNeverCull()}).
+   */
+  public boolean isNeverCull() {
+    List<Effect> effects = activeEffects.getActive();
+    for (int i = 0; i < effects.size(); i++) {
+      if (effects.get(i).isNeverCull()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Check if any of the hover effects is active or waits for the mouse to leave the element.
+   */
+  public boolean isHoverTracking() {
+    for (int i = 0; i < allEffects.size(); i++) {
+      Effect e = allEffects.get(i);
+      if (e.isHoverEffect() && (e.isActive() || e.getCustomFlag())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Check if any of the hover effects uses a hover area different from the bounds of the element.
+   */
+  public boolean hasHoverFalloff() {
+    for (int i = 0; i < allEffects.size(); i++) {
+      Effect e = allEffects.get(i);
+      if (e.isHoverEffect() && e.hasHoverFalloff()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public void saveActiveNeverStopRenderingEffects() {
     pushedEffects.clear();
@@ -70,8 +70,8 @@ public class Falloff {
   }
 
   public final boolean isInside(@Nonnull final Element element, final int x, final int y) {
-    int centerX = element.getX() + element.getWidth() / 2;
-    int centerY = element.getY() + element.getHeight() / 2;
+    int centerX = element.getScreenX() + element.getWidth() / 2;
+    int centerY = element.getScreenY() + element.getHeight() / 2;
 
     int horizontalHover = getHorizontalHover(element);
     int verticalHover = getVerticalHover(element);
@@ -96,8 +96,8 @@ public class Falloff {
       return;
     }
 
-    int centerX = element.getX() + element.getWidth() / 2;
-    int centerY = element.getY() + element.getHeight() / 2;
+    int centerX = element.getScreenX() + element.getWidth() / 2;
+    int centerY = element.getScreenY() + element.getHeight() / 2;
     float dx = mouseX - centerX;
     float dy = mouseY - centerY;
     float falloff = 0.0f;
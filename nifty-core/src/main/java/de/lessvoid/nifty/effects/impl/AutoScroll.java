@@ -33,7 +33,7 @@ public class AutoScroll implements EffectImpl {
       @Nullable final Falloff falloff,
       @Nonnull final NiftyRenderEngine r) {
 
-    r.moveTo(0, start + normalizedTime * distance);
+    r.moveToRelative(0, start + normalizedTime * distance);
   }
 
   @Override
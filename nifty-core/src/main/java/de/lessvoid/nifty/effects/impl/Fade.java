@@ -24,6 +24,8 @@ public class Fade implements EffectImpl {
   private Alpha start = Alpha.ZERO;
   @Nonnull
   private Alpha end = Alpha.FULL;
+  @Nonnull
+  private final Alpha currentAlpha = new Alpha(0.0f);
   @Nullable
   private LinearInterpolator interpolator;
 
@@ -58,8 +60,8 @@ public class Fade implements EffectImpl {
     if (interpolator != null) {
       r.setColorAlpha(interpolator.getValue(normalizedTime));
     } else {
-      Alpha a = start.linear(end, normalizedTime);
-      r.setColorAlpha(a.getAlpha());
+      currentAlpha.linear(start, end, normalizedTime);
+      r.setColorAlpha(currentAlpha.getAlpha());
     }
   }
 
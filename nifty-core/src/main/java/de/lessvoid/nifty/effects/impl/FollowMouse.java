@@ -27,6 +27,8 @@ public class FollowMouse implements EffectImpl {
   private Nifty nifty;
   private int offsetX;
   private int offsetY;
+  private int lastPosX;
+  private int lastPosY;
 
   @Override
   public void activate(
@@ -36,6 +38,8 @@ public class FollowMouse implements EffectImpl {
     this.nifty = nifty;
     this.offsetX = Integer.valueOf(parameter.getProperty("offsetX", "20"));
     this.offsetY = Integer.valueOf(parameter.getProperty("offsetY", "20"));
+    this.lastPosX = Integer.MIN_VALUE;
+    this.lastPosY = Integer.MIN_VALUE;
   }
 
   @Override
@@ -51,11 +55,16 @@ public class FollowMouse implements EffectImpl {
     NiftyMouse niftyMouse = nifty.getNiftyMouse();
 
     int newPosX = borderCheck(niftyMouse.getX() + offsetX, element.getWidth(), r.getWidth());
-    element.setConstraintX(SizeValue.px(newPosX));
-
     int newPosY = borderCheck(niftyMouse.getY() + offsetY, element.getHeight(), r.getHeight());
-    element.setConstraintY(SizeValue.px(newPosY));
+    if (newPosX == lastPosX && newPosY == lastPosY) {
+      // the mouse has not been moved, so there is no need to create new constraints and layout again
+      return;
+    }
+    lastPosX = newPosX;
+    lastPosY = newPosY;
 
+    element.setConstraintX(SizeValue.px(newPosX));
+    element.setConstraintY(SizeValue.px(newPosY));
     element.getParent().layoutElements();
   }
 
@@ -162,11 +162,11 @@ public class Hint implements EffectImpl {
   private int getPosX(@Nonnull final Element element, @Nonnull final Element hintPanel, final int screenWidth) {
     int pos;
     if ("center".equals(offsetX)) {
-      pos = element.getX() + element.getWidth() / 2 - hintPanel.getWidth() / 2;
+      pos = element.getScreenX() + element.getWidth() / 2 - hintPanel.getWidth() / 2;
     } else if ("left".equals(offsetX)) {
-      pos = element.getX();
+      pos = element.getScreenX();
     } else if ("right".equals(offsetX)) {
-      pos = element.getX() + element.getWidth() - hintPanel.getWidth();
+      pos = element.getScreenX() + element.getWidth() - hintPanel.getWidth();
     } else {
       pos = Integer.valueOf(offsetX);
     }
@@ -182,11 +182,11 @@ public class Hint implements EffectImpl {
   private int getPosY(@Nonnull final Element element, @Nonnull final Element hintPanel, final int screenHeight) {
     int pos;
     if ("center".equals(offsetY)) {
-      pos = element.getY() + element.getHeight() / 2 - hintPanel.getHeight() / 2;
+      pos = element.getScreenY() + element.getHeight() / 2 - hintPanel.getHeight() / 2;
     } else if ("top".equals(offsetY)) {
-      pos = element.getY();
+      pos = element.getScreenY();
     } else if ("bottom".equals(offsetY)) {
-      pos = element.getY() + element.getHeight() - hintPanel.getHeight();
+      pos = element.getScreenY() + element.getHeight() - hintPanel.getHeight();
     } else {
       pos = Integer.valueOf(offsetY);
     }
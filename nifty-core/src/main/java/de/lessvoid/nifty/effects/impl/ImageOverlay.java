@@ -25,6 +25,8 @@ public class ImageOverlay implements EffectImpl {
   private NiftyImage image;
   @Nullable
   private Alpha alpha;
+  @Nonnull
+  private final Alpha tempAlpha = new Alpha(0.0f);
   @Nullable
   private SizeValue inset;
   @Nullable
@@ -92,7 +94,8 @@ public class ImageOverlay implements EffectImpl {
     }
     r.saveStates();
     if (falloff != null) {
-      r.setColorAlpha(alpha.multiply(falloff.getFalloffValue()).getAlpha());
+      tempAlpha.multiply(alpha, falloff.getFalloffValue());
+      r.setColorAlpha(tempAlpha.getAlpha());
     } else {
       if (!r.isColorAlphaChanged()) {
         r.setColorAlpha(alpha.getAlpha());
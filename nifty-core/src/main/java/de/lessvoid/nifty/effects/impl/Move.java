@@ -27,7 +27,13 @@ public class Move implements EffectImpl {
   private static final String TOP = "top";
   private static final String BOTTOM = "bottom";
 
-  private String direction;
+  private static final int DIRECTION_NONE = 0;
+  private static final int DIRECTION_LEFT = 1;
+  private static final int DIRECTION_RIGHT = 2;
+  private static final int DIRECTION_TOP = 3;
+  private static final int DIRECTION_BOTTOM = 4;
+
+  private int direction = DIRECTION_NONE; // resolved once in activate() so execute() doesn't compare strings
   private long offset = 0;
   private long startOffset = 0;
   private int offsetDir = 0;
@@ -45,16 +51,21 @@ public class Move implements EffectImpl {
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
     String mode = parameter.getProperty("mode");
-    direction = parameter.getProperty("direction");
-    if (LEFT.equals(direction)) {
-      offset = element.getX() + element.getWidth();
-    } else if (RIGHT.equals(direction)) {
-      offset = nifty.getRenderEngine().getWidth() - element.getX();
-    } else if (TOP.equals(direction)) {
-      offset = element.getY() + element.getHeight();
-    } else if (BOTTOM.equals(direction)) {
-      offset = nifty.getRenderEngine().getHeight() - element.getY();
+    String directionParam = parameter.getProperty("direction");
+    if (LEFT.equals(directionParam)) {
+      direction = DIRECTION_LEFT;
+      offset = element.getScreenX() + element.getWidth();
+    } else if (RIGHT.equals(directionParam)) {
+      direction = DIRECTION_RIGHT;
+      offset = nifty.getRenderEngine().getWidth() - element.getScreenX();
+    } else if (TOP.equals(directionParam)) {
+      direction = DIRECTION_TOP;
+      offset = element.getScreenY() + element.getHeight();
+    } else if (BOTTOM.equals(directionParam)) {
+      direction = DIRECTION_BOTTOM;
+      offset = nifty.getRenderEngine().getHeight() - element.getScreenY();
     } else {
+      direction = DIRECTION_NONE;
       offset = 0;
     }
 
@@ -96,15 +107,15 @@ public class Move implements EffectImpl {
       }
 
       if ("fromPosition".equals(mode)) {
-        startOffsetX = targetElement.getX() - element.getX();
-        startOffsetY = targetElement.getY() - element.getY();
-        offsetX = -(targetElement.getX() - element.getX());
-        offsetY = -(targetElement.getY() - element.getY());
+        startOffsetX = targetElement.getScreenX() - element.getScreenX();
+        startOffsetY = targetElement.getScreenY() - element.getScreenY();
+        offsetX = -(targetElement.getScreenX() - element.getScreenX());
+        offsetY = -(targetElement.getScreenY() - element.getScreenY());
       } else if ("toPosition".equals(mode)) {
         startOffsetX = 0;
         startOffsetY = 0;
-        offsetX = (targetElement.getX() - element.getX());
-        offsetY = (targetElement.getY() - element.getY());
+        offsetX = (targetElement.getScreenX() - element.getScreenX());
+        offsetY = (targetElement.getScreenY() - element.getScreenY());
       }
     }
   }
@@ -118,20 +129,27 @@ public class Move implements EffectImpl {
     if (fromOffset || toOffset) {
       float moveToX = startOffsetX + normalizedTime * offsetX;
       float moveToY = startOffsetY + normalizedTime * offsetY;
-      r.moveTo(moveToX, moveToY);
+      r.moveToRelative(moveToX, moveToY);
     } else if (withTarget) {
       float moveToX = startOffsetX + normalizedTime * offsetX;
       float moveToY = startOffsetY + normalizedTime * offsetY;
-      r.moveTo(moveToX, moveToY);
+      r.moveToRelative(moveToX, moveToY);
     } else {
-      if (LEFT.equals(direction)) {
-        r.moveTo(-startOffset + offsetDir * normalizedTime * offset, 0);
-      } else if (RIGHT.equals(direction)) {
-        r.moveTo(startOffset - offsetDir * normalizedTime * offset, 0);
-      } else if (TOP.equals(direction)) {
-        r.moveTo(0, -startOffset + offsetDir * normalizedTime * offset);
-      } else if (BOTTOM.equals(direction)) {
-        r.moveTo(0, startOffset - offsetDir * normalizedTime * offset);
+      switch (direction) {
+        case DIRECTION_LEFT:
+          r.moveToRelative(-startOffset + offsetDir * normalizedTime * offset, 0);
+          break;
+        case DIRECTION_RIGHT:
+          r.moveToRelative(startOffset - offsetDir * normalizedTime * offset, 0);
+          break;
+        case DIRECTION_TOP:
+          r.moveToRelative(0, -startOffset + offsetDir * normalizedTime * offset);
+          break;
+        case DIRECTION_BOTTOM:
+          r.moveToRelative(0, startOffset - offsetDir * normalizedTime * offset);
+          break;
+        default:
+          break;
       }
     }
   }
@@ -20,14 +20,17 @@ import javax.annotation.Nullable;
  */
 public class RenderElement implements EffectImpl {
 
-  private String type;
+  private boolean renderAll;
+  private boolean renderTextOnly;
 
   @Override
   public void activate(
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    type = parameter.getProperty("type", null);
+    String type = parameter.getProperty("type", null);
+    renderAll = type == null;
+    renderTextOnly = "text".equals(type);
   }
 
   @Override
@@ -38,13 +41,11 @@ public class RenderElement implements EffectImpl {
       @Nonnull final NiftyRenderEngine r) {
     ElementRenderer[] elementRenderer = element.getElementRenderer();
     for (ElementRenderer renderer : elementRenderer) {
-      if (type == null) {
+      if (renderAll) {
         renderer.render(element, r);
-      } else {
-        if ("text".equals(type)) {
-          if (renderer instanceof TextRenderer) {
-            renderer.render(element, r);
-          }
+      } else if (renderTextOnly) {
+        if (renderer instanceof TextRenderer) {
+          renderer.render(element, r);
         }
       }
     }
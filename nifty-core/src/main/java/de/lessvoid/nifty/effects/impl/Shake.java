@@ -49,7 +49,7 @@ public class Shake implements EffectImpl {
       if (global) {
         r.setGlobalPosition(x, y);
       } else {
-        r.moveTo(x, y);
+        r.moveToRelative(x, y);
       }
     }
   }
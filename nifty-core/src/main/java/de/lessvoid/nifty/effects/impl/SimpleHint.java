@@ -33,6 +33,11 @@ public class SimpleHint implements EffectImpl {
   @Nullable
   private String hintText;
 
+  /**
+   * true when the hint text has been applied to the target element since the last activation.
+   */
+  private boolean hintApplied;
+
   /**
    * initialize.
    *
@@ -45,6 +50,7 @@ public class SimpleHint implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
+    hintApplied = false;
     Screen screen = nifty.getCurrentScreen();
     if (screen == null) {
       return;
@@ -72,12 +78,13 @@ public class SimpleHint implements EffectImpl {
       final float normalizedTime,
       @Nullable final Falloff falloff,
       @Nonnull final NiftyRenderEngine r) {
-    if (targetElement != null) {
+    if (targetElement != null && !hintApplied) {
       TextRenderer textRenderer = targetElement.getRenderer(TextRenderer.class);
       if (textRenderer != null) {
         textRenderer.setText(hintText == null ? "Missing Hint Text!" : hintText);
         targetElement.setConstraintWidth(SizeValue.px(textRenderer.getTextWidth()));
         element.getParent().layoutElements();
+        hintApplied = true;
       }
     }
   }
@@ -8,7 +8,6 @@ import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
 import de.lessvoid.nifty.elements.render.TextRenderer;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
-import de.lessvoid.nifty.spi.render.RenderFont;
 import de.lessvoid.nifty.tools.SizeValue;
 
 import javax.annotation.Nonnull;
@@ -25,6 +24,8 @@ public class TextSize implements EffectImpl {
   private float endSize;
   @Nonnull
   private SizeValue textSize = SizeValue.percent(100);
+  @Nonnull
+  private final TextSizeMeasure measure = new TextSizeMeasure();
 
   @Override
   public void activate(
@@ -57,18 +58,7 @@ public class TextSize implements EffectImpl {
 
     TextRenderer textRenderer = element.getRenderer(TextRenderer.class);
     if (textRenderer != null) {
-      RenderFont font = textRenderer.getFont();
-
-      if (font != null) {
-        String text = textRenderer.getWrappedText();
-        float originalWidth = font.getWidth(text, 1.0f);
-        float sizedWidth = font.getWidth(text, scale);
-
-        float originalHeight = font.getHeight();
-        float sizedHeight = font.getHeight() * scale;
-
-        r.moveToRelative(-(sizedWidth - originalWidth) / 2, -(sizedHeight - originalHeight) / 2);
-      }
+      measure.moveToCenter(textRenderer, scale, r);
     }
   }
 
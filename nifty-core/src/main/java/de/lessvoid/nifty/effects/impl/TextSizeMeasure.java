@@ -0,0 +1,53 @@
+package de.lessvoid.nifty.effects.impl;
+
+import de.lessvoid.nifty.elements.render.TextRenderer;
+import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.spi.render.RenderFont;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the text of a TextRenderer centered while the text size effects scale it. The text is only measured again
+ * when the wrapped text, the font or the size changes and not every time the effect is executed.
+ *
+ * @author void
+ */
+class TextSizeMeasure {
+  // TextRenderer.getWrappedText() returns the same instance until the text changes so comparing the reference is
+  // enough to notice a new text
+  @Nullable
+  private String measuredText;
+  @Nullable
+  private RenderFont measuredFont;
+  private float measuredSize = Float.NaN;
+  private float originalWidth;
+  private float sizedWidth;
+
+  void moveToCenter(
+      @Nonnull final TextRenderer textRenderer,
+      final float size,
+      @Nonnull final NiftyRenderEngine r) {
+    RenderFont font = textRenderer.getFont();
+    if (font == null) {
+      return;
+    }
+
+    String text = textRenderer.getWrappedText();
+    if (text != measuredText || font != measuredFont) {
+      measuredText = text;
+      measuredFont = font;
+      measuredSize = Float.NaN;
+      originalWidth = font.getWidth(text, 1.0f);
+    }
+    if (size != measuredSize) {
+      measuredSize = size;
+      sizedWidth = font.getWidth(text, size);
+    }
+
+    float originalHeight = font.getHeight();
+    float sizedHeight = font.getHeight() * size;
+
+    r.moveToRelative(-(sizedWidth - originalWidth) / 2, -(sizedHeight - originalHeight) / 2);
+  }
+}
@@ -8,7 +8,6 @@ import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
 import de.lessvoid.nifty.elements.render.TextRenderer;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
-import de.lessvoid.nifty.spi.render.RenderFont;
 import de.lessvoid.nifty.tools.SizeValue;
 import de.lessvoid.nifty.tools.pulsate.Pulsator;
 
@@ -45,6 +44,12 @@ public class TextSizePulsate implements EffectImpl {
    */
   private boolean activated = false;
 
+  /**
+   * measures the text to keep it centered.
+   */
+  @Nonnull
+  private final TextSizeMeasure measure = new TextSizeMeasure();
+
   @Override
   public void activate(
       @Nonnull final Nifty nifty,
@@ -79,18 +84,7 @@ public class TextSizePulsate implements EffectImpl {
 
       TextRenderer textRenderer = element.getRenderer(TextRenderer.class);
       if (textRenderer != null) {
-        String text = textRenderer.getWrappedText();
-        RenderFont font = textRenderer.getFont();
-
-        if (font != null) {
-          float originalWidth = font.getWidth(text, 1.0f);
-          float sizedWidth = font.getWidth(text, size);
-
-          float originalHeight = font.getHeight();
-          float sizedHeight = font.getHeight() * size;
-
-          r.moveToRelative(-(sizedWidth - originalWidth) / 2, -(sizedHeight - originalHeight) / 2);
-        }
+        measure.moveToCenter(textRenderer, size, r);
       }
 
       r.setRenderTextSize(size);
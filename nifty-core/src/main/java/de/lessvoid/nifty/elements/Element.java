@@ -18,6 +18,7 @@ import javax.annotation.Nullable;
 import de.lessvoid.nifty.EndNotify;
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.NiftyEvent;
+import de.lessvoid.nifty.NiftyFrameStats;
 import de.lessvoid.nifty.NiftyMethodInvoker;
 import de.lessvoid.nifty.controls.Controller;
 import de.lessvoid.nifty.controls.FocusHandler;
@@ -54,6 +55,7 @@ import de.lessvoid.nifty.loaderv2.types.apply.ApplyRendererPanel;
 import de.lessvoid.nifty.loaderv2.types.apply.Convert;
 import de.lessvoid.nifty.loaderv2.types.helper.PaddingAttributeParser;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.render.NiftyRenderEngineImpl;
 import de.lessvoid.nifty.screen.KeyInputHandler;
 import de.lessvoid.nifty.screen.MouseOverHandler;
 import de.lessvoid.nifty.screen.Screen;
@@ -214,10 +216,63 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   private int parentClipWidth;
   private int parentClipHeight;
 
+  // the element the parent clip area has been taken from. its render offset moves the clip area on the screen.
+  @Nullable
+  private Element parentClipElement;
+
+  // moves this element and all of its children on the screen without changing the layout (see setRenderOffset())
+  private int renderOffsetX;
+  private int renderOffsetY;
+
   // this will be set to true when constraints, padding, margin and so on have been changed and this change should
   // publish an event on the event bus later
   private boolean constraintsChanged;
 
+  /**
+   * The maximal number of layout passes. The full layout always runs that many passes. The incremental layout stops
+   * early as soon as the layout is stable.
+   */
+  private static final int MAX_LAYOUT_PASSES = 3;
+
+  /**
+   * This is set to true when this element or any of its children needs to be laid out again. This is only used when
+   * the incremental layout is enabled (see {@link Nifty#setIncrementalLayout(boolean)}). New elements always start
+   * dirty.
+   */
+  private boolean layoutDirty = true;
+
+  // the box of this element at the time it has been laid out the last time. the incremental layout uses this to
+  // detect elements that have been moved or resized by the layout of their parent.
+  private int layoutBoxX = -1;
+  private int layoutBoxY = -1;
+  private int layoutBoxWidth = -1;
+  private int layoutBoxHeight = -1;
+
+  // incremented whenever the structure, the layout, the render offset, the mouse visibility or the active effects that
+  // are never culled of this element or any of its children have been changed. the mouse hit index of the screen uses
+  // this to find out when it needs to be rebuilt.
+  private int treeVersion;
+
+  // the area this element and all of its children cover including the render offsets (see updateSubtreeBounds()). this
+  // is only valid as long as subtreeVersion is the same as treeVersion.
+  private int subtreeVersion = -1;
+  private int subtreeX0;
+  private int subtreeY0;
+  private int subtreeX1;
+  private int subtreeY1;
+  private int subtreeElementCount;
+  // true when an effect that renders outside of its element is active for this element or any child that isn't clipped
+  private boolean subtreeNeverCull;
+
+  // the id index this element is part of. this is null as long as no id lookup has been made in the element tree.
+  @Nullable
+  private ElementIdIndex idIndex;
+
+  // the position of this element and of its last child, grand child and so on in depth first order. the idIndex
+  // keeps these up to date.
+  private int idIndexOrder;
+  private int idIndexLastChildOrder;
+
   /*
    * Whether or not this element should ignore all mouse events.
    */
@@ -372,6 +427,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       ApplyRenderer rendererApply = rendererApplier.get(renderer.getClass());
       rendererApply.apply(targetScreen, this, attributes, renderEngine);
     }
+    invalidateLayout();
   }
 
   public void initializeFromPostAttributes(@Nonnull final Attributes attributes) {
@@ -407,10 +463,11 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
     // This element has a new parent. Check the parent's clip area and update this element accordingly.
     if (parentHasClipArea()) {
-      setParentClipArea(parentClipX, parentClipY, parentClipWidth, parentClipHeight);
+      setParentClipArea(parentClipElement, parentClipX, parentClipY, parentClipWidth, parentClipHeight);
       publishEvent();
     } else {
       parentClipArea = false;
+      parentClipElement = null;
     }
   }
 
@@ -561,10 +618,91 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   public void setHeight(int height) {
     layoutPart.getBox().setHeight(height);
+    invalidateLayout();
   }
 
   public void setWidth(int width) {
     layoutPart.getBox().setWidth(width);
+    invalidateLayout();
+  }
+
+  /**
+   * Move this element and all of its children on the screen without changing the layout. The offset is applied when
+   * the element is rendered and when mouse events are checked against the element. The layout of the element, which
+   * includes {@link #getX()} and {@link #getY()}, stays the same. This is meant for things like scrolling where the
+   * whole content is moved often and a new layout would be too expensive.
+   * <p/>
+   * Children that are moved completely outside of the visible area are not rendered (see {@link #render}).
+   *
+   * @param x the horizontal offset in pixel
+   * @param y the vertical offset in pixel
+   */
+  public void setRenderOffset(final int x, final int y) {
+    if (renderOffsetX == x && renderOffsetY == y) {
+      return;
+    }
+    renderOffsetX = x;
+    renderOffsetY = y;
+    treeChanged();
+  }
+
+  /**
+   * Get the horizontal render offset of this element alone (see {@link #setRenderOffset(int, int)}).
+   */
+  public int getRenderOffsetX() {
+    return renderOffsetX;
+  }
+
+  /**
+   * Get the vertical render offset of this element alone (see {@link #setRenderOffset(int, int)}).
+   */
+  public int getRenderOffsetY() {
+    return renderOffsetY;
+  }
+
+  /**
+   * Get the horizontal offset this element is moved by on the screen. This is the sum of the render offsets of this
+   * element and of all of its parents.
+   */
+  public int getAbsoluteRenderOffsetX() {
+    int offset = 0;
+    Element current = this;
+    while (current != null) {
+      offset += current.renderOffsetX;
+      current = current.parent;
+    }
+    return offset;
+  }
+
+  /**
+   * Get the vertical offset this element is moved by on the screen. This is the sum of the render offsets of this
+   * element and of all of its parents.
+   */
+  public int getAbsoluteRenderOffsetY() {
+    int offset = 0;
+    Element current = this;
+    while (current != null) {
+      offset += current.renderOffsetY;
+      current = current.parent;
+    }
+    return offset;
+  }
+
+  /**
+   * Gets the x location of the top left corner of this element on the screen. This is {@link #getX()} moved by the
+   * render offsets of this element and all of its parents. Use this to place things like popups next to the element
+   * or to compare the element with the mouse position.
+   */
+  public int getScreenX() {
+    return getX() + getAbsoluteRenderOffsetX();
+  }
+
+  /**
+   * Gets the y location of the top left corner of this element on the screen. This is {@link #getY()} moved by the
+   * render offsets of this element and all of its parents.
+   */
+  public int getScreenY() {
+    return getY() + getAbsoluteRenderOffsetY();
   }
 
   /**
@@ -653,6 +791,8 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     }
 
     children.add(usedIndex, child);
+    child.layoutDirty = true;
+    invalidateLayout();
 
     if (elementsRenderOrderSet == null) {
       elementsRenderOrderSet = new TreeSet<Element>(RENDER_ORDER_COMPARATOR);
@@ -682,6 +822,13 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     } else {
       elementsRenderOrder = elementsRenderOrderSet.toArray(new Element[elementsRenderOrderSet.size()]);
     }
+
+    if (child.idIndex != null) {
+      child.idIndex.remove(child);
+    }
+    if (idIndex != null) {
+      idIndex.add(child);
+    }
   }
 
   /**
@@ -700,6 +847,9 @@ public class Element implements NiftyEvent, EffectManager.Notify {
         Element shouldBeThis = parentChildren.remove(curInd);
         if (shouldBeThis.equals(this)) {
           parentChildren.add(index, this);
+          if (idIndex != null) {
+            idIndex.childrenReordered(parent);
+          }
         } else {
           log.severe("Setting index failed, detected index did not return correct element. Undoing operation");
           parentChildren.add(curInd, shouldBeThis);
@@ -708,27 +858,106 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     }
   }
 
+  /**
+   * Render this element and all of its children. When this element and all of its children are completely outside of
+   * the current clip area or the display nothing is rendered at all. This is not done while an effect is active that
+   * renders outside of the element (see {@link de.lessvoid.nifty.effects.Effect#isNeverCull()}) and only when
+   * rendering with Nifty's own {@link NiftyRenderEngineImpl}.
+   */
   public void render(@Nonnull final NiftyRenderEngine r) {
     if (visible) {
+      NiftyFrameStats frameStats = nifty.isFrameStatsEnabled() ? nifty.getCurrentFrameStats() : null;
+      if (isCulled(r)) {
+        if (frameStats != null) {
+          frameStats.addElementsCulled(subtreeElementCount);
+        }
+        return;
+      }
+      if (frameStats != null) {
+        frameStats.addElementsRendered(1);
+      }
       if (effectManager.isEmpty()) {
         r.saveStates();
+        applyRenderOffset(r);
         renderElement(r);
         renderChildren(r);
         r.restoreStates();
       } else {
+        if (frameStats != null) {
+          frameStats.addActiveEffects(effectManager.getActiveEffectCount());
+        }
         r.saveStates();
+        applyRenderOffset(r);
         effectManager.renderPre(r, this);
         renderElement(r);
         effectManager.renderPost(r, this);
         renderChildren(r);
         r.restoreStates();
         r.saveStates();
+        applyRenderOffset(r);
         effectManager.renderOverlay(r, this);
         r.restoreStates();
       }
     }
   }
 
+  private boolean isCulled(@Nonnull final NiftyRenderEngine r) {
+    if (!(r instanceof NiftyRenderEngineImpl)) {
+      return false;
+    }
+    updateSubtreeBounds();
+    if (subtreeNeverCull) {
+      return false;
+    }
+    return ((NiftyRenderEngineImpl) r).isCompletelyOutside(subtreeX0, subtreeY0, subtreeX1, subtreeY1);
+  }
+
+  /**
+   * Update the area covered by this element and its children. Children can be laid out outside of their parent so we
+   * need to include them unless this element clips them. The area is kept until the tree version changes and that
+   * happens for every layout, every change of the children, every change of a render offset and whenever an effect
+   * that is never culled starts or stops.
+   */
+  private void updateSubtreeBounds() {
+    if (subtreeVersion == treeVersion) {
+      return;
+    }
+    int x0 = getX();
+    int y0 = getY();
+    int x1 = x0 + getWidth();
+    int y1 = y0 + getHeight();
+    int elementCount = 1;
+    boolean neverCull = !effectManager.isEmpty() && effectManager.isNeverCull();
+    if (children != null) {
+      final int childrenCount = children.size();
+      for (int i = 0; i < childrenCount; i++) {
+        Element w = children.get(i);
+        w.updateSubtreeBounds();
+        elementCount += w.subtreeElementCount;
+        if (!clipChildren) {
+          neverCull |= w.subtreeNeverCull;
+          x0 = Math.min(x0, w.subtreeX0);
+          y0 = Math.min(y0, w.subtreeY0);
+          x1 = Math.max(x1, w.subtreeX1);
+          y1 = Math.max(y1, w.subtreeY1);
+        }
+      }
+    }
+    subtreeX0 = x0 + renderOffsetX;
+    subtreeY0 = y0 + renderOffsetY;
+    subtreeX1 = x1 + renderOffsetX;
+    subtreeY1 = y1 + renderOffsetY;
+    subtreeElementCount = elementCount;
+    subtreeNeverCull = neverCull;
+    subtreeVersion = treeVersion;
+  }
+
+  private void applyRenderOffset(@Nonnull final NiftyRenderEngine r) {
+    if (renderOffsetX != 0 || renderOffsetY != 0) {
+      r.moveToRelative(renderOffsetX, renderOffsetY);
+    }
+  }
+
   private void renderElement(@Nonnull final NiftyRenderEngine r) {
     for (int i = 0; i < elementRenderer.length; i++) {
       ElementRenderer renderer = elementRenderer[i];
@@ -757,6 +986,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   public void setLayoutManager(@Nullable final LayoutManager newLayout) {
     this.layoutManager = newLayout;
+    invalidateLayout();
   }
 
   public void resetLayout() {
@@ -977,64 +1207,182 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     }
   }
 
-  private void processLayout() {
+  private int processLayout() {
+    // the box might change so the bounds of the subtree need to be updated
+    treeVersion++;
+    int laidOut = 1;
     processLayoutInternal();
 
     if (layoutManager != null) {
+      layoutChildren();
+
       if (children != null) {
+        // repeat this step for all child elements
         final int childrenCount = children.size();
-        // we need a list of LayoutPart and not of Element, so we'll build one on the fly here
-        List<LayoutPart> layoutPartChild = new ArrayList<LayoutPart>(childrenCount);
         for (int i = 0; i < childrenCount; i++) {
           Element w = children.get(i);
-          layoutPartChild.add(w.layoutPart);
+          laidOut += w.processLayout();
         }
+      }
+    }
 
-        // use out layoutManager to layout our children
-        layoutManager.layoutElements(layoutPart, layoutPartChild);
+    if (clipChildren && children != null) {
+      final int childrenCount = children.size();
+      for (int i = 0; i < childrenCount; i++) {
+        Element w = children.get(i);
+        w.setParentClipArea(this, getX(), getY(), getWidth(), getHeight());
       }
+    }
+    return laidOut;
+  }
 
-      if (attachedInputControl != null) {
-        NiftyControl niftyControl = attachedInputControl.getNiftyControl(NiftyControl.class);
-        if (niftyControl != null) {
-          if (niftyControl.isBound()) {
-            niftyControl.layoutCallback();
-          }
+  /**
+   * Use the layoutManager of this element to layout the child elements and notify the attached control about it.
+   */
+  private void layoutChildren() {
+    if (layoutManager == null) {
+      return;
+    }
+    if (children != null) {
+      final int childrenCount = children.size();
+      // we need a list of LayoutPart and not of Element, so we'll build one on the fly here
+      List<LayoutPart> layoutPartChild = new ArrayList<LayoutPart>(childrenCount);
+      for (int i = 0; i < childrenCount; i++) {
+        Element w = children.get(i);
+        layoutPartChild.add(w.layoutPart);
+      }
+
+      // use out layoutManager to layout our children
+      layoutManager.layoutElements(layoutPart, layoutPartChild);
+    }
+
+    if (attachedInputControl != null) {
+      NiftyControl niftyControl = attachedInputControl.getNiftyControl(NiftyControl.class);
+      if (niftyControl != null) {
+        if (niftyControl.isBound()) {
+          niftyControl.layoutCallback();
         }
       }
+    }
+  }
+
+  /**
+   * The incremental version of {@link #processLayout()}. This only descends into child elements that are marked dirty
+   * or that got a new box from the layoutManager of this element.
+   *
+   * @param laidOut all elements laid out are added to this list
+   */
+  private void processLayoutIncremental(@Nonnull final List<Element> laidOut) {
+    // the box might change so the bounds of the subtree need to be updated
+    treeVersion++;
+    layoutDirty = false;
+    layoutBoxX = getX();
+    layoutBoxY = getY();
+    layoutBoxWidth = getWidth();
+    layoutBoxHeight = getHeight();
+    laidOut.add(this);
+
+    processLayoutInternal();
+
+    if (layoutManager != null) {
+      layoutChildren();
 
       if (children != null) {
-        // repeat this step for all child elements
         final int childrenCount = children.size();
         for (int i = 0; i < childrenCount; i++) {
           Element w = children.get(i);
-          w.processLayout();
+          if (w.needsLayout()) {
+            w.processLayoutIncremental(laidOut);
+          }
         }
       }
+    } else {
+      // without a layoutManager the children are never laid out but their constraints have been processed already
+      markChildrenLayoutClean();
     }
 
     if (clipChildren && children != null) {
+      // the full layout applies the clip area of the outer most clipping element last. since we don't visit the outer
+      // element here when it has not changed we'll forward its clip area instead of our own to get the same result.
       final int childrenCount = children.size();
       for (int i = 0; i < childrenCount; i++) {
         Element w = children.get(i);
-        w.setParentClipArea(getX(), getY(), getWidth(), getHeight());
+        if (parentClipArea) {
+          w.setParentClipArea(parentClipElement, parentClipX, parentClipY, parentClipWidth, parentClipHeight);
+        } else {
+          w.setParentClipArea(this, getX(), getY(), getWidth(), getHeight());
+        }
       }
     }
   }
 
-  public void layoutElements() {
-    prepareLayout();
-    processLayout();
+  private void markChildrenLayoutClean() {
+    if (children != null) {
+      final int childrenCount = children.size();
+      for (int i = 0; i < childrenCount; i++) {
+        Element w = children.get(i);
+        if (w.layoutDirty) {
+          w.layoutDirty = false;
+          w.markChildrenLayoutClean();
+        }
+      }
+    }
+  }
+
+  private boolean needsLayout() {
+    return layoutDirty ||
+        layoutBoxX != getX() ||
+        layoutBoxY != getY() ||
+        layoutBoxWidth != getWidth() ||
+        layoutBoxHeight != getHeight();
+  }
 
-    prepareLayout();
-    processLayout();
+  public void layoutElements() {
+    if (nifty.isIncrementalLayout()) {
+      layoutElementsIncremental();
+      return;
+    }
 
-    prepareLayout();
-    processLayout();
+    final long start = System.nanoTime();
+    int laidOut = 0;
+    for (int i = 0; i < MAX_LAYOUT_PASSES; i++) {
+      prepareLayout();
+      laidOut += processLayout();
+    }
+    nifty.addLayoutPass(laidOut, System.nanoTime() - start);
+    treeChanged();
 
     publishConstraintsChangedEvent();
   }
 
+  /**
+   * Layout only the dirty parts of this element and its children. The layout passes are repeated until no element is
+   * dirty anymore but never more often than the full layout would do it.
+   */
+  private void layoutElementsIncremental() {
+    if (!needsLayout()) {
+      return;
+    }
+
+    final long start = System.nanoTime();
+    List<Element> laidOut = new ArrayList<Element>();
+    for (int i = 0; i < MAX_LAYOUT_PASSES && needsLayout(); i++) {
+      prepareLayoutIncremental();
+      processLayoutIncremental(laidOut);
+    }
+    nifty.addLayoutPass(laidOut.size(), System.nanoTime() - start);
+    treeChanged();
+
+    final int laidOutCount = laidOut.size();
+    for (int i = 0; i < laidOutCount; i++) {
+      Element e = laidOut.get(i);
+      if (e.constraintsChanged) {
+        e.publishEvent();
+        e.constraintsChanged = false;
+      }
+    }
+  }
+
   private void publishConstraintsChangedEvent() {
     if (constraintsChanged) {
       publishEvent();
@@ -1052,8 +1400,91 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     preProcessConstraintHeight();
   }
 
-  private void setParentClipArea(final int x, final int y, final int width, final int height) {
+  private void prepareLayoutIncremental() {
+    preProcessConstraintWidthIncremental();
+    preProcessConstraintHeightIncremental();
+  }
+
+  private void preProcessConstraintWidthIncremental() {
+    if (children != null) {
+      final int childrenCount = children.size();
+      for (int i = 0; i < childrenCount; i++) {
+        Element e = children.get(i);
+        if (e.layoutDirty) {
+          e.preProcessConstraintWidthIncremental();
+        }
+      }
+    }
+
+    preProcessConstraintWidthThisLevel();
+  }
+
+  private void preProcessConstraintHeightIncremental() {
+    if (children != null) {
+      final int childrenCount = children.size();
+      for (int i = 0; i < childrenCount; i++) {
+        Element e = children.get(i);
+        if (e.layoutDirty) {
+          e.preProcessConstraintHeightIncremental();
+        }
+      }
+    }
+
+    preProcessConstraintHeightThisLevel();
+  }
+
+  /**
+   * Mark the layout of this element as outdated. This is done automatically when the constraints of this element
+   * are changed. You only need to call this when you've changed the {@link LayoutPart} of this element directly and
+   * the incremental layout is enabled. The next call to {@link #layoutElements()} of this element or any of its
+   * parents will layout this element again.
+   */
+  public void invalidateLayout() {
+    treeChanged();
+    layoutDirty = true;
+    Element current = parent;
+    while (current != null && !current.layoutDirty) {
+      current.layoutDirty = true;
+      current = current.parent;
+    }
+  }
+
+  /**
+   * Get a version number of this element and all of its children. The version changes whenever the structure, the
+   * layout, the visibility, the visibility to mouse events or the active effects that are never culled of this
+   * element or any of its children has been changed.
+   *
+   * @return the current version of the element tree starting at this element
+   */
+  public int getTreeVersion() {
+    return treeVersion;
+  }
+
+  /**
+   * Called by the effects of this element when an effect that renders outside of the element (see
+   * {@link de.lessvoid.nifty.effects.Effect#isNeverCull()}) starts or stops. Neither this element nor any of its
+   * parents may be skipped for being outside of the visible area while such an effect is active.
+   */
+  public void neverCullEffectsChanged() {
+    treeChanged();
+  }
+
+  private void treeChanged() {
+    Element current = this;
+    while (current != null) {
+      current.treeVersion++;
+      current = current.parent;
+    }
+  }
+
+  private void setParentClipArea(
+      @Nullable final Element clipElement,
+      final int x,
+      final int y,
+      final int width,
+      final int height) {
     parentClipArea = true;
+    parentClipElement = clipElement;
     parentClipX = x;
     parentClipY = y;
     parentClipWidth = width;
@@ -1063,7 +1494,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       final int childrenCount = children.size();
       for (int i = 0; i < childrenCount; i++) {
         Element w = children.get(i);
-        w.setParentClipArea(parentClipX, parentClipY, parentClipWidth, parentClipHeight);
+        w.setParentClipArea(parentClipElement, parentClipX, parentClipY, parentClipWidth, parentClipHeight);
       }
     }
   }
@@ -1135,23 +1566,27 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   }
 
   public void setConstraintX(@Nonnull final SizeValue newX) {
+    final SizeValue oldValue = layoutPart.getBoxConstraints().getX();
     layoutPart.getBoxConstraints().setX(newX);
-    notifyListeners();
+    notifyListeners(oldValue, newX);
   }
 
   public void setConstraintY(@Nonnull final SizeValue newY) {
+    final SizeValue oldValue = layoutPart.getBoxConstraints().getY();
     layoutPart.getBoxConstraints().setY(newY);
-    notifyListeners();
+    notifyListeners(oldValue, newY);
   }
 
   public void setConstraintWidth(@Nonnull final SizeValue newWidth) {
+    final SizeValue oldValue = layoutPart.getBoxConstraints().getWidth();
     layoutPart.getBoxConstraints().setWidth(newWidth);
-    notifyListeners();
+    notifyListeners(oldValue, newWidth);
   }
 
   public void setConstraintHeight(@Nonnull final SizeValue newHeight) {
+    final SizeValue oldValue = layoutPart.getBoxConstraints().getHeight();
     layoutPart.getBoxConstraints().setHeight(newHeight);
-    notifyListeners();
+    notifyListeners(oldValue, newHeight);
   }
 
   @Nonnull
@@ -1175,10 +1610,16 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   }
 
   public void setConstraintHorizontalAlign(@Nonnull final HorizontalAlign newHorizontalAlign) {
+    if (newHorizontalAlign != layoutPart.getBoxConstraints().getHorizontalAlign()) {
+      invalidateLayout();
+    }
     layoutPart.getBoxConstraints().setHorizontalAlign(newHorizontalAlign);
   }
 
   public void setConstraintVerticalAlign(@Nonnull final VerticalAlign newVerticalAlign) {
+    if (newVerticalAlign != layoutPart.getBoxConstraints().getVerticalAlign()) {
+      invalidateLayout();
+    }
     layoutPart.getBoxConstraints().setVerticalAlign(newVerticalAlign);
   }
 
@@ -1496,6 +1937,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   private void internalShow() {
     visible = true;
+    treeChanged();
     effectManager.restoreForShow();
 
     if (id != null) {
@@ -1560,6 +2002,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   private void internalHide() {
     visible = false;
+    treeChanged();
     disableFocus();
 
     if (id != null) {
@@ -1667,7 +2110,25 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       @Nonnull final NiftyMouseInputEvent mouseEvent,
       final long eventTime,
       @Nonnull final MouseOverHandler mouseOverHandler) {
-    boolean isInside = isInside(mouseEvent);
+    addToMouseOverHandler(isInside(mouseEvent), mouseOverHandler);
+    if (visible) {
+      if (children != null) {
+        final int childrenCount = children.size();
+        for (int i = 0; i < childrenCount; i++) {
+          Element w = children.get(i);
+          w.buildMouseOverElements(mouseEvent, eventTime, mouseOverHandler);
+        }
+      }
+    }
+  }
+
+  /**
+   * Add only this element, and not its children, to the given MouseOverHandler. This is the part of
+   * {@link #buildMouseOverElements(NiftyMouseInputEvent, long, MouseOverHandler)} that handles a single element.
+   *
+   * @param isInside true when the mouse is inside of this element
+   */
+  public void addToMouseOverHandler(final boolean isInside, @Nonnull final MouseOverHandler mouseOverHandler) {
     if (canHandleMouseEvents()) {
       if (isInside) {
         mouseOverHandler.addMouseOverElement(this);
@@ -1679,15 +2140,17 @@ public class Element implements NiftyEvent, EffectManager.Notify {
         mouseOverHandler.canTheoreticallyHandleMouse(this);
       }
     }
-    if (visible) {
-      if (children != null) {
-        final int childrenCount = children.size();
-        for (int i = 0; i < childrenCount; i++) {
-          Element w = children.get(i);
-          w.buildMouseOverElements(mouseEvent, eventTime, mouseOverHandler);
-        }
-      }
-    }
+  }
+
+  /**
+   * Check if this element still needs to see mouse events when the mouse is outside of it. This is the case while a
+   * mouse button that has been pressed on this element is down and while any of its hover effects is active or waits
+   * for the mouse to leave.
+   *
+   * @return true when this element has to be processed for mouse events outside of it
+   */
+  public boolean isMouseTracking() {
+    return interaction.isMouseDown() || effectManager.isHoverTracking();
   }
 
   public void mouseEventHoverPreprocess(@Nonnull final NiftyMouseInputEvent mouseEvent, final long eventTime) {
@@ -1734,31 +2197,40 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   }
 
   public boolean isMouseInsideElement(final int mouseX, final int mouseY) {
+    // the render offsets move the element on the screen so we move the mouse the opposite way
+    final int x = mouseX - getAbsoluteRenderOffsetX();
+    final int y = mouseY - getAbsoluteRenderOffsetY();
     if (parentClipArea) {
       // must be inside the parent to continue
       if (isInsideParentClipArea(mouseX, mouseY)) {
         return
-            mouseX >= getX() &&
-                mouseX <= (getX() + getWidth()) &&
-                mouseY > (getY()) &&
-                mouseY < (getY() + getHeight());
+            x >= getX() &&
+                x <= (getX() + getWidth()) &&
+                y > (getY()) &&
+                y < (getY() + getHeight());
       } else {
         return false;
       }
     } else {
       return
-          mouseX >= getX() &&
-              mouseX <= (getX() + getWidth()) &&
-              mouseY > (getY()) &&
-              mouseY < (getY() + getHeight());
+          x >= getX() &&
+              x <= (getX() + getWidth()) &&
+              y > (getY()) &&
+              y < (getY() + getHeight());
     }
   }
 
   private boolean isInsideParentClipArea(final int mouseX, final int mouseY) {
-    return mouseX >= parentClipX &&
-        mouseX <= (parentClipX + parentClipWidth) &&
-        mouseY > (parentClipY) &&
-        mouseY < (parentClipY + parentClipHeight);
+    int x = mouseX;
+    int y = mouseY;
+    if (parentClipElement != null) {
+      x -= parentClipElement.getAbsoluteRenderOffsetX();
+      y -= parentClipElement.getAbsoluteRenderOffsetY();
+    }
+    return x >= parentClipX &&
+        x <= (parentClipX + parentClipWidth) &&
+        y > (parentClipY) &&
+        y < (parentClipY + parentClipHeight);
   }
 
   public void onClick() {
@@ -1794,35 +2266,51 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       return null;
     }
 
-    if (id != null && id.equals(findId)) {
-      return this;
-    }
-
-    if (childIdMatch(findId, id)) {
-      return this;
-    }
+    return getOrCreateIdIndex().find(this, findId);
+  }
 
-    if (children != null) {
-      final int childrenCount = children.size();
-      for (int i = 0; i < childrenCount; i++) {
-        Element e = children.get(i);
-        Element found = e.findElementById(findId);
-        if (found != null) {
-          return found;
-        }
+  /**
+   * Get the id index of the element tree this element is part of. The index is created for the root of the tree
+   * when it does not exist yet. An element that has not been added to the children of its parent yet gets an index
+   * of its own.
+   */
+  @Nonnull
+  private ElementIdIndex getOrCreateIdIndex() {
+    if (idIndex == null) {
+      Element root = this;
+      while (root.parent != null) {
+        root = root.parent;
+      }
+      if (root.idIndex == null) {
+        new ElementIdIndex(root);
+      }
+      if (idIndex == null) {
+        new ElementIdIndex(this);
       }
     }
+    return idIndex;
+  }
 
-    return null;
+  @Nullable
+  ElementIdIndex getIdIndex() {
+    return idIndex;
   }
 
-  private boolean childIdMatch(@Nonnull final String name, @Nullable final String id) {
-    if (name.startsWith("#")) {
-      if (id != null && id.endsWith(name)) {
-        return true;
-      }
-    }
-    return false;
+  void setIdIndex(@Nullable final ElementIdIndex idIndex) {
+    this.idIndex = idIndex;
+  }
+
+  int getIdIndexOrder() {
+    return idIndexOrder;
+  }
+
+  int getIdIndexLastChildOrder() {
+    return idIndexLastChildOrder;
+  }
+
+  void setIdIndexOrder(final int order, final int lastChildOrder) {
+    idIndexOrder = order;
+    idIndexLastChildOrder = lastChildOrder;
   }
 
   public void setOnClickAlternateKey(final String newAlternateKey) {
@@ -1948,6 +2436,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   public void setVisibleToMouseEvents(final boolean newVisibleToMouseEvents) {
     this.visibleToMouseEvents = newVisibleToMouseEvents;
+    treeChanged();
   }
 
   public boolean keyEvent(@Nonnull final KeyboardInputEvent inputEvent) {
@@ -1958,6 +2447,9 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   }
 
   public void setClipChildren(final boolean clipChildrenParam) {
+    if (clipChildren != clipChildrenParam) {
+      invalidateLayout();
+    }
     this.clipChildren = clipChildrenParam;
   }
 
@@ -2079,6 +2571,9 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   public void setId(@Nullable final String id) {
     @Nullable String oldId = this.id;
     this.id = id;
+    if (idIndex != null) {
+      idIndex.changeId(this, oldId, id);
+    }
 
     if (parent == null) {
       return;
@@ -2375,43 +2870,51 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   }
 
   public void setPaddingLeft(@Nonnull final SizeValue paddingValue) {
+    final SizeValue oldValue = layoutPart.getBoxConstraints().getPaddingLeft();
     layoutPart.getBoxConstraints().setPaddingLeft(paddingValue);
-    notifyListeners();
+    notifyListeners(oldValue, paddingValue);
   }
 
   public void setPaddingRight(@Nonnull final SizeValue paddingValue) {
+    final SizeValue oldValue = layoutPart.getBoxConstraints().getPaddingRight();
     layoutPart.getBoxConstraints().setPaddingRight(paddingValue);
-    notifyListeners();
+    notifyListeners(oldValue, paddingValue);
   }
 
   public void setPaddingTop(@Nonnull final SizeValue paddingValue) {
+    final SizeValue oldValue = layoutPart.getBoxConstraints().getPaddingTop();
     layoutPart.getBoxConstraints().setPaddingTop(paddingValue);
-    notifyListeners();
+    notifyListeners(oldValue, paddingValue);
   }
 
   public void setPaddingBottom(@Nonnull final SizeValue paddingValue) {
+    final SizeValue oldValue = layoutPart.getBoxConstraints().getPaddingBottom();
     layoutPart.getBoxConstraints().setPaddingBottom(paddingValue);
-    notifyListeners();
+    notifyListeners(oldValue, paddingValue);
   }
 
   public void setMarginLeft(@Nonnull final SizeValue value) {
+    final SizeValue oldValue = layoutPart.getBoxConstraints().getMarginLeft();
     layoutPart.getBoxConstraints().setMarginLeft(value);
-    notifyListeners();
+    notifyListeners(oldValue, value);
   }
 
   public void setMarginRight(@Nonnull final SizeValue value) {
+    final SizeValue oldValue = layoutPart.getBoxConstraints().getMarginRight();
     layoutPart.getBoxConstraints().setMarginRight(value);
-    notifyListeners();
+    notifyListeners(oldValue, value);
   }
 
   public void setMarginTop(@Nonnull final SizeValue value) {
+    final SizeValue oldValue = layoutPart.getBoxConstraints().getMarginTop();
     layoutPart.getBoxConstraints().setMarginTop(value);
-    notifyListeners();
+    notifyListeners(oldValue, value);
   }
 
   public void setMarginBottom(@Nonnull final SizeValue value) {
+    final SizeValue oldValue = layoutPart.getBoxConstraints().getMarginBottom();
     layoutPart.getBoxConstraints().setMarginBottom(value);
-    notifyListeners();
+    notifyListeners(oldValue, value);
   }
 
   @Override
@@ -2460,8 +2963,11 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     }
   }
 
-  private void notifyListeners() {
+  private void notifyListeners(@Nonnull final SizeValue oldValue, @Nonnull final SizeValue newValue) {
     constraintsChanged = true;
+    if (!oldValue.equals(newValue)) {
+      invalidateLayout();
+    }
   }
 
   private void publishEvent() {
@@ -2562,6 +3068,10 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   // package private to prevent public access
   void internalRemoveElement(@Nonnull final Element element) {
+    invalidateLayout();
+    if (element.idIndex != null) {
+      element.idIndex.remove(element);
+    }
     if (elementsRenderOrderSet != null && children != null) {
       // so now that's odd: we need to remove the element first from the
       // elementsRenderOrder and THEN from the elements list. this is because
@@ -2596,6 +3106,9 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   // package private to prevent public access
   void internalRemoveElementWithChildren() {
+    if (idIndex != null) {
+      idIndex.remove(this);
+    }
     if (children != null) {
       final int childrenCount = children.size();
       for (int i = 0; i < childrenCount; i++) {
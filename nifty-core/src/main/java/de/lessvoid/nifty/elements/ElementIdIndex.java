@@ -0,0 +1,188 @@
+package de.lessvoid.nifty.elements;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of all elements of an element tree by their id. This is used by {@link Element#findElementById(String)}
+ * instead of searching the whole element tree.
+ * <p/>
+ * Besides the full id of each element the index keeps all suffixes of the id that start with a "#" so that lookups
+ * of child ids like "#button" (that match all elements with an id ending in "#button") are fast as well.
+ * <p/>
+ * The index is created for the root of an element tree and the {@link Element} keeps it up to date when elements are
+ * added, removed or when the id of an element changes. To return the same element as a depth first search of the tree
+ * would, each element gets its position in depth first order together with the position of its last child, grand
+ * child and so on. These numbers are only recalculated for the first lookup after the tree has been changed.
+ *
+ * @author void
+ */
+class ElementIdIndex {
+  @Nonnull
+  private final Element root;
+  @Nonnull
+  private final Map<String, List<Element>> elementsById = new HashMap<String, List<Element>>();
+  @Nonnull
+  private final Map<String, List<Element>> elementsByChildId = new HashMap<String, List<Element>>();
+  private boolean orderValid;
+
+  /**
+   * Create a new index that contains the given root element and all of its children.
+   */
+  ElementIdIndex(@Nonnull final Element root) {
+    this.root = root;
+    add(root);
+  }
+
+  /**
+   * Add the given element and all of its children to this index.
+   */
+  void add(@Nonnull final Element element) {
+    orderValid = false;
+    element.setIdIndex(this);
+    addId(element, element.getId());
+    List<Element> children = element.getChildren();
+    final int childrenCount = children.size();
+    for (int i = 0; i < childrenCount; i++) {
+      add(children.get(i));
+    }
+  }
+
+  /**
+   * Remove the given element and all of its children from this index.
+   */
+  void remove(@Nonnull final Element element) {
+    if (element.getIdIndex() != this) {
+      return;
+    }
+    orderValid = false;
+    element.setIdIndex(null);
+    removeId(element, element.getId());
+    List<Element> children = element.getChildren();
+    final int childrenCount = children.size();
+    for (int i = 0; i < childrenCount; i++) {
+      remove(children.get(i));
+    }
+  }
+
+  /**
+   * Update the index after the id of the given element has been changed.
+   */
+  void changeId(@Nonnull final Element element, @Nullable final String oldId, @Nullable final String newId) {
+    removeId(element, oldId);
+    addId(element, newId);
+  }
+
+  /**
+   * The order of the children of the given element has been changed.
+   */
+  void childrenReordered(@Nonnull final Element element) {
+    if (element.getIdIndex() == this) {
+      orderValid = false;
+    }
+  }
+
+  /**
+   * Find the element with the given id. Only the given element and its children are searched. When more than one
+   * element matches the id, the first one in the order of {@link Element#findElementById(String)} is returned.
+   *
+   * @param start the element to start the search at
+   * @param findId the id or, when starting with a "#", the child id to find
+   * @return the element or null if no element with the id can be found
+   */
+  @Nullable
+  Element find(@Nonnull final Element start, @Nonnull final String findId) {
+    List<Element> candidates = findId.startsWith("#") ? elementsByChildId.get(findId) : elementsById.get(findId);
+    if (candidates == null) {
+      return null;
+    }
+
+    if (!orderValid) {
+      updateOrder(root, 0);
+      orderValid = true;
+    }
+
+    final int first = start.getIdIndexOrder();
+    final int last = start.getIdIndexLastChildOrder();
+    Element result = null;
+    for (int i = 0; i < candidates.size(); i++) {
+      Element candidate = candidates.get(i);
+      final int order = candidate.getIdIndexOrder();
+      if (order >= first && order <= last && (result == null || order < result.getIdIndexOrder())) {
+        result = candidate;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Number the given element and all of its children in depth first order.
+   *
+   * @return the next free number
+   */
+  private static int updateOrder(@Nonnull final Element element, final int order) {
+    int next = order + 1;
+    List<Element> children = element.getChildren();
+    final int childrenCount = children.size();
+    for (int i = 0; i < childrenCount; i++) {
+      next = updateOrder(children.get(i), next);
+    }
+    element.setIdIndexOrder(order, next - 1);
+    return next;
+  }
+
+  private void addId(@Nonnull final Element element, @Nullable final String id) {
+    if (id == null) {
+      return;
+    }
+    add(elementsById, id, element);
+    for (int i = id.indexOf('#'); i != -1; i = id.indexOf('#', i + 1)) {
+      add(elementsByChildId, id.substring(i), element);
+    }
+  }
+
+  private void removeId(@Nonnull final Element element, @Nullable final String id) {
+    if (id == null) {
+      return;
+    }
+    remove(elementsById, id, element);
+    for (int i = id.indexOf('#'); i != -1; i = id.indexOf('#', i + 1)) {
+      remove(elementsByChildId, id.substring(i), element);
+    }
+  }
+
+  private static void add(
+      @Nonnull final Map<String, List<Element>> map,
+      @Nonnull final String key,
+      @Nonnull final Element element) {
+    List<Element> elements = map.get(key);
+    if (elements == null) {
+      elements = new ArrayList<Element>(1);
+      map.put(key, elements);
+    }
+    elements.add(element);
+  }
+
+  private static void remove(
+      @Nonnull final Map<String, List<Element>> map,
+      @Nonnull final String key,
+      @Nonnull final Element element) {
+    List<Element> elements = map.get(key);
+    if (elements == null) {
+      return;
+    }
+    for (int i = 0; i < elements.size(); i++) {
+      if (elements.get(i) == element) {
+        elements.remove(i);
+        break;
+      }
+    }
+    if (elements.isEmpty()) {
+      map.remove(key);
+    }
+  }
+}
@@ -40,6 +40,10 @@ public class ElementInteraction {
     tertiary.resetMouseDown();
   }
 
+  public boolean isMouseDown() {
+    return primary.isMouseDown() || secondary.isMouseDown() || tertiary.isMouseDown();
+  }
+
   @Nonnull
   public ElementInteractionClickHandler getPrimary() {
     return primary;
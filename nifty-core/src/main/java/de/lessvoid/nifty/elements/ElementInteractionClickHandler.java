@@ -131,6 +131,13 @@ public class ElementInteractionClickHandler {
     this.isMouseDown = false;
   }
 
+  /**
+   * Returns true while the mouse button has been pressed on the element and has not been released yet.
+   */
+  public boolean isMouseDown() {
+    return isMouseDown;
+  }
+
   private void onInitialClick() {
     mouseMethods.onInitialClick();
   }
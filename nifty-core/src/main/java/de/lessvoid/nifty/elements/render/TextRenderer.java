@@ -50,6 +50,12 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
   @Nullable
   private String[] textLines;
 
+  /**
+   * the text lines joined again, created on demand and forgotten whenever the text lines change.
+   */
+  @Nullable
+  private String wrappedText;
+
   /**
    * max width of all text strings.
    */
@@ -134,6 +140,26 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
 
   private String originalTextBeforeSpecialValues;
 
+  /*
+   * The lines that have been rendered last and the font and xOffsetHack they have been measured with. A label renders
+   * the same lines with the same font every frame, so the lines are only measured again when the text (or the
+   * wrapping), the font or the xOffsetHack changes. The width of the element only changes the alignment which is
+   * calculated from the measured widths.
+   */
+  @Nullable
+  private String[] measuredLines;
+  @Nullable
+  private RenderFont measuredFont;
+  private int measuredXOffsetHack;
+  @Nonnull
+  private int[] lineWidths = new int[0];
+  // with an xOffsetHack only the part of a line after visibleOffsets[i] is rendered and lineWidths[i] is the width of
+  // the part that is cut off
+  @Nonnull
+  private String[] visibleLines = new String[0];
+  @Nonnull
+  private int[] visibleOffsets = new int[0];
+
   /**
    * default constructor.
    */
@@ -188,7 +214,9 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
 
     this.originalText = newText;
     this.textLines = newText.split("\n", -1);
+    this.wrappedText = null;
     if (changeExistingText && hasBeenLayoutedElement != null) {
+      hasBeenLayoutedElement.invalidateLayout();
       hasBeenLayoutedElement.getParent().layoutElements();
     }
 
@@ -227,18 +255,18 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
 
     boolean stateSaved = prepareRenderEngine(r, font);
 
+    measureLines(font, lines);
+
     int y = getStartYWithVerticalAlign(lines.length * font.getHeight(), w.getHeight(), textVAlign);
-    for (String line : lines) {
+    for (int i = 0; i < lines.length; i++) {
       int yy = w.getY() + y;
       if (Math.abs(xOffsetHack) > 0) {
-        int fittingOffset = FontHelper.getVisibleCharactersFromStart(font, line, Math.abs(xOffsetHack), 1.0f);
-        String cut = line.substring(0, fittingOffset);
-        String substring = line.substring(fittingOffset, line.length());
-        int xx = w.getX() + xOffsetHack + font.getWidth(cut);
-        renderLine(xx, yy, substring, r, selectionStart - fittingOffset, selectionEnd - fittingOffset);
+        int fittingOffset = visibleOffsets[i];
+        int xx = w.getX() + xOffsetHack + lineWidths[i];
+        renderLine(xx, yy, visibleLines[i], r, selectionStart - fittingOffset, selectionEnd - fittingOffset);
       } else {
-        int xx = w.getX() + getStartXWithHorizontalAlign(font.getWidth(line), w.getWidth(), textHAlign);
-        renderLine(xx, yy, line, r, selectionStart, selectionEnd);
+        int xx = w.getX() + getStartXWithHorizontalAlign(lineWidths[i], w.getWidth(), textHAlign);
+        renderLine(xx, yy, lines[i], r, selectionStart, selectionEnd);
       }
       y += font.getHeight();
     }
@@ -246,6 +274,36 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
     restoreRenderEngine(r, stateSaved);
   }
 
+  /**
+   * Measure the given lines unless they have already been measured with the same font and xOffsetHack.
+   */
+  private void measureLines(@Nonnull final RenderFont font, @Nonnull final String[] lines) {
+    if (lines == measuredLines && font == measuredFont && xOffsetHack == measuredXOffsetHack) {
+      return;
+    }
+    if (lineWidths.length != lines.length) {
+      lineWidths = new int[lines.length];
+      visibleLines = new String[lines.length];
+      visibleOffsets = new int[lines.length];
+    }
+    for (int i = 0; i < lines.length; i++) {
+      String line = lines[i];
+      if (Math.abs(xOffsetHack) > 0) {
+        int fittingOffset = FontHelper.getVisibleCharactersFromStart(font, line, Math.abs(xOffsetHack), 1.0f);
+        visibleOffsets[i] = fittingOffset;
+        visibleLines[i] = line.substring(fittingOffset, line.length());
+        lineWidths[i] = font.getWidth(line.substring(0, fittingOffset));
+      } else {
+        visibleOffsets[i] = 0;
+        visibleLines[i] = line;
+        lineWidths[i] = font.getWidth(line);
+      }
+    }
+    measuredLines = lines;
+    measuredFont = font;
+    measuredXOffsetHack = xOffsetHack;
+  }
+
   private boolean prepareRenderEngine(@Nonnull final NiftyRenderEngine r, RenderFont font) {
     if (!r.isColorChanged()) {
       if (r.isColorAlphaChanged()) {
@@ -463,16 +521,25 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
     return originalText;
   }
 
+  /**
+   * Get the text the way it is currently wrapped, the lines are separated by '\n'. The same String instance is
+   * returned until the text or the wrapping changes.
+   *
+   * @return wrapped text
+   */
   @Nonnull
   public String getWrappedText() {
-    StringBuilder result = new StringBuilder();
-    if (textLines != null && textLines.length > 0) {
-      result.append(textLines[0]);
-      for (int i = 1; i < textLines.length; i++) {
-        result.append('\n').append(textLines[i]);
+    if (wrappedText == null) {
+      StringBuilder result = new StringBuilder();
+      if (textLines != null && textLines.length > 0) {
+        result.append(textLines[0]);
+        for (int i = 1; i < textLines.length; i++) {
+          result.append('\n').append(textLines[i]);
+        }
       }
+      wrappedText = result.toString();
     }
-    return result.toString();
+    return wrappedText;
   }
 
   public void setTextLineHeight(@Nonnull final SizeValue textLineHeight) {
@@ -523,6 +590,7 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
     this.hasBeenLayoutedElement = element;
 
     this.textLines = wrapText(valueAsInt, renderEngine, originalText.split("\n", -1));
+    this.wrappedText = null;
 
     maxWidth = valueAsInt;
 
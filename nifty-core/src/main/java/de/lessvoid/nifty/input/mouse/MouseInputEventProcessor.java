@@ -1,12 +1,18 @@
 package de.lessvoid.nifty.input.mouse;
 
+import de.lessvoid.nifty.NiftyFrameStats;
 import de.lessvoid.nifty.input.NiftyMouseInputEvent;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 
 /**
  * The MouseInputEventProcessor keeps track of mouse event state.
+ * <p/>
+ * It can optionally coalesce mouse events that only move the mouse. When enabled consecutive events that don't change
+ * the state of any button and don't move the mouse wheel are merged into a single event with the latest mouse
+ * position. Button changes and mouse wheel events are always dispatched exactly as they've been received.
  *
  * @author void
  */
@@ -19,18 +25,119 @@ public class MouseInputEventProcessor {
   private boolean lastButtonDown2 = false;
   private boolean hadAnyEvents = false;
 
+  // state of the coalescing of mouse move events
+  private boolean coalesceMoveEvents = false;
+  @Nullable
+  private NiftyMouseInputEvent coalescedEvent;
+  private boolean receivedButtonDown0 = false;
+  private boolean receivedButtonDown1 = false;
+  private boolean receivedButtonDown2 = false;
+
+  // the number of events received and dispatched in the current and in the last update
+  private int receivedEventCount;
+  private int dispatchedEventCount;
+  private int lastReceivedEventCount;
+  private int lastDispatchedEventCount;
+
   public void reset() {
     lastButtonDown0 = false;
     lastButtonDown1 = false;
     lastButtonDown2 = false;
+    receivedButtonDown0 = false;
+    receivedButtonDown1 = false;
+    receivedButtonDown2 = false;
+    coalescedEvent = null;
   }
 
   public void begin() {
     hadAnyEvents = false;
+    lastReceivedEventCount = receivedEventCount;
+    lastDispatchedEventCount = dispatchedEventCount;
+    receivedEventCount = 0;
+    dispatchedEventCount = 0;
+  }
+
+  /**
+   * Enable or disable the coalescing of mouse events that only move the mouse. This is disabled by default.
+   *
+   * @param coalesceMoveEvents true to merge consecutive mouse move events into a single event
+   */
+  public void setCoalesceMoveEvents(final boolean coalesceMoveEvents) {
+    this.coalesceMoveEvents = coalesceMoveEvents;
+    if (!coalesceMoveEvents) {
+      coalescedEvent = null;
+    }
+  }
+
+  public boolean isCoalesceMoveEvents() {
+    return coalesceMoveEvents;
+  }
+
+  /**
+   * Called for each mouse event received. When the event only moves the mouse and coalescing is enabled the event is
+   * kept and this method returns true. The event must not be dispatched then. It will be returned by
+   * {@link #takeCoalescedEvent()} instead. When this method returns false the event must be dispatched right away but
+   * only after the event returned by {@link #takeCoalescedEvent()} has been dispatched.
+   *
+   * @param mouse the mouse event received
+   * @return true when the event has been coalesced and false when it needs to be dispatched
+   */
+  public boolean coalesce(@Nonnull final NiftyMouseInputEvent mouse) {
+    receivedEventCount++;
+    boolean moveOnly =
+        mouse.getMouseWheel() == 0 &&
+        mouse.isButton0Down() == receivedButtonDown0 &&
+        mouse.isButton1Down() == receivedButtonDown1 &&
+        mouse.isButton2Down() == receivedButtonDown2;
+    receivedButtonDown0 = mouse.isButton0Down();
+    receivedButtonDown1 = mouse.isButton1Down();
+    receivedButtonDown2 = mouse.isButton2Down();
+    if (coalesceMoveEvents && moveOnly) {
+      coalescedEvent = mouse;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Get the mouse move event that has been coalesced and still needs to be dispatched. This event will only be
+   * returned once.
+   *
+   * @return the event to dispatch or null if there is none
+   */
+  @Nullable
+  public NiftyMouseInputEvent takeCoalescedEvent() {
+    NiftyMouseInputEvent result = coalescedEvent;
+    coalescedEvent = null;
+    return result;
+  }
+
+  /**
+   * The number of mouse events received during the last update.
+   */
+  public int getReceivedEventCount() {
+    return lastReceivedEventCount;
+  }
+
+  /**
+   * The number of mouse events dispatched to the screen during the last update. When move events are coalesced this
+   * is less than {@link #getReceivedEventCount()}.
+   */
+  public int getDispatchedEventCount() {
+    return lastDispatchedEventCount;
+  }
+
+  /**
+   * Add the number of mouse events received and dispatched to the screen during the current update to the given
+   * frame statistics. This is called once at the end of each update.
+   */
+  public void addFrameStats(@Nonnull final NiftyFrameStats frameStats) {
+    frameStats.addMouseEvents(receivedEventCount, dispatchedEventCount);
   }
 
   public void process(@Nonnull final NiftyMouseInputEvent mouse) {
     hadAnyEvents = true;
+    dispatchedEventCount++;
     mouse.setButton0InitialDown(!lastButtonDown0 && mouse.isButton0Down());
     mouse.setButton0Release(lastButtonDown0 && !mouse.isButton0Down());
     mouse.setButton1InitialDown(!lastButtonDown1 && mouse.isButton1Down());
@@ -1,13 +1,17 @@
 package de.lessvoid.nifty.loaderv2;
 
 import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.loaderv2.compiled.CompiledXml;
+import de.lessvoid.nifty.loaderv2.compiled.CompiledXmlBundle;
 import de.lessvoid.nifty.loaderv2.types.NiftyControlsType;
 import de.lessvoid.nifty.loaderv2.types.NiftyStylesType;
 import de.lessvoid.nifty.loaderv2.types.NiftyType;
 import de.lessvoid.nifty.spi.time.TimeProvider;
 import de.lessvoid.xml.lwxs.Schema;
+import de.lessvoid.xml.lwxs.XmlType;
 import de.lessvoid.xml.xpp3.XmlParser;
 import org.w3c.dom.Document;
+import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 import org.xmlpull.v1.XmlPullParserFactory;
 
@@ -21,11 +25,14 @@ import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.SchemaFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 /**
@@ -66,6 +73,36 @@ public class NiftyLoader {
   @Nonnull
   private final XmlPullParserFactory parserFactory;
 
+  /**
+   * The compiled files that are known to the loader. These are used instead of loading the XML file with the same name.
+   */
+  @Nonnull
+  private final Map<String, CompiledXml> compiledFiles;
+
+  /**
+   * Parses the style and control files in background threads, null when the files are parsed one after another.
+   */
+  @Nullable
+  private ParallelXmlLoader parallelLoader;
+
+  /**
+   * The number of files that are currently being loaded. Includes are loaded while the including file is loaded.
+   */
+  private int loadDepth;
+
+  /**
+   * The cache for the schemas and the parsed XML files, null when every file is parsed each time it is loaded.
+   */
+  @Nullable
+  private XmlDefinitionCache definitionCache;
+
+  /**
+   * The keys of the registered schemas in the definition cache. They are part of the keys of the XML files, so XML
+   * files loaded with a different schema don't share the cache entries.
+   */
+  @Nonnull
+  private final Map<String, String> schemaKeys;
+
   /**
    * Create a new instance of the Nifty-Loader.
    *
@@ -74,6 +111,8 @@ public class NiftyLoader {
    */
   public NiftyLoader(@Nonnull final Nifty nifty, @Nonnull final TimeProvider timeProvider) {
     schemes = new HashMap<String, Schema>();
+    compiledFiles = new ConcurrentHashMap<String, CompiledXml>();
+    schemaKeys = new HashMap<String, String>();
     try {
       parserFactory = XmlPullParserFactory.newInstance();
     } catch (XmlPullParserException e) {
@@ -85,6 +124,54 @@ public class NiftyLoader {
     this.timeProvider = timeProvider;
   }
 
+  /**
+   * Parse the style and control files that are used by a XML file in parallel. When enabled all files that are
+   * referenced with useStyles and useControls, including the files referenced by these files, are parsed by the given
+   * number of background threads as soon as the referencing file has been parsed. The styles and controls are still
+   * registered on the calling thread in the same order as without parallel loading.
+   *
+   * @param threadCount the number of background threads, 0 disables parallel loading (the default)
+   */
+  public void setParallelLoadingThreads(final int threadCount) {
+    if (parallelLoader != null) {
+      if (parallelLoader.getThreadCount() == threadCount) {
+        return;
+      }
+      parallelLoader.shutdown();
+      parallelLoader = null;
+    }
+    if (threadCount > 0) {
+      parallelLoader = new ParallelXmlLoader(this, threadCount);
+    }
+  }
+
+  /**
+   * The number of background threads used to parse style and control files, 0 when parallel loading is disabled.
+   */
+  public int getParallelLoadingThreads() {
+    return parallelLoader == null ? 0 : parallelLoader.getThreadCount();
+  }
+
+  /**
+   * Set the cache for the schemas and the parsed XML files. By default there is no cache and every file is parsed each
+   * time it is loaded. A cache pays off when several Nifty instances load the same files, for instance with
+   * {@link XmlDefinitionCache#getShared()}, or when the same screen files are loaded again and again. Without it the
+   * files are not read into memory and hashed before they are parsed.
+   * <p/>
+   * The schemas are registered when the Nifty instance is created, so they are only shared through a cache that has
+   * been set before they are registered. The XML files are cached in any case.
+   *
+   * @param cache the cache to use or null to parse every file each time it is loaded
+   */
+  public void setDefinitionCache(@Nullable final XmlDefinitionCache cache) {
+    definitionCache = cache;
+  }
+
+  @Nullable
+  public XmlDefinitionCache getDefinitionCache() {
+    return definitionCache;
+  }
+
   /**
    * Load a Nifty-GUI XML file and get the type that is defined in the file. The XML file needs to be a valid XML GUI
    * definition.
@@ -98,14 +185,15 @@ public class NiftyLoader {
   public NiftyType loadNiftyXml(
       @Nonnull final String schemaId,
       @Nonnull @WillClose final InputStream inputStreamXml) throws Exception {
+    loadDepth++;
     try {
       long start = timeProvider.getMsTime();
       log.fine("loading new nifty xml file with schemaId [" + schemaId + "]");
 
-      XmlParser parser = new XmlParser(parserFactory.newPullParser());
-      parser.read(inputStreamXml);
-
-      NiftyType niftyType = (NiftyType) getSchema(schemaId).loadXml(parser);
+      NiftyType niftyType = (NiftyType) parse(schemaId, inputStreamXml);
+      if (parallelLoader != null) {
+        parallelLoader.prefetchIncludes(niftyType);
+      }
       niftyType.loadStyles(this, nifty);
       niftyType.loadControls(this);
 
@@ -115,9 +203,47 @@ public class NiftyLoader {
       return niftyType;
     } finally {
       closeSilently(inputStreamXml);
+      loadFinished();
     }
   }
 
+  /**
+   * Load a compiled Nifty-GUI XML file that was created with the
+   * {@link de.lessvoid.nifty.loaderv2.compiled.NiftyXmlCompiler}. The style and control files that are part of the
+   * compiled file are registered with {@link #registerCompiledXml(CompiledXmlBundle)}.
+   *
+   * @param inputStreamCompiled the input stream of the compiled file, this stream <b>will be closed</b> by this function
+   * @return the NiftyType that was load from the compiled file
+   * @throws Exception in case the loading fails at any point
+   */
+  @Nonnull
+  public NiftyType loadCompiledNiftyXml(@Nonnull @WillClose final InputStream inputStreamCompiled) throws Exception {
+    long start = timeProvider.getMsTime();
+    log.fine("loading new compiled nifty xml file");
+
+    CompiledXmlBundle bundle = CompiledXmlBundle.read(inputStreamCompiled);
+    registerCompiledXml(bundle);
+
+    NiftyType niftyType = (NiftyType) materialize(bundle.getMain(), "nifty.nxs");
+    niftyType.loadStyles(this, nifty);
+    niftyType.loadControls(this);
+
+    long end = timeProvider.getMsTime();
+    log.fine("loaded compiled nifty xml file took [" + (end - start) + " ms]");
+
+    return niftyType;
+  }
+
+  /**
+   * Register all files of the compiled bundle. Loading a style or control file with the same filename as one of the
+   * registered files uses the compiled file instead of the XML file from now on.
+   *
+   * @param bundle the compiled files
+   */
+  public void registerCompiledXml(@Nonnull final CompiledXmlBundle bundle) {
+    compiledFiles.putAll(bundle.getFiles());
+  }
+
   @Deprecated
   public boolean validateNiftyXml(@Nonnull @WillClose final InputStream inputStreamXml) throws Exception {
     return validateNiftyXml("nifty.xsd", inputStreamXml);
@@ -167,18 +293,17 @@ public class NiftyLoader {
       @Nonnull final Nifty nifty) throws Exception {
     log.fine("loading new nifty style xml file [" + styleFilename + "] with schemaId [" + schemaId + "]");
 
-    XmlParser parser = new XmlParser(parserFactory.newPullParser());
-    InputStream stream = null;
+    loadDepth++;
     try {
-      stream = nifty.getResourceAsStream(styleFilename);
-      if (stream == null) {
-        throw new IOException("Failed to load style. Resource \"" + styleFilename + "\" not found");
+      CompiledXml compiledXml = getCompiledXml(schemaId, styleFilename);
+      if (compiledXml != null) {
+        ((NiftyStylesType) materialize(compiledXml, schemaId)).loadStyles(this, niftyType, nifty, log);
+        return;
       }
-      parser.read(stream);
-      NiftyStylesType niftyStylesType = (NiftyStylesType) getSchema(schemaId).loadXml(parser);
+      NiftyStylesType niftyStylesType = (NiftyStylesType) loadFile(schemaId, styleFilename);
       niftyStylesType.loadStyles(this, niftyType, nifty, log);
     } finally {
-      closeSilently(stream);
+      loadFinished();
     }
   }
 
@@ -188,36 +313,115 @@ public class NiftyLoader {
       @Nonnull final NiftyType niftyType) throws Exception {
     log.fine("loading new nifty controls xml file [" + controlFilename + "] with schemaId [" + schemaId + "]");
 
-    XmlParser parser = new XmlParser(parserFactory.newPullParser());
+    loadDepth++;
+    try {
+      CompiledXml compiledXml = getCompiledXml(schemaId, controlFilename);
+      if (compiledXml != null) {
+        ((NiftyControlsType) materialize(compiledXml, schemaId)).loadControls(this, niftyType);
+        return;
+      }
+      NiftyControlsType niftyControlsType = (NiftyControlsType) loadFile(schemaId, controlFilename);
+      niftyControlsType.loadControls(this, niftyType);
+    } finally {
+      loadFinished();
+    }
+  }
+
+  /**
+   * Parse a style or control file. This is called from the background threads when parallel loading is enabled.
+   */
+  @Nonnull
+  XmlType parseFile(@Nonnull final String schemaId, @Nonnull final String filename) throws Exception {
     InputStream stream = null;
     try {
-      stream = nifty.getResourceAsStream(controlFilename);
+      stream = nifty.getResourceAsStream(filename);
       if (stream == null) {
-        throw new IOException("Failed to load control. Resource \"" + controlFilename + "\" not found");
+        String what = ParallelXmlLoader.CONTROLS_SCHEMA.equals(schemaId) ? "control" : "style";
+        throw new IOException("Failed to load " + what + ". Resource \"" + filename + "\" not found");
       }
-      parser.read(stream);
-      NiftyControlsType niftyControlsType = (NiftyControlsType) getSchema(schemaId).loadXml(parser);
-      niftyControlsType.loadControls(this, niftyType);
+      return parse(schemaId, stream);
     } finally {
       closeSilently(stream);
     }
   }
 
+  boolean hasCompiledXml(@Nonnull final String schemaId, @Nonnull final String filename) {
+    return getCompiledXml(schemaId, filename) != null;
+  }
+
   public void registerSchema(
       @Nonnull final String schemaId,
       @Nonnull @WillClose final InputStream inputStreamSchema) throws Exception {
     try {
-      Schema niftyXmlSchema = new Schema(parserFactory, nifty.getResourceLoader());
-      XmlParser parser = new XmlParser(parserFactory.newPullParser());
-      parser.read(inputStreamSchema);
-      parser.nextTag();
-      parser.required("nxs", niftyXmlSchema);
+      // the schemas are small and registered only once, so we always create their keys. this way a cache that is set
+      // after the schemas have been registered still works for the XML files.
+      byte[] content = readFully(inputStreamSchema);
+      String key = XmlDefinitionCache.key(schemaId, content);
+      XmlDefinitionCache cache = definitionCache;
+      Schema niftyXmlSchema = cache == null ? null : cache.getSchema(key);
+      if (niftyXmlSchema == null) {
+        niftyXmlSchema = parseSchema(new ByteArrayInputStream(content));
+        if (cache != null) {
+          cache.putSchema(key, niftyXmlSchema);
+        }
+      }
       schemes.put(schemaId, niftyXmlSchema);
+      schemaKeys.put(schemaId, key);
     } finally {
       closeSilently(inputStreamSchema);
     }
   }
 
+  @Nonnull
+  private Schema parseSchema(@Nonnull final InputStream inputStreamSchema) throws Exception {
+    Schema niftyXmlSchema = new Schema(parserFactory, nifty.getResourceLoader());
+    XmlParser parser = new XmlParser(newPullParser());
+    parser.read(inputStreamSchema);
+    parser.nextTag();
+    parser.required("nxs", niftyXmlSchema);
+    return niftyXmlSchema;
+  }
+
+  /**
+   * Parse a XML file with the given schema, or get it from the definition cache when the same file has been parsed
+   * before with the same schema.
+   */
+  @Nonnull
+  private XmlType parse(@Nonnull final String schemaId, @Nonnull final InputStream stream) throws Exception {
+    Schema schema = getSchema(schemaId);
+    XmlDefinitionCache cache = definitionCache;
+    String schemaKey = schemaKeys.get(schemaId);
+    if (cache == null || schemaKey == null) {
+      XmlParser parser = new XmlParser(newPullParser());
+      parser.read(stream);
+      return schema.loadXml(parser);
+    }
+
+    byte[] content = readFully(stream);
+    String key = XmlDefinitionCache.key(schemaKey, content);
+    CompiledXml definition = cache.getDefinition(key);
+    if (definition != null) {
+      return definition.materialize();
+    }
+    CompiledXml.Recorder recorder = new CompiledXml.Recorder(schemaId);
+    XmlParser parser = new XmlParser(newPullParser());
+    parser.read(new ByteArrayInputStream(content));
+    XmlType result = schema.loadXml(parser, recorder);
+    cache.putDefinition(key, recorder.build());
+    return result;
+  }
+
+  @Nonnull
+  private static byte[] readFully(@Nonnull final InputStream stream) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[4096];
+    int len;
+    while ((len = stream.read(buffer)) != -1) {
+      out.write(buffer, 0, len);
+    }
+    return out.toByteArray();
+  }
+
   @Nonnull
   private Schema getSchema(@Nonnull final String schemaId) throws Exception {
     Schema niftyXmlSchema = schemes.get(schemaId);
@@ -227,6 +431,48 @@ public class NiftyLoader {
     return niftyXmlSchema;
   }
 
+  @Nonnull
+  private XmlType loadFile(@Nonnull final String schemaId, @Nonnull final String filename) throws Exception {
+    if (parallelLoader == null) {
+      return parseFile(schemaId, filename);
+    }
+    return parallelLoader.take(schemaId, filename);
+  }
+
+  private void loadFinished() {
+    loadDepth--;
+    if (loadDepth == 0 && parallelLoader != null) {
+      parallelLoader.clear();
+    }
+  }
+
+  @Nonnull
+  private XmlPullParser newPullParser() throws XmlPullParserException {
+    synchronized (parserFactory) {
+      return parserFactory.newPullParser();
+    }
+  }
+
+  @Nullable
+  private CompiledXml getCompiledXml(@Nonnull final String schemaId, @Nonnull final String filename) {
+    CompiledXml compiledXml = compiledFiles.get(filename);
+    if (compiledXml == null || !schemaId.equals(compiledXml.getSchemaId())) {
+      return null;
+    }
+    return compiledXml;
+  }
+
+  @Nonnull
+  private static XmlType materialize(
+      @Nonnull final CompiledXml compiledXml,
+      @Nonnull final String schemaId) throws Exception {
+    if (!schemaId.equals(compiledXml.getSchemaId())) {
+      throw new Exception("compiled xml has schemaId [" + compiledXml.getSchemaId() + "] but [" + schemaId +
+          "] was expected");
+    }
+    return compiledXml.materialize();
+  }
+
   private static void closeSilently(@Nullable final Closeable closeable) {
     if (closeable != null) {
       try {
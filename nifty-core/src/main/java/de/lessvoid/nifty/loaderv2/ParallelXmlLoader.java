@@ -0,0 +1,173 @@
+package de.lessvoid.nifty.loaderv2;
+
+import de.lessvoid.nifty.loaderv2.types.NiftyControlsType;
+import de.lessvoid.nifty.loaderv2.types.NiftyStylesType;
+import de.lessvoid.nifty.loaderv2.types.NiftyType;
+import de.lessvoid.nifty.loaderv2.types.UseControlsType;
+import de.lessvoid.nifty.loaderv2.types.UseStylesType;
+import de.lessvoid.xml.lwxs.XmlType;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parses the style and control files a nifty xml file uses in background threads before the {@link NiftyLoader} needs
+ * them. When a file has been parsed the files it includes are queued as well, so the whole include graph is parsed in
+ * parallel.
+ * <p/>
+ * Only the parsing happens in the background. The parsed files are applied by the {@link NiftyLoader} on the calling
+ * thread in exactly the same order as without this class, so the styles and controls that are registered don't depend
+ * on the order the background threads finish in. When the loader needs a file that has not been started yet it is
+ * parsed on the calling thread right away instead of waiting for a background thread.
+ *
+ * @author void
+ */
+class ParallelXmlLoader {
+  static final String STYLES_SCHEMA = "nifty-styles.nxs";
+  static final String CONTROLS_SCHEMA = "nifty-controls.nxs";
+
+  @Nonnull
+  private final NiftyLoader loader;
+  @Nonnull
+  private final ThreadPoolExecutor executor;
+  private final int threadCount;
+  @Nonnull
+  private final ConcurrentMap<String, FutureTask<XmlType>> pending = new ConcurrentHashMap<String, FutureTask<XmlType>>();
+
+  ParallelXmlLoader(@Nonnull final NiftyLoader loader, final int threadCount) {
+    this.loader = loader;
+    this.threadCount = threadCount;
+    executor = new ThreadPoolExecutor(
+        threadCount,
+        threadCount,
+        5, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>(),
+        new LoaderThreadFactory());
+    executor.allowCoreThreadTimeOut(true); // there is nothing to do between loading screens
+  }
+
+  int getThreadCount() {
+    return threadCount;
+  }
+
+  /**
+   * Start parsing all the style and control files the given file includes.
+   */
+  void prefetchIncludes(@Nonnull final XmlType xmlType) {
+    if (xmlType instanceof NiftyType) {
+      prefetchStyles(((NiftyType) xmlType).getUseStyles());
+      prefetchControls(((NiftyType) xmlType).getUseControls());
+    } else if (xmlType instanceof NiftyStylesType) {
+      prefetchStyles(((NiftyStylesType) xmlType).getUseStyles());
+    } else if (xmlType instanceof NiftyControlsType) {
+      prefetchControls(((NiftyControlsType) xmlType).getUseControls());
+    }
+  }
+
+  /**
+   * Get the parsed file. If the file has not been parsed yet it is parsed on the calling thread, if it is being parsed
+   * by a background thread this waits for the result.
+   *
+   * @throws Exception the exception that occurred while parsing the file
+   */
+  @Nonnull
+  XmlType take(@Nonnull final String schemaId, @Nonnull final String filename) throws Exception {
+    FutureTask<XmlType> task = prefetch(schemaId, filename);
+    pending.remove(key(schemaId, filename), task);
+    task.run(); // does nothing when the task has already been started by a background thread
+    try {
+      return task.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Forget about all files that have been parsed but have not been taken. This is called when the loader has finished
+   * loading a file.
+   */
+  void clear() {
+    for (FutureTask<XmlType> task : pending.values()) {
+      task.cancel(false);
+    }
+    pending.clear();
+  }
+
+  void shutdown() {
+    clear();
+    executor.shutdown();
+  }
+
+  private void prefetchStyles(@Nonnull final Collection<UseStylesType> useStyles) {
+    for (UseStylesType useStyle : useStyles) {
+      String filename = useStyle.getFilename();
+      if (filename != null && !loader.hasCompiledXml(STYLES_SCHEMA, filename)) {
+        prefetch(STYLES_SCHEMA, filename);
+      }
+    }
+  }
+
+  private void prefetchControls(@Nonnull final Collection<UseControlsType> useControls) {
+    for (UseControlsType useControl : useControls) {
+      String filename = useControl.getFilename();
+      if (filename != null && !loader.hasCompiledXml(CONTROLS_SCHEMA, filename)) {
+        prefetch(CONTROLS_SCHEMA, filename);
+      }
+    }
+  }
+
+  @Nonnull
+  private FutureTask<XmlType> prefetch(@Nonnull final String schemaId, @Nonnull final String filename) {
+    String key = key(schemaId, filename);
+    FutureTask<XmlType> task = pending.get(key);
+    if (task != null) {
+      return task;
+    }
+    task = new FutureTask<XmlType>(new Callable<XmlType>() {
+      @Override
+      public XmlType call() throws Exception {
+        XmlType xmlType = loader.parseFile(schemaId, filename);
+        prefetchIncludes(xmlType);
+        return xmlType;
+      }
+    });
+    FutureTask<XmlType> existing = pending.putIfAbsent(key, task);
+    if (existing != null) {
+      return existing;
+    }
+    executor.execute(task);
+    return task;
+  }
+
+  @Nonnull
+  private static String key(@Nonnull final String schemaId, @Nonnull final String filename) {
+    return schemaId + ':' + filename;
+  }
+
+  private static class LoaderThreadFactory implements ThreadFactory {
+    @Nonnull
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    @Nonnull
+    @Override
+    public Thread newThread(@Nonnull final Runnable runnable) {
+      Thread thread = new Thread(runnable, "Nifty xml loader " + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
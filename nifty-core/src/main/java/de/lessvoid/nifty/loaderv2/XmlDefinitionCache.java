@@ -0,0 +1,129 @@
+package de.lessvoid.nifty.loaderv2;
+
+import de.lessvoid.nifty.loaderv2.compiled.CompiledXml;
+import de.lessvoid.xml.lwxs.Schema;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache for the schemas and the XML files a {@link NiftyLoader} has loaded. The loaders don't use a cache unless one
+ * is set with {@link NiftyLoader#setDefinitionCache(XmlDefinitionCache)}. When several Nifty instances share
+ * {@link #getShared()} and load the same files, or a screen file is loaded again, the schemas and XML files are parsed
+ * only once.
+ * <p/>
+ * The entries are keyed by the content of the files, so a file that has been changed is parsed again. XML files are
+ * stored as {@link CompiledXml}, which is immutable, and each load gets its own XmlType graph from it. So the Nifty
+ * instances can change their styles and control definitions without affecting each other, while they share the
+ * attribute strings. The schemas are shared as they are, a schema isn't changed after it has been loaded.
+ * <p/>
+ * The number of cached XML files is limited, the least recently used files are dropped first. This class is thread
+ * safe.
+ *
+ * @author void
+ */
+public class XmlDefinitionCache {
+  public static final int DEFAULT_MAX_DEFINITIONS = 256;
+
+  @Nonnull
+  private static final XmlDefinitionCache shared = new XmlDefinitionCache(DEFAULT_MAX_DEFINITIONS);
+  @Nonnull
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  @Nonnull
+  private final Map<String, Schema> schemas = new HashMap<String, Schema>();
+  @Nonnull
+  private final Map<String, CompiledXml> definitions;
+  private int hitCount;
+  private int missCount;
+
+  public XmlDefinitionCache(final int maxDefinitions) {
+    definitions = new LinkedHashMap<String, CompiledXml>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, CompiledXml> eldest) {
+        return size() > maxDefinitions;
+      }
+    };
+  }
+
+  /**
+   * A cache that can be shared by all {@link NiftyLoader}s of the process.
+   */
+  @Nonnull
+  public static XmlDefinitionCache getShared() {
+    return shared;
+  }
+
+  /**
+   * Create the key of a file.
+   *
+   * @param prefix  the part of the key that identifies how the file is loaded, for instance the schema id
+   * @param content the content of the file
+   */
+  @Nonnull
+  public static String key(@Nonnull final String prefix, @Nonnull final byte[] content) {
+    byte[] digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-1").digest(content);
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException("SHA-1 is not available, something is badly wrong!", e);
+    }
+    StringBuilder result = new StringBuilder(prefix.length() + 1 + digest.length * 2);
+    result.append(prefix).append(':');
+    for (byte b : digest) {
+      result.append(HEX[(b >> 4) & 0xf]).append(HEX[b & 0xf]);
+    }
+    return result.toString();
+  }
+
+  @Nullable
+  public synchronized Schema getSchema(@Nonnull final String key) {
+    return schemas.get(key);
+  }
+
+  public synchronized void putSchema(@Nonnull final String key, @Nonnull final Schema schema) {
+    schemas.put(key, schema);
+  }
+
+  @Nullable
+  public synchronized CompiledXml getDefinition(@Nonnull final String key) {
+    CompiledXml result = definitions.get(key);
+    if (result == null) {
+      missCount++;
+    } else {
+      hitCount++;
+    }
+    return result;
+  }
+
+  public synchronized void putDefinition(@Nonnull final String key, @Nonnull final CompiledXml definition) {
+    definitions.put(key, definition);
+  }
+
+  public synchronized int getDefinitionCount() {
+    return definitions.size();
+  }
+
+  public synchronized int getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized int getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * Forget about all schemas and XML files.
+   */
+  public synchronized void clear() {
+    schemas.clear();
+    definitions.clear();
+    hitCount = 0;
+    missCount = 0;
+  }
+}
@@ -0,0 +1,271 @@
+package de.lessvoid.nifty.loaderv2.compiled;
+
+import de.lessvoid.xml.lwxs.XmlType;
+import de.lessvoid.xml.lwxs.XmlTypeListener;
+import de.lessvoid.xml.tools.ClassHelper;
+import de.lessvoid.xml.tools.ResolvedMethodCache;
+import de.lessvoid.xml.xpp3.Attributes;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * A XML file that has been loaded with a {@link de.lessvoid.xml.lwxs.Schema} once and has been recorded in a compact
+ * form. It can be turned into the same XmlType graph again with {@link #materialize()} without parsing the XML and
+ * without processing the schema.
+ * <p/>
+ * Each XmlType of the graph is stored as the index of its class name, the index of its parent, the index of the method
+ * that links it to its parent and its attributes as pairs of string indices. All strings are stored only once. The
+ * attributes are stored exactly as they appear in the XML file, so special values like "${CALL.method()}" or the
+ * resource bundle keys are still translated when the screens are created.
+ * <p/>
+ * Instances are immutable and can be materialized from several threads at the same time.
+ *
+ * @author void
+ */
+public final class CompiledXml {
+  @Nonnull
+  private static final Logger log = Logger.getLogger(CompiledXml.class.getName());
+  private static final int NODE_HEADER_SIZE = 4; // class, parent, parent method, attribute count
+  private static final int NONE = -1;
+
+  @Nonnull
+  private final String schemaId;
+  @Nonnull
+  private final String[] strings;
+  @Nonnull
+  private final int[] nodes;
+  private final int nodeCount;
+
+  private CompiledXml(
+      @Nonnull final String schemaId,
+      @Nonnull final String[] strings,
+      @Nonnull final int[] nodes,
+      final int nodeCount) {
+    this.schemaId = schemaId;
+    this.strings = strings;
+    this.nodes = nodes;
+    this.nodeCount = nodeCount;
+  }
+
+  /**
+   * The id of the schema the XML file has been loaded with, for instance "nifty.nxs".
+   */
+  @Nonnull
+  public String getSchemaId() {
+    return schemaId;
+  }
+
+  /**
+   * The number of XmlTypes in the graph.
+   */
+  public int getNodeCount() {
+    return nodeCount;
+  }
+
+  /**
+   * Create the XmlType graph.
+   *
+   * @return the root of the graph, for instance a {@link de.lessvoid.nifty.loaderv2.types.NiftyType}
+   * @throws Exception in case a class of the graph can't be instantiated
+   */
+  @Nonnull
+  public XmlType materialize() throws Exception {
+    if (nodeCount == 0) {
+      throw new Exception("The compiled xml [" + schemaId + "] is empty.");
+    }
+    // the classes and methods are resolved once per materialize() so that this instance stays immutable
+    Class<?>[] classes = new Class<?>[strings.length];
+    ResolvedMethodCache[] parentMethods = new ResolvedMethodCache[strings.length];
+    XmlType[] xmlTypes = new XmlType[nodeCount];
+
+    int index = 0;
+    for (int i = 0; i < nodeCount; i++) {
+      int classIndex = nodes[index++];
+      int parent = nodes[index++];
+      int parentMethod = nodes[index++];
+      int attributeCount = nodes[index++];
+      String[] attributes = new String[attributeCount * 2];
+      for (int a = 0; a < attributes.length; a++) {
+        attributes[a] = strings[nodes[index++]];
+      }
+
+      XmlType xmlType = createXmlType(classes, classIndex);
+      xmlType.applyAttributes(new Attributes(attributes));
+      if (parent != NONE) {
+        link(parentMethods, parentMethod, xmlTypes[parent], xmlType);
+      }
+      xmlTypes[i] = xmlType;
+    }
+    return xmlTypes[0];
+  }
+
+  /**
+   * Find all values of an attribute of the XmlTypes of a certain class. This is used to find the files that are
+   * referenced by the XML file, for instance the "filename" of all
+   * {@link de.lessvoid.nifty.loaderv2.types.UseStylesType}s.
+   */
+  @Nonnull
+  public List<String> getAttributeValues(@Nonnull final String className, @Nonnull final String attributeName) {
+    List<String> result = new ArrayList<String>();
+    int index = 0;
+    for (int i = 0; i < nodeCount; i++) {
+      String nodeClassName = strings[nodes[index]];
+      int attributeCount = nodes[index + 3];
+      index += NODE_HEADER_SIZE;
+      for (int a = 0; a < attributeCount; a++) {
+        if (nodeClassName.equals(className) && strings[nodes[index]].equals(attributeName)) {
+          result.add(strings[nodes[index + 1]]);
+        }
+        index += 2;
+      }
+    }
+    return result;
+  }
+
+  void write(@Nonnull final DataOutputStream out) throws IOException {
+    out.writeUTF(schemaId);
+    out.writeInt(strings.length);
+    for (String s : strings) {
+      out.writeUTF(s);
+    }
+    out.writeInt(nodeCount);
+    out.writeInt(nodes.length);
+    for (int value : nodes) {
+      out.writeInt(value);
+    }
+  }
+
+  @Nonnull
+  static CompiledXml read(@Nonnull final DataInputStream in) throws IOException {
+    String schemaId = in.readUTF();
+    String[] strings = new String[in.readInt()];
+    for (int i = 0; i < strings.length; i++) {
+      strings[i] = in.readUTF().intern();
+    }
+    int nodeCount = in.readInt();
+    int[] nodes = new int[in.readInt()];
+    for (int i = 0; i < nodes.length; i++) {
+      nodes[i] = in.readInt();
+    }
+    return new CompiledXml(schemaId, strings, nodes, nodeCount);
+  }
+
+  @Nonnull
+  private XmlType createXmlType(@Nonnull final Class<?>[] classes, final int classIndex) throws Exception {
+    Class<?> c = classes[classIndex];
+    if (c == null) {
+      c = ClassHelper.loadClass(strings[classIndex]);
+      if (c == null || !XmlType.class.isAssignableFrom(c)) {
+        throw new Exception("Failed to materialize compiled xml. Class [" + strings[classIndex] + "] is not a " +
+            XmlType.class.getName());
+      }
+      classes[classIndex] = c;
+    }
+    return (XmlType) c.newInstance();
+  }
+
+  // the same as the "set"/"add" invoke of the XmlProcessorType, just with the method resolved only once
+  private void link(
+      @Nonnull final ResolvedMethodCache[] parentMethods,
+      final int parentMethod,
+      @Nonnull final XmlType parent,
+      @Nonnull final XmlType child) throws Exception {
+    ResolvedMethodCache methodCache = parentMethods[parentMethod];
+    if (methodCache == null) {
+      methodCache = new ResolvedMethodCache(strings[parentMethod] + "()");
+      parentMethods[parentMethod] = methodCache;
+    }
+    Method method = methodCache.findMethod(parent.getClass());
+    if (method == null) {
+      log.warning("invoke for method [" + strings[parentMethod] + "()] failed");
+      return;
+    }
+    if (method.getParameterTypes().length == 1) {
+      method.invoke(parent, child);
+    } else {
+      method.invoke(parent);
+    }
+  }
+
+  /**
+   * Records the XmlTypes a {@link de.lessvoid.xml.lwxs.Schema} creates while it loads a XML file.
+   */
+  public static class Recorder implements XmlTypeListener {
+    @Nonnull
+    private final String schemaId;
+    @Nonnull
+    private final List<String> strings = new ArrayList<String>();
+    @Nonnull
+    private final Map<String, Integer> stringIndices = new HashMap<String, Integer>();
+    @Nonnull
+    private final Map<XmlType, Integer> nodeIndices = new IdentityHashMap<XmlType, Integer>();
+    @Nonnull
+    private int[] nodes = new int[256];
+    private int size;
+
+    public Recorder(@Nonnull final String schemaId) {
+      this.schemaId = schemaId;
+    }
+
+    @Override
+    public void xmlTypeCreated(
+        @Nonnull final XmlType xmlType,
+        @Nonnull final String className,
+        @Nonnull final Attributes attributes,
+        @Nullable final XmlType parent,
+        @Nullable final String parentMethod) {
+      Integer parentIndex = parent == null ? null : nodeIndices.get(parent);
+      if (parent != null && parentIndex == null) {
+        log.warning("parent of [" + className + "] has not been recorded, ignoring it");
+        return;
+      }
+      nodeIndices.put(xmlType, nodeIndices.size());
+      Map<String, String> values = attributes.getAttributes();
+      add(stringIndex(className));
+      add(parentIndex == null ? NONE : parentIndex);
+      add(parentMethod == null ? NONE : stringIndex(parentMethod));
+      add(values.size());
+      for (Map.Entry<String, String> entry : values.entrySet()) {
+        add(stringIndex(entry.getKey()));
+        add(stringIndex(entry.getValue()));
+      }
+    }
+
+    @Nonnull
+    public CompiledXml build() {
+      int[] result = new int[size];
+      System.arraycopy(nodes, 0, result, 0, size);
+      return new CompiledXml(schemaId, strings.toArray(new String[strings.size()]), result, nodeIndices.size());
+    }
+
+    private int stringIndex(@Nonnull final String value) {
+      Integer index = stringIndices.get(value);
+      if (index == null) {
+        index = strings.size();
+        strings.add(value);
+        stringIndices.put(value, index);
+      }
+      return index;
+    }
+
+    private void add(final int value) {
+      if (size == nodes.length) {
+        int[] newNodes = new int[size * 2];
+        System.arraycopy(nodes, 0, newNodes, 0, size);
+        nodes = newNodes;
+      }
+      nodes[size++] = value;
+    }
+  }
+}
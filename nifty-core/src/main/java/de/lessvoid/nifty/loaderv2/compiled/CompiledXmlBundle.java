@@ -0,0 +1,109 @@
+package de.lessvoid.nifty.loaderv2.compiled;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.WillClose;
+import javax.annotation.WillNotClose;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A nifty xml file together with all the style and control files it uses, each one compiled into a
+ * {@link CompiledXml}. The first file of the bundle is the nifty xml file itself.
+ * <p/>
+ * The binary format is a magic number, the format version and the number of files followed by the filename and the
+ * {@link CompiledXml} of each file. Bundles are created with the {@link NiftyXmlCompiler}.
+ *
+ * @author void
+ */
+public class CompiledXmlBundle {
+  private static final int MAGIC = 0x4e584d4c; // "NXML"
+  private static final int VERSION = 1;
+
+  @Nonnull
+  private final Map<String, CompiledXml> files = new LinkedHashMap<String, CompiledXml>();
+
+  public void add(@Nonnull final String filename, @Nonnull final CompiledXml compiledXml) {
+    files.put(filename, compiledXml);
+  }
+
+  public boolean contains(@Nonnull final String filename) {
+    return files.containsKey(filename);
+  }
+
+  @Nullable
+  public CompiledXml get(@Nonnull final String filename) {
+    return files.get(filename);
+  }
+
+  /**
+   * The nifty xml file this bundle has been compiled from.
+   */
+  @Nonnull
+  public CompiledXml getMain() throws IOException {
+    if (files.isEmpty()) {
+      throw new IOException("The compiled xml bundle is empty.");
+    }
+    return files.values().iterator().next();
+  }
+
+  /**
+   * All files of this bundle by their filename, the nifty xml file first.
+   */
+  @Nonnull
+  public Map<String, CompiledXml> getFiles() {
+    return Collections.unmodifiableMap(files);
+  }
+
+  public void write(@Nonnull @WillNotClose final OutputStream outputStream) throws IOException {
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(files.size());
+    for (Map.Entry<String, CompiledXml> entry : files.entrySet()) {
+      out.writeUTF(entry.getKey());
+      entry.getValue().write(out);
+    }
+    out.flush();
+  }
+
+  /**
+   * Read a bundle that has been written with {@link #write(OutputStream)}.
+   *
+   * @param inputStream the stream to read, this stream <b>will be closed</b> by this function
+   */
+  @Nonnull
+  public static CompiledXmlBundle read(@Nonnull @WillClose final InputStream inputStream) throws IOException {
+    try {
+      DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not a compiled nifty xml file.");
+      }
+      int version = in.readInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported compiled nifty xml version [" + version + "], expected [" + VERSION + "]. " +
+            "Please compile the xml file again.");
+      }
+      CompiledXmlBundle bundle = new CompiledXmlBundle();
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        String filename = in.readUTF();
+        bundle.add(filename, CompiledXml.read(in));
+      }
+      return bundle;
+    } finally {
+      try {
+        inputStream.close();
+      } catch (IOException ignored) {
+      }
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package de.lessvoid.nifty.loaderv2.compiled;
+
+import de.lessvoid.nifty.loaderv2.types.UseControlsType;
+import de.lessvoid.nifty.loaderv2.types.UseStylesType;
+import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+import de.lessvoid.xml.lwxs.Schema;
+import de.lessvoid.xml.xpp3.XmlParser;
+import org.xmlpull.v1.XmlPullParserException;
+import org.xmlpull.v1.XmlPullParserFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.WillClose;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Compiles a nifty xml file and all the style and control files it uses into a {@link CompiledXmlBundle}. The bundle
+ * can be loaded with {@link de.lessvoid.nifty.Nifty#fromCompiledXml(String, String)} a lot faster than the xml
+ * files because neither the xml has to be parsed nor the schema has to be processed.
+ * <p/>
+ * The files are found with the given {@link NiftyResourceLoader}, so it needs the same resource locations as the
+ * application that loads the xml file.
+ *
+ * @author void
+ */
+public class NiftyXmlCompiler {
+  @Nonnull
+  private static final Logger log = Logger.getLogger(NiftyXmlCompiler.class.getName());
+  @Nonnull
+  private static final String NIFTY_SCHEMA = "nifty.nxs";
+  @Nonnull
+  private static final String STYLES_SCHEMA = "nifty-styles.nxs";
+  @Nonnull
+  private static final String CONTROLS_SCHEMA = "nifty-controls.nxs";
+
+  @Nonnull
+  private final NiftyResourceLoader resourceLoader;
+  @Nonnull
+  private final XmlPullParserFactory parserFactory;
+  @Nonnull
+  private final Map<String, Schema> schemes = new HashMap<String, Schema>();
+
+  public NiftyXmlCompiler(@Nonnull final NiftyResourceLoader resourceLoader) {
+    this.resourceLoader = resourceLoader;
+    try {
+      parserFactory = XmlPullParserFactory.newInstance();
+    } catch (XmlPullParserException e) {
+      throw new RuntimeException("Failure to load the XmlPullParser, something is badly wrong!", e);
+    }
+    parserFactory.setValidating(false);
+    parserFactory.setNamespaceAware(true);
+  }
+
+  /**
+   * Compile the given nifty xml file together with all style and control files it uses.
+   *
+   * @param filename the nifty xml file
+   * @return the compiled files, the nifty xml file first
+   * @throws Exception in case one of the files can't be loaded
+   */
+  @Nonnull
+  public CompiledXmlBundle compile(@Nonnull final String filename) throws Exception {
+    CompiledXmlBundle bundle = new CompiledXmlBundle();
+    compileFile(NIFTY_SCHEMA, filename, bundle);
+    return bundle;
+  }
+
+  /**
+   * Compile the nifty xml from the given stream together with all style and control files it uses.
+   *
+   * @param filename the name the nifty xml file is stored with in the bundle
+   * @param xml      the nifty xml, this stream <b>will be closed</b> by this function
+   * @return the compiled files, the nifty xml file first
+   * @throws Exception in case one of the files can't be loaded
+   */
+  @Nonnull
+  public CompiledXmlBundle compile(@Nonnull final String filename, @Nonnull @WillClose final InputStream xml)
+      throws Exception {
+    CompiledXmlBundle bundle = new CompiledXmlBundle();
+    addWithReferencedFiles(filename, record(NIFTY_SCHEMA, xml), bundle);
+    return bundle;
+  }
+
+  private void compileFile(
+      @Nonnull final String schemaId,
+      @Nonnull final String filename,
+      @Nonnull final CompiledXmlBundle bundle) throws Exception {
+    if (bundle.contains(filename)) {
+      return;
+    }
+    log.fine("compiling [" + filename + "] with schemaId [" + schemaId + "]");
+
+    InputStream stream = resourceLoader.getResourceAsStream(filename);
+    if (stream == null) {
+      throw new IOException("Failed to compile. Resource \"" + filename + "\" not found");
+    }
+    addWithReferencedFiles(filename, record(schemaId, stream), bundle);
+  }
+
+  private void addWithReferencedFiles(
+      @Nonnull final String filename,
+      @Nonnull final CompiledXml compiledXml,
+      @Nonnull final CompiledXmlBundle bundle) throws Exception {
+    bundle.add(filename, compiledXml);
+
+    for (String styleFile : compiledXml.getAttributeValues(UseStylesType.class.getName(), "filename")) {
+      compileFile(STYLES_SCHEMA, styleFile, bundle);
+    }
+    for (String controlFile : compiledXml.getAttributeValues(UseControlsType.class.getName(), "filename")) {
+      compileFile(CONTROLS_SCHEMA, controlFile, bundle);
+    }
+  }
+
+  @Nonnull
+  private CompiledXml record(
+      @Nonnull final String schemaId,
+      @Nonnull @WillClose final InputStream stream) throws Exception {
+    Schema schema;
+    try {
+      schema = getSchema(schemaId);
+    } catch (Exception e) {
+      closeSilently(stream);
+      throw e;
+    }
+    CompiledXml.Recorder recorder = new CompiledXml.Recorder(schemaId);
+    try {
+      XmlParser parser = new XmlParser(parserFactory.newPullParser());
+      parser.read(stream);
+      schema.loadXml(parser, recorder);
+    } finally {
+      closeSilently(stream);
+    }
+    return recorder.build();
+  }
+
+  @Nonnull
+  private Schema getSchema(@Nonnull final String schemaId) throws Exception {
+    Schema schema = schemes.get(schemaId);
+    if (schema != null) {
+      return schema;
+    }
+    InputStream stream = resourceLoader.getResourceAsStream(schemaId);
+    if (stream == null) {
+      throw new IOException("Failed to open stream to schema resource \"" + schemaId + "\".");
+    }
+    try {
+      schema = new Schema(parserFactory, resourceLoader);
+      XmlParser parser = new XmlParser(parserFactory.newPullParser());
+      parser.read(stream);
+      parser.nextTag();
+      parser.required("nxs", schema);
+      schemes.put(schemaId, schema);
+      return schema;
+    } finally {
+      closeSilently(stream);
+    }
+  }
+
+  private static void closeSilently(@Nonnull final InputStream stream) {
+    try {
+      stream.close();
+    } catch (IOException ignored) {
+    }
+  }
+}
@@ -96,6 +96,7 @@ public class EffectType extends XmlBaseType implements Cloneable {
           getAlternateDisable(effectAttributes),
           getCustomKey(effectAttributes),
           getNeverStopRendering(effectAttributes),
+          getNeverCull(effectAttributes, effectImpl),
           effectEventId,
           element,
           effectImpl,
@@ -150,6 +151,10 @@ public class EffectType extends XmlBaseType implements Cloneable {
     return attributes.getAsBoolean("neverStopRendering", false);
   }
 
+  private boolean getNeverCull(@Nonnull final Attributes attributes, @Nonnull final EffectImpl effectImpl) {
+    return attributes.getAsBoolean("neverCull", Effect.isNeverCullByDefault(effectImpl));
+  }
+
   protected void initializeEffect(@Nonnull final Effect effect, final EffectEventId effectEventId) {
     if (EffectEventId.onFocus.equals(effectEventId) ||
         EffectEventId.onActive.equals(effectEventId) ||
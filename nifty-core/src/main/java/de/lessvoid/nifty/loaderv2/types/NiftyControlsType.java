@@ -6,6 +6,7 @@ import de.lessvoid.nifty.loaderv2.types.helper.CollectionLogger;
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 
 public class NiftyControlsType extends XmlBaseType {
   @Nonnull
@@ -33,6 +34,11 @@ public class NiftyControlsType extends XmlBaseType {
     resourceBundles.add(resourceBundle);
   }
 
+  @Nonnull
+  public Collection<UseControlsType> getUseControls() {
+    return Collections.unmodifiableCollection(useControls);
+  }
+
   public void loadControls(
       @Nonnull final NiftyLoader niftyLoader,
       @Nonnull final NiftyType niftyType) throws Exception {
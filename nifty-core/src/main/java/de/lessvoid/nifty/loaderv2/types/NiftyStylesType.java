@@ -7,6 +7,7 @@ import de.lessvoid.nifty.loaderv2.types.helper.CollectionLogger;
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.logging.Logger;
 
 public class NiftyStylesType extends XmlBaseType {
@@ -40,6 +41,11 @@ public class NiftyStylesType extends XmlBaseType {
       registeredEffect.add(newEffect);
   }
   
+  @Nonnull
+  public Collection<UseStylesType> getUseStyles() {
+    return Collections.unmodifiableCollection(useStyles);
+  }
+
   public void loadStyles(
       @Nonnull final NiftyLoader niftyLoader,
       @Nonnull final NiftyType niftyType,
@@ -9,6 +9,7 @@ import de.lessvoid.nifty.tools.StopWatch;
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.logging.Logger;
 
 public class NiftyType extends XmlBaseType {
@@ -151,6 +152,16 @@ public class NiftyType extends XmlBaseType {
     log.fine("create Screens [" + stopWatch.stop() + "]");
   }
 
+  @Nonnull
+  public Collection<UseStylesType> getUseStyles() {
+    return Collections.unmodifiableCollection(useStyles);
+  }
+
+  @Nonnull
+  public Collection<UseControlsType> getUseControls() {
+    return Collections.unmodifiableCollection(useControls);
+  }
+
   public void loadStyles(@Nonnull final NiftyLoader niftyLoader, @Nonnull final Nifty nifty) throws Exception {
     for (UseStylesType useStyle : useStyles) {
       useStyle.loadStyle(niftyLoader, this, nifty);
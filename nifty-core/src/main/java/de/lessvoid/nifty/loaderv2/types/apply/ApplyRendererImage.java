@@ -64,14 +64,26 @@ public class ApplyRendererImage implements ApplyRenderer {
     image.setImageMode(imageMode);
     imageRenderer.setImage(image);
 
-    imageRenderer.setInset(convert.insetSizeValue(attributes.get("inset"), image.getHeight()));
+    // the size of the image is only requested when it's really needed because the image might still be loaded in
+    // the background (see NiftyImage.isLoaded())
+    String inset = attributes.get("inset");
+    if (inset != null) {
+      imageRenderer.setInset(convert.insetSizeValue(inset, image.getHeight()));
+    } else {
+      imageRenderer.setInset(0);
+    }
 
+    boolean defaultWidth = element.getConstraintWidth().hasDefault();
+    boolean defaultHeight = element.getConstraintHeight().hasDefault();
+    if (!defaultWidth && !defaultHeight) {
+      return;
+    }
     Size imageDimension = imageMode.getImageNativeSize(image);
 
-    if (element.getConstraintWidth().hasDefault()) {
+    if (defaultWidth) {
       element.setConstraintWidth(SizeValue.def(imageDimension.getWidth()));
     }
-    if (element.getConstraintHeight().hasDefault()) {
+    if (defaultHeight) {
       element.setConstraintHeight(SizeValue.def(imageDimension.getHeight()));
     }
   }
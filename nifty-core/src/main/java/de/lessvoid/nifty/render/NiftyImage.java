@@ -3,6 +3,7 @@ package de.lessvoid.nifty.render;
 import de.lessvoid.nifty.render.batch.BatchRenderImage;
 import de.lessvoid.nifty.render.image.ImageMode;
 import de.lessvoid.nifty.render.image.ImageModeFactory;
+import de.lessvoid.nifty.spi.render.AsyncRenderImage;
 import de.lessvoid.nifty.spi.render.RenderImage;
 import de.lessvoid.nifty.tools.Color;
 
@@ -112,6 +113,35 @@ public class NiftyImage {
     return color;
   }
 
+  /**
+   * Whether the image has been loaded. This is always true unless the RenderDevice loads images in the background
+   * (see {@link AsyncRenderImage}). An image that has not been loaded yet is not rendered.
+   *
+   * @return true when the image has been loaded
+   */
+  public boolean isLoaded() {
+    return !(image instanceof AsyncRenderImage) || ((AsyncRenderImage) image).isLoaded();
+  }
+
+  /**
+   * Call the given callback once this image has been loaded. The callback is called on the render thread or
+   * immediately when the image has already been loaded.
+   *
+   * @param callback the callback
+   */
+  public void whenLoaded(@Nonnull final LoadedCallback callback) {
+    if (!(image instanceof AsyncRenderImage)) {
+      callback.loaded(this);
+      return;
+    }
+    ((AsyncRenderImage) image).whenLoaded(new Runnable() {
+      @Override
+      public void run() {
+        callback.loaded(NiftyImage.this);
+      }
+    });
+  }
+
   /**
    * Reload the image data.
    */
@@ -144,4 +174,16 @@ public class NiftyImage {
   public void dispose() {
     niftyRenderEngine.disposeImage(image);
   }
+
+  /**
+   * Callback for {@link NiftyImage#whenLoaded(LoadedCallback)}.
+   */
+  public interface LoadedCallback {
+    /**
+     * The image has been loaded.
+     *
+     * @param image the image
+     */
+    void loaded(@Nonnull NiftyImage image);
+  }
 }
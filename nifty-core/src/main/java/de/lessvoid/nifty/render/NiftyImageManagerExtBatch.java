@@ -20,6 +20,8 @@ public class NiftyImageManagerExtBatch implements NiftyImageManagerExt<Reference
   @Nonnull
   private final Map<String, Set<ReferencedCountedImageBatch>> screenRef = new HashMap<String,
       Set<ReferencedCountedImageBatch>>();
+  @Nonnull
+  private final Set<ReferencedCountedImageBatch> retainedImages = new HashSet<ReferencedCountedImageBatch>();
   @Nullable
   private Screen currentScreen;
 
@@ -38,6 +40,7 @@ public class NiftyImageManagerExtBatch implements NiftyImageManagerExt<Reference
       }
     }
     if (currentScreen != null && currentScreen.getScreenId().equals(screen.getScreenId())) {
+      retain(batchImage);
       if (!batchImage.isUploaded()) {
         batchImage.upload();
       }
@@ -47,6 +50,9 @@ public class NiftyImageManagerExtBatch implements NiftyImageManagerExt<Reference
   @Override
   public void unregisterImage(@Nonnull final ReferencedCountedImage reference) {
     final ReferencedCountedImageBatch image = cast(reference);
+    if (retainedImages.remove(image)) {
+      image.release();
+    }
     image.unload();
 
     Set<ReferencedCountedImageBatch> screenList = screenRef.get(reference.getScreen().getScreenId());
@@ -66,6 +72,7 @@ public class NiftyImageManagerExtBatch implements NiftyImageManagerExt<Reference
     }
 
     for (ReferencedCountedImageBatch image : imageList) {
+      retain(image);
       image.upload();
     }
   }
@@ -75,16 +82,36 @@ public class NiftyImageManagerExtBatch implements NiftyImageManagerExt<Reference
       @Nonnull final Screen screen,
       @Nonnull final RenderDevice renderDevice,
       @Nonnull final Collection<ReferencedCountedImage> imageSet) {
-    ((BatchRenderDevice) renderDevice).resetTextureAtlases();
-
-    // we need to mark all images as unloaded
-    for (ReferencedCountedImage i : imageSet) {
-      cast(i).markAsUnloaded();
+    final BatchRenderDevice batchRenderDevice = (BatchRenderDevice) renderDevice;
+    if (batchRenderDevice.hasPersistentTextureAtlases()) {
+      // the images stay in the texture atlases until the space is needed for the images of other screens
+      releaseRetainedImages();
+    } else {
+      batchRenderDevice.resetTextureAtlases();
+
+      // we need to mark all images as unloaded
+      for (ReferencedCountedImage i : imageSet) {
+        cast(i).markAsUnloaded();
+      }
+      retainedImages.clear();
     }
 
     currentScreen = null;
   }
 
+  private void retain(@Nonnull final ReferencedCountedImageBatch image) {
+    if (retainedImages.add(image)) {
+      image.retain();
+    }
+  }
+
+  private void releaseRetainedImages() {
+    for (ReferencedCountedImageBatch image : retainedImages) {
+      image.release();
+    }
+    retainedImages.clear();
+  }
+
   @Nonnull
   private static ReferencedCountedImageBatch cast(@Nonnull final ReferencedCountedImage image) {
     if (image instanceof ReferencedCountedImageBatch) {
@@ -100,6 +127,10 @@ public class NiftyImageManagerExtBatch implements NiftyImageManagerExt<Reference
 
   @Override
   public void screenRemoved(@Nonnull final Screen screen) {
+    if (currentScreen != null && currentScreen.getScreenId().equals(screen.getScreenId())) {
+      releaseRetainedImages();
+      currentScreen = null;
+    }
     screenRef.remove(screen.getScreenId());
   }
 
@@ -174,6 +205,24 @@ public class NiftyImageManagerExtBatch implements NiftyImageManagerExt<Reference
       batchRenderImage.unload();
     }
 
+    /**
+     * The image is used by the current screen and must stay in the texture atlas.
+     */
+    public void retain() {
+      if (renderImage instanceof BatchRenderImage) {
+        ((BatchRenderDevice) renderDevice).retainImage((BatchRenderImage) renderImage);
+      }
+    }
+
+    /**
+     * The image isn't used by the current screen anymore.
+     */
+    public void release() {
+      if (renderImage instanceof BatchRenderImage) {
+        ((BatchRenderDevice) renderDevice).releaseImage((BatchRenderImage) renderImage);
+      }
+    }
+
     public void markAsUnloaded() {
       BatchRenderImage batchRenderImage = (BatchRenderImage) renderImage;
       batchRenderImage.markAsUnloaded();
@@ -1,8 +1,7 @@
 package de.lessvoid.nifty.render;
 
-import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Logger;
@@ -111,10 +110,55 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
   private final Map<String, RenderFont> fontCache = new HashMap<String, RenderFont>();
 
   /**
-   * stack to save data.
+   * The state groups that are saved by {@link #saveStates()}. The stack only copies the values of a group when the
+   * group is changed for the first time after the last save and only the changed groups are restored.
    */
+  private static final int STATE_POSITION = 1;
+  private static final int STATE_COLOR = 1 << 1;
+  private static final int STATE_ALPHA = 1 << 2;
+  private static final int STATE_FONT = 1 << 3;
+  private static final int STATE_TEXT_SCALE = 1 << 4;
+  private static final int STATE_IMAGE_SCALE = 1 << 5;
+  private static final int STATE_CLIP = 1 << 6;
+  private static final int STATE_BLEND_MODE = 1 << 7;
+
+  /**
+   * Position of the float values of a single saved state inside of {@link #stackFloats}.
+   */
+  private static final int FLOAT_X = 0;
+  private static final int FLOAT_Y = 1;
+  private static final int FLOAT_RED = 2;
+  private static final int FLOAT_GREEN = 3;
+  private static final int FLOAT_BLUE = 4;
+  private static final int FLOAT_ALPHA = 5;
+  private static final int FLOAT_TEXT_SCALE = 6;
+  private static final int FLOAT_IMAGE_SCALE = 7;
+  private static final int FLOATS_PER_STATE = 8;
+
+  private static final int INITIAL_STACK_SIZE = 20;
+
+  /**
+   * stack to save data. all arrays are indexed by the level of the stack. the stack is only resized when more states
+   * are saved at the same time than ever before.
+   */
+  private int stackSize;
+  private int changedStates;
+  @Nonnull
+  private int[] stackChangedStates = new int[INITIAL_STACK_SIZE];
+  @Nonnull
+  private float[] stackFloats = new float[INITIAL_STACK_SIZE * FLOATS_PER_STATE];
+  @Nonnull
+  private boolean[] stackColorChanged = new boolean[INITIAL_STACK_SIZE];
   @Nonnull
-  private final Deque<SavedRenderState> stack = new ArrayDeque<SavedRenderState>(20);
+  private boolean[] stackColorAlphaChanged = new boolean[INITIAL_STACK_SIZE];
+  @Nonnull
+  private boolean[] stackClipEnabled = new boolean[INITIAL_STACK_SIZE];
+  @Nonnull
+  private int[] stackClip = new int[INITIAL_STACK_SIZE * 4];
+  @Nonnull
+  private RenderFont[] stackFonts = new RenderFont[INITIAL_STACK_SIZE];
+  @Nonnull
+  private BlendMode[] stackBlendModes = new BlendMode[INITIAL_STACK_SIZE];
   @Nonnull
   private final Color whiteColor = new Color("#ffff");
 
@@ -160,6 +204,13 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
   @Override
   public void beginFrame() {
     renderDevice.beginFrame();
+    if (stackSize != 0) {
+      log.severe("The render states have been saved " + stackSize + " times more than they have been restored. " +
+          "The saved states are discarded now.");
+      Arrays.fill(stackFonts, 0, stackSize, null);
+      stackSize = 0;
+      changedStates = 0;
+    }
     colorChanged = false;
   }
 
@@ -401,6 +452,7 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
    */
   @Override
   public void setFont(@Nullable final RenderFont newFont) {
+    stateChanged(STATE_FONT);
     this.font = newFont;
   }
 
@@ -417,6 +469,8 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
 
   @Override
   public void setColor(@Nonnull final Color colorParam) {
+    stateChanged(STATE_COLOR);
+    stateChanged(STATE_ALPHA);
     color.setRed(colorParam.getRed());
     color.setGreen(colorParam.getGreen());
     color.setBlue(colorParam.getBlue());
@@ -432,6 +486,7 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
    */
   @Override
   public void setColorAlpha(final float newColorAlpha) {
+    stateChanged(STATE_ALPHA);
     color.setAlpha(newColorAlpha);
     colorAlphaChanged = true;
   }
@@ -443,12 +498,14 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
    */
   @Override
   public void setColorIgnoreAlpha(@Nonnull final Color newColor) {
+    stateChanged(STATE_COLOR);
     color.setRed(newColor.getRed());
     color.setGreen(newColor.getGreen());
     color.setBlue(newColor.getBlue());
     colorChanged = true;
 
     if (colorAlphaChanged && color.getAlpha() > newColor.getAlpha()) {
+      stateChanged(STATE_ALPHA);
       color.setAlpha(newColor.getAlpha());
       colorAlphaChanged = true;
     }
@@ -471,12 +528,14 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
 
   @Override
   public void moveTo(final float xParam, final float yParam) {
+    stateChanged(STATE_POSITION);
     this.currentX = xParam;
     this.currentY = yParam;
   }
 
   @Override
   public void moveToRelative(final float xParam, final float yParam) {
+    stateChanged(STATE_POSITION);
     currentX = currentX + xParam;
     currentY = currentY + yParam;
   }
@@ -541,7 +600,34 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
     updateClip(false, 0, 0, 0, 0);
   }
 
+  /**
+   * Check if the given region is completely outside of the area that is currently visible. This is the clipping
+   * region when clipping is enabled and the display in any case. The region is relative to the current position just
+   * like the regions of the render methods.
+   *
+   * @param x0 X coordinates of left-upper corner
+   * @param y0 Y coordinates of left-upper corner
+   * @param x1 X coordinates of right-bottom corner
+   * @param y1 Y coordinates of right-bottom corner
+   * @return true when nothing rendered in this region would be visible
+   */
+  public boolean isCompletelyOutside(final int x0, final int y0, final int x1, final int y1) {
+    final int ax0 = x0 + getX();
+    final int ay0 = y0 + getY();
+    final int ax1 = x1 + getX();
+    final int ay1 = y1 + getY();
+    if (clipEnabled && isOutsideClippingRectangle(ax0, ay0, ax1, ay1)) {
+      return true;
+    }
+    // the auto scaling might show more than the base resolution so we check against the native display
+    return ax1 < convertFromNativeX(0) - 1 ||
+        ay1 < convertFromNativeY(0) - 1 ||
+        ax0 > convertFromNativeX(nativeDisplayWidth) + 1 ||
+        ay0 > convertFromNativeY(nativeDisplayHeight) + 1;
+  }
+
   void updateClip(final boolean enabled, final int x0, final int y0, final int x1, final int y1) {
+    stateChanged(STATE_CLIP);
     clipEnabled = enabled;
     clip.init(x0, y0, x1, y1);
     if (!clipEnabled) {
@@ -553,11 +639,13 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
 
   @Override
   public void setRenderTextSize(final float size) {
+    stateChanged(STATE_TEXT_SCALE);
     this.textScale = size;
   }
 
   @Override
   public void setImageScale(final float scale) {
+    stateChanged(STATE_IMAGE_SCALE);
     this.imageScale = scale;
   }
 
@@ -609,19 +697,27 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
 
   @Override
   public void saveStates() {
-    SavedRenderState savedRenderState = new SavedRenderState();
-    savedRenderState.save();
-    stack.push(savedRenderState);
+    if (stackSize == stackChangedStates.length) {
+      growStack();
+    }
+    stackChangedStates[stackSize++] = changedStates;
+    changedStates = 0;
   }
 
   @Override
   public void restoreStates() {
-    SavedRenderState restored = stack.pop();
-    restored.restore();
+    if (stackSize == 0) {
+      throw new IllegalStateException("There are no saved render states to restore.");
+    }
+    final int level = stackSize - 1;
+    restoreChangedStates(level);
+    changedStates = stackChangedStates[level];
+    stackSize = level;
   }
 
   @Override
   public void setBlendMode(@Nonnull final BlendMode blendModeParam) {
+    stateChanged(STATE_BLEND_MODE);
     blendMode = blendModeParam;
     renderDevice.setBlendMode(blendModeParam);
   }
@@ -643,131 +739,103 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
     return imageManager.reload(image);
   }
 
-  private class SavedRenderState {
-    private float x;
-    private float y;
-
-    private float colorR;
-    private float colorG;
-    private float colorB;
-    private boolean colorChanged;
-
-    private float colorAlpha;
-    private boolean colorAlphaChanged;
-
-    @Nullable
-    private RenderFont font;
-
-    private float textSize;
-
-    private float imageScale;
-
-    private boolean clipEnabled;
-    @Nonnull
-    private final Clip clip = new Clip(0, 0, 0, 0);
-
-    private BlendMode blendMode;
-
-    public SavedRenderState() {
-    }
-
-    public void save() {
-      savePosition();
-      saveColor();
-      saveColorAlpha();
-      saveTextSize();
-      saveImageSize();
-      saveFont();
-      saveClipEnabled();
-      saveBlendMode();
-    }
-
-    public void restore() {
-      restorePosition();
-      restoreColor();
-      restoreAlpha();
-      restoreFont();
-      restoreTextSize();
-      restoreImageScale();
-      restoreClip();
-      restoreBlend();
-    }
-
-    private void saveBlendMode() {
-      blendMode = NiftyRenderEngineImpl.this.blendMode;
-    }
-
-    private void saveClipEnabled() {
-      clipEnabled = NiftyRenderEngineImpl.this.clipEnabled;
-      clip.init(NiftyRenderEngineImpl.this.clip.x0, NiftyRenderEngineImpl.this.clip.y0,
-          NiftyRenderEngineImpl.this.clip.x1, NiftyRenderEngineImpl.this.clip.y1);
-    }
-
-    private void saveFont() {
-      font = NiftyRenderEngineImpl.this.font;
-    }
-
-    private void saveImageSize() {
-      imageScale = NiftyRenderEngineImpl.this.imageScale;
-    }
-
-    private void saveTextSize() {
-      textSize = NiftyRenderEngineImpl.this.textScale;
-    }
-
-    private void saveColorAlpha() {
-      colorAlpha = NiftyRenderEngineImpl.this.color.getAlpha();
-      colorAlphaChanged = NiftyRenderEngineImpl.this.colorAlphaChanged;
-    }
-
-    private void saveColor() {
-      colorR = NiftyRenderEngineImpl.this.color.getRed();
-      colorG = NiftyRenderEngineImpl.this.color.getGreen();
-      colorB = NiftyRenderEngineImpl.this.color.getBlue();
-      colorChanged = NiftyRenderEngineImpl.this.colorChanged;
-    }
-
-    private void savePosition() {
-      x = NiftyRenderEngineImpl.this.currentX;
-      y = NiftyRenderEngineImpl.this.currentY;
-    }
-
-    private void restoreBlend() {
-      NiftyRenderEngineImpl.this.setBlendMode(blendMode);
-    }
-
-    private void restoreClip() {
-      NiftyRenderEngineImpl.this.updateClip(clipEnabled, clip.x0, clip.y0, clip.x1, clip.y1);
-    }
-
-    private void restoreImageScale() {
-      NiftyRenderEngineImpl.this.imageScale = this.imageScale;
-    }
-
-    private void restoreTextSize() {
-      NiftyRenderEngineImpl.this.textScale = this.textSize;
-    }
-
-    private void restoreFont() {
-      NiftyRenderEngineImpl.this.font = font;
-    }
-
-    private void restoreAlpha() {
-      NiftyRenderEngineImpl.this.color.setAlpha(colorAlpha);
-      NiftyRenderEngineImpl.this.colorAlphaChanged = colorAlphaChanged;
-    }
-
-    private void restoreColor() {
-      NiftyRenderEngineImpl.this.color.setRed(colorR);
-      NiftyRenderEngineImpl.this.color.setGreen(colorG);
-      NiftyRenderEngineImpl.this.color.setBlue(colorB);
-      NiftyRenderEngineImpl.this.colorChanged = colorChanged;
-    }
-
-    private void restorePosition() {
-      NiftyRenderEngineImpl.this.currentX = this.x;
-      NiftyRenderEngineImpl.this.currentY = this.y;
+  /**
+   * Remember the current value of the given state group for the state saved last. This is done only once for each
+   * group after {@link #saveStates()} so that only the states that are actually changed are copied.
+   *
+   * @param state the state group that is about to change
+   */
+  private void stateChanged(final int state) {
+    if (stackSize == 0 || (changedStates & state) != 0) {
+      return;
     }
+    changedStates |= state;
+
+    final int level = stackSize - 1;
+    switch (state) {
+      case STATE_POSITION:
+        stackFloats[level * FLOATS_PER_STATE + FLOAT_X] = currentX;
+        stackFloats[level * FLOATS_PER_STATE + FLOAT_Y] = currentY;
+        break;
+      case STATE_COLOR:
+        stackFloats[level * FLOATS_PER_STATE + FLOAT_RED] = color.getRed();
+        stackFloats[level * FLOATS_PER_STATE + FLOAT_GREEN] = color.getGreen();
+        stackFloats[level * FLOATS_PER_STATE + FLOAT_BLUE] = color.getBlue();
+        stackColorChanged[level] = colorChanged;
+        break;
+      case STATE_ALPHA:
+        stackFloats[level * FLOATS_PER_STATE + FLOAT_ALPHA] = color.getAlpha();
+        stackColorAlphaChanged[level] = colorAlphaChanged;
+        break;
+      case STATE_FONT:
+        stackFonts[level] = font;
+        break;
+      case STATE_TEXT_SCALE:
+        stackFloats[level * FLOATS_PER_STATE + FLOAT_TEXT_SCALE] = textScale;
+        break;
+      case STATE_IMAGE_SCALE:
+        stackFloats[level * FLOATS_PER_STATE + FLOAT_IMAGE_SCALE] = imageScale;
+        break;
+      case STATE_CLIP:
+        stackClipEnabled[level] = clipEnabled;
+        stackClip[level * 4] = clip.x0;
+        stackClip[level * 4 + 1] = clip.y0;
+        stackClip[level * 4 + 2] = clip.x1;
+        stackClip[level * 4 + 3] = clip.y1;
+        break;
+      case STATE_BLEND_MODE:
+        stackBlendModes[level] = blendMode;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown state: " + state);
+    }
+  }
+
+  private void restoreChangedStates(final int level) {
+    if ((changedStates & STATE_POSITION) != 0) {
+      currentX = stackFloats[level * FLOATS_PER_STATE + FLOAT_X];
+      currentY = stackFloats[level * FLOATS_PER_STATE + FLOAT_Y];
+    }
+    if ((changedStates & STATE_COLOR) != 0) {
+      color.setRed(stackFloats[level * FLOATS_PER_STATE + FLOAT_RED]);
+      color.setGreen(stackFloats[level * FLOATS_PER_STATE + FLOAT_GREEN]);
+      color.setBlue(stackFloats[level * FLOATS_PER_STATE + FLOAT_BLUE]);
+      colorChanged = stackColorChanged[level];
+    }
+    if ((changedStates & STATE_ALPHA) != 0) {
+      color.setAlpha(stackFloats[level * FLOATS_PER_STATE + FLOAT_ALPHA]);
+      colorAlphaChanged = stackColorAlphaChanged[level];
+    }
+    if ((changedStates & STATE_FONT) != 0) {
+      font = stackFonts[level];
+      stackFonts[level] = null;
+    }
+    if ((changedStates & STATE_TEXT_SCALE) != 0) {
+      textScale = stackFloats[level * FLOATS_PER_STATE + FLOAT_TEXT_SCALE];
+    }
+    if ((changedStates & STATE_IMAGE_SCALE) != 0) {
+      imageScale = stackFloats[level * FLOATS_PER_STATE + FLOAT_IMAGE_SCALE];
+    }
+    if ((changedStates & STATE_CLIP) != 0) {
+      updateClip(stackClipEnabled[level], stackClip[level * 4], stackClip[level * 4 + 1], stackClip[level * 4 + 2],
+          stackClip[level * 4 + 3]);
+    }
+    if ((changedStates & STATE_BLEND_MODE) != 0) {
+      blendMode = stackBlendModes[level];
+      renderDevice.setBlendMode(blendMode);
+    }
+  }
+
+  private void growStack() {
+    final int newSize = stackChangedStates.length * 2;
+    stackChangedStates = Arrays.copyOf(stackChangedStates, newSize);
+    stackFloats = Arrays.copyOf(stackFloats, newSize * FLOATS_PER_STATE);
+    stackColorChanged = Arrays.copyOf(stackColorChanged, newSize);
+    stackColorAlphaChanged = Arrays.copyOf(stackColorAlphaChanged, newSize);
+    stackClipEnabled = Arrays.copyOf(stackClipEnabled, newSize);
+    stackClip = Arrays.copyOf(stackClip, newSize * 4);
+    stackFonts = Arrays.copyOf(stackFonts, newSize);
+    stackBlendModes = Arrays.copyOf(stackBlendModes, newSize);
   }
 
   public class Clip {
@@ -0,0 +1,181 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.render.batch.spi.BatchRenderBackend;
+import de.lessvoid.nifty.render.batch.spi.BatchRenderBackend.Image;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+
+/**
+ * Decodes the images of a {@link BatchRenderDevice} in background threads and uploads them into the texture atlases
+ * at the beginning of a frame. The time spent uploading images is limited each frame so that loading a screen with a
+ * lot of images is spread over several frames instead of blocking a single frame.
+ * <p/>
+ * The background threads are daemon threads that end when they have been idle for a while. {@link #shutdown()} stops
+ * them right away. Everything except {@link #decode(BatchRenderImage, String)} needs to be called from the render
+ * thread.
+ *
+ * @author void
+ */
+class AsyncImageLoader {
+  @Nonnull
+  private static final Logger log = Logger.getLogger(AsyncImageLoader.class.getName());
+  private static final long THREAD_KEEP_ALIVE_SECONDS = 30;
+  @Nonnull
+  private final BatchRenderBackend renderBackend;
+  @Nonnull
+  private final ThreadPoolExecutor executor;
+  private final long uploadTimePerFrame; // in nanoseconds
+  @Nonnull
+  private final Set<BatchRenderImage> uploadRequests = new LinkedHashSet<BatchRenderImage>(); // in request order
+  @Nonnull
+  private final List<BatchRenderImage> uploaded = new ArrayList<BatchRenderImage>(); // reused in processUploads()
+
+  AsyncImageLoader(
+      @Nonnull final BatchRenderBackend renderBackend,
+      final int threadCount,
+      final int uploadTimePerFrameMs) {
+    this.renderBackend = renderBackend;
+    final int threads = Math.max(1, threadCount);
+    this.executor = new ThreadPoolExecutor(threads, threads, THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>(), new LoaderThreadFactory());
+    this.executor.allowCoreThreadTimeOut(true);
+    this.uploadTimePerFrame = TimeUnit.MILLISECONDS.toNanos(uploadTimePerFrameMs);
+  }
+
+  /**
+   * Decode the image in a background thread.
+   */
+  void decode(@Nonnull final BatchRenderImage image, @Nonnull final String filename) {
+    if (executor.isShutdown()) {
+      image.setDecodedImage(null);
+      return;
+    }
+    executor.execute(new DecodeTask(image, filename));
+  }
+
+  /**
+   * Stop the background threads. Images that have not been decoded yet are completed without an image so that nobody
+   * waits for them forever. Images that are already decoded can still be uploaded with
+   * {@link #processUploads(BatchRenderDevice)}.
+   */
+  void shutdown() {
+    List<Runnable> notStarted = executor.shutdownNow();
+    for (int i = 0; i < notStarted.size(); i++) {
+      Runnable task = notStarted.get(i);
+      if (task instanceof DecodeTask) {
+        ((DecodeTask) task).image.setDecodedImage(null);
+      }
+    }
+  }
+
+  boolean isShutdown() {
+    return executor.isShutdown();
+  }
+
+  /**
+   * Upload the image into a texture atlas during one of the next calls to {@link #processUploads(BatchRenderDevice)}.
+   */
+  void requestUpload(@Nonnull final BatchRenderImage image) {
+    uploadRequests.add(image);
+  }
+
+  /**
+   * The image doesn't need to be uploaded anymore.
+   */
+  void cancelUpload(@Nonnull final BatchRenderImage image) {
+    uploadRequests.remove(image);
+  }
+
+  /**
+   * Forget about all requested uploads. This is called when the texture atlases are reset.
+   */
+  void cancelAllUploads() {
+    uploadRequests.clear();
+  }
+
+  /**
+   * The number of images that wait for their upload.
+   */
+  int getPendingUploadCount() {
+    return uploadRequests.size();
+  }
+
+  /**
+   * Upload the images that have been requested and have already been decoded until the upload time per frame is
+   * used up. At least one image is uploaded with each call so that the loading progresses even when a single upload
+   * takes longer than the time available.
+   */
+  void processUploads(@Nonnull final BatchRenderDevice renderDevice) {
+    if (uploadRequests.isEmpty()) {
+      return;
+    }
+    long start = System.nanoTime();
+    for (Iterator<BatchRenderImage> i = uploadRequests.iterator(); i.hasNext(); ) {
+      BatchRenderImage image = i.next();
+      if (!image.isDecoded()) {
+        continue;
+      }
+      if (!uploaded.isEmpty() && System.nanoTime() - start >= uploadTimePerFrame) {
+        break;
+      }
+      i.remove();
+      renderDevice.uploadImage(image);
+      uploaded.add(image);
+    }
+
+    // the callbacks might request new uploads, so we call them after we're done with the uploadRequests
+    for (int i = 0; i < uploaded.size(); i++) {
+      uploaded.get(i).loadFinished();
+    }
+    uploaded.clear();
+  }
+
+  private class DecodeTask implements Runnable {
+    @Nonnull
+    private final BatchRenderImage image;
+    @Nonnull
+    private final String filename;
+
+    private DecodeTask(@Nonnull final BatchRenderImage image, @Nonnull final String filename) {
+      this.image = image;
+      this.filename = filename;
+    }
+
+    @Override
+    public void run() {
+      Image decodedImage = null;
+      try {
+        decodedImage = renderBackend.loadImage(filename);
+      } catch (RuntimeException e) {
+        log.log(Level.WARNING, "Could not decode image [" + filename + "]", e);
+      } finally {
+        image.setDecodedImage(decodedImage);
+      }
+    }
+  }
+
+  private static class LoaderThreadFactory implements ThreadFactory {
+    @Nonnull
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    @Nonnull
+    @Override
+    public Thread newThread(@Nonnull final Runnable runnable) {
+      Thread thread = new Thread(runnable, "Nifty image loader " + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -3,12 +3,15 @@ package de.lessvoid.nifty.render.batch;
 import de.lessvoid.nifty.render.batch.spi.Batch;
 import de.lessvoid.nifty.render.batch.spi.BufferFactory;
 import de.lessvoid.nifty.render.batch.spi.GL;
+import de.lessvoid.nifty.render.batch.spi.IndexedGL;
 import de.lessvoid.nifty.render.BlendMode;
 import de.lessvoid.nifty.tools.Color;
 
 import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
 import java.util.logging.Logger;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Internal implementation for OpenGL batch management that gives OpenGL (& OpenGL ES) - based
@@ -26,29 +29,78 @@ import javax.annotation.Nonnull;
 public class BatchInternal implements Batch {
   @Nonnull
   private static final Logger log = Logger.getLogger(BatchInternal.class.getName());
-  private final static int VERTICES_PER_QUAD = 6;
+  private final static int VERTICES_PER_QUAD = 4;
+  private final static int INDICES_PER_QUAD = 6;
+  // without IndexedGL each quad is sent as two triangles with their own vertices
+  private final static int VERTICES_PER_QUAD_NOT_INDEXED = 6;
+  private final static int BYTES_PER_INDEX = 2;
   private final static int POSITION_ATTRIBUTES_PER_VERTEX = 2;
   private final static int COLOR_ATTRIBUTES_PER_VERTEX = 4;
   private final static int TEXTURE_ATTRIBUTES_PER_VERTEX = 2;
   private final static int ATTRIBUTES_PER_VERTEX = POSITION_ATTRIBUTES_PER_VERTEX + COLOR_ATTRIBUTES_PER_VERTEX + TEXTURE_ATTRIBUTES_PER_VERTEX;
   private final static int BYTES_PER_ATTRIBUTE = 4;
   private final static int PRIMITIVE_SIZE = VERTICES_PER_QUAD * ATTRIBUTES_PER_VERTEX;
+  private final static int PRIMITIVE_SIZE_NOT_INDEXED = VERTICES_PER_QUAD_NOT_INDEXED * ATTRIBUTES_PER_VERTEX;
   private final static int STRIDE = ATTRIBUTES_PER_VERTEX * BYTES_PER_ATTRIBUTE;
   private final static int SIZE = 64 * 1024; // 64k
+  private final static int MAX_QUADS = SIZE / PRIMITIVE_SIZE;
   @Nonnull
   private final GL gl;
+  // the same as gl if it can render indexed primitives, null otherwise
+  @Nullable
+  private final IndexedGL indexedGl;
   @Nonnull
   private final FloatBuffer vertexBuffer;
   @Nonnull
-  private final float[] primitiveBuffer = new float[PRIMITIVE_SIZE];
+  private final ShortBuffer indexBuffer;
+  @Nonnull
+  private final float[] primitiveBuffer = new float[PRIMITIVE_SIZE_NOT_INDEXED];
+  private final int primitiveSize;
   @Nonnull
   private BlendMode blendMode = BlendMode.BLEND;
   private int primitiveCount;
   private int textureId;
 
   public BatchInternal(@Nonnull final GL gl, @Nonnull final BufferFactory bufferFactory) {
+    this(gl, bufferFactory, createQuadIndexBuffer(bufferFactory));
+  }
+
+  /**
+   * Create a batch that uses the given index buffer to render its quads. The index buffer must have been created
+   * with {@link #createQuadIndexBuffer(de.lessvoid.nifty.render.batch.spi.BufferFactory)} and can be shared by all
+   * batches since it never changes. The index buffer is only used if the given GL is an {@link IndexedGL}.
+   */
+  public BatchInternal(
+          @Nonnull final GL gl,
+          @Nonnull final BufferFactory bufferFactory,
+          @Nonnull final ShortBuffer quadIndexBuffer) {
     this.gl = gl;
+    indexedGl = gl instanceof IndexedGL ? (IndexedGL) gl : null;
+    primitiveSize = indexedGl != null ? PRIMITIVE_SIZE : PRIMITIVE_SIZE_NOT_INDEXED;
     vertexBuffer = bufferFactory.createNativeOrderedFloatBuffer(SIZE);
+    indexBuffer = quadIndexBuffer.duplicate();
+  }
+
+  /**
+   * Creates the element index buffer for the maximum number of quads a batch can hold. Each quad is made of the
+   * 4 vertices (0, 1, 2, 3) and is rendered as the two triangles (0,1,2) and (0,2,3). Since the indices are the same
+   * for every frame and every batch the buffer is only created once and shared by all batches.
+   */
+  @Nonnull
+  public static ShortBuffer createQuadIndexBuffer(@Nonnull final BufferFactory bufferFactory) {
+    ShortBuffer indices = bufferFactory.createNativeOrderedByteBuffer(
+            MAX_QUADS * INDICES_PER_QUAD * BYTES_PER_INDEX).asShortBuffer();
+    for (int i = 0; i < MAX_QUADS; i++) {
+      int vertex = i * VERTICES_PER_QUAD;
+      indices.put((short) vertex);
+      indices.put((short) (vertex + 1));
+      indices.put((short) (vertex + 2));
+      indices.put((short) vertex);
+      indices.put((short) (vertex + 2));
+      indices.put((short) (vertex + 3));
+    }
+    indices.flip();
+    return indices;
   }
 
   @Override
@@ -97,13 +149,21 @@ public class BatchInternal implements Batch {
 
     // While we could use GL_QUADS here instead, requiring a different setup, but GL_TRIANGLES is very efficient and
     // more compatible with different implementations (For example, both OpenGL (desktop platforms) & OpenGL ES
-    // (mobile platforms) can use this render() method as-is.
-    gl.glDrawArrays(gl.GL_TRIANGLES(), 0, primitiveCount * VERTICES_PER_QUAD);
+    // (mobile platforms) can use this render() method as-is. If possible the vertices of the quads are shared by the
+    // two triangles using the index buffer so that we only need to send 4 instead of 6 vertices per quad.
+    if (indexedGl != null) {
+      int indexCount = primitiveCount * INDICES_PER_QUAD;
+      indexBuffer.limit(indexCount);
+      indexBuffer.position(0);
+      indexedGl.glDrawElements(gl.GL_TRIANGLES(), indexCount, gl.GL_UNSIGNED_SHORT(), indexBuffer);
+    } else {
+      gl.glDrawArrays(gl.GL_TRIANGLES(), 0, primitiveCount * VERTICES_PER_QUAD_NOT_INDEXED);
+    }
   }
 
   @Override
   public boolean canAddQuad() {
-    return ((primitiveCount + 1) * PRIMITIVE_SIZE) < SIZE;
+    return ((primitiveCount + 1) * primitiveSize) < SIZE;
   }
 
   // This could either be an atlas or non-atlas quad.
@@ -123,15 +183,14 @@ public class BatchInternal implements Batch {
           final float textureHeight) {
     int bufferIndex = 0;
 
-    // Quad, tessellated into a triangle list with clockwise-winded vertices - (0,1,2), (0,2,3)
+    // Quad, rendered as a triangle list with clockwise-winded vertices - (0,1,2), (0,2,3) - using the shared
+    // index buffer, or sent as the 6 vertices 0, 1, 2, 0, 2, 3 if the GL can't render indexed primitives
     //
     // 0---1
     // | \ |
     // |  \|
     // 3---2
 
-    // Triangle 1 (0,1,2)
-
     // 0
     primitiveBuffer[bufferIndex++] = x;
     primitiveBuffer[bufferIndex++] = y;
@@ -162,28 +221,6 @@ public class BatchInternal implements Batch {
     primitiveBuffer[bufferIndex++] = textureX + textureWidth;
     primitiveBuffer[bufferIndex++] = textureY + textureHeight;
 
-    // Triangle 2 (0,2,3)
-
-    // 0
-    primitiveBuffer[bufferIndex++] = x;
-    primitiveBuffer[bufferIndex++] = y;
-    primitiveBuffer[bufferIndex++] = color1.getRed();
-    primitiveBuffer[bufferIndex++] = color1.getGreen();
-    primitiveBuffer[bufferIndex++] = color1.getBlue();
-    primitiveBuffer[bufferIndex++] = color1.getAlpha();
-    primitiveBuffer[bufferIndex++] = textureX;
-    primitiveBuffer[bufferIndex++] = textureY;
-
-    // 2
-    primitiveBuffer[bufferIndex++] = x + width;
-    primitiveBuffer[bufferIndex++] = y + height;
-    primitiveBuffer[bufferIndex++] = color4.getRed();
-    primitiveBuffer[bufferIndex++] = color4.getGreen();
-    primitiveBuffer[bufferIndex++] = color4.getBlue();
-    primitiveBuffer[bufferIndex++] = color4.getAlpha();
-    primitiveBuffer[bufferIndex++] = textureX + textureWidth;
-    primitiveBuffer[bufferIndex++] = textureY + textureHeight;
-
     // 3
     primitiveBuffer[bufferIndex++] = x;
     primitiveBuffer[bufferIndex++] = y + height;
@@ -192,9 +229,16 @@ public class BatchInternal implements Batch {
     primitiveBuffer[bufferIndex++] = color3.getBlue();
     primitiveBuffer[bufferIndex++] = color3.getAlpha();
     primitiveBuffer[bufferIndex++] = textureX;
-    primitiveBuffer[bufferIndex] = textureY + textureHeight;
+    primitiveBuffer[bufferIndex++] = textureY + textureHeight;
+
+    if (indexedGl == null) {
+      // 0 and 2 again for the second triangle
+      System.arraycopy(primitiveBuffer, 0, primitiveBuffer, bufferIndex, ATTRIBUTES_PER_VERTEX);
+      System.arraycopy(primitiveBuffer, 2 * ATTRIBUTES_PER_VERTEX, primitiveBuffer, bufferIndex + ATTRIBUTES_PER_VERTEX,
+          ATTRIBUTES_PER_VERTEX);
+    }
 
-    vertexBuffer.put(primitiveBuffer);
+    vertexBuffer.put(primitiveBuffer, 0, primitiveSize);
     primitiveCount++;
   }
 }
@@ -6,6 +6,8 @@ import de.lessvoid.nifty.render.batch.spi.BufferFactory;
 import de.lessvoid.nifty.render.batch.spi.ImageFactory;
 import de.lessvoid.nifty.render.batch.spi.MouseCursorFactory;
 import de.lessvoid.nifty.render.batch.spi.GL;
+import de.lessvoid.nifty.render.batch.spi.PackedVertexFormatBackend;
+import de.lessvoid.nifty.render.batch.spi.PackedVertexGL;
 import de.lessvoid.nifty.render.BlendMode;
 import de.lessvoid.nifty.render.io.ImageLoader;
 import de.lessvoid.nifty.render.io.ImageLoaderFactory;
@@ -19,6 +21,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -41,7 +44,7 @@ import javax.annotation.Nullable;
  * @author void256
  * @author Aaron Mahan &lt;aaron@forerunnergames.com&gt;
  */
-public class BatchRenderBackendInternal implements BatchRenderBackend {
+public class BatchRenderBackendInternal implements BatchRenderBackend, PackedVertexFormatBackend {
   @Nonnull
   private static final Logger log = Logger.getLogger(BatchRenderBackendInternal.class.getName());
   private static final int INVALID_TEXTURE_ID = -1;
@@ -79,6 +82,7 @@ public class BatchRenderBackendInternal implements BatchRenderBackend {
   private int viewportHeight;
   private boolean shouldUseHighQualityTextures = false;
   private boolean shouldFillRemovedImagesInAtlas = false;
+  private boolean shouldUsePackedVertexFormat = false;
 
   public BatchRenderBackendInternal(
           @Nonnull final GL gl,
@@ -91,11 +95,15 @@ public class BatchRenderBackendInternal implements BatchRenderBackend {
     this.mouseCursorFactory = mouseCursorFactory;
     viewportBuffer = bufferFactory.createNativeOrderedIntBuffer(16);
     singleTextureIdBuffer = bufferFactory.createNativeOrderedIntBuffer(1);
+    final ShortBuffer quadIndexBuffer = BatchInternal.createQuadIndexBuffer(bufferFactory);
     batchPool = new ObjectPool<Batch>(new Factory<Batch>() {
       @Nonnull
       @Override
       public Batch createNew() {
-        return new BatchInternal(gl, bufferFactory);
+        if (shouldUsePackedVertexFormat && gl instanceof PackedVertexGL) {
+          return new PackedBatchInternal((PackedVertexGL) gl, bufferFactory, quadIndexBuffer);
+        }
+        return new BatchInternal(gl, bufferFactory, quadIndexBuffer);
       }
     });
     initializeOpenGL();
@@ -327,6 +335,17 @@ public class BatchRenderBackendInternal implements BatchRenderBackend {
     shouldFillRemovedImagesInAtlas = shouldFill;
   }
 
+  @Override
+  public void usePackedVertexFormat(final boolean shouldUsePackedVertexFormat) {
+    log.fine("usePackedVertexFormat()");
+    if (shouldUsePackedVertexFormat && !(gl instanceof PackedVertexGL)) {
+      log.warning("The packed vertex format needs a GL that implements PackedVertexGL. Using unpacked vertex format.");
+    } else {
+      log.info(shouldUsePackedVertexFormat ? "Using packed vertex format (unsigned byte colors)." : "Using unpacked vertex format.");
+    }
+    this.shouldUsePackedVertexFormat = shouldUsePackedVertexFormat;
+  }
+
   // Internal implementations
 
   private void initializeOpenGL() {
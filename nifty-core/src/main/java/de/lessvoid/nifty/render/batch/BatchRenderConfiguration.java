@@ -1,5 +1,7 @@
 package de.lessvoid.nifty.render.batch;
 
+import javax.annotation.Nonnull;
+
 /**
  * @author Aaron Mahan &lt;aaron@forerunnergames.com&gt;
  */
@@ -11,9 +13,17 @@ public class BatchRenderConfiguration {
   public static final int DEFAULT_INITIAL_ATLAS_COUNT = 1;
   public static final int DEFAULT_INITIAL_BATCH_COUNT = 1;
   public static final float DEFAULT_ATLAS_TOLERANCE = 0.25f;
+  @Nonnull
+  public static final TextureAtlasPacker.Factory DEFAULT_ATLAS_PACKER = BinaryTreeAtlasPacker.FACTORY;
   public static final boolean DEFAULT_DISPOSE_IMAGES_BETWEEN_SCREENS = true;
+  public static final boolean DEFAULT_PERSISTENT_TEXTURE_ATLASES = false;
   public static final boolean DEFAULT_USE_HIGH_QUALITY_TEXTURES = false;
   public static final boolean DEFAULT_FILL_REMOVED_IMAGES_IN_ATLAS = false;
+  public static final boolean DEFAULT_USE_RETAINED_MODE = false;
+  public static final boolean DEFAULT_USE_PACKED_VERTEX_FORMAT = false;
+  public static final boolean DEFAULT_ASYNC_IMAGE_LOADING = false;
+  public static final int DEFAULT_ASYNC_IMAGE_LOADING_THREADS = 2;
+  public static final int DEFAULT_ASYNC_IMAGE_UPLOAD_TIME_PER_FRAME = 4;
 
   /**
    * The width that any and all texture atlases will be created at. The size of any given atlas is constant; that is,
@@ -57,6 +67,17 @@ public class BatchRenderConfiguration {
    */
   public float atlasTolerance = DEFAULT_ATLAS_TOLERANCE;
 
+  /**
+   * The algorithm that decides where the images are put into a texture atlas. The default
+   * {@link BinaryTreeAtlasPacker#FACTORY} is fast but wastes space when images of very different sizes are mixed or
+   * when images are removed from an atlas again. {@link MaxRectsAtlasPacker#FACTORY} packs the images tighter, so
+   * fewer texture atlases (and fewer texture switches while rendering) are required, but adding an image takes a bit
+   * longer. You can check how well your images are packed with
+   * {@link BatchRenderDevice#getTextureAtlasOccupancy()} and {@link BatchRenderDevice#getTextureAtlasFragmentation()}.
+   */
+  @Nonnull
+  public TextureAtlasPacker.Factory atlasPacker = DEFAULT_ATLAS_PACKER;
+
   /**
    * Whether or not images of a previous screen should be disposed of when that screen ends; if set to {@code true} and
    * you go back to that screen, its images will have to be reloaded; if set to {@code false}, then all images for all
@@ -65,6 +86,17 @@ public class BatchRenderConfiguration {
    */
   public boolean disposeImagesBetweenScreens = DEFAULT_DISPOSE_IMAGES_BETWEEN_SCREENS;
 
+  /**
+   * Whether or not to keep the texture atlases when a screen ends instead of clearing them. This only has an effect if
+   * {@link #disposeImagesBetweenScreens} is set to {@code true}. The images of the previous screen stay in the
+   * texture atlases until their space is needed for new images. Images that are still used by the next screen (for
+   * instance the images of a common skin) don't need to be uploaded again, so a screen transition only has to upload
+   * the images that are new. When an atlas gets full the images not used by the current screen are removed in least
+   * recently used order. If that doesn't free enough space the atlas is rebuilt to get rid of the gaps the removed
+   * images left behind, and only then a new atlas is created.
+   */
+  public boolean persistentTextureAtlases = DEFAULT_PERSISTENT_TEXTURE_ATLASES;
+
   /**
    * Whether or not to render textures with high quality settings. Usually, setting to true will result in slower
    * performance, but nicer looking textures, and vice versa. How high quality textures are rendered versus low quality
@@ -78,4 +110,47 @@ public class BatchRenderConfiguration {
    * of old images visible in currently unused atlas space.
    */
   public boolean fillRemovedImagesInAtlas = DEFAULT_FILL_REMOVED_IMAGES_IN_ATLAS;
+
+  /**
+   * Whether or not to keep the quads generated for each render call of a frame. When the same render call (same
+   * position, colors, image, text and clipping) is made again during the next frame, the quads that have been
+   * generated for it will be sent to the {@link de.lessvoid.nifty.render.batch.spi.BatchRenderBackend} again without
+   * processing the call again. This will save a lot of CPU time for screens that don't change much from frame to frame
+   * at the cost of some additional memory to keep the quads.
+   */
+  public boolean useRetainedMode = DEFAULT_USE_RETAINED_MODE;
+
+  /**
+   * Whether or not to send the vertices to the GPU in a packed format. Colors are stored as 4 unsigned bytes instead of
+   * 4 floats and, with the core profile renderers, texture coordinates are stored as 2 unsigned shorts instead of 2
+   * floats. This reduces the amount of vertex data that needs to be transferred each frame by up to one half. The
+   * precision of 8 bit colors is usually all you can see anyway, but 16 bit texture coordinates might not be precise
+   * enough for very large texture atlases.
+   */
+  public boolean usePackedVertexFormat = DEFAULT_USE_PACKED_VERTEX_FORMAT;
+
+  /**
+   * Whether or not to decode images in background threads. Images are uploaded into the texture atlases at the
+   * beginning of the following frames, limited to {@link #asyncImageUploadTimePerFrame} milliseconds each frame. An
+   * image is not rendered until it has been uploaded, so a screen might show up with some images missing for a few
+   * frames instead of blocking the screen transition until all images are loaded. Asking for the size of an image that
+   * is still being decoded waits until the decoding of this image is finished.
+   * <p/>
+   * The {@link de.lessvoid.nifty.render.batch.spi.BatchRenderBackend#loadImage(String)} method of the backend will be
+   * called from the background threads and therefore must not access the graphics API. All backends that come with
+   * Nifty only decode the image in this method.
+   */
+  public boolean asyncImageLoading = DEFAULT_ASYNC_IMAGE_LOADING;
+
+  /**
+   * The number of background threads used to decode images when {@link #asyncImageLoading} is enabled.
+   */
+  public int asyncImageLoadingThreads = DEFAULT_ASYNC_IMAGE_LOADING_THREADS;
+
+  /**
+   * The time in milliseconds that can be spent each frame uploading images that have been decoded in the background
+   * when {@link #asyncImageLoading} is enabled. At least one image will be uploaded each frame even if its upload
+   * takes longer.
+   */
+  public int asyncImageUploadTimePerFrame = DEFAULT_ASYNC_IMAGE_UPLOAD_TIME_PER_FRAME;
 }
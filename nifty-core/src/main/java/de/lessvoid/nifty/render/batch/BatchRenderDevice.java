@@ -1,7 +1,10 @@
 package de.lessvoid.nifty.render.batch;
 
+import de.lessvoid.nifty.NiftyFrameStats;
 import de.lessvoid.nifty.render.batch.spi.BatchRenderBackend;
+import de.lessvoid.nifty.render.batch.spi.PackedVertexFormatBackend;
 import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.spi.render.FrameStatsRenderDevice;
 import de.lessvoid.nifty.spi.render.MouseCursor;
 import de.lessvoid.nifty.spi.render.RenderDevice;
 import de.lessvoid.nifty.spi.render.RenderFont;
@@ -9,7 +12,7 @@ import de.lessvoid.nifty.spi.render.RenderImage;
 import de.lessvoid.nifty.spi.time.TimeProvider;
 import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
 import de.lessvoid.nifty.tools.Color;
-import de.lessvoid.nifty.tools.ColorValueParser;
+import de.lessvoid.nifty.tools.StyledTextRuns;
 import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
 
 import java.io.IOException;
@@ -18,6 +21,7 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
@@ -51,7 +55,9 @@ import org.jglfont.spi.ResourceLoader;
  * the screen ends by setting {@code disposeImagesBetweenScreens} in {@link BatchRenderConfiguration}. The default is
  * {@code true}. This has a significant impact on performance during screen transitions. If you need lightning-fast
  * screen transitions, you may want to set this to {@code false}. The tradeoff is that not disposing of the previous
- * screen's images when transitioning to a new screen will take up more atlas space.
+ * screen's images when transitioning to a new screen will take up more atlas space. A middle ground is to enable
+ * {@code persistentTextureAtlases}: the images of the previous screen are disposed of only when their space in the
+ * texture atlases is needed for the images of the following screens.
  *
  * If a texture atlas fills up to the point that textures within atlas tolerance are not fitting, another texture atlas
  * will be created to hold the overflow. As many texture atlases as are needed will be created, but it will start with
@@ -61,7 +67,7 @@ import org.jglfont.spi.ResourceLoader;
  * @author void
  * @author Aaron Mahan &lt;aaron@forerunnergames.com&gt;
  */
-public class BatchRenderDevice implements RenderDevice {
+public class BatchRenderDevice implements RenderDevice, FrameStatsRenderDevice {
   @Nonnull
   private static Logger log = Logger.getLogger(BatchRenderDevice.class.getName());
   @Nonnull
@@ -74,6 +80,8 @@ public class BatchRenderDevice implements RenderDevice {
   private long frames = 0;
   private int glyphCount = 0;
   private int quadCount = 0;
+  private int batchCount = 0;
+  private int textureSwitchCount = 0;
   private int currentTextureId = -1;
   private boolean displayFPS = false;
   private boolean logFPS = false;
@@ -87,6 +95,8 @@ public class BatchRenderDevice implements RenderDevice {
   @Nonnull
   private StringBuilder buffer = new StringBuilder();
   @Nonnull
+  private String fpsText = "";
+  @Nonnull
   private Color fontColor = new Color("#f00");
   @Nonnull
   private final Set<BatchRenderFont> fontCache = new HashSet<BatchRenderFont>();
@@ -118,6 +128,23 @@ public class BatchRenderDevice implements RenderDevice {
   private List<Integer> atlasTextureIds = new ArrayList<Integer>();
   @Nonnull
   private ListIterator<Integer> atlasTextureIdIterator = atlasTextureIds.listIterator();
+  @Nullable
+  private final RetainedRenderCache retainedCache;
+  @Nullable
+  private RetainedRenderCache.Slot recordingSlot;
+  @Nullable
+  private final AsyncImageLoader asyncImageLoader;
+  @Nullable
+  private final TextureAtlasResidency residency;
+  // 4 re-usable Colors used to replay the quads of the retainedCache.
+  @Nonnull
+  private final Color replayColor1 = new Color(0.f, 0.f, 0.f, 0.f);
+  @Nonnull
+  private final Color replayColor2 = new Color(0.f, 0.f, 0.f, 0.f);
+  @Nonnull
+  private final Color replayColor3 = new Color(0.f, 0.f, 0.f, 0.f);
+  @Nonnull
+  private final Color replayColor4 = new Color(0.f, 0.f, 0.f, 0.f);
 
   /**
    * This is a convenience constructor that creates a BatchRenderDevice using the default values specified in
@@ -136,7 +163,17 @@ public class BatchRenderDevice implements RenderDevice {
     this.renderBackend = renderBackend;
     renderBackend.useHighQualityTextures(renderConfig.useHighQualityTextures);
     renderBackend.fillRemovedImagesInAtlas(renderConfig.fillRemovedImagesInAtlas);
+    if (renderBackend instanceof PackedVertexFormatBackend) {
+      ((PackedVertexFormatBackend) renderBackend).usePackedVertexFormat(renderConfig.usePackedVertexFormat);
+    } else if (renderConfig.usePackedVertexFormat) {
+      log.warning("The render backend doesn't support a packed vertex format. Using unpacked vertex format.");
+    }
     this.renderConfig = renderConfig;
+    retainedCache = renderConfig.useRetainedMode ? new RetainedRenderCache() : null;
+    asyncImageLoader = renderConfig.asyncImageLoading ? new AsyncImageLoader(renderBackend,
+        renderConfig.asyncImageLoadingThreads, renderConfig.asyncImageUploadTimePerFrame) : null;
+    residency = renderConfig.persistentTextureAtlases && renderConfig.disposeImagesBetweenScreens ?
+        new TextureAtlasResidency() : null;
     time = timeProvider.getMsTime();
     fontRenderer = new FontRenderer(this);
     factory = new JGLFontFactory(fontRenderer, new ResourceLoader() {
@@ -218,48 +255,36 @@ public class BatchRenderDevice implements RenderDevice {
     shouldStartNewBatch = true;
     quadCount = 0;
     glyphCount = 0;
+    batchCount = 0;
+    textureSwitchCount = 0;
+    if (asyncImageLoader != null) {
+      asyncImageLoader.processUploads(this);
+    }
   }
 
   @Override
   public void endFrame() {
     log.finest("endFrame");
-    log.fine("completely clipped elements: " + clipping.getDiscardCount());
 
     if (displayFPS && fpsFont != null) {
-      renderFont(fpsFont, buffer.toString(), 10, getHeight() - fpsFont.getHeight() - 10, fontColor, 1.0f, 1.0f);
+      renderFont(fpsFont, fpsText, 10, getHeight() - fpsFont.getHeight() - 10, fontColor, 1.0f, 1.0f);
     }
 
-    int batches = renderBackend.render();
+    batchCount = renderBackend.render();
     renderBackend.endFrame();
 
+    if (retainedCache != null) {
+      retainedCache.endFrame();
+    }
+
     frames++;
     long diff = timeProvider.getMsTime() - time;
     if (diff >= 1000) {
       time += diff;
-      long lastFrames = frames;
-
-      buffer.setLength(0);
-      buffer.append("FPS: ");
-      buffer.append(lastFrames);
-      buffer.append(" (");
-      buffer.append(String.format("%f", 1000.f / lastFrames));
-      buffer.append(" ms)");
-      buffer.append(", Total Tri: ");
-      buffer.append(quadCount * 2);
-      buffer.append(" (Text: ");
-      buffer.append(glyphCount * 2);
-      buffer.append(")");
-      buffer.append(", Total Vert: ");
-      buffer.append(quadCount * 4);
-      buffer.append(" (Text: ");
-      buffer.append(glyphCount * 4);
-      buffer.append("), Batches: ");
-      buffer.append(batches);
-
-      if (logFPS) {
-        System.out.println(buffer.toString());
+      // the text is only created when someone is interested in it, the numbers are available as NiftyFrameStats
+      if (displayFPS || logFPS) {
+        updateFpsText(frames);
       }
-
       frames = 0;
     }
 
@@ -270,6 +295,53 @@ public class BatchRenderDevice implements RenderDevice {
     viewportHeight = -1;
   }
 
+  /**
+   * Add the statistics of the last frame. The numbers are collected between {@link #beginFrame()} and
+   * {@link #endFrame()}.
+   */
+  @Override
+  public void addFrameStats(@Nonnull final NiftyFrameStats frameStats) {
+    frameStats.addQuads(quadCount);
+    frameStats.addGlyphs(glyphCount);
+    frameStats.addBatches(batchCount);
+    frameStats.addTextureSwitches(textureSwitchCount);
+    frameStats.addClipDiscards(clipping.getDiscardCount());
+    if (retainedCache != null) {
+      frameStats.addRetained(retainedCache.getLastFrameCallCount(), retainedCache.getLastFrameReplayCount());
+    }
+  }
+
+  private void updateFpsText(final long lastFrames) {
+    buffer.setLength(0);
+    buffer.append("FPS: ");
+    buffer.append(lastFrames);
+    buffer.append(" (");
+    buffer.append(1000.f / lastFrames);
+    buffer.append(" ms)");
+    buffer.append(", Total Tri: ");
+    buffer.append(quadCount * 2);
+    buffer.append(" (Text: ");
+    buffer.append(glyphCount * 2);
+    buffer.append(")");
+    buffer.append(", Total Vert: ");
+    buffer.append(quadCount * 4);
+    buffer.append(" (Text: ");
+    buffer.append(glyphCount * 4);
+    buffer.append("), Batches: ");
+    buffer.append(batchCount);
+    if (retainedCache != null) {
+      buffer.append(", Replayed: ");
+      buffer.append(retainedCache.getLastFrameReplayCount());
+      buffer.append(" of ");
+      buffer.append(retainedCache.getLastFrameCallCount());
+    }
+    fpsText = buffer.toString();
+
+    if (logFPS) {
+      System.out.println(fpsText);
+    }
+  }
+
   @Override
   public void clear() {
     log.finest("clear()");
@@ -279,21 +351,116 @@ public class BatchRenderDevice implements RenderDevice {
   @Nullable
   @Override
   public RenderImage createImage(@Nonnull final String filename, final boolean filterLinear) {
-    if(!renderConfig.disposeImagesBetweenScreens && imageCache.containsKey(filename)) {
-      return imageCache.get(filename);
+    if (asyncImageLoader != null && asyncImageLoader.isShutdown()) {
+      return createImage(filename, null);
     }
-    log.finest("createImage()");
-    BatchRenderImage batchRenderImage = new BatchRenderImage(
-            renderBackend.loadImage(filename),
-            filename,
-            renderBackend,
-            getCurrentTextureAtlasGenerator(),
-            getCurrentAtlasTextureId(),
-            renderConfig.disposeImagesBetweenScreens);
-    if (!renderConfig.disposeImagesBetweenScreens) {
-      imageCache.put(filename, batchRenderImage);
+    return createImage(filename, asyncImageLoader);
+  }
+
+  /**
+   * The number of images decoded in the background that wait for their upload into the texture atlases. This is
+   * always 0 if {@link BatchRenderConfiguration#asyncImageLoading} is disabled.
+   */
+  public int getPendingImageUploadCount() {
+    return asyncImageLoader == null ? 0 : asyncImageLoader.getPendingUploadCount();
+  }
+
+  /**
+   * Stops the background threads that decode the images when {@link BatchRenderConfiguration#asyncImageLoading} is
+   * enabled. Call this when the BatchRenderDevice is not used anymore. Images that are created afterwards are loaded
+   * immediately.
+   */
+  public void dispose() {
+    log.finest("dispose()");
+    if (asyncImageLoader != null) {
+      asyncImageLoader.shutdown();
     }
-    return batchRenderImage;
+  }
+
+  /**
+   * The number of texture atlases that have been created so far.
+   */
+  public int getTextureAtlasCount() {
+    return atlasTextureIds.size();
+  }
+
+  /**
+   * The part of all texture atlases that is used by images, see {@link TextureAtlasGenerator#getOccupancy()}.
+   *
+   * @return a value between 0.0f (all empty) and 1.0f (all full)
+   */
+  public float getTextureAtlasOccupancy() {
+    if (textureAtlasGenerators.isEmpty()) {
+      return 0.f;
+    }
+    float occupancy = 0.f;
+    for (TextureAtlasGenerator generator : textureAtlasGenerators.values()) {
+      occupancy += generator.getOccupancy();
+    }
+    return occupancy / textureAtlasGenerators.size();
+  }
+
+  /**
+   * The average fragmentation of the free space of all texture atlases, see
+   * {@link TextureAtlasGenerator#getFragmentation()}.
+   *
+   * @return a value between 0.0f and 1.0f
+   */
+  public float getTextureAtlasFragmentation() {
+    if (textureAtlasGenerators.isEmpty()) {
+      return 0.f;
+    }
+    float fragmentation = 0.f;
+    for (TextureAtlasGenerator generator : textureAtlasGenerators.values()) {
+      fragmentation += generator.getFragmentation();
+    }
+    return fragmentation / textureAtlasGenerators.size();
+  }
+
+  /**
+   * The number of times an image within the atlas tolerance didn't fit into a texture atlas. Each of these causes the
+   * next texture atlas to be tried and eventually a new texture atlas to be created.
+   */
+  public int getFailedTextureAtlasInsertCount() {
+    int count = 0;
+    for (TextureAtlasGenerator generator : textureAtlasGenerators.values()) {
+      count += generator.getFailedInsertCount();
+    }
+    return count;
+  }
+
+  /**
+   * Whether the texture atlases are kept between screens, see
+   * {@link BatchRenderConfiguration#persistentTextureAtlases}. If this is true, {@link #retainImage(BatchRenderImage)}
+   * and {@link #releaseImage(BatchRenderImage)} should be used instead of {@link #resetTextureAtlases()} when a screen
+   * starts and ends.
+   */
+  public boolean hasPersistentTextureAtlases() {
+    return residency != null;
+  }
+
+  /**
+   * Mark the image as used by the current screen. It will not be removed from its texture atlas to make room for
+   * other images until it is released again.
+   */
+  public void retainImage(@Nonnull final BatchRenderImage image) {
+    if (residency != null) {
+      residency.retain(image);
+    }
+  }
+
+  /**
+   * The image isn't used by the current screen anymore. It stays in its texture atlas until the space is needed.
+   */
+  public void releaseImage(@Nonnull final BatchRenderImage image) {
+    if (residency != null) {
+      residency.release(image);
+    }
+  }
+
+  @Nullable
+  TextureAtlasResidency getResidency() {
+    return residency;
   }
 
   @Nonnull
@@ -325,6 +492,12 @@ public class BatchRenderDevice implements RenderDevice {
       @Nonnull final Color color) {
     log.finest("renderQuad()");
     BatchRenderImage plainImage = getPlainImage();
+    if (retainedCache != null) {
+      retainedCache.begin(RetainedRenderCache.CALL_QUAD).add(x).add(y).add(width).add(height).add(color);
+      if (replayRetained(plainImage)) {
+        return;
+      }
+    }
     addQuad(x,
             y,
             width,
@@ -338,6 +511,7 @@ public class BatchRenderDevice implements RenderDevice {
             plainImage.getWidth(),
             plainImage.getHeight(),
             plainImage.getTextureId());
+    endRecording();
   }
 
   @Override
@@ -352,6 +526,13 @@ public class BatchRenderDevice implements RenderDevice {
       @Nonnull final Color bottomLeft) {
     log.finest("renderQuad2()");
     BatchRenderImage plainImage = getPlainImage();
+    if (retainedCache != null) {
+      retainedCache.begin(RetainedRenderCache.CALL_QUAD_GRADIENT)
+          .add(x).add(y).add(width).add(height).add(topLeft).add(topRight).add(bottomRight).add(bottomLeft);
+      if (replayRetained(plainImage)) {
+        return;
+      }
+    }
     addQuad(
         x,
         y,
@@ -366,6 +547,7 @@ public class BatchRenderDevice implements RenderDevice {
         plainImage.getWidth(),
         plainImage.getHeight(),
         plainImage.getTextureId());
+    endRecording();
   }
 
   @Override
@@ -387,7 +569,16 @@ public class BatchRenderDevice implements RenderDevice {
       return;
     }
     BatchRenderImage img = (BatchRenderImage) image;
+    if (isUploadPending(img)) {
+      return;
+    }
     uploadImageInternal(img);
+    if (retainedCache != null) {
+      retainedCache.begin(RetainedRenderCache.CALL_IMAGE).add(x).add(y).add(width).add(height).add(c).add(scale);
+      if (replayRetained(img)) {
+        return;
+      }
+    }
     float centerX = x + width / 2.f;
     float centerY = y + height / 2.f;
     int ix = Math.round(centerX - (width * scale) / 2.f);
@@ -395,6 +586,7 @@ public class BatchRenderDevice implements RenderDevice {
     int iw = Math.round(width * scale);
     int ih = Math.round(height * scale);
     addQuad(ix, iy, iw, ih, c, c, c, c, img.getX(), img.getY(), img.getWidth(), img.getHeight(), img.getTextureId());
+    endRecording();
   }
 
   @Override
@@ -421,13 +613,25 @@ public class BatchRenderDevice implements RenderDevice {
       log.warning("Attempted to render image with negative height");
       return;
     }
+    BatchRenderImage img = (BatchRenderImage) image;
+    if (isUploadPending(img)) {
+      return;
+    }
+    uploadImageInternal(img);
+    if (retainedCache != null) {
+      retainedCache.begin(RetainedRenderCache.CALL_IMAGE_SUB)
+          .add(x).add(y).add(w).add(h).add(srcX).add(srcY).add(srcW).add(srcH).add(centerX).add(centerY)
+          .add(c).add(scale);
+      if (replayRetained(img)) {
+        return;
+      }
+    }
     int ix = Math.round(-scale * centerX + scale * x + centerX);
     int iy = Math.round(-scale * centerY + scale * y + centerY);
     int iw = Math.round(w * scale);
     int ih = Math.round(h * scale);
-    BatchRenderImage img = (BatchRenderImage) image;
-    uploadImageInternal(img);
     addQuad(ix, iy, iw, ih, c, c, c, c, img.getX() + srcX, img.getY() + srcY, srcW, srcH, img.getTextureId());
+    endRecording();
   }
 
   @Override
@@ -440,6 +644,12 @@ public class BatchRenderDevice implements RenderDevice {
       final float sizeX,
       final float sizeY) {
     log.finest("renderFont()");
+    if (retainedCache != null) {
+      retainedCache.begin(RetainedRenderCache.CALL_FONT).add(font).add(text).add(x).add(y).add(color).add(sizeX).add(sizeY);
+      if (replayRetained(null)) {
+        return;
+      }
+    }
     BatchRenderFont renderFont = (BatchRenderFont) font;
     renderFont.getBitmapFont().renderText(
         x,
@@ -451,6 +661,7 @@ public class BatchRenderDevice implements RenderDevice {
         color.getGreen(),
         color.getBlue(),
         color.getAlpha());
+    endRecording();
   }
 
   @Override
@@ -510,10 +721,55 @@ public class BatchRenderDevice implements RenderDevice {
     resetTextureAtlasGenerators();
     clearTextureAtlases();
     fontRenderer.unload();
+    if (residency != null) {
+      residency.clear();
+    }
+    if (asyncImageLoader != null) {
+      asyncImageLoader.cancelAllUploads();
+    }
+    if (retainedCache != null) {
+      retainedCache.clear();
+    }
   }
 
   // Internal implementations
 
+  /**
+   * Create the image. When an AsyncImageLoader is given the image is decoded in the background, otherwise the image
+   * is loaded immediately.
+   */
+  @Nonnull
+  private BatchRenderImage createImage(@Nonnull final String filename, @Nullable final AsyncImageLoader loader) {
+    BatchRenderImage batchRenderImage = imageCache.get(filename);
+    if (!renderConfig.disposeImagesBetweenScreens && batchRenderImage != null) {
+      return batchRenderImage;
+    }
+    log.finest("createImage()");
+    if (loader == null) {
+      batchRenderImage = new BatchRenderImage(
+              renderBackend.loadImage(filename),
+              filename,
+              renderBackend,
+              getCurrentTextureAtlasGenerator(),
+              getCurrentAtlasTextureId(),
+              renderConfig.disposeImagesBetweenScreens);
+    } else {
+      batchRenderImage = new BatchRenderImage(
+              filename,
+              renderBackend,
+              getCurrentTextureAtlasGenerator(),
+              getCurrentAtlasTextureId(),
+              renderConfig.disposeImagesBetweenScreens,
+              loader);
+      loader.decode(batchRenderImage, filename);
+    }
+    batchRenderImage.setResidency(residency);
+    if (!renderConfig.disposeImagesBetweenScreens) {
+      imageCache.put(filename, batchRenderImage);
+    }
+    return batchRenderImage;
+  }
+
   private void createInitialTextureAtlases() {
     for (int i = 0; i < renderConfig.initialAtlasCount; ++i) {
       createTextureAtlasGenerator(createTextureAtlas());
@@ -531,7 +787,7 @@ public class BatchRenderDevice implements RenderDevice {
 
   private void createTextureAtlasGenerator(final int atlasTextureId) {
     textureAtlasGenerators.put(atlasTextureId, new TextureAtlasGenerator(renderConfig.atlasWidth,
-            renderConfig.atlasHeight, renderConfig.atlasPadding, renderConfig.atlasTolerance));
+            renderConfig.atlasHeight, renderConfig.atlasPadding, renderConfig.atlasTolerance, renderConfig.atlasPacker));
   }
 
   private void resetCurrentTextureAtlas() {
@@ -562,22 +818,43 @@ public class BatchRenderDevice implements RenderDevice {
   @Nonnull
   private BatchRenderImage getPlainImage() {
     if (thePlainImage == null) {
-      thePlainImage = (BatchRenderImage) createImage("de/lessvoid/nifty/render/batch/nifty.png", true);
-      if (thePlainImage == null) {
-        throw new RuntimeException("The batch renderer requires the plain image in the resources, but its not there.");
-      }
+      // the plain image is required for every quad, so it's never loaded in the background
+      thePlainImage = createImage("de/lessvoid/nifty/render/batch/nifty.png", null);
     }
     uploadImageInternal(thePlainImage);
     return thePlainImage;
   }
 
+  /**
+   * Upload the image immediately. This is used by the AsyncImageLoader for the images decoded in the background.
+   */
+  void uploadImage(@Nonnull final BatchRenderImage image) {
+    uploadImageInternal(image);
+  }
+
+  /**
+   * Images decoded in the background are uploaded by the AsyncImageLoader at the beginning of a frame. Until then
+   * they are not rendered at all.
+   *
+   * @return true if the image is not available yet and should not be rendered
+   */
+  private boolean isUploadPending(@Nonnull final BatchRenderImage image) {
+    if (asyncImageLoader == null || !image.isLoadedAsync() || image.isUploaded()) {
+      return false;
+    }
+    if (!image.uploadFailedPermanently()) {
+      asyncImageLoader.requestUpload(image);
+    }
+    return true;
+  }
+
   private void uploadImageInternal(final BatchRenderImage image) {
     if (image.isUploaded()) {
       return;
     }
 
     // First attempt
-    image.upload();
+    image.uploadNow();
 
     // Next attempt
     if (! image.isUploaded()) {
@@ -586,7 +863,15 @@ public class BatchRenderDevice implements RenderDevice {
   }
 
   private void reattemptUpload(final BatchRenderImage image) {
+    boolean madeRoom = false;
     while (!image.isUploaded() && !image.uploadFailedPermanently()) {
+      // With persistent atlases we'd rather get rid of images of previous screens than create another atlas.
+      if (residency != null && !madeRoom && !atlasTextureIdIterator.hasNext()) {
+        madeRoom = true;
+        if (makeRoomFor(image)) {
+          break;
+        }
+      }
       // We're still not uploaded, yet the upload has not failed permanently - there's hope!
       // Keep trying new texture atlases & re-attempting upload, until we either have success or permanent failure.
       nextTextureAtlas();
@@ -598,6 +883,57 @@ public class BatchRenderDevice implements RenderDevice {
     resetCurrentTextureAtlas();
   }
 
+  /**
+   * All existing texture atlases are too full for the image. First we remove the images that are not used by the
+   * current screen in least recently used order, trying to upload the image into the atlas of each removed image. If
+   * this doesn't help we rebuild the atlases to get rid of the gaps between the remaining images.
+   *
+   * @return true if the image has been uploaded
+   */
+  private boolean makeRoomFor(@Nonnull final BatchRenderImage image) {
+    assert residency != null;
+    BatchRenderImage evicted = residency.nextEvictionCandidate(textureAtlasGenerators);
+    while (evicted != null) {
+      int atlasTextureId = evicted.getTextureId();
+      evicted.unload();
+      clearRetainedCache();
+      image.reUpload(atlasTextureId, textureAtlasGenerators.get(atlasTextureId));
+      if (image.isUploaded()) {
+        return true;
+      }
+      evicted = residency.nextEvictionCandidate(textureAtlasGenerators);
+    }
+    for (int atlasTextureId : atlasTextureIds) {
+      rebuildTextureAtlas(atlasTextureId);
+      image.reUpload(atlasTextureId, textureAtlasGenerators.get(atlasTextureId));
+      if (image.isUploaded()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void rebuildTextureAtlas(final int atlasTextureId) {
+    assert residency != null;
+    log.info("Rebuilding texture atlas (atlas texture id: " + atlasTextureId + ").");
+    TextureAtlasGenerator generator = textureAtlasGenerators.get(atlasTextureId);
+    generator.rebuild(generator.getAtlasWidth(), generator.getAtlasHeight());
+    renderBackend.clearTextureAtlas(atlasTextureId);
+    for (BatchRenderImage image : residency.getAtlasImages(atlasTextureId)) {
+      image.atlasRebuilt();
+    }
+    clearRetainedCache();
+  }
+
+  // the cached quads refer to the old positions of images in the atlases
+  private void clearRetainedCache() {
+    if (retainedCache != null) {
+      retainedCache.clear();
+      // the upload might happen while a text is recorded, the recording would be incomplete now
+      recordingSlot = null;
+    }
+  }
+
   private void resetTextureAtlasGenerators() {
     for (TextureAtlasGenerator generator : textureAtlasGenerators.values()) {
       generator.reset();
@@ -628,6 +964,9 @@ public class BatchRenderDevice implements RenderDevice {
     // if this quad is completely outside the clipping area we don't need to render it at all
     if (clipping.isCompletelyOutside((int) x, (int) y, (int) width, (int) height)) {
       clipping.incrementDiscardCounter();
+      if (recordingSlot != null) {
+        recordingSlot.recordDiscard();
+      }
       return;
     }
 
@@ -687,21 +1026,87 @@ public class BatchRenderDevice implements RenderDevice {
           final int textureId) {
     checkIfTextureChanged(textureId);
     beginNewBatchIfRequired();
-    renderBackend.addQuad(
-            x,
-            y,
-            width,
-            height,
-            color1,
-            color2,
-            color3,
-            color4,
-            calcU(textureX, getFullWidthOfCurrentTexture()),
-            calcU(textureY, getFullHeightOfCurrentTexture()),
-            calcU(textureWidth - 1, getFullWidthOfCurrentTexture()),
-            calcU(textureHeight - 1, getFullHeightOfCurrentTexture()),
-            textureId);
+    float u = calcU(textureX, getFullWidthOfCurrentTexture());
+    float v = calcU(textureY, getFullHeightOfCurrentTexture());
+    float uWidth = calcU(textureWidth - 1, getFullWidthOfCurrentTexture());
+    float vHeight = calcU(textureHeight - 1, getFullHeightOfCurrentTexture());
+    renderBackend.addQuad(x, y, width, height, color1, color2, color3, color4, u, v, uWidth, vHeight, textureId);
     quadCount++;
+
+    if (recordingSlot != null) {
+      recordingSlot.recordQuad(x, y, width, height, color1, color2, color3, color4, u, v, uWidth, vHeight, textureId);
+    }
+  }
+
+  /**
+   * Finish the description of the current render call in the retainedCache by adding the current clipping state and
+   * the atlas position of the image rendered. When the retainedCache knows the call already the quads recorded for it
+   * are replayed and true is returned. Otherwise the quads generated for the call will be recorded until
+   * {@link #endRecording()} is called and false is returned.
+   */
+  private boolean replayRetained(@Nullable final BatchRenderImage image) {
+    assert retainedCache != null;
+    if (image != null) {
+      retainedCache.add(image).add(image.getX()).add(image.getY()).add(image.getWidth()).add(image.getHeight())
+          .add(image.getTextureId());
+    }
+    if (clipping.isEnabled()) {
+      retainedCache.add(clipping.boundingBox.x0).add(clipping.boundingBox.y0)
+          .add(clipping.boundingBox.x1).add(clipping.boundingBox.y1);
+    } else {
+      retainedCache.add(getWidth()).add(getHeight());
+    }
+
+    RetainedRenderCache.Slot slot = retainedCache.lookup();
+    if (!slot.canReplay()) {
+      recordingSlot = slot;
+      return false;
+    }
+
+    float[] quads = slot.getQuads();
+    for (int i = 0; i < slot.getQuadCount(); i++) {
+      int index = i * RetainedRenderCache.FLOATS_PER_QUAD;
+      replayColor(quads, index + 4, replayColor1);
+      replayColor(quads, index + 8, replayColor2);
+      replayColor(quads, index + 12, replayColor3);
+      replayColor(quads, index + 16, replayColor4);
+
+      int textureId = slot.getTextureId(i);
+      checkIfTextureChanged(textureId);
+      beginNewBatchIfRequired();
+      renderBackend.addQuad(
+          quads[index],
+          quads[index + 1],
+          quads[index + 2],
+          quads[index + 3],
+          replayColor1,
+          replayColor2,
+          replayColor3,
+          replayColor4,
+          quads[index + 20],
+          quads[index + 21],
+          quads[index + 22],
+          quads[index + 23],
+          textureId);
+      quadCount++;
+    }
+    glyphCount += slot.getGlyphCount();
+    clipping.addDiscardCount(slot.getDiscardCount());
+    return true;
+  }
+
+  private void replayColor(@Nonnull final float[] quads, final int index, @Nonnull final Color color) {
+    color.setRed(quads[index]);
+    color.setGreen(quads[index + 1]);
+    color.setBlue(quads[index + 2]);
+    color.setAlpha(quads[index + 3]);
+  }
+
+  private void endRecording() {
+    if (recordingSlot != null) {
+      recordingSlot.recordDone();
+      recordingSlot = null;
+    }
   }
 
   private void checkIfTextureChanged(final int textureId) {
@@ -723,6 +1128,7 @@ public class BatchRenderDevice implements RenderDevice {
   }
 
   private void updateCurrentTexture(final int textureId) {
+    textureSwitchCount++;
     currentTextureId = textureId;
     currentTextureSize = BatchRenderImage.getTextureSize(textureId);
     if (currentTextureSize == null) {
@@ -810,6 +1216,10 @@ public class BatchRenderDevice implements RenderDevice {
       ++discardCount;
     }
 
+    public void addDiscardCount(final int count) {
+      discardCount += count;
+    }
+
     public int getDiscardCount() {
       return discardCount;
     }
@@ -935,19 +1345,41 @@ public class BatchRenderDevice implements RenderDevice {
   }
 
   private class FontRenderer implements JGLFontRenderer {
+    private static final int MAX_STYLED_TEXTS = 512;
+
     private final Map<String, BitmapInfo> textureInfos = new HashMap<String, BitmapInfo>();
-    private final ColorValueParser colorValueParser = new ColorValueParser();
+    private final List<BitmapInfo> bitmapPages = new ArrayList<BitmapInfo>(); // iterated without an Iterator
+    // the font passes the same bitmap id instance for all glyphs of a page, so the map is rarely asked while rendering
+    @Nullable
+    private String lastBitmapId;
+    @Nullable
+    private BitmapInfo lastBitmapInfo;
     private final BatchRenderDevice batchRenderDevice;
     private final Color textColor = Color.BLACK;
     private boolean hasColor;
 
+    // The inline colors of the texts that have been rendered recently. The TextRenderer renders the same String
+    // instances every frame so the markup of a text is only parsed once and not every frame for every character.
+    private final Map<String, StyledTextRuns> styledTexts = new LinkedHashMap<String, StyledTextRuns>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, StyledTextRuns> eldest) {
+        return size() > MAX_STYLED_TEXTS;
+      }
+    };
+    @Nullable
+    private String currentText;
+    @Nonnull
+    private StyledTextRuns currentRuns = StyledTextRuns.NONE;
+    private int currentRun;
+    private int lastOffset;
+
     public FontRenderer(final BatchRenderDevice batchRenderDevice) {
       this.batchRenderDevice = batchRenderDevice;
     }
 
     public void unload() {
-      for (BitmapInfo info : textureInfos.values()) {
-        info.unload();
+      for (int i = 0; i < bitmapPages.size(); i++) {
+        bitmapPages.get(i).unload();
       }
     }
 
@@ -956,7 +1388,8 @@ public class BatchRenderDevice implements RenderDevice {
         @Nonnull final String bitmapId,
         final InputStream data,
         @Nonnull final String filename) throws IOException {
-      textureInfos.put(bitmapId, new BitmapInfo((BatchRenderImage) batchRenderDevice.createImage(filename, true)));
+      // font textures are needed as soon as there is text to render, so they are never loaded in the background
+      addBitmapInfo(bitmapId, new BitmapInfo(createImage(filename, null)));
     }
 
     @Override
@@ -977,8 +1410,9 @@ public class BatchRenderDevice implements RenderDevice {
                 getCurrentTextureAtlasGenerator(),
                 getCurrentAtlasTextureId(),
                 renderConfig.disposeImagesBetweenScreens);
+        batchRenderImage.setResidency(residency);
       }
-      textureInfos.put(bitmapId, new BitmapInfo(batchRenderImage));
+      addBitmapInfo(bitmapId, new BitmapInfo(batchRenderImage));
     }
 
     @Override
@@ -997,6 +1431,17 @@ public class BatchRenderDevice implements RenderDevice {
       textureInfo.addCharRenderInfo(c, new CharRenderInfo(xoff, yoff, w, h, u0, v0));
     }
 
+    private void addBitmapInfo(@Nonnull final String bitmapId, @Nonnull final BitmapInfo info) {
+      BitmapInfo old = textureInfos.put(bitmapId, info);
+      if (old == null) {
+        bitmapPages.add(info);
+      } else {
+        bitmapPages.set(bitmapPages.indexOf(old), info);
+      }
+      lastBitmapId = null;
+      lastBitmapInfo = null;
+    }
+
     @Override
     public void prepare() {
     }
@@ -1004,28 +1449,23 @@ public class BatchRenderDevice implements RenderDevice {
     @Override
     public void beforeRender (final Object customRenderState) {
       hasColor = false;
-      for (BitmapInfo info : textureInfos.values()) {
-        info.upload();
+      for (int i = 0; i < bitmapPages.size(); i++) {
+        bitmapPages.get(i).upload();
       }
     }
 
     @Override
     public int preProcess(@Nonnull final String text, final int offset) {
+      StyledTextRuns runs = findRuns(text, offset);
       int index = offset;
-      colorValueParser.isColor(text, index);
-      while (colorValueParser.isColor()) {
-        final Color color = colorValueParser.getColor();
-        assert color != null;
-        textColor.setRed(color.getRed());
-        textColor.setGreen(color.getGreen());
-        textColor.setBlue(color.getBlue());
-        textColor.setAlpha(color.getAlpha());
+      while (currentRun < runs.getRunCount() && runs.getMarkupStart(currentRun) == index) {
+        textColor.setRed(runs.getRed(currentRun));
+        textColor.setGreen(runs.getGreen(currentRun));
+        textColor.setBlue(runs.getBlue(currentRun));
+        textColor.setAlpha(runs.getAlpha(currentRun));
         hasColor = true;
-        index = colorValueParser.getNextIndex();
-        if (index >= text.length()) {
-          return index;
-        }
-        colorValueParser.isColor(text, index);
+        index = runs.getTextStart(currentRun);
+        currentRun++;
       }
       return index;
     }
@@ -1048,7 +1488,14 @@ public class BatchRenderDevice implements RenderDevice {
         textColor.setBlue(b);
       }
       textColor.setAlpha(a);
-      textureInfos.get(bitmapId).renderCharacter(c, x, y, sx, sy, textColor);
+      if (bitmapId != lastBitmapId) {
+        lastBitmapInfo = textureInfos.get(bitmapId);
+        lastBitmapId = bitmapId;
+      }
+      BitmapInfo bitmapInfo = lastBitmapInfo;
+      if (bitmapInfo != null) {
+        bitmapInfo.renderCharacter(c, x, y, sx, sy, textColor);
+      }
     }
 
     @Override
@@ -1057,17 +1504,39 @@ public class BatchRenderDevice implements RenderDevice {
 
     @Override
     public int preProcessForLength(@Nonnull final String text, final int offset) {
+      StyledTextRuns runs = findRuns(text, offset);
       int index = offset;
-      colorValueParser.isColor(text, index);
-      while (colorValueParser.isColor()) {
-        index = colorValueParser.getNextIndex();
-        if (index >= text.length()) {
-          return index;
-        }
-        colorValueParser.isColor(text, index);
+      while (currentRun < runs.getRunCount() && runs.getMarkupStart(currentRun) == index) {
+        index = runs.getTextStart(currentRun);
+        currentRun++;
       }
       return index;
     }
+
+    /**
+     * Get the runs of the given text and move to the first run that doesn't start before the given offset. The font
+     * asks for the characters of a text in order, so this usually only compares two indices.
+     */
+    @Nonnull
+    private StyledTextRuns findRuns(@Nonnull final String text, final int offset) {
+      if (text != currentText) { // identity is enough here, it's the same instance for all characters of a text
+        StyledTextRuns runs = styledTexts.get(text);
+        if (runs == null) {
+          runs = StyledTextRuns.parse(text);
+          styledTexts.put(text, runs);
+        }
+        currentText = text;
+        currentRuns = runs;
+        currentRun = 0;
+      } else if (offset <= lastOffset) {
+        currentRun = 0; // the text is rendered or measured again
+      }
+      lastOffset = offset;
+      while (currentRun < currentRuns.getRunCount() && currentRuns.getMarkupStart(currentRun) < offset) {
+        currentRun++;
+      }
+      return currentRuns;
+    }
   }
 
   private class CharRenderInfo {
@@ -1105,6 +1574,9 @@ public class BatchRenderDevice implements RenderDevice {
         final int textureHeight,
         final int textureId) {
       glyphCount++;
+      if (recordingSlot != null) {
+        recordingSlot.recordGlyph();
+      }
       addQuad(
           x + (float) Math.floor(xoff * sx),
           y + (float) Math.floor(yoff * sy),
@@ -1124,7 +1596,7 @@ public class BatchRenderDevice implements RenderDevice {
 
   private class BitmapInfo {
     private final BatchRenderImage image;
-    private final Map<Integer, CharRenderInfo> characterIndices = new HashMap<Integer, CharRenderInfo>();
+    private final GlyphTable<CharRenderInfo> characterIndices = new GlyphTable<CharRenderInfo>();
 
     public BitmapInfo(final BatchRenderImage image) {
       this.image = image;
@@ -1139,7 +1611,11 @@ public class BatchRenderDevice implements RenderDevice {
     }
 
     public void renderCharacter(int c, int x, int y, float sx, float sy, @Nonnull Color textColor) {
-      characterIndices.get(c).renderQuad(
+      CharRenderInfo charRenderInfo = characterIndices.get(c);
+      if (charRenderInfo == null) {
+        return; // the font doesn't have a glyph for this character
+      }
+      charRenderInfo.renderQuad(
           x,
           y,
           sx,
@@ -1152,7 +1628,7 @@ public class BatchRenderDevice implements RenderDevice {
           image.getTextureId());
     }
 
-    public void addCharRenderInfo(final Integer c, final CharRenderInfo renderInfo) {
+    public void addCharRenderInfo(final int c, @Nonnull final CharRenderInfo renderInfo) {
       this.characterIndices.put(c, renderInfo);
     }
   }
@@ -3,10 +3,13 @@ package de.lessvoid.nifty.render.batch;
 import de.lessvoid.nifty.render.batch.TextureAtlasGenerator.Result;
 import de.lessvoid.nifty.render.batch.spi.BatchRenderBackend;
 import de.lessvoid.nifty.render.batch.spi.BatchRenderBackend.Image;
-import de.lessvoid.nifty.spi.render.RenderImage;
+import de.lessvoid.nifty.spi.render.AsyncRenderImage;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.logging.Logger;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -14,13 +17,20 @@ import javax.annotation.Nullable;
 /**
  * @author void
  */
-public class BatchRenderImage implements RenderImage {
+public class BatchRenderImage implements AsyncRenderImage {
   @Nonnull
   private static final Logger log = Logger.getLogger(BatchRenderImage.class.getName());
   @Nonnull
   private static Map<Integer, TextureSize> textureSizes = new HashMap<Integer, TextureSize>(); // provides the size of a texture represented by a specific texture id
-  @Nonnull
-  private final Image image; // the image in the format needed by the rendering backend
+  @Nullable
+  private volatile Image image; // the image in the format needed by the rendering backend, null while it is decoded in the background
+  @Nullable
+  private final CountDownLatch decoded; // released when the background decoding is done, null for images loaded directly
+  @Nullable
+  private final AsyncImageLoader asyncLoader; // handles the upload of images decoded in the background
+  private boolean loaded; // whether an image decoded in the background has been uploaded for the first time
+  @Nullable
+  private List<Runnable> loadedCallbacks; // the callbacks to run once the image has been loaded
   @Nonnull
   private final String filename; // the filename associated with this image
   @Nonnull
@@ -35,6 +45,8 @@ public class BatchRenderImage implements RenderImage {
   private boolean uploadFailed; // will be set to true if this image already failed at an attempted upload
   @Nullable
   private Result result; // the result returned by processing this image with a TextureAtlasGenerator
+  @Nullable
+  private TextureAtlasResidency residency; // keeps track of the images in the atlases if the atlases are persistent
 
   /**
    * @param image The image in the format needed by the rendering backend
@@ -51,7 +63,35 @@ public class BatchRenderImage implements RenderImage {
       @Nonnull final TextureAtlasGenerator generator,
       final int atlasTextureId,
       final boolean shouldUnload) {
+    this(image, filename, renderBackend, generator, atlasTextureId, shouldUnload, null);
+  }
+
+  /**
+   * Create an image that is decoded in the background by the given AsyncImageLoader. Its uploads are handled by the
+   * AsyncImageLoader too.
+   */
+  BatchRenderImage(
+      @Nonnull final String filename,
+      @Nonnull final BatchRenderBackend renderBackend,
+      @Nonnull final TextureAtlasGenerator generator,
+      final int atlasTextureId,
+      final boolean shouldUnload,
+      @Nonnull final AsyncImageLoader asyncLoader) {
+    this(null, filename, renderBackend, generator, atlasTextureId, shouldUnload, asyncLoader);
+  }
+
+  private BatchRenderImage(
+      @Nullable final Image image,
+      @Nonnull final String filename,
+      @Nonnull final BatchRenderBackend renderBackend,
+      @Nonnull final TextureAtlasGenerator generator,
+      final int atlasTextureId,
+      final boolean shouldUnload,
+      @Nullable final AsyncImageLoader asyncLoader) {
     this.image = image;
+    this.decoded = asyncLoader == null ? null : new CountDownLatch(1);
+    this.asyncLoader = asyncLoader;
+    this.loaded = asyncLoader == null;
     this.filename = filename;
     this.generator = generator;
     this.renderBackend = renderBackend;
@@ -89,12 +129,102 @@ public class BatchRenderImage implements RenderImage {
 
   @Override
   public int getWidth() {
-    return image.getWidth();
+    Image decodedImage = awaitImage();
+    return decodedImage == null ? 0 : decodedImage.getWidth();
   }
 
   @Override
   public int getHeight() {
-    return image.getHeight();
+    Image decodedImage = awaitImage();
+    return decodedImage == null ? 0 : decodedImage.getHeight();
+  }
+
+  @Override
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  @Override
+  public void whenLoaded(@Nonnull final Runnable callback) {
+    if (loaded) {
+      callback.run();
+      return;
+    }
+    if (loadedCallbacks == null) {
+      loadedCallbacks = new ArrayList<Runnable>();
+    }
+    loadedCallbacks.add(callback);
+  }
+
+  /**
+   * Whether this image is decoded in the background. The uploads of such an image are done by the AsyncImageLoader
+   * at the beginning of a frame.
+   */
+  public boolean isLoadedAsync() {
+    return asyncLoader != null;
+  }
+
+  /**
+   * Whether the image data is available. This is always true for images that are not decoded in the background.
+   */
+  public boolean isDecoded() {
+    return decoded == null || decoded.getCount() == 0;
+  }
+
+  /**
+   * Called by the background thread when the decoding is done.
+   *
+   * @param decodedImage the image or null when the decoding failed
+   */
+  void setDecodedImage(@Nullable final Image decodedImage) {
+    image = decodedImage;
+    if (decoded != null) {
+      decoded.countDown();
+    }
+  }
+
+  /**
+   * Called by the AsyncImageLoader on the render thread after the first upload of this image has been done.
+   */
+  void loadFinished() {
+    if (loaded) {
+      return;
+    }
+    loaded = true;
+    if (loadedCallbacks != null) {
+      List<Runnable> callbacks = loadedCallbacks;
+      loadedCallbacks = null;
+      for (int i = 0; i < callbacks.size(); i++) {
+        callbacks.get(i).run();
+      }
+    }
+  }
+
+  @Nullable
+  private Image awaitImage() {
+    if (decoded != null && decoded.getCount() > 0) {
+      log.fine("waiting for the decoding of image [" + filename + "]");
+      try {
+        decoded.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    return image;
+  }
+
+  /**
+   * Report uploads into a texture atlas to the given TextureAtlasResidency.
+   */
+  void setResidency(@Nullable final TextureAtlasResidency residency) {
+    this.residency = residency;
+  }
+
+  @Nonnull
+  private Image getDecodedImage() {
+    Image decodedImage = image;
+    assert decodedImage != null;
+    return decodedImage;
   }
 
   @Override
@@ -131,10 +261,27 @@ public class BatchRenderImage implements RenderImage {
 
   // You can only call this once. After that, the image will either be uploaded or will have failed to upload.
   // In either case, calling it again has no effect. Try the reUpload method if the upload fails.
+  // Images decoded in the background are not uploaded immediately. The AsyncImageLoader will upload them at the
+  // beginning of one of the next frames.
   public void upload() {
+    if (asyncLoader != null) {
+      if (!isUploaded && !uploadFailed) {
+        asyncLoader.requestUpload(this);
+      }
+      return;
+    }
+    uploadNow();
+  }
+
+  // The actual upload. The image data must be available (see isDecoded()).
+  void uploadNow() {
     if (isUploaded || uploadFailed) {
       return;
     }
+    if (image == null) {
+      uploadFailedBecauseDecodingFailed();
+      return;
+    }
 
     preProcessImageUpload();
 
@@ -154,17 +301,39 @@ public class BatchRenderImage implements RenderImage {
     this.generator = generator;
     isUploaded = false;
     uploadFailed = false;
-    upload();
+    uploadNow();
   }
 
   public boolean uploadFailedPermanently() {
     // If we've already failed once before, and if the image exceeds atlas tolerance, we'll never succeed.
     // (The reason why is that currently all atlases have the same tolerance, so if you fail uploading to one atlas due
     // to tolerance, you fail uploading to all atlases due to tolerance, regardless of how empty they might be).
-    return uploadFailed && imageExceedsAtlasTolerance();
+    return uploadFailed && (image == null || imageExceedsAtlasTolerance());
+  }
+
+  // Called after the texture atlas of this image has been rebuilt. The image might have been moved to a different
+  // place in the atlas so it is uploaded again at its new position. If it doesn't fit anymore it will be uploaded again
+  // the next time it is rendered.
+  void atlasRebuilt() {
+    result = generator.getImage(filename);
+    if (result == null) {
+      isUploaded = false;
+      log.info("Image [" + filename + "] did not fit into the rebuilt texture atlas (atlas texture id: " + textureId +
+          ").");
+      return;
+    }
+    x = result.getX();
+    y = result.getY();
+    renderBackend.addImageToAtlas(getDecodedImage(), x, y, textureId);
   }
 
   public void unload() {
+    if (asyncLoader != null && shouldUnload) {
+      asyncLoader.cancelUpload(this);
+    }
+    if (residency != null && shouldUnload) {
+      residency.forget(this);
+    }
     if (!isUploaded || !shouldUnload) {
       return;
     }
@@ -185,7 +354,7 @@ public class BatchRenderImage implements RenderImage {
   // Internal implementations
 
   private void preProcessImageUpload() {
-    result = generator.addImage(image.getWidth(), image.getHeight(), filename);
+    result = generator.addImage(getDecodedImage().getWidth(), getDecodedImage().getHeight(), filename);
   }
 
   private boolean imageWillFitInAtlas() {
@@ -194,11 +363,14 @@ public class BatchRenderImage implements RenderImage {
 
   private void uploadImageToAtlas() {
     assert result != null;
-    renderBackend.addImageToAtlas(image, result.getX(), result.getY(), textureId);
+    renderBackend.addImageToAtlas(getDecodedImage(), result.getX(), result.getY(), textureId);
     BatchRenderImage.registerTextureSize(textureId, generator.getAtlasWidth(), generator.getAtlasHeight());
     x = result.getX();
     y = result.getY();
     isUploaded = true;
+    if (residency != null) {
+      residency.uploadedToAtlas(this);
+    }
     log.info("Image [" + filename + "] uploaded to atlas (atlas texture id: " + textureId + ").");
   }
 
@@ -207,7 +379,7 @@ public class BatchRenderImage implements RenderImage {
   }
 
   private boolean imageExceedsAtlasTolerance() {
-    return ! generator.shouldAddImage(image.getWidth(), image.getHeight());
+    return ! generator.shouldAddImage(getDecodedImage().getWidth(), getDecodedImage().getHeight());
   }
 
   private void uploadNonAtlasImage() {
@@ -221,7 +393,7 @@ public class BatchRenderImage implements RenderImage {
   }
 
   private int createNonAtlasTexture() {
-    return renderBackend.createNonAtlasTexture(image);
+    return renderBackend.createNonAtlasTexture(getDecodedImage());
   }
 
   private boolean isCreatedNonAtlasTexture(final int textureId) {
@@ -247,6 +419,12 @@ public class BatchRenderImage implements RenderImage {
     textureId = -1;
   }
 
+  private void uploadFailedBecauseDecodingFailed() {
+    log.warning("Image [" + filename + "] could not be decoded and will be missing from your screen.");
+    uploadFailed = true;
+    textureId = -1;
+  }
+
   private void uploadFailedBecauseAtlasIsFull() {
     log.info("Image [" + filename + "] did not fit into the texture atlas, yet it is within atlas tolerance.\n" +
                 "The current atlas (atlas texture id: " + textureId + ") is too full to hold this image.");
@@ -265,7 +443,7 @@ public class BatchRenderImage implements RenderImage {
   private void unloadImageFromAtlas() {
     assert result != null;
     renderBackend.removeImageFromAtlas(
-            image,
+            getDecodedImage(),
             result.getX(),
             result.getY(),
             result.getOriginalImageWidth(),
@@ -0,0 +1,183 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.render.batch.TextureAtlasGenerator.Result;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Packs the images into a binary tree: each inserted image splits a free rectangle into the place of the image and
+ * two remaining free rectangles. This is fast and simple but removing images only frees the exact rectangle of the
+ * removed image so the atlas fragments when images of different sizes come and go.
+ * <p/>
+ * This is the packer that has always been used by {@link TextureAtlasGenerator}. It is based on the popular packing
+ * algorithm http://www.blackpawn.com/texts/lightmaps/ by jimscott@blackpawn.com.
+ *
+ * @author void
+ */
+public class BinaryTreeAtlasPacker implements TextureAtlasPacker {
+  @Nonnull
+  public static final Factory FACTORY = new Factory() {
+    @Nonnull
+    @Override
+    public TextureAtlasPacker create(final int atlasWidth, final int atlasHeight, final int atlasPadding) {
+      return new BinaryTreeAtlasPacker(atlasWidth, atlasHeight, atlasPadding);
+    }
+  };
+
+  private final int atlasPadding;
+  @Nonnull
+  private Node root;
+
+  public BinaryTreeAtlasPacker(final int atlasWidth, final int atlasHeight, final int atlasPadding) {
+    this.atlasPadding = atlasPadding;
+    root = new Node(0, 0, atlasWidth, atlasHeight);
+  }
+
+  @Nullable
+  @Override
+  public Result insert(final int imageWidth, final int imageHeight) {
+    Node node = root.insert(imageWidth, imageHeight, atlasPadding);
+    if (node == null) {
+      return null;
+    }
+    return new Result(node.rect.x, node.rect.y, imageWidth, imageHeight);
+  }
+
+  @Override
+  public void remove(@Nonnull final Result image) {
+    Node node = root.find(image.getX(), image.getY());
+    if (node == null) {
+      return;
+    }
+    node.occupied = false;
+    node.child[0] = null;
+    node.child[1] = null;
+  }
+
+  @Override
+  public void reset(final int atlasWidth, final int atlasHeight) {
+    root = new Node(0, 0, atlasWidth, atlasHeight);
+  }
+
+  @Override
+  public long getFreeArea() {
+    return root.getFreeArea();
+  }
+
+  @Override
+  public long getLargestFreeArea() {
+    return root.getLargestFreeArea();
+  }
+
+  private static class Rectangle {
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+
+    public Rectangle(final int x, final int y, final int width, final int height) {
+      this.x = x;
+      this.y = y;
+      this.width = width;
+      this.height = height;
+    }
+
+    // inclusive so that we can find images with a width or height of 0 too
+    public boolean contains(final int px, final int py) {
+      return px >= x && py >= y && px <= x + width && py <= y + height;
+    }
+
+    // the remaining rectangle after splitting a node might be smaller than the padding
+    public long getArea() {
+      return (long) Math.max(0, width) * Math.max(0, height);
+    }
+  }
+
+  private static class Node {
+    @Nonnull
+    public final Rectangle rect;
+    @Nonnull
+    public final Node[] child;
+    public boolean occupied;
+
+    public Node(final int x, final int y, final int width, final int height) {
+      rect = new Rectangle(x, y, width, height);
+      child = new Node[2];
+      child[0] = null;
+      child[1] = null;
+      occupied = false;
+    }
+
+    public boolean isLeaf() {
+      return child[0] == null && child[1] == null;
+    }
+
+    // Algorithm from http://www.blackpawn.com/texts/lightmaps/
+    @Nullable
+    public Node insert(final int imageWidth, final int imageHeight, final int padding) {
+      if (!isLeaf()) {
+        Node newNode = child[0].insert(imageWidth, imageHeight, padding);
+        if (newNode != null) {
+          return newNode;
+        }
+        return child[1].insert(imageWidth, imageHeight, padding);
+      }
+
+      if (occupied) {
+        return null; // occupied
+      }
+
+      if (imageWidth > rect.width || imageHeight > rect.height) {
+        return null; // does not fit
+      }
+
+      if (imageWidth == rect.width && imageHeight == rect.height) {
+        occupied = true; // perfect fit
+        return this;
+      }
+
+      int dw = rect.width - imageWidth;
+      int dh = rect.height - imageHeight;
+
+      if (dw > dh) {
+        child[0] = new Node(rect.x, rect.y, imageWidth, rect.height);
+        child[1] = new Node(padding + rect.x + imageWidth, rect.y, rect.width - imageWidth - padding, rect.height);
+      } else {
+        child[0] = new Node(rect.x, rect.y, rect.width, imageHeight);
+        child[1] = new Node(rect.x, padding + rect.y + imageHeight, rect.width, rect.height - imageHeight - padding);
+      }
+      return child[0].insert(imageWidth, imageHeight, padding);
+    }
+
+    // the occupied leaf at the given position, several nodes start at the same position but only one is occupied
+    @Nullable
+    public Node find(final int x, final int y) {
+      if (!rect.contains(x, y)) {
+        return null;
+      }
+      if (isLeaf()) {
+        return occupied && rect.x == x && rect.y == y ? this : null;
+      }
+      Node node = child[0].find(x, y);
+      if (node != null) {
+        return node;
+      }
+      return child[1].find(x, y);
+    }
+
+    public long getFreeArea() {
+      if (isLeaf()) {
+        return occupied ? 0 : rect.getArea();
+      }
+      return child[0].getFreeArea() + child[1].getFreeArea();
+    }
+
+    public long getLargestFreeArea() {
+      if (isLeaf()) {
+        return occupied ? 0 : rect.getArea();
+      }
+      return Math.max(child[0].getLargestFreeArea(), child[1].getLargestFreeArea());
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package de.lessvoid.nifty.render.batch;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Maps the code points of the glyphs of a font page to their render information without boxing the code points.
+ * <p/>
+ * Code points below {@link #DENSE_CODE_POINTS} are looked up directly in an array that grows up to the highest
+ * registered code point. This covers the alphabetic scripts most fonts are made of with a single array access. All
+ * other code points (CJK, symbols, supplementary planes) are kept in an open addressing hash table with int keys and
+ * linear probing, so a font with only a few of them doesn't need an array for the whole BMP.
+ * <p/>
+ * This class is not thread safe, it must only be used from the render thread.
+ *
+ * @author void
+ */
+final class GlyphTable<T> {
+  static final int DENSE_CODE_POINTS = 0x800;
+
+  private static final int EMPTY = -1;
+  private static final int INITIAL_SPARSE_CAPACITY = 16; // must be a power of two
+
+  @Nonnull
+  private Object[] dense = new Object[0];
+  @Nullable
+  private int[] sparseKeys;
+  @Nullable
+  private Object[] sparseValues;
+  private int sparseSize;
+
+  void put(final int codePoint, @Nonnull final T value) {
+    if (codePoint < 0) {
+      throw new IllegalArgumentException("Invalid code point: " + codePoint);
+    }
+    if (codePoint < DENSE_CODE_POINTS) {
+      if (codePoint >= dense.length) {
+        Object[] newDense = new Object[Math.min(DENSE_CODE_POINTS, Math.max(codePoint + 1, dense.length * 2))];
+        System.arraycopy(dense, 0, newDense, 0, dense.length);
+        dense = newDense;
+      }
+      dense[codePoint] = value;
+      return;
+    }
+    if (sparseKeys == null || (sparseSize + 1) * 2 > sparseKeys.length) {
+      growSparse();
+    }
+    putSparse(codePoint, value);
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  T get(final int codePoint) {
+    if (codePoint >= 0 && codePoint < dense.length) {
+      return (T) dense[codePoint];
+    }
+    final int[] keys = sparseKeys;
+    if (keys == null || codePoint < DENSE_CODE_POINTS) {
+      return null;
+    }
+    final int mask = keys.length - 1;
+    int index = hash(codePoint) & mask;
+    while (keys[index] != EMPTY) {
+      if (keys[index] == codePoint) {
+        assert sparseValues != null;
+        return (T) sparseValues[index];
+      }
+      index = (index + 1) & mask;
+    }
+    return null;
+  }
+
+  int size() {
+    int count = sparseSize;
+    for (Object value : dense) {
+      if (value != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private void putSparse(final int codePoint, @Nonnull final Object value) {
+    final int[] keys = sparseKeys;
+    final Object[] values = sparseValues;
+    assert keys != null && values != null;
+    final int mask = keys.length - 1;
+    int index = hash(codePoint) & mask;
+    while (keys[index] != EMPTY) {
+      if (keys[index] == codePoint) {
+        values[index] = value;
+        return;
+      }
+      index = (index + 1) & mask;
+    }
+    keys[index] = codePoint;
+    values[index] = value;
+    sparseSize++;
+  }
+
+  private void growSparse() {
+    final int[] oldKeys = sparseKeys;
+    final Object[] oldValues = sparseValues;
+    final int capacity = oldKeys == null ? INITIAL_SPARSE_CAPACITY : oldKeys.length * 2;
+    sparseKeys = new int[capacity];
+    Arrays.fill(sparseKeys, EMPTY);
+    sparseValues = new Object[capacity];
+    sparseSize = 0;
+    if (oldKeys != null && oldValues != null) {
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldKeys[i] != EMPTY) {
+          putSparse(oldKeys[i], oldValues[i]);
+        }
+      }
+    }
+  }
+
+  private static int hash(final int codePoint) {
+    // code points of a font are mostly consecutive, spread them a bit so that they don't form long probe chains
+    final int h = codePoint * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
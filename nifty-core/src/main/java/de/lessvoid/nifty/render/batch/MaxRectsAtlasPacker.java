@@ -0,0 +1,219 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.render.batch.TextureAtlasGenerator.Result;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Packs the images with the MaxRects algorithm described by Jukka Jylänki in "A Thousand Ways to Pack the Bin". Instead
+ * of a tree this keeps a list of all maximal free rectangles, which may overlap each other. An image is put into the
+ * free rectangle that leaves the shortest side over ("best short side fit"). This packs mixed image sizes a lot tighter
+ * than {@link BinaryTreeAtlasPacker} and the space of removed images is merged with the surrounding free space, at the
+ * cost of a slower insert.
+ * <p/>
+ * The padding is handled by adding it to the right and bottom of each image and making the atlas bigger by the padding
+ * as well, so that the padding of the images at the right and bottom border ends up outside of the atlas.
+ *
+ * @author void
+ */
+public class MaxRectsAtlasPacker implements TextureAtlasPacker {
+  @Nonnull
+  public static final Factory FACTORY = new Factory() {
+    @Nonnull
+    @Override
+    public TextureAtlasPacker create(final int atlasWidth, final int atlasHeight, final int atlasPadding) {
+      return new MaxRectsAtlasPacker(atlasWidth, atlasHeight, atlasPadding);
+    }
+  };
+
+  private final int atlasPadding;
+  @Nonnull
+  private final List<Rect> freeRects = new ArrayList<Rect>();
+  @Nonnull
+  private final List<Rect> newFreeRects = new ArrayList<Rect>(); // reused in splitFreeRects()
+  private long binArea;
+  private long usedArea;
+
+  public MaxRectsAtlasPacker(final int atlasWidth, final int atlasHeight, final int atlasPadding) {
+    this.atlasPadding = atlasPadding;
+    reset(atlasWidth, atlasHeight);
+  }
+
+  @Nullable
+  @Override
+  public Result insert(final int imageWidth, final int imageHeight) {
+    int width = imageWidth + atlasPadding;
+    int height = imageHeight + atlasPadding;
+    Rect best = null;
+    int bestShortSide = Integer.MAX_VALUE;
+    int bestLongSide = Integer.MAX_VALUE;
+    for (int i = 0; i < freeRects.size(); i++) {
+      Rect free = freeRects.get(i);
+      if (width > free.width || height > free.height) {
+        continue;
+      }
+      int leftoverX = free.width - width;
+      int leftoverY = free.height - height;
+      int shortSide = Math.min(leftoverX, leftoverY);
+      int longSide = Math.max(leftoverX, leftoverY);
+      if (shortSide < bestShortSide || (shortSide == bestShortSide && longSide < bestLongSide)) {
+        best = free;
+        bestShortSide = shortSide;
+        bestLongSide = longSide;
+      }
+    }
+    if (best == null) {
+      return null;
+    }
+    Rect used = new Rect(best.x, best.y, width, height);
+    splitFreeRects(used);
+    pruneFreeRects();
+    usedArea += used.getArea();
+    return new Result(used.x, used.y, imageWidth, imageHeight);
+  }
+
+  @Override
+  public void remove(@Nonnull final Result image) {
+    Rect freed = new Rect(
+        image.getX(),
+        image.getY(),
+        image.getOriginalImageWidth() + atlasPadding,
+        image.getOriginalImageHeight() + atlasPadding);
+    usedArea -= freed.getArea();
+    freeRects.add(freed);
+    mergeFreeRects();
+    pruneFreeRects();
+  }
+
+  @Override
+  public void reset(final int atlasWidth, final int atlasHeight) {
+    freeRects.clear();
+    freeRects.add(new Rect(0, 0, atlasWidth + atlasPadding, atlasHeight + atlasPadding));
+    binArea = (long) (atlasWidth + atlasPadding) * (atlasHeight + atlasPadding);
+    usedArea = 0;
+  }
+
+  @Override
+  public long getFreeArea() {
+    return binArea - usedArea;
+  }
+
+  @Override
+  public long getLargestFreeArea() {
+    long largest = 0;
+    for (int i = 0; i < freeRects.size(); i++) {
+      largest = Math.max(largest, freeRects.get(i).getArea());
+    }
+    return largest;
+  }
+
+  // Replace every free rectangle that overlaps the used rectangle with the (up to four) parts that are still free.
+  private void splitFreeRects(@Nonnull final Rect used) {
+    for (int i = freeRects.size() - 1; i >= 0; i--) {
+      Rect free = freeRects.get(i);
+      if (!free.intersects(used)) {
+        continue;
+      }
+      freeRects.remove(i);
+      if (used.x > free.x) {
+        newFreeRects.add(new Rect(free.x, free.y, used.x - free.x, free.height));
+      }
+      if (used.getRight() < free.getRight()) {
+        newFreeRects.add(new Rect(used.getRight(), free.y, free.getRight() - used.getRight(), free.height));
+      }
+      if (used.y > free.y) {
+        newFreeRects.add(new Rect(free.x, free.y, free.width, used.y - free.y));
+      }
+      if (used.getBottom() < free.getBottom()) {
+        newFreeRects.add(new Rect(free.x, used.getBottom(), free.width, free.getBottom() - used.getBottom()));
+      }
+    }
+    freeRects.addAll(newFreeRects);
+    newFreeRects.clear();
+  }
+
+  // Remove the free rectangles that are completely contained in another free rectangle.
+  private void pruneFreeRects() {
+    for (int i = 0; i < freeRects.size(); i++) {
+      for (int j = i + 1; j < freeRects.size(); j++) {
+        if (freeRects.get(j).contains(freeRects.get(i))) {
+          freeRects.remove(i);
+          i--;
+          break;
+        }
+        if (freeRects.get(i).contains(freeRects.get(j))) {
+          freeRects.remove(j);
+          j--;
+        }
+      }
+    }
+  }
+
+  // Join free rectangles that share a complete edge, so the space of a removed image becomes part of bigger free
+  // rectangles again.
+  private void mergeFreeRects() {
+    boolean merged = true;
+    while (merged) {
+      merged = false;
+      for (int i = 0; i < freeRects.size() && !merged; i++) {
+        for (int j = i + 1; j < freeRects.size() && !merged; j++) {
+          Rect union = freeRects.get(i).union(freeRects.get(j));
+          if (union != null) {
+            freeRects.remove(j);
+            freeRects.set(i, union);
+            merged = true;
+          }
+        }
+      }
+    }
+  }
+
+  private static class Rect {
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+
+    public Rect(final int x, final int y, final int width, final int height) {
+      this.x = x;
+      this.y = y;
+      this.width = width;
+      this.height = height;
+    }
+
+    public int getRight() {
+      return x + width;
+    }
+
+    public int getBottom() {
+      return y + height;
+    }
+
+    public long getArea() {
+      return (long) width * height;
+    }
+
+    public boolean intersects(@Nonnull final Rect other) {
+      return x < other.getRight() && other.x < getRight() && y < other.getBottom() && other.y < getBottom();
+    }
+
+    public boolean contains(@Nonnull final Rect other) {
+      return other.x >= x && other.y >= y && other.getRight() <= getRight() && other.getBottom() <= getBottom();
+    }
+
+    // the union if both rectangles together form a rectangle, null otherwise
+    @Nullable
+    public Rect union(@Nonnull final Rect other) {
+      if (x == other.x && width == other.width && (getBottom() == other.y || other.getBottom() == y)) {
+        return new Rect(x, Math.min(y, other.y), width, height + other.height);
+      }
+      if (y == other.y && height == other.height && (getRight() == other.x || other.getRight() == x)) {
+        return new Rect(Math.min(x, other.x), y, width + other.width, height);
+      }
+      return null;
+    }
+  }
+}
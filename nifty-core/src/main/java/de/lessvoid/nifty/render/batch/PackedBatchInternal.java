@@ -0,0 +1,161 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.render.batch.spi.Batch;
+import de.lessvoid.nifty.render.batch.spi.BufferFactory;
+import de.lessvoid.nifty.render.batch.spi.PackedVertexGL;
+import de.lessvoid.nifty.tools.Color;
+
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import javax.annotation.Nonnull;
+
+/**
+ * The same as {@link BatchInternal} but with a packed vertex format that stores the vertex color as 4 unsigned bytes
+ * instead of 4 floats. This reduces the size of a single vertex from 32 to 20 bytes. The texture coordinates still
+ * need to be floats here because fixed function OpenGL has no support for normalized integer texture coordinates.
+ *
+ * {@inheritDoc}
+ *
+ * @author void
+ */
+public class PackedBatchInternal implements Batch {
+  private final static int VERTICES_PER_QUAD = 4;
+  private final static int INDICES_PER_QUAD = 6;
+  private final static int POSITION_ATTRIBUTES_PER_VERTEX = 2;
+  private final static int COLOR_ATTRIBUTES_PER_VERTEX = 4;
+  private final static int TEXTURE_ATTRIBUTES_PER_VERTEX = 2;
+  // 2 floats position, 4 unsigned bytes color, 2 floats texture
+  private final static int BYTES_PER_VERTEX = 8 + 4 + 8;
+  private final static int COLOR_OFFSET = 8;
+  private final static int TEXTURE_OFFSET = 12;
+  private final static int PRIMITIVE_SIZE = VERTICES_PER_QUAD * BYTES_PER_VERTEX;
+  private final static int MAX_QUADS = 2048;
+  private final static int SIZE = MAX_QUADS * PRIMITIVE_SIZE;
+  @Nonnull
+  private final PackedVertexGL gl;
+  @Nonnull
+  private final ByteBuffer vertexBuffer;
+  @Nonnull
+  private final ShortBuffer indexBuffer;
+  @Nonnull
+  private BlendMode blendMode = BlendMode.BLEND;
+  private int primitiveCount;
+  private int textureId;
+
+  /**
+   * Create a batch that uses the given index buffer to render its quads. The index buffer must have been created
+   * with {@link BatchInternal#createQuadIndexBuffer(de.lessvoid.nifty.render.batch.spi.BufferFactory)}.
+   */
+  public PackedBatchInternal(
+          @Nonnull final PackedVertexGL gl,
+          @Nonnull final BufferFactory bufferFactory,
+          @Nonnull final ShortBuffer quadIndexBuffer) {
+    this.gl = gl;
+    vertexBuffer = bufferFactory.createNativeOrderedByteBuffer(SIZE);
+    indexBuffer = quadIndexBuffer.duplicate();
+  }
+
+  @Override
+  public void begin(@Nonnull final BlendMode blendMode, final int textureId) {
+    this.blendMode = blendMode;
+    this.textureId = textureId;
+    primitiveCount = 0;
+    vertexBuffer.clear();
+  }
+
+  @Nonnull
+  @Override
+  public BlendMode getBlendMode() {
+    return blendMode;
+  }
+
+  @Override
+  public void render() {
+    if (primitiveCount == 0) {
+      return; // Attempting to render with an empty vertex buffer crashes the program.
+    }
+
+    // see BatchInternal.render() why we bind the texture every time
+    gl.glBindTexture(gl.GL_TEXTURE_2D(), textureId);
+
+    if (blendMode.equals(BlendMode.BLEND)) {
+      gl.glBlendFunc(gl.GL_SRC_ALPHA(), gl.GL_ONE_MINUS_SRC_ALPHA());
+    } else if (blendMode.equals(BlendMode.MULIPLY)) {
+      gl.glBlendFunc(gl.GL_DST_COLOR(), gl.GL_ZERO());
+    }
+
+    vertexBuffer.flip();
+    vertexBuffer.position(0);
+    gl.glVertexPointer(POSITION_ATTRIBUTES_PER_VERTEX, gl.GL_FLOAT(), BYTES_PER_VERTEX, vertexBuffer);
+
+    vertexBuffer.position(COLOR_OFFSET);
+    gl.glColorPointer(COLOR_ATTRIBUTES_PER_VERTEX, gl.GL_UNSIGNED_BYTE(), BYTES_PER_VERTEX, vertexBuffer);
+
+    vertexBuffer.position(TEXTURE_OFFSET);
+    gl.glTexCoordPointer(TEXTURE_ATTRIBUTES_PER_VERTEX, gl.GL_FLOAT(), BYTES_PER_VERTEX, vertexBuffer);
+
+    int indexCount = primitiveCount * INDICES_PER_QUAD;
+    indexBuffer.limit(indexCount);
+    indexBuffer.position(0);
+    gl.glDrawElements(gl.GL_TRIANGLES(), indexCount, gl.GL_UNSIGNED_SHORT(), indexBuffer);
+  }
+
+  @Override
+  public boolean canAddQuad() {
+    return primitiveCount + 1 < MAX_QUADS;
+  }
+
+  @Override
+  public void addQuad(
+          final float x,
+          final float y,
+          final float width,
+          final float height,
+          @Nonnull final Color color1,
+          @Nonnull final Color color2,
+          @Nonnull final Color color3,
+          @Nonnull final Color color4,
+          final float textureX,
+          final float textureY,
+          final float textureWidth,
+          final float textureHeight) {
+    // same vertex order as BatchInternal:
+    //
+    // 0---1
+    // | \ |
+    // |  \|
+    // 3---2
+    addVertex(x, y, color1, textureX, textureY);
+    addVertex(x + width, y, color2, textureX + textureWidth, textureY);
+    addVertex(x + width, y + height, color4, textureX + textureWidth, textureY + textureHeight);
+    addVertex(x, y + height, color3, textureX, textureY + textureHeight);
+    primitiveCount++;
+  }
+
+  private void addVertex(
+          final float x,
+          final float y,
+          @Nonnull final Color color,
+          final float textureX,
+          final float textureY) {
+    vertexBuffer.putFloat(x);
+    vertexBuffer.putFloat(y);
+    vertexBuffer.put(toUnsignedByte(color.getRed()));
+    vertexBuffer.put(toUnsignedByte(color.getGreen()));
+    vertexBuffer.put(toUnsignedByte(color.getBlue()));
+    vertexBuffer.put(toUnsignedByte(color.getAlpha()));
+    vertexBuffer.putFloat(textureX);
+    vertexBuffer.putFloat(textureY);
+  }
+
+  private static byte toUnsignedByte(final float value) {
+    if (value <= 0.f) {
+      return 0;
+    }
+    if (value >= 1.f) {
+      return (byte) 255;
+    }
+    return (byte) (value * 255.f + 0.5f);
+  }
+}
@@ -0,0 +1,364 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.tools.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The retained mode cache of the {@link BatchRenderDevice}. Every render call of a frame is assigned to a slot in the
+ * order the calls arrive. A slot remembers all parameters of the call that have an influence on the quads generated
+ * and the quads that have been generated for it. When the same call arrives in the same slot during the next frame the
+ * recorded quads can be replayed directly without processing the call again (clipping, glyph lookups and so on).
+ *
+ * When a call does not match its slot the next {@link #RESYNC_DISTANCE} slots of the last frame are searched for it.
+ * The slots skipped this way belong to calls that are gone. A call that can't be found gets a new slot while the slot
+ * of the last frame is kept for the next call. A single call inserted or removed therefore doesn't prevent the calls
+ * that follow it from being replayed.
+ *
+ * This class only keeps the data. Recording and replaying is done by the {@link BatchRenderDevice}. A call can have at
+ * most {@link #MAX_INT_PARAMS} int and {@link #MAX_FLOAT_PARAMS} float parameters and a single object and text. Adding
+ * more throws an IllegalStateException because the call could not be told apart from a different call anymore.
+ *
+ * @author void
+ */
+class RetainedRenderCache {
+  /**
+   * The number of floats stored per quad: x, y, width, height, 4 colors with 4 components each and the 4 texture
+   * coordinates.
+   */
+  static final int FLOATS_PER_QUAD = 24;
+
+  static final int CALL_QUAD = 1;
+  static final int CALL_QUAD_GRADIENT = 2;
+  static final int CALL_IMAGE = 3;
+  static final int CALL_IMAGE_SUB = 4;
+  static final int CALL_FONT = 5;
+
+  static final int MAX_INT_PARAMS = 20;
+  static final int MAX_FLOAT_PARAMS = 19;
+
+  /**
+   * The number of slots of the last frame that are searched for a call that does not match its own slot.
+   */
+  static final int RESYNC_DISTANCE = 8;
+
+  // the slots of the last frame in the order of the calls and the index of the slot the next call is expected in
+  @Nonnull
+  private List<Slot> lastFrameSlots = new ArrayList<Slot>();
+  private int nextSlot;
+  // the slots of the current frame, they become the lastFrameSlots at the end of the frame
+  @Nonnull
+  private List<Slot> frameSlots = new ArrayList<Slot>();
+  // slots that are not used by any call anymore and can be used for new calls
+  @Nonnull
+  private final List<Slot> freeSlots = new ArrayList<Slot>();
+  @Nonnull
+  private final Slot call = new Slot();
+  private int callCount;
+  private int replayCount;
+  private int lastFrameCallCount;
+  private int lastFrameReplayCount;
+
+  /**
+   * Start the description of a new render call. Use the add methods to add all parameters of the call and then call
+   * {@link #lookup()} to get the slot for the call.
+   */
+  @Nonnull
+  RetainedRenderCache begin(final int callType) {
+    call.reset(callType);
+    return this;
+  }
+
+  @Nonnull
+  RetainedRenderCache add(final int value) {
+    if (call.intCount == MAX_INT_PARAMS) {
+      throw new IllegalStateException("Render call " + call.type + " has more than " + MAX_INT_PARAMS +
+          " int parameters");
+    }
+    call.ints[call.intCount++] = value;
+    return this;
+  }
+
+  @Nonnull
+  RetainedRenderCache add(final float value) {
+    if (call.floatCount == MAX_FLOAT_PARAMS) {
+      throw new IllegalStateException("Render call " + call.type + " has more than " + MAX_FLOAT_PARAMS +
+          " float parameters");
+    }
+    call.floats[call.floatCount++] = value;
+    return this;
+  }
+
+  @Nonnull
+  RetainedRenderCache add(@Nonnull final Color color) {
+    return add(color.getRed()).add(color.getGreen()).add(color.getBlue()).add(color.getAlpha());
+  }
+
+  @Nonnull
+  RetainedRenderCache add(@Nullable final Object ref) {
+    if (call.hasRef) {
+      throw new IllegalStateException("Render call " + call.type + " has more than one object parameter");
+    }
+    call.hasRef = true;
+    call.ref = ref;
+    return this;
+  }
+
+  @Nonnull
+  RetainedRenderCache add(@Nullable final String text) {
+    if (call.hasText) {
+      throw new IllegalStateException("Render call " + call.type + " has more than one text parameter");
+    }
+    call.hasText = true;
+    call.text = text;
+    return this;
+  }
+
+  /**
+   * Get the slot for the call that has been described since the last call to {@link #begin(int)}. If the slot
+   * matches the call it can be replayed with its recorded quads. If it does not match it has been reset to the new
+   * call and the quads generated for the call need to be recorded into it.
+   */
+  @Nonnull
+  Slot lookup() {
+    callCount++;
+    int end = Math.min(nextSlot + RESYNC_DISTANCE + 1, lastFrameSlots.size());
+    for (int i = nextSlot; i < end; i++) {
+      Slot slot = lastFrameSlots.get(i);
+      if (slot.recorded && slot.sameCall(call)) {
+        // the calls of the slots skipped are not rendered anymore
+        for (int skipped = nextSlot; skipped < i; skipped++) {
+          freeSlots.add(lastFrameSlots.get(skipped));
+        }
+        nextSlot = i + 1;
+        frameSlots.add(slot);
+        replayCount++;
+        return slot;
+      }
+    }
+
+    Slot slot = freeSlots.isEmpty() ? new Slot() : freeSlots.remove(freeSlots.size() - 1);
+    slot.copyCall(call);
+    frameSlots.add(slot);
+    return slot;
+  }
+
+  /**
+   * Called at the end of each frame. The next frame will start with the first slot again.
+   */
+  void endFrame() {
+    for (int i = nextSlot; i < lastFrameSlots.size(); i++) {
+      freeSlots.add(lastFrameSlots.get(i));
+    }
+    List<Slot> slots = lastFrameSlots;
+    slots.clear();
+    lastFrameSlots = frameSlots;
+    frameSlots = slots;
+    nextSlot = 0;
+    lastFrameCallCount = callCount;
+    lastFrameReplayCount = replayCount;
+    callCount = 0;
+    replayCount = 0;
+  }
+
+  /**
+   * Forget about all recorded calls. This is required when the content of the texture atlases is changed.
+   */
+  void clear() {
+    for (int i = 0; i < frameSlots.size(); i++) {
+      frameSlots.get(i).reset(0);
+    }
+    for (int i = nextSlot; i < lastFrameSlots.size(); i++) {
+      Slot slot = lastFrameSlots.get(i);
+      slot.reset(0);
+      freeSlots.add(slot);
+    }
+    lastFrameSlots.clear();
+    nextSlot = 0;
+  }
+
+  /**
+   * The number of render calls of the last frame.
+   */
+  int getLastFrameCallCount() {
+    return lastFrameCallCount;
+  }
+
+  /**
+   * The number of render calls of the last frame that have been replayed from the cache.
+   */
+  int getLastFrameReplayCount() {
+    return lastFrameReplayCount;
+  }
+
+  static class Slot {
+    private int type;
+    @Nonnull
+    private final int[] ints = new int[MAX_INT_PARAMS];
+    private int intCount;
+    @Nonnull
+    private final float[] floats = new float[MAX_FLOAT_PARAMS];
+    private int floatCount;
+    @Nullable
+    private Object ref;
+    private boolean hasRef;
+    @Nullable
+    private String text;
+    private boolean hasText;
+
+    private boolean recorded;
+    @Nonnull
+    private float[] quads = new float[FLOATS_PER_QUAD];
+    @Nonnull
+    private int[] textureIds = new int[1];
+    private int quadCount;
+    private int glyphCount;
+    private int discardCount;
+
+    /**
+     * Returns true when this slot contains the quads of the current call and can be replayed.
+     */
+    boolean canReplay() {
+      return recorded;
+    }
+
+    int getQuadCount() {
+      return quadCount;
+    }
+
+    @Nonnull
+    float[] getQuads() {
+      return quads;
+    }
+
+    int getTextureId(final int quad) {
+      return textureIds[quad];
+    }
+
+    int getGlyphCount() {
+      return glyphCount;
+    }
+
+    int getDiscardCount() {
+      return discardCount;
+    }
+
+    void recordGlyph() {
+      glyphCount++;
+    }
+
+    void recordDiscard() {
+      discardCount++;
+    }
+
+    void recordQuad(
+        final float x,
+        final float y,
+        final float width,
+        final float height,
+        @Nonnull final Color color1,
+        @Nonnull final Color color2,
+        @Nonnull final Color color3,
+        @Nonnull final Color color4,
+        final float textureX,
+        final float textureY,
+        final float textureWidth,
+        final float textureHeight,
+        final int textureId) {
+      if (quadCount == textureIds.length) {
+        int[] newTextureIds = new int[textureIds.length * 2];
+        System.arraycopy(textureIds, 0, newTextureIds, 0, textureIds.length);
+        textureIds = newTextureIds;
+
+        float[] newQuads = new float[newTextureIds.length * FLOATS_PER_QUAD];
+        System.arraycopy(quads, 0, newQuads, 0, quads.length);
+        quads = newQuads;
+      }
+      textureIds[quadCount] = textureId;
+
+      int index = quadCount * FLOATS_PER_QUAD;
+      quads[index++] = x;
+      quads[index++] = y;
+      quads[index++] = width;
+      quads[index++] = height;
+      index = putColor(index, color1);
+      index = putColor(index, color2);
+      index = putColor(index, color3);
+      index = putColor(index, color4);
+      quads[index++] = textureX;
+      quads[index++] = textureY;
+      quads[index++] = textureWidth;
+      quads[index] = textureHeight;
+      quadCount++;
+    }
+
+    /**
+     * Mark the recording of this slot as complete. Only slots that have been recorded completely can be replayed.
+     */
+    void recordDone() {
+      recorded = true;
+    }
+
+    private int putColor(final int start, @Nonnull final Color color) {
+      int index = start;
+      quads[index++] = color.getRed();
+      quads[index++] = color.getGreen();
+      quads[index++] = color.getBlue();
+      quads[index++] = color.getAlpha();
+      return index;
+    }
+
+    private void reset(final int callType) {
+      type = callType;
+      intCount = 0;
+      floatCount = 0;
+      ref = null;
+      hasRef = false;
+      text = null;
+      hasText = false;
+      recorded = false;
+      quadCount = 0;
+      glyphCount = 0;
+      discardCount = 0;
+    }
+
+    private boolean sameCall(@Nonnull final Slot other) {
+      if (type != other.type || intCount != other.intCount || floatCount != other.floatCount) {
+        return false;
+      }
+      if (ref != other.ref) {
+        return false;
+      }
+      if (text == null ? other.text != null : !text.equals(other.text)) {
+        return false;
+      }
+      for (int i = 0; i < intCount; i++) {
+        if (ints[i] != other.ints[i]) {
+          return false;
+        }
+      }
+      for (int i = 0; i < floatCount; i++) {
+        if (Float.compare(floats[i], other.floats[i]) != 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void copyCall(@Nonnull final Slot other) {
+      reset(other.type);
+      System.arraycopy(other.ints, 0, ints, 0, other.intCount);
+      intCount = other.intCount;
+      System.arraycopy(other.floats, 0, floats, 0, other.floatCount);
+      floatCount = other.floatCount;
+      ref = other.ref;
+      hasRef = other.hasRef;
+      text = other.text;
+      hasText = other.hasText;
+    }
+  }
+}
@@ -14,7 +14,8 @@ import javax.annotation.Nullable;
  * on the popular packing algorithm http://www.blackpawn.com/texts/lightmaps/ by jimscott@blackpawn.com.
  * <p/>
  * This class tries to separate the actual algorithm from the image manipulating code so that this can be used with
- * different rendering/image frameworks.
+ * different rendering/image frameworks. The packing algorithm itself is a {@link TextureAtlasPacker}, by default the
+ * {@link BinaryTreeAtlasPacker}.
  *
  * @author void
  */
@@ -24,10 +25,12 @@ public class TextureAtlasGenerator {
   private final int atlasPadding;
   private final float atlasTolerance;
   @Nonnull
-  private Node root;
-  // for easy access we keep each node in a map with the passed name as the key so we can look up a Node directly
+  private final TextureAtlasPacker packer;
+  // for easy access we keep each image in a map with the passed name as the key so we can look up an image directly
   @Nonnull
-  private Map<String, Node> rectangleMap;
+  private Map<String, Result> rectangleMap;
+  private long usedArea; // the number of pixels used by the images (without padding)
+  private int failedInsertCount; // the number of images that did not fit, although they were within the tolerance
 
   /**
    * You'll get an instance of this class back when you add an image. This class will show you where you'll need to
@@ -85,6 +88,20 @@ public class TextureAtlasGenerator {
                                final int atlasHeight,
                                final int atlasPadding,
                                final float atlasTolerance) {
+    this(atlasWidth, atlasHeight, atlasPadding, atlasTolerance, BinaryTreeAtlasPacker.FACTORY);
+  }
+
+  /**
+   * Creates a new TextureAtlasGenerator that uses the given packing algorithm. See
+   * {@link #TextureAtlasGenerator(int, int, int, float)} for the other parameters.
+   *
+   * @param packerFactory creates the {@link TextureAtlasPacker} that decides where the images are put into the atlas
+   */
+  public TextureAtlasGenerator(final int atlasWidth,
+                               final int atlasHeight,
+                               final int atlasPadding,
+                               final float atlasTolerance,
+                               @Nonnull final TextureAtlasPacker.Factory packerFactory) {
     if (atlasWidth <= 0) {
       throw new IllegalArgumentException("atlas width must be greater than 0");
     } else if (atlasHeight <= 0) {
@@ -102,6 +119,7 @@ public class TextureAtlasGenerator {
     this.atlasHeight = atlasHeight;
     this.atlasPadding = atlasPadding;
     this.atlasTolerance = atlasTolerance;
+    this.packer = packerFactory.create(atlasWidth, atlasHeight, atlasPadding);
     reset();
   }
 
@@ -132,13 +150,15 @@ public class TextureAtlasGenerator {
       return null;
     }
 
-    Node node = root.insert(imageWidth, imageHeight, atlasPadding);
-    if (node == null) {
+    Result result = packer.insert(imageWidth, imageHeight);
+    if (result == null) {
+      failedInsertCount++;
       return null;
     }
 
-    rectangleMap.put(imageName, node);
-    return new Result(node.rect.x, node.rect.y, imageWidth, imageHeight);
+    rectangleMap.put(imageName, result);
+    usedArea += (long) imageWidth * imageHeight;
+    return result;
   }
 
   /**
@@ -168,15 +188,26 @@ public class TextureAtlasGenerator {
 
   @Nullable
   public Result removeImage(@Nonnull final String name) {
-    Node node = rectangleMap.remove(name);
-    if (node == null) {
+    Result result = rectangleMap.remove(name);
+    if (result == null) {
       return null;
     }
 
-    node.occupied = false;
-    node.child[0] = null;
-    node.child[1] = null;
-    return new Result(node.rect.x, node.rect.y, node.rect.width, node.rect.height);
+    packer.remove(result);
+    usedArea -= (long) result.getOriginalImageWidth() * result.getOriginalImageHeight();
+    return result;
+  }
+
+  /**
+   * Looks up the position of an image in the atlas.
+   *
+   * @param name the name of the image that has been used with {@link #addImage(int, int, String)}
+   *
+   * @return the position of the image in the atlas, or null if there is no image with this name in the atlas
+   */
+  @Nullable
+  public Result getImage(@Nonnull final String name) {
+    return rectangleMap.get(name);
   }
 
   public int getAtlasWidth() {
@@ -187,92 +218,70 @@ public class TextureAtlasGenerator {
     return atlasHeight;
   }
 
-  @Nonnull
-  public List<Result> rebuild(
-      final int width,
-      final int height) {
-    List<Result> results = new ArrayList<Result>();
-    root = new Node(0, 0, width, height);
-    for (Map.Entry<String, Node> entry : rectangleMap.entrySet()) {
-      Rectangle rect = entry.getValue().rect;
-      results.add(addImage(rect.width, rect.height, entry.getKey()));
-    }
-    return results;
+  /**
+   * The number of images in the atlas.
+   */
+  public int getImageCount() {
+    return rectangleMap.size();
   }
 
-  private static class Rectangle {
-    private final int x;
-    private final int y;
-    private final int width;
-    private final int height;
-
-    public Rectangle(final int x, final int y, final int width, final int height) {
-      this.x = x;
-      this.y = y;
-      this.width = width;
-      this.height = height;
-    }
+  /**
+   * The part of the atlas that is used by images (without their padding).
+   *
+   * @return a value between 0.0f (empty) and 1.0f (full)
+   */
+  public float getOccupancy() {
+    return usedArea / (float) ((long) atlasWidth * atlasHeight);
   }
 
-  private static class Node {
-    @Nonnull
-    public final Rectangle rect;
-    @Nonnull
-    public final Node[] child;
-    public boolean occupied;
-
-    public Node(final int x, final int y, final int width, final int height) {
-      rect = new Rectangle(x, y, width, height);
-      child = new Node[2];
-      child[0] = null;
-      child[1] = null;
-      occupied = false;
-    }
-
-    public boolean isLeaf() {
-      return child[0] == null && child[1] == null;
+  /**
+   * How much the free space of the atlas is split up into small pieces. This is 0.0f if all free space is available as
+   * a single rectangle and gets closer to 1.0f the smaller the biggest free rectangle is compared to all free space.
+   *
+   * @return a value between 0.0f and 1.0f
+   */
+  public float getFragmentation() {
+    long freeArea = packer.getFreeArea();
+    if (freeArea <= 0) {
+      return 0.f;
     }
+    return Math.max(0.f, 1.f - packer.getLargestFreeArea() / (float) freeArea);
+  }
 
-    // Algorithm from http://www.blackpawn.com/texts/lightmaps/
-    @Nullable
-    public Node insert(final int imageWidth, final int imageHeight, final int padding) {
-      if (!isLeaf()) {
-        Node newNode = child[0].insert(imageWidth, imageHeight, padding);
-        if (newNode != null) {
-          return newNode;
-        }
-        return child[1].insert(imageWidth, imageHeight, padding);
-      }
-
-      if (occupied) {
-        return null; // occupied
-      }
-
-      if (imageWidth > rect.width || imageHeight > rect.height) {
-        return null; // does not fit
-      }
-
-      if (imageWidth == rect.width && imageHeight == rect.height) {
-        occupied = true; // perfect fit
-        return this;
-      }
-
-      int dw = rect.width - imageWidth;
-      int dh = rect.height - imageHeight;
+  /**
+   * The number of images that could not be added because there was no room left for them, although they were within
+   * the atlas tolerance. This is not reset by {@link #reset()} so it covers the whole lifetime of the atlas.
+   */
+  public int getFailedInsertCount() {
+    return failedInsertCount;
+  }
 
-      if (dw > dh) {
-        child[0] = new Node(rect.x, rect.y, imageWidth, rect.height);
-        child[1] = new Node(padding + rect.x + imageWidth, rect.y, rect.width - imageWidth - padding, rect.height);
-      } else {
-        child[0] = new Node(rect.x, rect.y, rect.width, imageHeight);
-        child[1] = new Node(rect.x, padding + rect.y + imageHeight, rect.width, rect.height - imageHeight - padding);
-      }
-      return child[0].insert(imageWidth, imageHeight, padding);
+  /**
+   * Packs all images of the atlas again, starting with an empty atlas of the given size. This will get rid of the gaps
+   * that removing images leave behind. Images that don't fit anymore are removed from the atlas, their Result in the
+   * returned list is null.
+   *
+   * @return the new positions of the images, ordered by the name of the images
+   */
+  @Nonnull
+  public List<Result> rebuild(
+      final int width,
+      final int height) {
+    List<Result> results = new ArrayList<Result>();
+    Map<String, Result> previousRectangleMap = rectangleMap;
+    packer.reset(width, height);
+    rectangleMap = new TreeMap<String, Result>();
+    usedArea = 0;
+    for (Map.Entry<String, Result> entry : previousRectangleMap.entrySet()) {
+      Result image = entry.getValue();
+      results.add(addImage(image.getOriginalImageWidth(), image.getOriginalImageHeight(), entry.getKey()));
     }
+    return results;
   }
 
   public void reset() {
-    root = new Node(0, 0, atlasWidth, atlasHeight);
-    rectangleMap = new TreeMap<String, Node>();
+    packer.reset(atlasWidth, atlasHeight);
+    rectangleMap = new TreeMap<String, Result>();
+    usedArea = 0;
   }
 }
@@ -0,0 +1,58 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.render.batch.TextureAtlasGenerator.Result;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The algorithm a {@link TextureAtlasGenerator} uses to find a place for an image in the texture atlas. The packer only
+ * deals with rectangles, the TextureAtlasGenerator keeps track of the names of the images.
+ * <p/>
+ * The padding is the space that is left empty between two images. There is no padding between an image and the border
+ * of the atlas.
+ *
+ * @author void
+ */
+public interface TextureAtlasPacker {
+  /**
+   * Find a free place for an image and mark it as used.
+   *
+   * @param imageWidth the width of the image, >= 0
+   * @param imageHeight the height of the image, >= 0
+   *
+   * @return the position of the image or null if there is no free place that is big enough
+   */
+  @Nullable
+  Result insert(int imageWidth, int imageHeight);
+
+  /**
+   * Mark the place of an image that has been returned by {@link #insert(int, int)} as free again.
+   */
+  void remove(@Nonnull Result image);
+
+  /**
+   * Mark the whole atlas as free and change its size.
+   */
+  void reset(int atlasWidth, int atlasHeight);
+
+  /**
+   * The number of pixels that are not used by any image (including its padding).
+   */
+  long getFreeArea();
+
+  /**
+   * The number of pixels of the biggest free rectangle, so the biggest image that could still be inserted can't have
+   * more pixels than this.
+   */
+  long getLargestFreeArea();
+
+  /**
+   * Creates the TextureAtlasPacker for each texture atlas. This is what you select in
+   * {@link BatchRenderConfiguration#atlasPacker}.
+   */
+  interface Factory {
+    @Nonnull
+    TextureAtlasPacker create(int atlasWidth, int atlasHeight, int atlasPadding);
+  }
+}
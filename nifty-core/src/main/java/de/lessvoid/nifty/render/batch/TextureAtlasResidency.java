@@ -0,0 +1,127 @@
+package de.lessvoid.nifty.render.batch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Keeps track of the images that reside in the texture atlases of a {@link BatchRenderDevice} when
+ * {@link BatchRenderConfiguration#persistentTextureAtlases} is enabled.
+ * <p/>
+ * Images are reference counted by the screens that use them. An image that is not referenced by any screen anymore
+ * stays in its texture atlas until the space is needed for another image. The unreferenced images are evicted in
+ * least recently used order, so the images of the screens that have been visited last are kept the longest.
+ * <p/>
+ * This class is not thread safe, it must only be used from the render thread.
+ *
+ * @author void
+ */
+class TextureAtlasResidency {
+  @Nonnull
+  private final Map<BatchRenderImage, Integer> references = new HashMap<BatchRenderImage, Integer>();
+  @Nonnull
+  private final Set<BatchRenderImage> unreferenced = new LinkedHashSet<BatchRenderImage>(); // least recently used first
+  @Nonnull
+  private final Set<BatchRenderImage> atlasImages = new LinkedHashSet<BatchRenderImage>(); // uploaded into an atlas
+
+  /**
+   * A screen that uses the image has become active. The image can't be evicted until it is released again.
+   */
+  void retain(@Nonnull final BatchRenderImage image) {
+    Integer count = references.get(image);
+    references.put(image, count == null ? 1 : count + 1);
+    unreferenced.remove(image);
+  }
+
+  /**
+   * A screen that uses the image has ended. When no other screen uses the image it becomes the most recently used
+   * candidate for eviction.
+   */
+  void release(@Nonnull final BatchRenderImage image) {
+    Integer count = references.get(image);
+    if (count == null) {
+      return;
+    }
+    if (count > 1) {
+      references.put(image, count - 1);
+      return;
+    }
+    references.remove(image);
+    unreferenced.add(image);
+  }
+
+  /**
+   * The image has been uploaded into a texture atlas.
+   */
+  void uploadedToAtlas(@Nonnull final BatchRenderImage image) {
+    atlasImages.add(image);
+  }
+
+  /**
+   * Find the least recently used image that is not referenced by any screen and still occupies space in a texture
+   * atlas. The image is not tracked as eviction candidate anymore, the caller is expected to unload it.
+   *
+   * @return the image or null when there is nothing left that could be evicted
+   */
+  @Nullable
+  BatchRenderImage nextEvictionCandidate(@Nonnull final Map<Integer, TextureAtlasGenerator> generators) {
+    for (Iterator<BatchRenderImage> i = unreferenced.iterator(); i.hasNext(); ) {
+      BatchRenderImage image = i.next();
+      i.remove();
+      if (image.isUploaded() && generators.containsKey(image.getTextureId())) {
+        return image;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * All images that currently reside in the given texture atlas.
+   */
+  @Nonnull
+  List<BatchRenderImage> getAtlasImages(final int atlasTextureId) {
+    List<BatchRenderImage> result = new ArrayList<BatchRenderImage>();
+    for (Iterator<BatchRenderImage> i = atlasImages.iterator(); i.hasNext(); ) {
+      BatchRenderImage image = i.next();
+      if (!image.isUploaded()) {
+        i.remove();
+      } else if (image.getTextureId() == atlasTextureId) {
+        result.add(image);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Forget about the given image. This is called when the image is unloaded so that neither the image nor its decoded
+   * image data is kept alive by this class.
+   */
+  void forget(@Nonnull final BatchRenderImage image) {
+    references.remove(image);
+    unreferenced.remove(image);
+    atlasImages.remove(image);
+  }
+
+  /**
+   * Forget about all images. This is called when the texture atlases are reset.
+   */
+  void clear() {
+    references.clear();
+    unreferenced.clear();
+    atlasImages.clear();
+  }
+
+  int getReferencedCount() {
+    return references.size();
+  }
+
+  int getUnreferencedCount() {
+    return unreferenced.size();
+  }
+}
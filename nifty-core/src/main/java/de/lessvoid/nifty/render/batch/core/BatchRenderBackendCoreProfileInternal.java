@@ -8,6 +8,7 @@ import de.lessvoid.nifty.render.batch.spi.BatchRenderBackend;
 import de.lessvoid.nifty.render.batch.spi.BufferFactory;
 import de.lessvoid.nifty.render.batch.spi.ImageFactory;
 import de.lessvoid.nifty.render.batch.spi.MouseCursorFactory;
+import de.lessvoid.nifty.render.batch.spi.PackedVertexFormatBackend;
 import de.lessvoid.nifty.render.batch.spi.core.CoreBatch;
 import de.lessvoid.nifty.render.batch.spi.core.CoreGL;
 import de.lessvoid.nifty.render.batch.spi.core.CoreMatrixFactory;
@@ -46,7 +47,7 @@ import javax.annotation.Nullable;
  * @author void256
  * @author Aaron Mahan &lt;aaron@forerunnergames.com&gt;
  */
-public class BatchRenderBackendCoreProfileInternal implements BatchRenderBackend {
+public class BatchRenderBackendCoreProfileInternal implements BatchRenderBackend, PackedVertexFormatBackend {
   @Nonnull
   private static final Logger log = Logger.getLogger(BatchRenderBackendInternal.class.getName());
   private static final int PRIMITIVE_RESTART_INDEX = 0xFFFF;
@@ -85,6 +86,7 @@ public class BatchRenderBackendCoreProfileInternal implements BatchRenderBackend
   private int viewportHeight;
   private boolean shouldUseHighQualityTextures = false;
   private boolean shouldFillRemovedImagesInAtlas = false;
+  private boolean shouldUsePackedVertexFormat = false;
 
   public BatchRenderBackendCoreProfileInternal(
           @Nonnull final CoreGL gl,
@@ -107,6 +109,9 @@ public class BatchRenderBackendCoreProfileInternal implements BatchRenderBackend
       @Nonnull
       @Override
       public CoreBatch createNew() {
+        if (shouldUsePackedVertexFormat) {
+          return new CorePackedBatchInternal(gl, shader, bufferFactory, PRIMITIVE_RESTART_INDEX);
+        }
         return new CoreBatchInternal(gl, shader, bufferFactory, PRIMITIVE_RESTART_INDEX);
       }
     });
@@ -343,6 +348,14 @@ public class BatchRenderBackendCoreProfileInternal implements BatchRenderBackend
     shouldFillRemovedImagesInAtlas = shouldFill;
   }
 
+  @Override
+  public void usePackedVertexFormat(final boolean shouldUsePackedVertexFormat) {
+    log.fine("usePackedVertexFormat()");
+    log.info(shouldUsePackedVertexFormat ? "Using packed vertex format (unsigned byte colors, " +
+            "unsigned short texture coordinates)." : "Using unpacked vertex format.");
+    this.shouldUsePackedVertexFormat = shouldUsePackedVertexFormat;
+  }
+
   // Internal implementations
 
   private void updateViewport() {
@@ -0,0 +1,65 @@
+package de.lessvoid.nifty.render.batch.core;
+
+import de.lessvoid.nifty.render.batch.CheckGL;
+import de.lessvoid.nifty.render.batch.spi.BufferFactory;
+import de.lessvoid.nifty.render.batch.spi.core.CoreGL;
+
+import java.nio.IntBuffer;
+import javax.annotation.Nonnull;
+
+/**
+ * The part of a VBO (Vertex Buffer Object) bound as a GL_ARRAY_BUFFER that does not depend on the type of the vertex
+ * data. Subclasses keep the vertex data in system memory and send it with {@link #bufferData()}.
+ *
+ * Note: Requires OpenGL 3.2 or greater.
+ *
+ * @author void
+ */
+abstract class CoreArrayVBO {
+  @Nonnull
+  protected final CoreGL gl;
+  protected final int usage;
+  private final int id;
+  @Nonnull
+  private final IntBuffer idBuffer;
+
+  protected CoreArrayVBO(@Nonnull final CoreGL gl, @Nonnull final BufferFactory bufferFactory, final int usageType) {
+    this.gl = gl;
+    usage = usageType;
+
+    idBuffer = bufferFactory.createNativeOrderedIntBuffer(1);
+    gl.glGenBuffers(1, idBuffer);
+    id = idBuffer.get(0);
+    CheckGL.checkGLError(gl, "glGenBuffers");
+  }
+
+  /**
+   * Calls glBufferData(GL_ARRAY_BUFFER) with the vertex data of this VBO.
+   */
+  protected abstract void bufferData();
+
+  /**
+   * Binds the VBO as a GL_ARRAY_BUFFER.
+   */
+  public void bind() {
+    gl.glBindBuffer(gl.GL_ARRAY_BUFFER(), id);
+    CheckGL.checkGLError(gl, "glBindBuffer(GL_ARRAY_BUFFER)");
+  }
+
+  /**
+   * Sends the current vertex data to the GPU.
+   */
+  public void send() {
+    bufferData();
+    CheckGL.checkGLError(gl, "glBufferData(GL_ARRAY_BUFFER)");
+  }
+
+  /**
+   * Deletes all vertex data associated with this VBO.
+   */
+  public void delete() {
+    idBuffer.clear();
+    idBuffer.put(0, id);
+    gl.glDeleteBuffers(1, idBuffer);
+  }
+}
@@ -26,14 +26,16 @@ public class CoreBatchInternal implements CoreBatch {
   // - 2 x texture
   // - 4 x color
   private static final int PRIMITIVE_SIZE = 4 * 8;
+  private static final int VERTICES_PER_QUAD = 4;
+  // 4 vertices + primitive restart
+  private static final int INDICES_PER_QUAD = 5;
   private static final int SIZE = 64 * 1024; // 64k
+  static final int MAX_QUADS = SIZE / PRIMITIVE_SIZE;
   @Nonnull
   private final CoreGL gl;
   @Nonnull
   private float[] primitiveBuffer = new float[PRIMITIVE_SIZE];
   @Nonnull
-  private int[] elementIndexBuffer = new int[5];
-  @Nonnull
   private BlendMode blendMode = BlendMode.BLEND;
   @Nonnull
   private final CoreVAO vao;
@@ -41,11 +43,8 @@ public class CoreBatchInternal implements CoreBatch {
   private final CoreVBO vbo;
   @Nonnull
   private final CoreElementVBO elementVbo;
-  private final int primitiveRestartIndex;
   private CoreTexture2D texture;
   private int primitiveCount;
-  private int indexCount;
-  private int globalIndex;
 
   public CoreBatchInternal(
           @Nonnull final CoreGL gl,
@@ -53,11 +52,11 @@ public class CoreBatchInternal implements CoreBatch {
           @Nonnull final BufferFactory bufferFactory,
           final int primitiveRestartIndex) {
     this.gl = gl;
-    this.primitiveRestartIndex = primitiveRestartIndex;
     vao = new CoreVAO(gl, bufferFactory);
     vao.bind();
 
-    elementVbo = CoreElementVBO.createStreamVBO(gl, bufferFactory, new int[SIZE]);
+    // the indices are the same for every frame so we only send them once
+    elementVbo = CoreElementVBO.createStaticVBO(gl, bufferFactory, createQuadIndices(primitiveRestartIndex));
     elementVbo.bind();
 
     vbo = CoreVBO.createStreamVBO(gl, bufferFactory, new float[SIZE]);
@@ -68,22 +67,35 @@ public class CoreBatchInternal implements CoreBatch {
     vao.enableVertexAttributef(shader.getAttribLocation("aTexture"), 2, 8, 6);
 
     primitiveCount = 0;
-    globalIndex = 0;
-    indexCount = 0;
     vao.unbind();
   }
 
+  /**
+   * Creates the element indices for the maximum number of quads a batch can hold. Each quad is made of 4 vertices
+   * rendered as a triangle strip followed by the primitive restart index.
+   */
+  @Nonnull
+  static int[] createQuadIndices(final int primitiveRestartIndex) {
+    int[] indices = new int[MAX_QUADS * INDICES_PER_QUAD];
+    int index = 0;
+    for (int i = 0; i < MAX_QUADS; i++) {
+      int vertex = i * VERTICES_PER_QUAD;
+      indices[index++] = vertex;
+      indices[index++] = vertex + 1;
+      indices[index++] = vertex + 2;
+      indices[index++] = vertex + 3;
+      indices[index++] = primitiveRestartIndex;
+    }
+    return indices;
+  }
+
   @Override
   public void begin(@Nonnull BlendMode blendMode, CoreTexture2D texture) {
     this.texture = texture;
     vao.bind();
     vbo.bind();
     vbo.getBuffer().clear();
-    elementVbo.bind();
-    elementVbo.getBuffer().clear();
     primitiveCount = 0;
-    globalIndex = 0;
-    indexCount = 0;
     vao.unbind();
   }
 
@@ -111,10 +123,8 @@ public class CoreBatchInternal implements CoreBatch {
     vbo.getBuffer().flip();
     vbo.bind();
     vbo.send();
-    elementVbo.getBuffer().flip();
     elementVbo.bind();
-    elementVbo.send();
-    CoreRender.renderTriangleStripIndexed(gl, indexCount);
+    CoreRender.renderTriangleStripIndexed(gl, primitiveCount * INDICES_PER_QUAD);
   }
 
   @Override
@@ -137,7 +147,6 @@ public class CoreBatchInternal implements CoreBatch {
           final float textureWidth,
           final float textureHeight) {
     int bufferIndex = 0;
-    int elementIndexBufferIndex = 0;
 
     primitiveBuffer[bufferIndex++] = x;
     primitiveBuffer[bufferIndex++] = y + height;
@@ -147,7 +156,6 @@ public class CoreBatchInternal implements CoreBatch {
     primitiveBuffer[bufferIndex++] = color3.getAlpha();
     primitiveBuffer[bufferIndex++] = textureX;
     primitiveBuffer[bufferIndex++] = textureY + textureHeight;
-    elementIndexBuffer[elementIndexBufferIndex++] = globalIndex++;
 
     primitiveBuffer[bufferIndex++] = x + width;
     primitiveBuffer[bufferIndex++] = y + height;
@@ -157,7 +165,6 @@ public class CoreBatchInternal implements CoreBatch {
     primitiveBuffer[bufferIndex++] = color4.getAlpha();
     primitiveBuffer[bufferIndex++] = textureX + textureWidth;
     primitiveBuffer[bufferIndex++] = textureY + textureHeight;
-    elementIndexBuffer[elementIndexBufferIndex++] = globalIndex++;
 
     primitiveBuffer[bufferIndex++] = x;
     primitiveBuffer[bufferIndex++] = y;
@@ -167,7 +174,6 @@ public class CoreBatchInternal implements CoreBatch {
     primitiveBuffer[bufferIndex++] = color1.getAlpha();
     primitiveBuffer[bufferIndex++] = textureX;
     primitiveBuffer[bufferIndex++] = textureY;
-    elementIndexBuffer[elementIndexBufferIndex++] = globalIndex++;
 
     primitiveBuffer[bufferIndex++] = x + width;
     primitiveBuffer[bufferIndex++] = y;
@@ -177,13 +183,8 @@ public class CoreBatchInternal implements CoreBatch {
     primitiveBuffer[bufferIndex++] = color2.getAlpha();
     primitiveBuffer[bufferIndex++] = textureX + textureWidth;
     primitiveBuffer[bufferIndex] = textureY;
-    elementIndexBuffer[elementIndexBufferIndex++] = globalIndex++;
-    elementIndexBuffer[elementIndexBufferIndex] = primitiveRestartIndex;
-
-    indexCount += 5;
 
     vbo.getBuffer().put(primitiveBuffer);
-    elementVbo.getBuffer().put(elementIndexBuffer);
     primitiveCount++;
   }
 }
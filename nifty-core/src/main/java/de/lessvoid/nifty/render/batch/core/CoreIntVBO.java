@@ -0,0 +1,61 @@
+package de.lessvoid.nifty.render.batch.core;
+
+import de.lessvoid.nifty.render.batch.spi.BufferFactory;
+import de.lessvoid.nifty.render.batch.spi.core.CoreGL;
+
+import java.nio.IntBuffer;
+import javax.annotation.Nonnull;
+
+/**
+ * The same as {@link CoreVBO} but the vertex data is stored as ints. This is useful for packed vertex formats where a
+ * single vertex attribute is stored in less than 4 bytes.
+ *
+ * Note: Requires OpenGL 3.2 or greater.
+ *
+ * @author void
+ */
+public class CoreIntVBO extends CoreArrayVBO {
+  @Nonnull
+  private final IntBuffer vertexBuffer;
+
+  /**
+   * Creates a new VBO with the specified vertex data that will be changed every frame (GL_STREAM_DRAW). You'll need
+   * to call {@link #bind()} to bind this VBO and {@link #send()} to transmit changed vertex data to the GPU.
+   */
+  @Nonnull
+  public static CoreIntVBO createStreamVBO(
+          @Nonnull final CoreGL gl,
+          @Nonnull final BufferFactory bufferFactory,
+          @Nonnull final int[] data) {
+    return new CoreIntVBO(gl, bufferFactory, gl.GL_STREAM_DRAW(), data);
+  }
+
+  private CoreIntVBO(
+          @Nonnull final CoreGL gl,
+          @Nonnull final BufferFactory bufferFactory,
+          final int usageType,
+          @Nonnull final int[] data) {
+    super(gl, bufferFactory, usageType);
+
+    vertexBuffer = bufferFactory.createNativeOrderedIntBuffer(data.length);
+    vertexBuffer.put(data);
+    vertexBuffer.rewind();
+
+    bind();
+    send();
+  }
+
+  /**
+   * Allows access to the internal {@link java.nio.IntBuffer} (stored in system memory, not GPU memory) that
+   * contains the original vertex data. See {@link CoreVBO#getBuffer()}.
+   */
+  @Nonnull
+  public IntBuffer getBuffer() {
+    return vertexBuffer;
+  }
+
+  @Override
+  protected void bufferData() {
+    gl.glBufferData(gl.GL_ARRAY_BUFFER(), vertexBuffer, usage);
+  }
+}
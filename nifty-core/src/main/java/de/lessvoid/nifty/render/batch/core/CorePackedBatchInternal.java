@@ -0,0 +1,193 @@
+package de.lessvoid.nifty.render.batch.core;
+
+import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.render.batch.spi.BufferFactory;
+import de.lessvoid.nifty.render.batch.spi.core.CoreBatch;
+import de.lessvoid.nifty.render.batch.spi.core.CoreGL;
+import de.lessvoid.nifty.tools.Color;
+
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import javax.annotation.Nonnull;
+
+/**
+ * The same as {@link CoreBatchInternal} but with a packed vertex format. Each vertex is stored in 4 ints (16 bytes)
+ * instead of 8 floats (32 bytes):
+ * - 2 x float position
+ * - 4 x unsigned byte color (normalized)
+ * - 2 x unsigned short texture coordinates (normalized)
+ *
+ * The vertex shader is the same since OpenGL converts the normalized values back into floats for us.
+ *
+ * Note: Requires OpenGL 3.2 or higher.
+ *
+ * {@inheritDoc}
+ *
+ * @author void
+ */
+public class CorePackedBatchInternal implements CoreBatch {
+  private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+  private static final int INTS_PER_VERTEX = 4;
+  private static final int BYTES_PER_VERTEX = INTS_PER_VERTEX * 4;
+  private static final int PRIMITIVE_SIZE = 4 * INTS_PER_VERTEX;
+  // 4 vertices + primitive restart
+  private static final int INDICES_PER_QUAD = 5;
+  private static final int MAX_QUADS = CoreBatchInternal.MAX_QUADS;
+  private static final int SIZE = MAX_QUADS * PRIMITIVE_SIZE;
+  @Nonnull
+  private final CoreGL gl;
+  @Nonnull
+  private final int[] primitiveBuffer = new int[PRIMITIVE_SIZE];
+  @Nonnull
+  private BlendMode blendMode = BlendMode.BLEND;
+  @Nonnull
+  private final CoreVAO vao;
+  @Nonnull
+  private final CoreIntVBO vbo;
+  @Nonnull
+  private final CoreElementVBO elementVbo;
+  private CoreTexture2D texture;
+  private int primitiveCount;
+
+  public CorePackedBatchInternal(
+          @Nonnull final CoreGL gl,
+          @Nonnull final CoreShader shader,
+          @Nonnull final BufferFactory bufferFactory,
+          final int primitiveRestartIndex) {
+    this.gl = gl;
+    vao = new CoreVAO(gl, bufferFactory);
+    vao.bind();
+
+    elementVbo = CoreElementVBO.createStaticVBO(
+        gl, bufferFactory, CoreBatchInternal.createQuadIndices(primitiveRestartIndex));
+    elementVbo.bind();
+
+    vbo = CoreIntVBO.createStreamVBO(gl, bufferFactory, new int[SIZE]);
+    vbo.bind();
+
+    vao.enableVertexAttribute(shader.getAttribLocation("aVertex"), 2, gl.GL_FLOAT(), false, BYTES_PER_VERTEX, 0);
+    vao.enableVertexAttribute(shader.getAttribLocation("aColor"), 4, gl.GL_UNSIGNED_BYTE(), true, BYTES_PER_VERTEX, 8);
+    vao.enableVertexAttribute(shader.getAttribLocation("aTexture"), 2, gl.GL_UNSIGNED_SHORT(), true, BYTES_PER_VERTEX, 12);
+
+    primitiveCount = 0;
+    vao.unbind();
+  }
+
+  @Override
+  public void begin(@Nonnull final BlendMode blendMode, final CoreTexture2D texture) {
+    this.blendMode = blendMode;
+    this.texture = texture;
+    vao.bind();
+    vbo.bind();
+    vbo.getBuffer().clear();
+    primitiveCount = 0;
+    vao.unbind();
+  }
+
+  @Nonnull
+  @Override
+  public BlendMode getBlendMode() {
+    return blendMode;
+  }
+
+  @Override
+  public void render() {
+    if (primitiveCount == 0) {
+      return; // Attempting to render with an empty vertex buffer crashes the program.
+    }
+
+    texture.bind();
+
+    if (blendMode.equals(BlendMode.BLEND)) {
+      gl.glBlendFunc(gl.GL_SRC_ALPHA(), gl.GL_ONE_MINUS_SRC_ALPHA());
+    } else if (blendMode.equals(BlendMode.MULIPLY)) {
+      gl.glBlendFunc(gl.GL_DST_COLOR(), gl.GL_ZERO());
+    }
+
+    vao.bind();
+    vbo.getBuffer().flip();
+    vbo.bind();
+    vbo.send();
+    elementVbo.bind();
+    CoreRender.renderTriangleStripIndexed(gl, primitiveCount * INDICES_PER_QUAD);
+  }
+
+  @Override
+  public boolean canAddQuad() {
+    return ((primitiveCount + 1) * PRIMITIVE_SIZE) < SIZE;
+  }
+
+  @Override
+  public void addQuad(
+          final float x,
+          final float y,
+          final float width,
+          final float height,
+          final @Nonnull Color color1,
+          final @Nonnull Color color2,
+          final @Nonnull Color color3,
+          final @Nonnull Color color4,
+          final float textureX,
+          final float textureY,
+          final float textureWidth,
+          final float textureHeight) {
+    // same vertex order as CoreBatchInternal
+    int bufferIndex = 0;
+    bufferIndex = putVertex(bufferIndex, x, y + height, color3, textureX, textureY + textureHeight);
+    bufferIndex = putVertex(bufferIndex, x + width, y + height, color4, textureX + textureWidth, textureY + textureHeight);
+    bufferIndex = putVertex(bufferIndex, x, y, color1, textureX, textureY);
+    putVertex(bufferIndex, x + width, y, color2, textureX + textureWidth, textureY);
+
+    vbo.getBuffer().put(primitiveBuffer);
+    primitiveCount++;
+  }
+
+  private int putVertex(
+          final int start,
+          final float x,
+          final float y,
+          @Nonnull final Color color,
+          final float textureX,
+          final float textureY) {
+    int index = start;
+    primitiveBuffer[index++] = Float.floatToRawIntBits(x);
+    primitiveBuffer[index++] = Float.floatToRawIntBits(y);
+    primitiveBuffer[index++] = pack(
+        toUnsigned(color.getRed(), 0xff),
+        toUnsigned(color.getGreen(), 0xff),
+        toUnsigned(color.getBlue(), 0xff),
+        toUnsigned(color.getAlpha(), 0xff));
+    primitiveBuffer[index++] = pack(toUnsigned(textureX, 0xffff), toUnsigned(textureY, 0xffff));
+    return index;
+  }
+
+  /**
+   * Pack 4 bytes into an int so that they are stored in the given order in memory.
+   */
+  private static int pack(final int b0, final int b1, final int b2, final int b3) {
+    if (LITTLE_ENDIAN) {
+      return b0 | (b1 << 8) | (b2 << 16) | (b3 << 24);
+    }
+    return (b0 << 24) | (b1 << 16) | (b2 << 8) | b3;
+  }
+
+  /**
+   * Pack 2 shorts into an int so that they are stored in the given order in memory.
+   */
+  private static int pack(final int s0, final int s1) {
+    if (LITTLE_ENDIAN) {
+      return s0 | (s1 << 16);
+    }
+    return (s0 << 16) | s1;
+  }
+
+  private static int toUnsigned(final float value, final int max) {
+    if (value <= 0.f) {
+      return 0;
+    }
+    if (value >= 1.f) {
+      return max;
+    }
+    return (int) (value * max + 0.5f);
+  }
+}
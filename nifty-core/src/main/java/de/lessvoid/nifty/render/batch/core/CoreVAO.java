@@ -70,6 +70,29 @@ public class CoreVAO {
     CheckGL.checkGLError(gl, "glVertexAttribPointer (" + index + ")");
   }
 
+  /**
+   * Configures the vertex attribute with the specified data of the given type. Other than
+   * {@link #enableVertexAttributef(int, int, int, int)} the stride and the offset are given in bytes.
+   *
+   * @param index      The index of the vertex attribute to modify.
+   * @param size       The number of components of this vertex attribute.
+   * @param type       The OpenGL type of a single component (GL_FLOAT, GL_UNSIGNED_BYTE, ...).
+   * @param normalized Whether integer data should be normalized into the range [0, 1] when it is accessed.
+   * @param stride     The stride between the data in bytes.
+   * @param offset     The offset of the data in bytes.
+   */
+  public void enableVertexAttribute(
+      final int index,
+      final int size,
+      final int type,
+      final boolean normalized,
+      final int stride,
+      final int offset) {
+    gl.glVertexAttribPointer(index, size, type, normalized, stride, offset);
+    gl.glEnableVertexAttribArray(index);
+    CheckGL.checkGLError(gl, "glVertexAttribPointer (" + index + ")");
+  }
+
   private void init() {
     vertexArrayBuffer.clear();
     gl.glGenVertexArrays(1, vertexArrayBuffer);
@@ -7,7 +7,6 @@ import de.lessvoid.nifty.render.batch.spi.core.CoreGL;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
-import java.nio.IntBuffer;
 import javax.annotation.Nonnull;
 
 /**
@@ -18,16 +17,10 @@ import javax.annotation.Nonnull;
  * @author void
  * @author Aaron Mahan &lt;aaron@forerunnergames.com&gt;
  */
-public class CoreVBO {
-  @Nonnull
-  private final CoreGL gl;
-  private final int id;
-  private final int usage;
+public class CoreVBO extends CoreArrayVBO {
   private final long byteLength;
   @Nonnull
   private final FloatBuffer vertexBuffer;
-  @Nonnull
-  private final IntBuffer idBuffer;
   private ByteBuffer mappedBufferCache;
 
   /**
@@ -104,22 +97,15 @@ public class CoreVBO {
           @Nonnull final BufferFactory bufferFactory,
           final int usageType,
           @Nonnull final float[] data) {
-    this.gl = gl;
-    usage = usageType;
+    super(gl, bufferFactory, usageType);
     byteLength = data.length << 2;
 
     vertexBuffer = bufferFactory.createNativeOrderedFloatBuffer(data.length);
     vertexBuffer.put(data);
     vertexBuffer.rewind();
 
-    idBuffer = bufferFactory.createNativeOrderedIntBuffer(1);
-    gl.glGenBuffers(1, idBuffer);
-    id = idBuffer.get(0);
-    CheckGL.checkGLError(gl, "glGenBuffers");
-
-    gl.glBindBuffer(gl.GL_ARRAY_BUFFER(), id);
-    gl.glBufferData(gl.GL_ARRAY_BUFFER(), vertexBuffer, usage);
-    CheckGL.checkGLError(gl, "glBufferData");
+    bind();
+    send();
   }
 
   /**
@@ -155,28 +141,8 @@ public class CoreVBO {
     gl.glUnmapBuffer(gl.GL_ARRAY_BUFFER());
   }
 
-  /**
-   * Binds the VBO as a GL_ARRAY_BUFFER.
-   */
-  public void bind() {
-    gl.glBindBuffer(gl.GL_ARRAY_BUFFER(), id);
-    CheckGL.checkGLError(gl, "glBindBuffer(GL_ARRAY_BUFFER)");
-  }
-
-  /**
-   * Sends the current vertex data to the GPU.
-   */
-  public void send() {
+  @Override
+  protected void bufferData() {
     gl.glBufferData(gl.GL_ARRAY_BUFFER(), vertexBuffer, usage);
-    CheckGL.checkGLError(gl, "glBufferData(GL_ARRAY_BUFFER)");
-  }
-
-  /**
-   * Deletes all vertex data associated with this VBO.
-   */
-  public void delete() {
-    idBuffer.clear();
-    idBuffer.put(0, id);
-    gl.glDeleteBuffers(1, idBuffer);
   }
 }
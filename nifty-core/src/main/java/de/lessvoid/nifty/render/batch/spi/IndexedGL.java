@@ -0,0 +1,16 @@
+package de.lessvoid.nifty.render.batch.spi;
+
+import java.nio.ShortBuffer;
+
+/**
+ * Optional extension of the {@link GL} abstraction for implementations that can render indexed primitives from a
+ * client-side index array. When the {@link GL} given to {@link de.lessvoid.nifty.render.batch.BatchRenderBackendInternal}
+ * implements this interface the quads of a batch are sent as 4 vertices and rendered with
+ * {@link #glDrawElements(int, int, int, java.nio.ShortBuffer)}. Otherwise each quad is sent as 6 vertices and rendered
+ * with {@link GL#glDrawArrays(int, int, int)}.
+ *
+ * @author void
+ */
+public interface IndexedGL extends GL {
+  public void glDrawElements (int mode, int count, int type, ShortBuffer indices);
+}
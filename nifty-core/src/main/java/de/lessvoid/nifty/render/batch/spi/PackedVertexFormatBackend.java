@@ -0,0 +1,18 @@
+package de.lessvoid.nifty.render.batch.spi;
+
+/**
+ * Optional extension of {@link BatchRenderBackend} for implementations that can send their vertices to the GPU in a
+ * packed format. {@link de.lessvoid.nifty.render.batch.BatchRenderDevice} checks for this interface and only enables
+ * the packed format when the backend implements it.
+ *
+ * @author void
+ */
+public interface PackedVertexFormatBackend {
+  /**
+   * Whether or not to use a packed vertex format (for instance unsigned bytes instead of floats for vertex colors) to
+   * reduce the amount of vertex data sent to the GPU. Which attributes are packed will vary depending on the
+   * {@link de.lessvoid.nifty.render.batch.spi.BatchRenderBackend} implementation. This is called once before any
+   * rendering takes place.
+   */
+  void usePackedVertexFormat(final boolean shouldUsePackedVertexFormat);
+}
@@ -0,0 +1,17 @@
+package de.lessvoid.nifty.render.batch.spi;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Optional extension of the {@link GL} abstraction for implementations that accept interleaved vertex data of mixed
+ * types, for instance float positions next to unsigned byte colors, in a single {@link java.nio.ByteBuffer}.
+ * {@link de.lessvoid.nifty.render.batch.BatchRenderBackendInternal} only uses its packed vertex format with a GL that
+ * implements this interface. The packed quads are rendered as indexed triangles, so this extends {@link IndexedGL}.
+ *
+ * @author void
+ */
+public interface PackedVertexGL extends IndexedGL {
+  public void glColorPointer (int size, int type, int stride, ByteBuffer pointer);
+  public void glTexCoordPointer (int size, int type, int stride, ByteBuffer pointer);
+  public void glVertexPointer (int size, int type, int stride, ByteBuffer pointer);
+}
@@ -0,0 +1,309 @@
+package de.lessvoid.nifty.screen;
+
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.input.NiftyMouseInputEvent;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A spatial index of all elements of a list of layers that can be visible to mouse events. This is used by the
+ * {@link Screen} instead of walking the whole element tree for every single mouse event.
+ * <p/>
+ * The index keeps all elements that are visible to mouse events and that can be reached by the tree walk (all of
+ * their parents are visible) in the same order the element tree would be walked (front to back) and a uniform grid
+ * over the bounds of these elements. For a mouse event only the elements of the grid cell below the mouse need to be
+ * checked if the mouse is inside of them. Elements the mouse is not inside of only need to see a mouse event when they
+ * still track the mouse (see {@link Element#isMouseTracking()}), which is only possible for elements that have been handed
+ * to the {@link MouseOverHandler} before, or when they have hover effects that react outside of their bounds. So only
+ * these elements are added as elements without mouse over. All of them are added in the same order as the tree walk
+ * would do so that the processing of the mouse event stays the same.
+ * <p/>
+ * The index is rebuilt automatically when the layers or the tree version of any of the layers (see
+ * {@link Element#getTreeVersion()}) has been changed.
+ *
+ * @author void
+ */
+class MouseHitIndex {
+  private static final int CELL_SIZE = 64;
+  private static final int MAX_CELLS_PER_AXIS = 256;
+
+  @Nonnull
+  private Element[] elements = new Element[0];
+  @Nonnull
+  private Element[] layers = new Element[0];
+  @Nonnull
+  private int[] elementOffsetsX = new int[0];
+  @Nonnull
+  private int[] elementOffsetsY = new int[0];
+  @Nonnull
+  private int[] layerVersions = new int[0];
+  @Nonnull
+  private final Map<Element, Integer> elementIndices = new IdentityHashMap<Element, Integer>();
+  @Nonnull
+  private int[] hoverFalloffElements = new int[0];
+
+  // the elements handed to the MouseOverHandler for the last mouse event
+  @Nonnull
+  private final List<Element> lastElements = new ArrayList<Element>();
+  @Nonnull
+  private int[] visitIndices = new int[0];
+
+  private int gridX;
+  private int gridY;
+  private int cellSize = CELL_SIZE;
+  private int columns;
+  private int rows;
+  @Nonnull
+  private int[][] cells = new int[0][];
+  private int rebuildCount;
+
+  /**
+   * Add the elements of the given layers to the MouseOverHandler. The elements with mouse over are the same as calling
+   * {@link Element#buildMouseOverElements(NiftyMouseInputEvent, long, MouseOverHandler)} for every layer would add.
+   * Elements without mouse over are only added when they can still react to the mouse event.
+   */
+  void buildMouseOverElements(
+      @Nonnull final List<Element> layerList,
+      @Nonnull final NiftyMouseInputEvent mouseEvent,
+      @Nonnull final MouseOverHandler mouseOverHandler) {
+    if (isOutdated(layerList)) {
+      rebuild(layerList);
+    }
+
+    final int mouseX = mouseEvent.getMouseX();
+    final int mouseY = mouseEvent.getMouseY();
+    final int[] candidates = getCell(mouseX, mouseY);
+    final int visitCount = collectVisitIndices(candidates);
+
+    lastElements.clear();
+    int lastIndex = -1;
+    for (int i = 0; i < visitCount; i++) {
+      final int index = visitIndices[i];
+      if (index == lastIndex) {
+        continue;
+      }
+      lastIndex = index;
+
+      Element element = elements[index];
+      final boolean isCandidate = candidates != null && Arrays.binarySearch(candidates, index) >= 0;
+      element.addToMouseOverHandler(isCandidate && element.isMouseInsideElement(mouseX, mouseY), mouseOverHandler);
+      lastElements.add(element);
+    }
+  }
+
+  /**
+   * The number of times the index has been rebuilt. This is mainly useful for testing.
+   */
+  int getRebuildCount() {
+    return rebuildCount;
+  }
+
+  /**
+   * Collect the indices of the elements to visit for the current mouse event in front to back order. This might
+   * contain the same index more than once.
+   *
+   * @return the number of indices in {@link #visitIndices}
+   */
+  private int collectVisitIndices(@Nullable final int[] candidates) {
+    final int candidateCount = candidates == null ? 0 : candidates.length;
+    final int maxCount = candidateCount + hoverFalloffElements.length + lastElements.size();
+    if (visitIndices.length < maxCount) {
+      visitIndices = new int[maxCount];
+    }
+
+    int count = 0;
+    if (candidates != null) {
+      System.arraycopy(candidates, 0, visitIndices, count, candidateCount);
+      count += candidateCount;
+    }
+    System.arraycopy(hoverFalloffElements, 0, visitIndices, count, hoverFalloffElements.length);
+    count += hoverFalloffElements.length;
+
+    final int lastCount = lastElements.size();
+    for (int i = 0; i < lastCount; i++) {
+      Element element = lastElements.get(i);
+      if (element.isMouseTracking()) {
+        Integer index = elementIndices.get(element);
+        if (index != null) {
+          visitIndices[count++] = index;
+        }
+      }
+    }
+
+    Arrays.sort(visitIndices, 0, count);
+    return count;
+  }
+
+  private boolean isOutdated(@Nonnull final List<Element> layerList) {
+    if (layerList.size() != layers.length) {
+      return true;
+    }
+    for (int i = 0; i < layers.length; i++) {
+      Element layer = layerList.get(i);
+      if (layer != layers[i] || layer.getTreeVersion() != layerVersions[i]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void rebuild(@Nonnull final List<Element> layerList) {
+    rebuildCount++;
+
+    final int layerCount = layerList.size();
+    layers = layerList.toArray(new Element[layerCount]);
+    layerVersions = new int[layerCount];
+
+    List<Element> elementList = new ArrayList<Element>();
+    List<int[]> offsetList = new ArrayList<int[]>();
+    for (int i = 0; i < layerCount; i++) {
+      layerVersions[i] = layers[i].getTreeVersion();
+      collectElements(layers[i], getParentOffsetX(layers[i]), getParentOffsetY(layers[i]), elementList, offsetList);
+    }
+    elements = elementList.toArray(new Element[elementList.size()]);
+    elementOffsetsX = new int[elements.length];
+    elementOffsetsY = new int[elements.length];
+    elementIndices.clear();
+    List<Integer> hoverFalloffList = new ArrayList<Integer>();
+    for (int i = 0; i < elements.length; i++) {
+      elementOffsetsX[i] = offsetList.get(i)[0];
+      elementOffsetsY[i] = offsetList.get(i)[1];
+      elementIndices.put(elements[i], i);
+      if (elements[i].getEffectManager().hasHoverFalloff()) {
+        hoverFalloffList.add(i);
+      }
+    }
+    hoverFalloffElements = new int[hoverFalloffList.size()];
+    for (int i = 0; i < hoverFalloffElements.length; i++) {
+      hoverFalloffElements[i] = hoverFalloffList.get(i);
+    }
+
+    rebuildGrid();
+  }
+
+  /**
+   * Collect the elements together with the offset they are moved by on the screen (see
+   * {@link Element#setRenderOffset(int, int)}). The offset is passed down the tree so we don't need to walk up the
+   * parents of every single element. Like the tree walk this only visits the children of visible elements. The
+   * visibility of the element itself is checked by the element.
+   */
+  private void collectElements(
+      @Nonnull final Element element,
+      final int parentOffsetX,
+      final int parentOffsetY,
+      @Nonnull final List<Element> elementList,
+      @Nonnull final List<int[]> offsetList) {
+    final int offsetX = parentOffsetX + element.getRenderOffsetX();
+    final int offsetY = parentOffsetY + element.getRenderOffsetY();
+    if (element.isVisibleToMouseEvents()) {
+      elementList.add(element);
+      offsetList.add(new int[]{offsetX, offsetY});
+    }
+    if (!element.isVisible()) {
+      return;
+    }
+    List<Element> children = element.getChildren();
+    final int childrenCount = children.size();
+    for (int i = 0; i < childrenCount; i++) {
+      collectElements(children.get(i), offsetX, offsetY, elementList, offsetList);
+    }
+  }
+  private int getParentOffsetX(@Nonnull final Element layer) {
+    return layer.hasParent() ? layer.getParent().getAbsoluteRenderOffsetX() : 0;
+  }
+
+  private int getParentOffsetY(@Nonnull final Element layer) {
+    return layer.hasParent() ? layer.getParent().getAbsoluteRenderOffsetY() : 0;
+  }
+
+  /**
+   * The grid uses the bounds of the elements moved by their render offsets. The parent clip area can only make the area an element reacts to
+   * smaller so the grid might return some elements the mouse is not inside of. That's fine because the elements of
+   * the cell are checked again with {@link Element#isMouseInsideElement(int, int)} anyway.
+   */
+  private void rebuildGrid() {
+    if (elements.length == 0) {
+      columns = 0;
+      rows = 0;
+      cells = new int[0][];
+      return;
+    }
+
+    int minX = Integer.MAX_VALUE;
+    int minY = Integer.MAX_VALUE;
+    int maxX = Integer.MIN_VALUE;
+    int maxY = Integer.MIN_VALUE;
+    for (int i = 0; i < elements.length; i++) {
+      Element element = elements[i];
+      final int x = element.getX() + elementOffsetsX[i];
+      final int y = element.getY() + elementOffsetsY[i];
+      minX = Math.min(minX, x);
+      minY = Math.min(minY, y);
+      maxX = Math.max(maxX, x + Math.max(0, element.getWidth()));
+      maxY = Math.max(maxY, y + Math.max(0, element.getHeight()));
+    }
+
+    gridX = minX;
+    gridY = minY;
+    cellSize = CELL_SIZE;
+    while ((maxX - minX) / cellSize >= MAX_CELLS_PER_AXIS || (maxY - minY) / cellSize >= MAX_CELLS_PER_AXIS) {
+      cellSize *= 2;
+    }
+    columns = (maxX - minX) / cellSize + 1;
+    rows = (maxY - minY) / cellSize + 1;
+
+    // first pass counts the elements of each cell, second pass fills the cells in front to back order
+    int[] cellCounts = new int[columns * rows];
+    for (int i = 0; i < elements.length; i++) {
+      addToCells(elements[i], i, cellCounts, null);
+    }
+    cells = new int[columns * rows][];
+    for (int i = 0; i < cells.length; i++) {
+      cells[i] = cellCounts[i] == 0 ? null : new int[cellCounts[i]];
+      cellCounts[i] = 0;
+    }
+    for (int i = 0; i < elements.length; i++) {
+      addToCells(elements[i], i, cellCounts, cells);
+    }
+  }
+
+  private void addToCells(
+      @Nonnull final Element element,
+      final int index,
+      @Nonnull final int[] cellCounts,
+      final int[][] targetCells) {
+    final int x = element.getX() + elementOffsetsX[index];
+    final int y = element.getY() + elementOffsetsY[index];
+    final int firstColumn = (x - gridX) / cellSize;
+    final int lastColumn = (x + Math.max(0, element.getWidth()) - gridX) / cellSize;
+    final int firstRow = (y - gridY) / cellSize;
+    final int lastRow = (y + Math.max(0, element.getHeight()) - gridY) / cellSize;
+    for (int row = firstRow; row <= lastRow; row++) {
+      for (int column = firstColumn; column <= lastColumn; column++) {
+        final int cell = row * columns + column;
+        if (targetCells != null) {
+          targetCells[cell][cellCounts[cell]] = index;
+        }
+        cellCounts[cell]++;
+      }
+    }
+  }
+
+  private int[] getCell(final int x, final int y) {
+    if (x < gridX || y < gridY) {
+      return null;
+    }
+    final int column = (x - gridX) / cellSize;
+    final int row = (y - gridY) / cellSize;
+    if (column >= columns || row >= rows) {
+      return null;
+    }
+    return cells[row * columns + column];
+  }
+}
@@ -63,6 +63,8 @@ public class Screen {
   @Nonnull
   private final MouseOverHandler mouseOverHandler;
   @Nonnull
+  private final MouseHitIndex mouseHitIndex = new MouseHitIndex();
+  @Nonnull
   private final Nifty nifty;
   @Nonnull
   private final List<InputHandlerWithMapping> postInputHandlers = new ArrayList<InputHandlerWithMapping>();
@@ -374,6 +376,8 @@ public class Screen {
     if (focusHandler.hasAnyElementTheMouseFocus()) {
       Element e = focusHandler.getMouseFocusElement();
       mouseOverHandler.addMouseOverElement(e);
+    } else if (nifty.isMouseHitIndex()) {
+      mouseHitIndex.buildMouseOverElements(layerList, inputEvent, mouseOverHandler);
     } else {
       for (int i = 0; i < layerList.size(); i++) {
         Element layer = layerList.get(i);
@@ -0,0 +1,25 @@
+package de.lessvoid.nifty.spi.render;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A RenderImage that is loaded in the background. Such an image is not rendered until it has been loaded.
+ * @author void
+ */
+public interface AsyncRenderImage extends RenderImage {
+  /**
+   * Whether the loading of the image has finished and the image is ready to be rendered. This returns true as well
+   * when the loading of the image failed.
+   *
+   * @return true when the image has been loaded
+   */
+  boolean isLoaded();
+
+  /**
+   * Run the given callback once the image has been loaded. The callback will be run on the render thread. If the image
+   * has already been loaded the callback is run immediately.
+   *
+   * @param callback the callback
+   */
+  void whenLoaded(@Nonnull Runnable callback);
+}
@@ -0,0 +1,20 @@
+package de.lessvoid.nifty.spi.render;
+
+import de.lessvoid.nifty.NiftyFrameStats;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A RenderDevice can optionally implement this interface to report what it has done during a frame. Nifty calls it
+ * after {@link RenderDevice#endFrame()} to add the statistics of the frame to the {@link NiftyFrameStats}.
+ *
+ * @author void
+ */
+public interface FrameStatsRenderDevice {
+  /**
+   * Add the statistics of the frame that has just been finished with {@link RenderDevice#endFrame()}.
+   *
+   * @param frameStats the statistics to add the values to
+   */
+  void addFrameStats(@Nonnull NiftyFrameStats frameStats);
+}
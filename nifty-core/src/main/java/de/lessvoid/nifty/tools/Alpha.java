@@ -8,6 +8,11 @@ import javax.annotation.Nonnull;
  * @author void
  */
 public class Alpha {
+  /**
+   * Shared constants. They may only be used as input values. Never change them with {@link #setAlpha(float)} or the
+   * in-place versions of {@link #linear(Alpha, Alpha, float)} and {@link #multiply(Alpha, float)} because that would
+   * change the value for everyone else using them.
+   */
   public static final Alpha ZERO = new Alpha(0.0f);
   public static final Alpha FULL = new Alpha(1.0f);
 
@@ -37,6 +42,19 @@ public class Alpha {
     return new Alpha(this.alpha + t * (end.alpha - this.alpha));
   }
 
+  /**
+   * linear interpolate between the given alpha values and store the result in this instance. This version doesn't
+   * create a new Alpha and should be used from effects that are executed every frame. This instance may be start or
+   * end itself, but it must never be one of the shared constants {@link #ZERO} or {@link #FULL}.
+   *
+   * @param start start alpha
+   * @param end   end alpha
+   * @param t     t in [0,1]
+   */
+  public void linear(@Nonnull final Alpha start, @Nonnull final Alpha end, final float t) {
+    this.alpha = start.alpha + t * (end.alpha - start.alpha);
+  }
+
   /**
    * get alpha value.
    *
@@ -94,6 +112,17 @@ public class Alpha {
     return new Alpha(alpha * factor);
   }
 
+  /**
+   * Multiply the given alpha with the given factor and store the result in this instance. This instance may be the
+   * given alpha itself, but it must never be one of the shared constants {@link #ZERO} or {@link #FULL}.
+   *
+   * @param alpha  the alpha used as base value
+   * @param factor factor to multiply
+   */
+  public void multiply(@Nonnull final Alpha alpha, final float factor) {
+    this.alpha = alpha.alpha * factor;
+  }
+
   /**
    * convert color to string.
    *
@@ -0,0 +1,121 @@
+package de.lessvoid.nifty.tools;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+/**
+ * The inline color markup of a text, for instance the {@code \#f00#} in {@code "\#f00#red text"}, parsed once into
+ * runs. Each run starts at the index of its markup in the text, the characters of the run start right after the
+ * markup and are rendered in the color of the run until the next run starts.
+ * <p/>
+ * This is what a {@link ColorValueParser} would find when it is asked for every index of the text, but the text is
+ * only parsed once. Rendering the text then only needs to compare indices which doesn't create any garbage. Instances
+ * are immutable and can be shared.
+ *
+ * @author void
+ */
+public final class StyledTextRuns {
+  /**
+   * The runs of a text without any inline colors.
+   */
+  @Nonnull
+  public static final StyledTextRuns NONE = new StyledTextRuns(new int[0], new int[0], new float[0]);
+
+  private static final int COMPONENTS = 4;
+
+  @Nonnull
+  private final int[] markupStart;
+  @Nonnull
+  private final int[] textStart;
+  @Nonnull
+  private final float[] colors;
+
+  private StyledTextRuns(
+      @Nonnull final int[] markupStart,
+      @Nonnull final int[] textStart,
+      @Nonnull final float[] colors) {
+    this.markupStart = markupStart;
+    this.textStart = textStart;
+    this.colors = colors;
+  }
+
+  /**
+   * Find all inline colors of the given text.
+   */
+  @Nonnull
+  public static StyledTextRuns parse(@Nonnull final String text) {
+    if (text.indexOf("\\#") == -1) {
+      return NONE;
+    }
+
+    ColorValueParser parser = new ColorValueParser();
+    int count = 0;
+    int[] markupStart = new int[4];
+    int[] textStart = new int[4];
+    float[] colors = new float[4 * COMPONENTS];
+
+    int index = text.indexOf("\\#");
+    while (index != -1) {
+      if (parser.isColor(text, index)) {
+        Color color = parser.getColor();
+        assert color != null;
+        if (count == markupStart.length) {
+          markupStart = Arrays.copyOf(markupStart, count * 2);
+          textStart = Arrays.copyOf(textStart, count * 2);
+          colors = Arrays.copyOf(colors, count * 2 * COMPONENTS);
+        }
+        markupStart[count] = index;
+        textStart[count] = parser.getNextIndex();
+        colors[count * COMPONENTS] = color.getRed();
+        colors[count * COMPONENTS + 1] = color.getGreen();
+        colors[count * COMPONENTS + 2] = color.getBlue();
+        colors[count * COMPONENTS + 3] = color.getAlpha();
+        count++;
+        index = text.indexOf("\\#", parser.getNextIndex());
+      } else {
+        index = text.indexOf("\\#", index + 1);
+      }
+    }
+    if (count == 0) {
+      return NONE;
+    }
+    return new StyledTextRuns(
+        Arrays.copyOf(markupStart, count),
+        Arrays.copyOf(textStart, count),
+        Arrays.copyOf(colors, count * COMPONENTS));
+  }
+
+  public int getRunCount() {
+    return markupStart.length;
+  }
+
+  /**
+   * The index of the markup of the given run in the text.
+   */
+  public int getMarkupStart(final int run) {
+    return markupStart[run];
+  }
+
+  /**
+   * The index of the first character after the markup of the given run.
+   */
+  public int getTextStart(final int run) {
+    return textStart[run];
+  }
+
+  public float getRed(final int run) {
+    return colors[run * COMPONENTS];
+  }
+
+  public float getGreen(final int run) {
+    return colors[run * COMPONENTS + 1];
+  }
+
+  public float getBlue(final int run) {
+    return colors[run * COMPONENTS + 2];
+  }
+
+  public float getAlpha(final int run) {
+    return colors[run * COMPONENTS + 3];
+  }
+}
@@ -0,0 +1,86 @@
+package de.lessvoid.nifty.tools.time;
+
+import de.lessvoid.nifty.spi.time.TimeProvider;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A {@link TimeProvider} that takes the time only once per frame. Everything that asks for the time during a frame -
+ * effects, element interaction, the mouse and the sound system - gets the same time, no matter how long the frame
+ * takes. This keeps effects of the same frame in sync and saves reading the clock over and over again.
+ * <p/>
+ * Optionally the clock can advance by a fixed time step each frame instead of following the real time. This makes the
+ * effects independent of the frame rate which is useful for tests and replays.
+ *
+ * @author void
+ */
+public class FrameClock implements TimeProvider {
+  @Nonnull
+  private final TimeProvider timeProvider;
+  private long fixedTimeStep;
+  private long offset; // keeps the time continuous when the fixed time step is switched off again
+  private long frameTime;
+  private long frameCount;
+
+  public FrameClock(@Nonnull final TimeProvider timeProvider) {
+    this.timeProvider = timeProvider;
+    frameTime = timeProvider.getMsTime();
+  }
+
+  /**
+   * Take the time for the next frame.
+   */
+  public void nextFrame() {
+    if (fixedTimeStep > 0) {
+      frameTime += fixedTimeStep;
+    } else {
+      frameTime = timeProvider.getMsTime() + offset;
+    }
+    frameCount++;
+  }
+
+  /**
+   * The time of the current frame in milliseconds.
+   */
+  @Override
+  public long getMsTime() {
+    return frameTime;
+  }
+
+  /**
+   * Advance the clock by the given number of milliseconds each frame instead of following the real time.
+   *
+   * @param timeStepMs the time step in milliseconds or 0 to follow the real time again
+   */
+  public void setFixedTimeStep(final long timeStepMs) {
+    if (timeStepMs < 0) {
+      throw new IllegalArgumentException("The fixed time step must not be negative: " + timeStepMs);
+    }
+    if (timeStepMs == 0 && fixedTimeStep > 0) {
+      offset = frameTime - timeProvider.getMsTime();
+    }
+    fixedTimeStep = timeStepMs;
+  }
+
+  /**
+   * The fixed time step in milliseconds, 0 when the clock follows the real time.
+   */
+  public long getFixedTimeStep() {
+    return fixedTimeStep;
+  }
+
+  /**
+   * The number of frames the clock has been advanced.
+   */
+  public long getFrameCount() {
+    return frameCount;
+  }
+
+  /**
+   * The time provider the clock reads the real time from.
+   */
+  @Nonnull
+  public TimeProvider getTimeProvider() {
+    return timeProvider;
+  }
+}
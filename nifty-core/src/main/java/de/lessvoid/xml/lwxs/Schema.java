@@ -15,25 +15,31 @@ import org.xmlpull.v1.XmlPullParserFactory;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 public class Schema implements XmlProcessor {
   @Nonnull
   private static final Logger log = Logger.getLogger(Schema.class.getName());
   @Nonnull
-  private final Map < String, Type > types = new HashMap < String, Type >();
+  // concurrent because the NiftyLoader may load several xml files with the same schema at the same time
+  private final Map < String, Type > types = new ConcurrentHashMap < String, Type >();
   @Nullable
   private String packageString;
   @Nullable
   private String root;
   @Nullable
   private String type;
+  // only needed to resolve the includes while the schema is read. they are released afterwards because the schema
+  // may be shared by several Nifty instances that each have their own resource loader.
+  @Nullable
+  private XmlPullParserFactory parserFactory;
+  @Nullable
+  private NiftyResourceLoader resourceLoader;
+  // the listener of the loadXml() call running on the current thread, the schema can be used by several threads
   @Nonnull
-  private final XmlPullParserFactory parserFactory;
-  @Nonnull
-  private final NiftyResourceLoader resourceLoader;
+  private final ThreadLocal<XmlTypeListener> xmlTypeListener = new ThreadLocal<XmlTypeListener>();
 
   public Schema(@Nonnull final XmlPullParserFactory parserFactory, @Nonnull final NiftyResourceLoader resourceLoader) {
     this.parserFactory = parserFactory;
@@ -54,11 +60,27 @@ public class Schema implements XmlProcessor {
     if (type == null) {
       throw new Exception("[type] attribute is a required attribute");
     }
+    if (parserFactory == null || resourceLoader == null) {
+      throw new Exception("The schema has already been read.");
+    }
     xmlParser.nextTag();
-    xmlParser.zeroOrMore(
-        new de.lessvoid.xml.xpp3.SubstitutionGroup()
-          .add("include", new IncludeProcessor(parserFactory, resourceLoader, types))
-          .add("type", new TypeProcessor(this)));
+    try {
+      xmlParser.zeroOrMore(
+          new de.lessvoid.xml.xpp3.SubstitutionGroup()
+            .add("include", new IncludeProcessor(parserFactory, resourceLoader, types))
+            .add("type", new TypeProcessor(this)));
+    } finally {
+      parserFactory = null;
+      resourceLoader = null;
+    }
+  }
+
+  /**
+   * The listener of the {@link #loadXml(XmlParser, XmlTypeListener)} call that is running on the current thread.
+   */
+  @Nullable
+  public XmlTypeListener getXmlTypeListener() {
+    return xmlTypeListener.get();
   }
 
   public void addType(@Nonnull final String name, @Nonnull final Type typeParam) {
@@ -82,6 +104,27 @@ public class Schema implements XmlProcessor {
 
   @Nonnull
   public XmlType loadXml(@Nonnull final XmlParser parser) throws Exception {
+    return loadXml(parser, null);
+  }
+
+  /**
+   * Load the XML and notify the listener about all the XmlTypes that are created.
+   */
+  @Nonnull
+  public XmlType loadXml(@Nonnull final XmlParser parser, @Nullable final XmlTypeListener listener) throws Exception {
+    if (listener == null) {
+      return processXml(parser);
+    }
+    xmlTypeListener.set(listener);
+    try {
+      return processXml(parser);
+    } finally {
+      xmlTypeListener.remove();
+    }
+  }
+
+  @Nonnull
+  private XmlType processXml(@Nonnull final XmlParser parser) throws Exception {
     if (type == null) {
       throw new Exception("The type is null, something is wrong.");
     }
@@ -104,7 +147,7 @@ public class Schema implements XmlProcessor {
       @Nonnull final String className,
       @Nonnull final Collection < Element > elements,
       @Nonnull final Collection < SubstitutionGroup> substitutionGroups) throws Exception {
-    XmlProcessorType processor = new XmlProcessorType(packageString + "." + className);
+    XmlProcessorType processor = new XmlProcessorType(packageString + "." + className, this);
     for (Element child : elements) {
       child.addToProcessor(this, processor);
     }
@@ -0,0 +1,31 @@
+package de.lessvoid.xml.lwxs;
+
+import de.lessvoid.xml.xpp3.Attributes;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Gets notified about every XmlType the {@link Schema} creates while it loads a XML file. The types are reported in the
+ * order they are created, a parent always before its children.
+ *
+ * @author void
+ */
+public interface XmlTypeListener {
+  /**
+   * A XmlType has been created, its attributes have been applied and it has been linked to its parent.
+   *
+   * @param xmlType the new XmlType
+   * @param className the full class name of the XmlType as defined in the schema
+   * @param attributes the attributes of the XML element
+   * @param parent the parent XmlType or null for the root element
+   * @param parentMethod the method that has been called on the parent to link the XmlType, for instance
+   *                     "addScreen", or null for the root element
+   */
+  void xmlTypeCreated(
+      @Nonnull XmlType xmlType,
+      @Nonnull String className,
+      @Nonnull Attributes attributes,
+      @Nullable XmlType parent,
+      @Nullable String parentMethod);
+}
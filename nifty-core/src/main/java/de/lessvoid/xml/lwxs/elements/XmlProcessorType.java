@@ -1,6 +1,8 @@
 package de.lessvoid.xml.lwxs.elements;
 
+import de.lessvoid.xml.lwxs.Schema;
 import de.lessvoid.xml.lwxs.XmlType;
+import de.lessvoid.xml.lwxs.XmlTypeListener;
 import de.lessvoid.xml.tools.ClassHelper;
 import de.lessvoid.xml.tools.MethodInvoker;
 import de.lessvoid.xml.xpp3.Attributes;
@@ -31,9 +33,16 @@ public class XmlProcessorType implements XmlProcessor {
   private String xmlTypeParentName;
   @Nullable
   private XmlType xmlType;
+  @Nullable
+  private final Schema schema;
 
   public XmlProcessorType(@Nonnull final String fullClassNameParam) {
+    this(fullClassNameParam, null);
+  }
+
+  public XmlProcessorType(@Nonnull final String fullClassNameParam, @Nullable final Schema schemaParam) {
     fullClassName = fullClassNameParam;
+    schema = schemaParam;
   }
 
   public void addElementProcessor(@Nonnull final XmlProcessorElement element) {
@@ -56,6 +65,16 @@ public class XmlProcessorType implements XmlProcessor {
       } else if (xmlTypeParentMultiple != null) {
         invoke(xmlType, xmlTypeParentMultiple, "add");
       }
+      XmlTypeListener listener = schema == null ? null : schema.getXmlTypeListener();
+      if (listener != null) {
+        if (xmlTypeParentSingle != null) {
+          listener.xmlTypeCreated(xmlType, fullClassName, attributes, xmlTypeParentSingle, "set" + xmlTypeParentName);
+        } else if (xmlTypeParentMultiple != null) {
+          listener.xmlTypeCreated(xmlType, fullClassName, attributes, xmlTypeParentMultiple, "add" + xmlTypeParentName);
+        } else {
+          listener.xmlTypeCreated(xmlType, fullClassName, attributes, null, null);
+        }
+      }
 
       xmlParser.nextTag();
       for (XmlProcessorElement child : elements) {
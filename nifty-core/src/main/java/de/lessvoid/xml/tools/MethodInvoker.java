@@ -19,12 +19,15 @@ public class MethodInvoker {
   private Object[] target;
   @Nullable
   private final String methodWithName;
+  @Nullable
+  private final ResolvedMethodCache methodCache;
 
   /**
    * create null MethodInvoker.
    */
   public MethodInvoker() {
     this.methodWithName = null;
+    this.methodCache = null;
     this.target = null;
   }
 
@@ -35,6 +38,7 @@ public class MethodInvoker {
    */
   public MethodInvoker(@Nullable final String methodParam, @Nonnull final Object ... targetParam) {
     this.methodWithName = methodParam;
+    this.methodCache = methodParam == null ? null : new ResolvedMethodCache(methodParam);
     if (targetParam.length == 0) {
       this.target = null;
     } else {
@@ -83,14 +87,14 @@ public class MethodInvoker {
   @Nullable
   public Object invoke(@Nonnull final Object ... invokeParametersParam) {
     // nothing to do?
-    if (target == null || target.length == 0 || methodWithName == null) {
+    if (target == null || target.length == 0 || methodWithName == null || methodCache == null) {
       return null;
     }
 
     // process all methods (first one wins)
     for (Object object : target) {
       if (object != null) {
-        Method method = MethodResolver.findMethod(object.getClass(), methodWithName);
+        Method method = methodCache.findMethod(object.getClass());
         if (method != null) {
           // we've found a method with the given name. now we need to match the parameters.
           //
@@ -100,7 +104,7 @@ public class MethodInvoker {
           //    2a) invokeParametersParam are given, in this case we'll try to forward them to the method
           //        if this is not possible we fall back to 2b)
           //    2b) just call the method without any parameters
-          Object[] invokeParameters = MethodResolver.extractParameters(methodWithName);
+          Object[] invokeParameters = methodCache.getConstantParameters();
           if (invokeParameters.length > 0) {
             // does the method supports the parameters?
             // TODO: not only check for the count but check the type too
@@ -0,0 +1,99 @@
+package de.lessvoid.xml.tools;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Caches the result of resolving a method string like "onClick(1, 2)" against the classes of the target objects of
+ * a method invoker. The method lookup with {@link MethodResolver#findMethod(Class, String)} walks all public methods
+ * of the class hierarchy and the constant parameters need to be parsed from the method string. Both results never
+ * change for a given class and method string so we resolve them only once and reuse them for every later invoke.
+ * <p>
+ * A method invoker only has a hand full of target objects so the classes are kept in a small array that is searched
+ * linearly. This class is not thread safe, each invoker owns its own instance.
+ *
+ * @author void
+ */
+public final class ResolvedMethodCache {
+  private static final Logger log = Logger.getLogger(ResolvedMethodCache.class.getName());
+  private static final int INITIAL_SIZE = 2;
+
+  @Nonnull
+  private final String methodWithName;
+  @Nonnull
+  private final Object[] constantParameters;
+
+  @Nonnull
+  private Class<?>[] classes = new Class<?>[INITIAL_SIZE];
+  @Nonnull
+  private Method[] methods = new Method[INITIAL_SIZE];
+  private int size;
+
+  /**
+   * Create a new cache for the given method string.
+   * @param methodWithName the method string including the (optional) constant parameters
+   */
+  public ResolvedMethodCache(@Nonnull final String methodWithName) {
+    this.methodWithName = methodWithName;
+    this.constantParameters = MethodResolver.extractParameters(methodWithName);
+  }
+
+  /**
+   * The constant parameters encoded in the method string. The returned array is shared and must not be modified.
+   * @return the constant parameters or an empty array when the method string doesn't contain any
+   */
+  @Nonnull
+  public Object[] getConstantParameters() {
+    return constantParameters;
+  }
+
+  /**
+   * Find the method for the given class. The first call for a class resolves the method using the
+   * {@link MethodResolver} and later calls return the cached result - including the case that there is no such
+   * method at all.
+   * @param c the class of the target object
+   * @return the method or {@code null} when the class doesn't provide a matching method
+   */
+  @Nullable
+  public Method findMethod(@Nonnull final Class<?> c) {
+    for (int i = 0; i < size; i++) {
+      if (classes[i] == c) {
+        return methods[i];
+      }
+    }
+    Method method = MethodResolver.findMethod(c, methodWithName);
+    if (method != null) {
+      makeAccessible(method);
+    }
+    if (size == classes.length) {
+      Class<?>[] newClasses = new Class<?>[size * 2];
+      System.arraycopy(classes, 0, newClasses, 0, size);
+      classes = newClasses;
+      Method[] newMethods = new Method[size * 2];
+      System.arraycopy(methods, 0, newMethods, 0, size);
+      methods = newMethods;
+    }
+    classes[size] = c;
+    methods[size] = method;
+    size++;
+    return method;
+  }
+
+  /**
+   * Disable the access checks of the method. This is only an optimization for later invokes, when a security manager
+   * or the module system forbids it we simply keep the access checks.
+   */
+  private void makeAccessible(@Nonnull final Method method) {
+    try {
+      method.setAccessible(true);
+    } catch (RuntimeException e) {
+      // a SecurityException or, since Java 9, an InaccessibleObjectException for classes of modules that aren't open
+      if (log.isLoggable(Level.FINE)) {
+        log.fine("can't disable access checks for method [" + method + "]: " + e.getMessage());
+      }
+    }
+  }
+}
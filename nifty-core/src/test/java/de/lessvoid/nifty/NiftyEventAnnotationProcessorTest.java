@@ -0,0 +1,85 @@
+package de.lessvoid.nifty;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class NiftyEventAnnotationProcessorTest {
+  private NiftyEventDispatcher dispatcher;
+  private Controller controller;
+
+  @Before
+  public void before() {
+    dispatcher = new NiftyEventDispatcher();
+    controller = new Controller();
+  }
+
+  @Test
+  public void testProcess() {
+    NiftyEventAnnotationProcessor.process(dispatcher, controller);
+    dispatcher.publish("okButton", new TestEvent());
+    dispatcher.publish("item#1", new TestEvent());
+    dispatcher.publish("other", new TestEvent());
+    assertEquals(1, controller.idEvents);
+    assertEquals(1, controller.patternEvents);
+  }
+
+  @Test
+  public void testProcessTwiceDeliversOnce() {
+    NiftyEventAnnotationProcessor.process(dispatcher, controller);
+    NiftyEventAnnotationProcessor.process(dispatcher, controller);
+    dispatcher.publish("okButton", new TestEvent());
+    dispatcher.publish("item#1", new TestEvent());
+    assertEquals(1, controller.idEvents);
+    assertEquals(1, controller.patternEvents);
+  }
+
+  @Test
+  public void testUnprocess() {
+    NiftyEventAnnotationProcessor.process(dispatcher, controller);
+    NiftyEventAnnotationProcessor.unprocess(dispatcher, controller);
+    dispatcher.publish("okButton", new TestEvent());
+    dispatcher.publish("item#1", new TestEvent());
+    assertEquals(0, controller.idEvents);
+    assertEquals(0, controller.patternEvents);
+  }
+
+  @Test
+  public void testOtherEventClassIsIgnored() {
+    NiftyEventAnnotationProcessor.process(dispatcher, controller);
+    dispatcher.publish("okButton", new NiftyEvent() {});
+    assertEquals(0, controller.idEvents);
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testDeprecatedProcessUsesGlobalDispatcher() {
+    NiftyEventAnnotationProcessor.process(controller);
+    NiftyEventAnnotationProcessor.globalDispatcher.publish("okButton", new TestEvent());
+    dispatcher.publish("okButton", new TestEvent());
+    assertEquals(1, controller.idEvents);
+
+    NiftyEventAnnotationProcessor.unprocess(controller);
+    NiftyEventAnnotationProcessor.globalDispatcher.publish("okButton", new TestEvent());
+    assertEquals(1, controller.idEvents);
+  }
+
+  public static class TestEvent implements NiftyEvent {
+  }
+
+  public static class Controller {
+    private int idEvents;
+    private int patternEvents;
+
+    @NiftyEventSubscriber(id = "okButton")
+    public void onOk(final String id, final TestEvent event) {
+      idEvents++;
+    }
+
+    @NiftyEventSubscriber(pattern = "item#.*")
+    public void onItem(final String id, final TestEvent event) {
+      patternEvents++;
+    }
+  }
+}
@@ -0,0 +1,207 @@
+package de.lessvoid.nifty;
+
+import org.bushe.swing.event.EventTopicSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+
+public class NiftyEventDispatcherTest {
+  private static final Object SCREEN = new Object();
+  private NiftyEventDispatcher dispatcher;
+
+  @Before
+  public void before() {
+    dispatcher = new NiftyEventDispatcher();
+  }
+
+  @Test
+  public void testPublishWithoutSubscribers() {
+    dispatcher.publish("id", new TestEvent());
+    assertEquals(0, dispatcher.getSubscriptionCount("id"));
+  }
+
+  @Test
+  public void testPublishToTopic() {
+    Recorder recorder = subscribe(SCREEN, "id");
+    Recorder other = subscribe(SCREEN, "other");
+    TestEvent event = new TestEvent();
+    dispatcher.publish("id", event);
+    assertEquals(1, recorder.events.size());
+    assertEquals(event, recorder.events.get(0));
+    assertEquals("id", recorder.topics.get(0));
+    assertEquals(0, other.events.size());
+  }
+
+  @Test
+  public void testEventClassIsChecked() {
+    Recorder recorder = new Recorder();
+    dispatcher.subscribe(SCREEN, "id", OtherEvent.class, recorder, recorder);
+    dispatcher.publish("id", new TestEvent());
+    assertEquals(0, recorder.events.size());
+    dispatcher.publish("id", new OtherEvent());
+    assertEquals(1, recorder.events.size());
+  }
+
+  @Test
+  public void testSubscribeSameSubscriberTwice() {
+    Recorder recorder = subscribe(SCREEN, "id");
+    dispatcher.subscribe(SCREEN, "id", TestEvent.class, recorder, recorder);
+    dispatcher.publish("id", new TestEvent());
+    assertEquals(1, recorder.events.size());
+    assertEquals(1, dispatcher.getSubscriptionCount("id"));
+  }
+
+  @Test
+  public void testUnsubscribeSubscriber() {
+    Recorder recorder = subscribe(SCREEN, "id");
+    Recorder other = subscribe(SCREEN, "id");
+    dispatcher.unsubscribe("id", recorder);
+    dispatcher.publish("id", new TestEvent());
+    assertEquals(0, recorder.events.size());
+    assertEquals(1, other.events.size());
+  }
+
+  @Test
+  public void testUnsubscribeTarget() {
+    Object target = new Object();
+    Recorder recorder = new Recorder();
+    dispatcher.subscribe(null, "id", TestEvent.class, recorder, target);
+    dispatcher.unsubscribe("id", target);
+    dispatcher.publish("id", new TestEvent());
+    assertEquals(0, recorder.events.size());
+    assertEquals(0, dispatcher.getSubscriptionCount("id"));
+  }
+
+  @Test
+  public void testUnsubscribeScope() {
+    Object otherScreen = new Object();
+    Recorder first = subscribe(SCREEN, "id");
+    Recorder second = subscribe(SCREEN, "other");
+    Recorder third = subscribe(otherScreen, "id");
+    dispatcher.unsubscribeScope(SCREEN);
+    dispatcher.publish("id", new TestEvent());
+    dispatcher.publish("other", new TestEvent());
+    assertEquals(0, first.events.size());
+    assertEquals(0, second.events.size());
+    assertEquals(1, third.events.size());
+  }
+
+  @Test
+  public void testUnsubscribeScopeTopic() {
+    Recorder first = subscribe(SCREEN, "id");
+    Recorder second = subscribe(SCREEN, "other");
+    dispatcher.unsubscribeScope(SCREEN, "id");
+    dispatcher.publish("id", new TestEvent());
+    dispatcher.publish("other", new TestEvent());
+    assertEquals(0, first.events.size());
+    assertEquals(1, second.events.size());
+  }
+
+  @Test
+  public void testPatternSubscription() {
+    Recorder topicRecorder = subscribe(SCREEN, "button#1");
+    Recorder patternRecorder = new Recorder();
+    dispatcher.subscribe(SCREEN, Pattern.compile("button#.*"), TestEvent.class, patternRecorder, patternRecorder);
+    dispatcher.publish("button#1", new TestEvent());
+    dispatcher.publish("button#2", new TestEvent());
+    dispatcher.publish("label#1", new TestEvent());
+    assertEquals(1, topicRecorder.events.size());
+    assertEquals(2, patternRecorder.events.size());
+    assertEquals("button#2", patternRecorder.topics.get(1));
+  }
+
+  @Test
+  public void testUnsubscribePattern() {
+    Recorder recorder = new Recorder();
+    Pattern pattern = Pattern.compile("button#.*");
+    dispatcher.subscribe(null, pattern, TestEvent.class, recorder, recorder);
+    dispatcher.publish("button#1", new TestEvent());
+    dispatcher.unsubscribe(Pattern.compile("button#.*"), recorder);
+    dispatcher.publish("button#1", new TestEvent());
+    dispatcher.publish("button#2", new TestEvent());
+    assertEquals(1, recorder.events.size());
+    assertEquals(0, dispatcher.getSubscriptionCount("button#1"));
+  }
+
+  @Test
+  public void testUnsubscribeScopeWithPattern() {
+    Recorder recorder = new Recorder();
+    dispatcher.subscribe(SCREEN, Pattern.compile("button#.*"), TestEvent.class, recorder, recorder);
+    dispatcher.publish("button#1", new TestEvent());
+    dispatcher.unsubscribeScope(SCREEN);
+    dispatcher.publish("button#1", new TestEvent());
+    assertEquals(1, recorder.events.size());
+  }
+
+  @Test
+  public void testPublishingToPatternOnlyTopicsDoesNotKeepThem() {
+    subscribe(SCREEN, "button#1");
+    Recorder recorder = new Recorder();
+    dispatcher.subscribe(SCREEN, Pattern.compile("button#.*"), TestEvent.class, recorder, recorder);
+    for (int i = 0; i < 100; i++) {
+      dispatcher.publish("button#generated" + i, new TestEvent());
+    }
+    assertEquals(100, recorder.events.size());
+    assertEquals(1, dispatcher.getTopicCount());
+
+    dispatcher.unsubscribeScope(SCREEN);
+    assertEquals(0, dispatcher.getTopicCount());
+  }
+
+  @Test
+  public void testUnsubscribeWhilePublishing() {
+    final Recorder second = new Recorder();
+    EventTopicSubscriber<TestEvent> first = new EventTopicSubscriber<TestEvent>() {
+      @Override
+      public void onEvent(final String topic, final TestEvent data) {
+        dispatcher.unsubscribe("id", second);
+      }
+    };
+    dispatcher.subscribe(SCREEN, "id", TestEvent.class, first, first);
+    dispatcher.subscribe(SCREEN, "id", TestEvent.class, second, second);
+    dispatcher.publish("id", new TestEvent());
+    assertEquals(0, second.events.size());
+  }
+
+  @Test
+  public void testSubscriberExceptionDoesNotStopDispatch() {
+    EventTopicSubscriber<TestEvent> failing = new EventTopicSubscriber<TestEvent>() {
+      @Override
+      public void onEvent(final String topic, final TestEvent data) {
+        throw new IllegalStateException("expected by test");
+      }
+    };
+    dispatcher.subscribe(SCREEN, "id", TestEvent.class, failing, failing);
+    Recorder recorder = subscribe(SCREEN, "id");
+    dispatcher.publish("id", new TestEvent());
+    assertEquals(1, recorder.events.size());
+  }
+
+  private Recorder subscribe(final Object scope, final String topic) {
+    Recorder recorder = new Recorder();
+    dispatcher.subscribe(scope, topic, TestEvent.class, recorder, recorder);
+    return recorder;
+  }
+
+  private static class TestEvent implements NiftyEvent {
+  }
+
+  private static class OtherEvent extends TestEvent {
+  }
+
+  private static class Recorder implements EventTopicSubscriber<TestEvent> {
+    private final List<String> topics = new ArrayList<String>();
+    private final List<TestEvent> events = new ArrayList<TestEvent>();
+
+    @Override
+    public void onEvent(final String topic, final TestEvent data) {
+      topics.add(topic);
+      events.add(data);
+    }
+  }
+}
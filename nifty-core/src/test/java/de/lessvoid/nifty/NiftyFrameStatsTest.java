@@ -0,0 +1,65 @@
+package de.lessvoid.nifty;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class NiftyFrameStatsTest {
+  private NiftyFrameStats frameStats;
+
+  @Before
+  public void before() {
+    frameStats = new NiftyFrameStats();
+  }
+
+  @Test
+  public void testValuesAreAdded() {
+    frameStats.addLayoutPass(10, 100);
+    frameStats.addLayoutPass(5, 50);
+    frameStats.addQuads(3);
+    frameStats.addQuads(4);
+    frameStats.addMouseEvents(5, 1);
+    frameStats.addMouseEvents(2, 2);
+
+    assertEquals(2, frameStats.getLayoutPasses());
+    assertEquals(15, frameStats.getLayoutPartsRecomputed());
+    assertEquals(150, frameStats.getLayoutTime());
+    assertEquals(7, frameStats.getQuads());
+    assertEquals(7, frameStats.getMouseEventsReceived());
+    assertEquals(3, frameStats.getMouseEventsDispatched());
+  }
+
+  @Test
+  public void testReset() {
+    frameStats.addRenderTime(100);
+    frameStats.addElementsRendered(10);
+    frameStats.addRetained(4, 3);
+    frameStats.reset(7);
+
+    assertEquals(7, frameStats.getFrame());
+    assertEquals(0, frameStats.getRenderTime());
+    assertEquals(0, frameStats.getElementsRendered());
+    assertEquals(0, frameStats.getRetainedCalls());
+    assertEquals(0, frameStats.getRetainedReplays());
+  }
+
+  @Test
+  public void testSet() {
+    frameStats.reset(3);
+    frameStats.addUpdateTime(10);
+    frameStats.addBatches(2);
+    frameStats.addTextureSwitches(1);
+    frameStats.addClipDiscards(6);
+
+    NiftyFrameStats copy = new NiftyFrameStats();
+    copy.set(frameStats);
+    frameStats.reset(4);
+
+    assertEquals(3, copy.getFrame());
+    assertEquals(10, copy.getUpdateTime());
+    assertEquals(2, copy.getBatches());
+    assertEquals(1, copy.getTextureSwitches());
+    assertEquals(6, copy.getClipDiscards());
+  }
+}
@@ -0,0 +1,126 @@
+package de.lessvoid.nifty;
+
+import de.lessvoid.nifty.input.keyboard.KeyboardInputEvent;
+import de.lessvoid.nifty.spi.input.InputSystem;
+import de.lessvoid.nifty.spi.render.RenderDevice;
+import de.lessvoid.nifty.spi.sound.SoundDevice;
+import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
+import org.easymock.IAnswer;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.getCurrentArguments;
+import static org.easymock.EasyMock.isA;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Mouse move events that are coalesced must still reach the screen in the order they have been received in relation
+ * to the keyboard events.
+ */
+public class NiftyInputOrderTest {
+  private static final String SCREEN_XML =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+      "<nifty xmlns=\"http://nifty-gui.lessvoid.com/nifty-gui\">\n" +
+      "<screen id=\"start\">\n" +
+      "<layer id=\"layer\" childLayout=\"absolute\"/>\n" +
+      "</screen>\n" +
+      "</nifty>\n";
+
+  private final List<Object> inputEvents = new ArrayList<Object>();
+  private final List<Integer> mouseXAtKeyEvents = new ArrayList<Integer>();
+  private Nifty nifty;
+
+  @Before
+  public void before() throws Exception {
+    RenderDevice renderDeviceMock = createNiceMock(RenderDevice.class);
+    expect(renderDeviceMock.getWidth()).andStubReturn(800);
+    expect(renderDeviceMock.getHeight()).andStubReturn(600);
+    SoundDevice soundDeviceMock = createNiceMock(SoundDevice.class);
+    InputSystem inputSystemMock = createNiceMock(InputSystem.class);
+    inputSystemMock.forwardEvents(isA(NiftyInputConsumer.class));
+    expectLastCall().andAnswer(new IAnswer<Object>() {
+      @Nullable
+      @Override
+      public Object answer() throws Throwable {
+        forwardEvents((NiftyInputConsumer) getCurrentArguments()[0]);
+        return null;
+      }
+    }).anyTimes();
+    replay(renderDeviceMock, soundDeviceMock, inputSystemMock);
+
+    nifty = new Nifty(renderDeviceMock, soundDeviceMock, inputSystemMock, new AccurateTimeProvider());
+    nifty.fromXml("input-order.xml", new ByteArrayInputStream(SCREEN_XML.getBytes("UTF-8")), "start");
+    nifty.update();
+    nifty.setNiftyInputConsumerNotify(new NiftyInputConsumerNotify() {
+      @Override
+      public void processedMouseEvent(
+          final int mouseX,
+          final int mouseY,
+          final int mouseWheel,
+          final int button,
+          final boolean buttonDown,
+          final boolean processed) {
+      }
+
+      @Override
+      public void processKeyboardEvent(final KeyboardInputEvent keyEvent, final boolean processed) {
+        mouseXAtKeyEvents.add(nifty.getNiftyMouse().getX());
+      }
+    });
+  }
+
+  @Test
+  public void testKeyEventSeesPrecedingMouseMove() {
+    nifty.getMouseInputEventQueue().setCoalesceMoveEvents(true);
+    mouseMove(10);
+    mouseMove(20);
+    key();
+    mouseMove(30);
+    key();
+    mouseMove(40);
+    nifty.update();
+
+    assertEquals(Arrays.asList(20, 30), mouseXAtKeyEvents);
+    assertEquals(40, nifty.getNiftyMouse().getX());
+  }
+
+  @Test
+  public void testKeyEventSeesPrecedingMouseMoveWithoutCoalescing() {
+    mouseMove(10);
+    mouseMove(20);
+    key();
+    mouseMove(30);
+    nifty.update();
+
+    assertEquals(Arrays.asList(20), mouseXAtKeyEvents);
+  }
+
+  private void mouseMove(final int x) {
+    inputEvents.add(x);
+  }
+
+  private void key() {
+    inputEvents.add(new KeyboardInputEvent(KeyboardInputEvent.KEY_A, 'a', true, false, false));
+  }
+
+  private void forwardEvents(final NiftyInputConsumer consumer) {
+    for (Object event : inputEvents) {
+      if (event instanceof KeyboardInputEvent) {
+        consumer.processKeyboardEvent((KeyboardInputEvent) event);
+      } else {
+        consumer.processMouseEvent((Integer) event, 100, 0, -1, false);
+      }
+    }
+    inputEvents.clear();
+  }
+}
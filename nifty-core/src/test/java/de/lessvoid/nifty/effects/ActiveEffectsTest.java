@@ -2,6 +2,7 @@ package de.lessvoid.nifty.effects;
 
 import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 import static org.junit.Assert.assertEquals;
@@ -19,6 +20,7 @@ public class ActiveEffectsTest {
   @Before
   public void before() {
     e = createMock(Effect.class);
+    expect(e.isNeverCull()).andStubReturn(false);
   }
 
   @After
@@ -168,6 +170,25 @@ public class ActiveEffectsTest {
     assertActive(1, 0, 0);
   }
 
+  @Test
+  public void testNeverCullEffectIsReported() {
+    Effect neverCull = createMock(Effect.class);
+    expect(neverCull.isNeverCull()).andStubReturn(true);
+    expect(neverCull.isOverlay()).andStubReturn(false);
+    expect(neverCull.isPost()).andStubReturn(false);
+    neverCull.neverCullChanged();
+    expectLastCall().times(4);
+    replay(neverCull, e);
+
+    active.add(neverCull);
+    active.remove(neverCull);
+    active.remove(neverCull);
+    active.add(neverCull);
+    active.clear();
+    active.clear();
+    verify(neverCull);
+  }
+
   private void assertActive(final int overlayCount, final int postCount, final int preCount) {
     assertEquals(overlayCount, active.getActiveOverlay().size());
     assertEquals(postCount, active.getActivePost().size());
@@ -0,0 +1,156 @@
+package de.lessvoid.nifty.effects.impl;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.effects.EffectProperties;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.render.TextRenderer;
+import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.spi.render.RenderFont;
+import de.lessvoid.nifty.spi.time.TimeProvider;
+import org.bushe.swing.event.EventService;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.Properties;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * The text size effects keep the scaled text centered. Executing them every frame must not measure the text again
+ * while neither the text nor the size changes.
+ */
+public class TextSizeEffectsTest {
+  private CountingRenderFont font;
+  private Nifty niftyMock;
+  private TextRenderer textRenderer;
+  private Element elementMock;
+
+  @Before
+  public void before() {
+    font = new CountingRenderFont();
+
+    EventService eventServiceMock = createNiceMock(EventService.class);
+    replay(eventServiceMock);
+
+    niftyMock = createNiceMock(Nifty.class);
+    expect(niftyMock.getEventService()).andReturn(eventServiceMock).anyTimes();
+    expect(niftyMock.getTimeProvider()).andReturn(new TimeProvider() {
+      @Override
+      public long getMsTime() {
+        return 0;
+      }
+    }).anyTimes();
+    expect(niftyMock.specialValuesReplace("abc")).andReturn("abc").anyTimes();
+    expect(niftyMock.specialValuesReplace("abcd")).andReturn("abcd").anyTimes();
+    replay(niftyMock);
+
+    textRenderer = new TextRenderer(niftyMock, font, "abc");
+    elementMock = createNiceMock(Element.class);
+    expect(elementMock.getRenderer(TextRenderer.class)).andReturn(textRenderer).anyTimes();
+    replay(elementMock);
+  }
+
+  @Test
+  public void testWrappedTextIsOnlyJoinedOnce() {
+    String wrappedText = textRenderer.getWrappedText();
+    assertEquals("abc", wrappedText);
+    assertSame(wrappedText, textRenderer.getWrappedText());
+  }
+
+  @Test
+  public void testTextSizeMeasuresTheTextOnlyOnce() {
+    // 30px wide text scaled by 2 is moved 15px to the left, the 20px high font 10px up
+    NiftyRenderEngine renderEngineMock = createNiceMock(NiftyRenderEngine.class);
+    renderEngineMock.moveToRelative(-15.f, -10.f);
+    expectLastCall().times(3);
+    replay(renderEngineMock);
+
+    TextSize textSize = new TextSize();
+    textSize.activate(niftyMock, elementMock, createProperties("startSize", "2.0", "endSize", "2.0"));
+    for (int i = 0; i < 3; i++) {
+      textSize.execute(elementMock, i / 2.f, null, renderEngineMock);
+    }
+
+    verify(renderEngineMock);
+    assertEquals(2, font.widthCalls);
+  }
+
+  @Test
+  public void testTextSizeMeasuresChangedText() {
+    NiftyRenderEngine renderEngineMock = createNiceMock(NiftyRenderEngine.class);
+    renderEngineMock.moveToRelative(-15.f, -10.f);
+    renderEngineMock.moveToRelative(-20.f, -10.f);
+    replay(renderEngineMock);
+
+    TextSize textSize = new TextSize();
+    textSize.activate(niftyMock, elementMock, createProperties("startSize", "2.0", "endSize", "2.0"));
+    textSize.execute(elementMock, 0.f, null, renderEngineMock);
+    textRenderer.setText("abcd");
+    textSize.execute(elementMock, 0.f, null, renderEngineMock);
+
+    verify(renderEngineMock);
+    assertEquals(4, font.widthCalls);
+  }
+
+  @Test
+  public void testTextSizePulsateMeasuresTheTextOnlyOnce() {
+    NiftyRenderEngine renderEngineMock = createNiceMock(NiftyRenderEngine.class);
+    renderEngineMock.moveToRelative(-15.f, -10.f);
+    expectLastCall().times(3);
+    replay(renderEngineMock);
+
+    TextSizePulsate textSizePulsate = new TextSizePulsate();
+    textSizePulsate.activate(niftyMock, elementMock, createProperties("startSize", "200%", "endSize", "200%"));
+    for (int i = 0; i < 3; i++) {
+      textSizePulsate.execute(elementMock, 1.f, null, renderEngineMock);
+    }
+
+    verify(renderEngineMock);
+    assertEquals(2, font.widthCalls);
+  }
+
+  @Nonnull
+  private EffectProperties createProperties(final String... keyValues) {
+    Properties properties = new Properties();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      properties.setProperty(keyValues[i], keyValues[i + 1]);
+    }
+    return new EffectProperties(properties);
+  }
+
+  private static class CountingRenderFont implements RenderFont {
+    private int widthCalls;
+
+    @Override
+    public int getWidth(@Nonnull final String text) {
+      return text.length() * 10;
+    }
+
+    @Override
+    public int getWidth(@Nonnull final String text, final float size) {
+      widthCalls++;
+      return (int) (text.length() * 10 * size);
+    }
+
+    @Override
+    public int getHeight() {
+      return 20;
+    }
+
+    @Override
+    public int getCharacterAdvance(final char currentCharacter, final char nextCharacter, final float size) {
+      return (int) (10 * size);
+    }
+
+    @Override
+    public void dispose() {
+    }
+  }
+}
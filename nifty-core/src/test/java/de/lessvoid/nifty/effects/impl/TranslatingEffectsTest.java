@@ -0,0 +1,108 @@
+package de.lessvoid.nifty.effects.impl;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.effects.Effect;
+import de.lessvoid.nifty.effects.EffectProperties;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.render.NiftyRenderEngineImpl;
+import de.lessvoid.nifty.spi.render.RenderDevice;
+import de.lessvoid.nifty.tools.Color;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The effects that move the element around need to respect the position the element has already been moved to, for
+ * instance by the render offset of a scrolled parent.
+ */
+public class TranslatingEffectsTest {
+  private RenderDevice renderDeviceMock;
+  private NiftyRenderEngineImpl engine;
+  private Nifty niftyMock;
+  private Element elementMock;
+
+  @Before
+  public void before() {
+    renderDeviceMock = createNiceMock(RenderDevice.class);
+    expect(renderDeviceMock.getWidth()).andReturn(800).anyTimes();
+    expect(renderDeviceMock.getHeight()).andReturn(600).anyTimes();
+    niftyMock = createNiceMock(Nifty.class);
+    elementMock = createNiceMock(Element.class);
+    replay(niftyMock, elementMock);
+  }
+
+  @Test
+  public void testMoveKeepsScrollOffset() {
+    expectQuadAt(30, -90);
+
+    Move move = new Move();
+    move.activate(niftyMock, elementMock, createProperties("mode", "toOffset", "offsetX", "20", "offsetY", "0"));
+
+    engine.moveToRelative(0, -100);
+    move.execute(elementMock, 1.0f, null, engine);
+    engine.renderQuad(10, 10, 5, 5);
+
+    verify(renderDeviceMock);
+  }
+
+  @Test
+  public void testAutoScrollKeepsScrollOffset() {
+    expectQuadAt(10, -40);
+
+    AutoScroll autoScroll = new AutoScroll();
+    autoScroll.activate(niftyMock, elementMock, createProperties("start", "0", "end", "50"));
+
+    engine.moveToRelative(0, -100);
+    autoScroll.execute(elementMock, 1.0f, null, engine);
+    engine.renderQuad(10, 10, 5, 5);
+
+    verify(renderDeviceMock);
+  }
+
+  @Test
+  public void testShakeKeepsScrollOffset() {
+    // at the end of the effect the shake distance is always 0
+    expectQuadAt(10, -90);
+
+    Shake shake = new Shake();
+    shake.activate(niftyMock, elementMock, createProperties("global", "false"));
+
+    engine.moveToRelative(0, -100);
+    shake.execute(elementMock, 1.0f, null, engine);
+    engine.renderQuad(10, 10, 5, 5);
+
+    verify(renderDeviceMock);
+  }
+
+  @Test
+  public void testTranslatingEffectsAreNeverCulledByDefault() {
+    assertTrue(Effect.isNeverCullByDefault(new Move()));
+    assertTrue(Effect.isNeverCullByDefault(new Shake()));
+    assertTrue(Effect.isNeverCullByDefault(new AutoScroll()));
+    assertFalse(Effect.isNeverCullByDefault(new Fade()));
+  }
+
+  private void expectQuadAt(final int x, final int y) {
+    renderDeviceMock.renderQuad(eq(x), eq(y), eq(5), eq(5), anyObject(Color.class));
+    replay(renderDeviceMock);
+    engine = new NiftyRenderEngineImpl(renderDeviceMock);
+  }
+
+  private EffectProperties createProperties(final String... keyValues) {
+    Properties properties = new Properties();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      properties.setProperty(keyValues[i], keyValues[i + 1]);
+    }
+    return new EffectProperties(properties);
+  }
+}
@@ -0,0 +1,146 @@
+package de.lessvoid.nifty.elements;
+
+import de.lessvoid.nifty.Nifty;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ElementIdIndexTest {
+  private Nifty niftyMock;
+  private Element root;
+  private Element panel;
+  private Element control1;
+  private Element button1;
+  private Element control2;
+  private Element button2;
+
+  @Before
+  public void before() {
+    niftyMock = createNiceMock(Nifty.class);
+    replay(niftyMock);
+
+    root = createElement("root", null);
+    panel = createElement("panel", root);
+    control1 = createElement("control1", panel);
+    button1 = createElement("control1#button", control1);
+    control2 = createElement("control2", root);
+    button2 = createElement("control2#button", control2);
+  }
+
+  @Test
+  public void testFindById() {
+    assertSame(root, root.findElementById("root"));
+    assertSame(button2, root.findElementById("control2#button"));
+    assertNull(root.findElementById("unknown"));
+  }
+
+  @Test
+  public void testFindByChildIdReturnsFirstElement() {
+    assertSame(button1, root.findElementById("#button"));
+    assertSame(button2, control2.findElementById("#button"));
+  }
+
+  @Test
+  public void testFindOnlySearchesChildren() {
+    assertNull(control1.findElementById("control2"));
+    assertNull(control1.findElementById("root"));
+    assertSame(button1, panel.findElementById("control1#button"));
+  }
+
+  @Test
+  public void testFindAfterInsert() {
+    assertNull(root.findElementById("new"));
+    Element added = createElement("new", panel);
+    assertSame(added, root.findElementById("new"));
+  }
+
+  @Test
+  public void testFindAfterRemove() {
+    assertSame(button1, root.findElementById("#button"));
+    button1.internalRemoveElementWithChildren();
+    control1.internalRemoveElement(button1);
+    assertSame(button2, root.findElementById("#button"));
+    assertNull(root.findElementById("control1#button"));
+  }
+
+  @Test
+  public void testFindAfterRemoveWithChildren() {
+    assertSame(button1, root.findElementById("control1#button"));
+    control1.internalRemoveElementWithChildren();
+    panel.internalRemoveElement(control1);
+    assertNull(root.findElementById("control1"));
+    assertNull(root.findElementById("control1#button"));
+  }
+
+  @Test
+  public void testFindAfterMove() {
+    assertSame(button1, root.findElementById("#button"));
+    control2.getParent().internalRemoveElement(control2);
+    control2.setParent(panel);
+    panel.insertChild(control2, 0);
+    assertSame(button2, root.findElementById("#button"));
+    assertSame(button2, panel.findElementById("control2#button"));
+  }
+
+  @Test
+  public void testFindAfterIdChanged() {
+    assertSame(control1, root.findElementById("control1"));
+    control1.setId("renamed");
+    assertNull(root.findElementById("control1"));
+    assertSame(control1, root.findElementById("renamed"));
+  }
+
+  @Test
+  public void testFindInSubtreeThatHasBeenAdded() {
+    Element other = createElement("other", null);
+    Element otherChild = createElement("other#child", other);
+    assertSame(otherChild, other.findElementById("#child"));
+
+    other.setParent(root);
+    root.addChild(other);
+    assertSame(otherChild, root.findElementById("#child"));
+    assertSame(otherChild, other.findElementById("#child"));
+  }
+
+  @Test
+  public void testFindAfterInsertBeforeFirstMatch() {
+    assertSame(button1, root.findElementById("#button"));
+    Element control0 = createElement("control0", null);
+    Element button0 = createElement("control0#button", control0);
+    control0.setParent(root);
+    root.insertChild(control0, 0);
+    assertSame(button0, root.findElementById("#button"));
+  }
+
+  @Test
+  public void testFindAfterIndexChanged() {
+    assertSame(button1, root.findElementById("#button"));
+    control2.setIndex(0);
+    assertSame(button2, root.findElementById("#button"));
+    assertSame(button1, panel.findElementById("#button"));
+  }
+
+  @Test
+  public void testFindInElementThatHasNotBeenAddedToItsParent() {
+    assertSame(root, root.findElementById("root"));
+    Element detached = new Element(niftyMock, null, "detached", panel, null, false, null);
+    Element detachedChild = createElement("detached#child", detached);
+    assertSame(detachedChild, detached.findElementById("#child"));
+    assertNull(root.findElementById("#child"));
+
+    panel.addChild(detached);
+    assertSame(detachedChild, root.findElementById("#child"));
+  }
+
+  private Element createElement(final String id, final Element parent) {
+    Element element = new Element(niftyMock, null, id, parent, null, false, null);
+    if (parent != null) {
+      parent.addChild(element);
+    }
+    return element;
+  }
+}
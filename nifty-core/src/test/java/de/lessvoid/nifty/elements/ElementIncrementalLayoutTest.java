@@ -0,0 +1,314 @@
+package de.lessvoid.nifty.elements;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.NiftyLocaleChangedEvent;
+import de.lessvoid.nifty.elements.render.TextRenderer;
+import de.lessvoid.nifty.layout.manager.HorizontalLayout;
+import de.lessvoid.nifty.layout.manager.VerticalLayout;
+import de.lessvoid.nifty.loaderv2.types.apply.ApplyRenderText;
+import de.lessvoid.nifty.loaderv2.types.apply.Convert;
+import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.spi.render.RenderFont;
+import de.lessvoid.nifty.tools.SizeValue;
+import de.lessvoid.xml.xpp3.Attributes;
+import org.bushe.swing.event.EventService;
+import org.easymock.IAnswer;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.easymock.EasyMock.anyInt;
+import static org.easymock.EasyMock.anyLong;
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.getCurrentArguments;
+import static org.easymock.EasyMock.isA;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ElementIncrementalLayoutTest {
+  private static final String HEADER_TEXT = "Incremental layout keeps the header text wrapped";
+  private static final String PANEL_TEXT = "The clipped panel wraps this text over a few lines as well";
+
+  private final List<Integer> layoutPasses = new ArrayList<Integer>();
+  private Nifty niftyMock;
+  private Element root;
+  private Element a;
+  private Element b;
+
+  @Before
+  public void before() {
+    niftyMock = createNiftyMock(true);
+    niftyMock.addLayoutPass(anyInt(), anyLong());
+    expectLastCall().andAnswer(new IAnswer<Object>() {
+      @Nullable
+      @Override
+      public Object answer() throws Throwable {
+        layoutPasses.add((Integer) getCurrentArguments()[0]);
+        return null;
+      }
+    }).anyTimes();
+    replay(niftyMock);
+  }
+
+  @Test
+  public void testInitialLayout() {
+    createElements();
+    root.layoutElements();
+
+    assertBox(a, 0, 0, 100, 10);
+    assertBox(b, 0, 10, 100, 20);
+    assertLayoutPasses(3);
+  }
+
+  @Test
+  public void testUnchangedLayoutIsSkipped() {
+    createElements();
+    root.layoutElements();
+    root.layoutElements();
+
+    assertLayoutPasses(3);
+  }
+
+  @Test
+  public void testOnlyChangedElementIsLaidOut() {
+    createElements();
+    root.layoutElements();
+
+    b.setConstraintHeight(SizeValue.px(30));
+    root.layoutElements();
+
+    assertBox(a, 0, 0, 100, 10);
+    assertBox(b, 0, 10, 100, 30);
+    assertLayoutPasses(3, 2);
+  }
+
+  @Test
+  public void testChangedElementMovesSibling() {
+    createElements();
+    root.layoutElements();
+
+    a.setConstraintHeight(SizeValue.px(15));
+    root.layoutElements();
+
+    assertBox(a, 0, 0, 100, 15);
+    assertBox(b, 0, 15, 100, 20);
+    assertLayoutPasses(3, 3);
+  }
+
+  @Test
+  public void testSettingSameConstraintKeepsLayout() {
+    createElements();
+    root.layoutElements();
+
+    b.setConstraintHeight(SizeValue.px(20));
+    root.layoutElements();
+
+    assertLayoutPasses(3);
+  }
+
+  @Test
+  public void testIncrementalLayoutMatchesFullLayout() {
+    Tree incremental = new Tree(niftyMock);
+    Nifty fullNiftyMock = createNiftyMock(false);
+    replay(fullNiftyMock);
+    Tree full = new Tree(fullNiftyMock);
+
+    incremental.root.layoutElements();
+    full.root.layoutElements();
+    assertSameLayout(full.root, incremental.root);
+    assertTrue(incremental.panelText.getRenderer(TextRenderer.class).getWrappedText().contains("\n"));
+
+    incremental.panel.setConstraintWidth(SizeValue.percent(60));
+    full.panel.setConstraintWidth(SizeValue.percent(60));
+    incremental.panel.layoutElements();
+    full.panel.layoutElements();
+    assertSameLayout(full.root, incremental.root);
+
+    incremental.panelText.getRenderer(TextRenderer.class).setText(HEADER_TEXT + " " + PANEL_TEXT);
+    full.panelText.getRenderer(TextRenderer.class).setText(HEADER_TEXT + " " + PANEL_TEXT);
+    assertSameLayout(full.root, incremental.root);
+
+    incremental.setRootSize(300, 240);
+    full.setRootSize(300, 240);
+    incremental.root.layoutElements();
+    full.root.layoutElements();
+    assertSameLayout(full.root, incremental.root);
+  }
+
+  @Nonnull
+  private static Nifty createNiftyMock(final boolean incrementalLayout) {
+    RenderFont font = new RenderFont() {
+      @Override
+      public int getWidth(@Nonnull final String text) {
+        return text.length() * 10;
+      }
+
+      @Override
+      public int getWidth(@Nonnull final String text, final float size) {
+        return text.length() * 10;
+      }
+
+      @Override
+      public int getHeight() {
+        return 20;
+      }
+
+      @Override
+      public int getCharacterAdvance(final char currentCharacter, final char nextCharacter, final float size) {
+        return 10;
+      }
+
+      @Override
+      public void dispose() {
+      }
+    };
+
+    NiftyRenderEngine renderMock = createNiceMock(NiftyRenderEngine.class);
+    expect(renderMock.getFont()).andReturn(font).anyTimes();
+    replay(renderMock);
+
+    EventService eventServiceMock = createNiceMock(EventService.class);
+    expect(eventServiceMock.subscribe(eq(NiftyLocaleChangedEvent.class), isA(TextRenderer.class))).andReturn(true)
+        .anyTimes();
+    replay(eventServiceMock);
+
+    Nifty nifty = createNiceMock(Nifty.class);
+    expect(nifty.isIncrementalLayout()).andReturn(incrementalLayout).anyTimes();
+    expect(nifty.getRenderEngine()).andReturn(renderMock).anyTimes();
+    expect(nifty.getEventService()).andReturn(eventServiceMock).anyTimes();
+    expect(nifty.specialValuesReplace(anyObject(String.class))).andAnswer(new IAnswer<String>() {
+      @Nullable
+      @Override
+      public String answer() throws Throwable {
+        return (String) getCurrentArguments()[0];
+      }
+    }).anyTimes();
+    return nifty;
+  }
+
+  private void createElements() {
+    root = new Element(niftyMock, null, null, null, null, false, null);
+    root.setLayoutManager(new VerticalLayout());
+    root.setConstraintWidth(SizeValue.px(100));
+    root.setConstraintHeight(SizeValue.px(100));
+    root.setWidth(100);
+    root.setHeight(100);
+
+    a = new Element(niftyMock, null, null, root, null, false, null);
+    a.setConstraintHeight(SizeValue.px(10));
+    root.addChild(a);
+
+    b = new Element(niftyMock, null, null, root, null, false, null);
+    b.setConstraintHeight(SizeValue.px(20));
+    root.addChild(b);
+  }
+
+  private void assertLayoutPasses(@Nonnull final Integer... expected) {
+    assertEquals(Arrays.asList(expected), layoutPasses);
+  }
+
+  private void assertBox(final Element e, final int x, final int y, final int width, final int height) {
+    assertEquals(x, e.getX());
+    assertEquals(y, e.getY());
+    assertEquals(width, e.getWidth());
+    assertEquals(height, e.getHeight());
+  }
+
+  private static void assertSameLayout(@Nonnull final Element expected, @Nonnull final Element actual) {
+    String id = expected.getId();
+    assertEquals(id, expected.getX(), actual.getX());
+    assertEquals(id, expected.getY(), actual.getY());
+    assertEquals(id, expected.getWidth(), actual.getWidth());
+    assertEquals(id, expected.getHeight(), actual.getHeight());
+    assertEquals(id, expected.getConstraintHeight(), actual.getConstraintHeight());
+    TextRenderer expectedText = expected.getRenderer(TextRenderer.class);
+    if (expectedText != null) {
+      assertEquals(id, expectedText.getWrappedText(), actual.getRenderer(TextRenderer.class).getWrappedText());
+    }
+    List<Element> expectedChildren = expected.getChildren();
+    List<Element> actualChildren = actual.getChildren();
+    assertEquals(id, expectedChildren.size(), actualChildren.size());
+    for (int i = 0; i < expectedChildren.size(); i++) {
+      assertSameLayout(expectedChildren.get(i), actualChildren.get(i));
+    }
+  }
+
+  /**
+   * A header with wrapped text next to a fixed icon, a clipping panel sized in percent that holds another wrapped
+   * text, and a fixed footer.
+   */
+  private static class Tree {
+    @Nonnull
+    private final Element root;
+    @Nonnull
+    private final Element panel;
+    @Nonnull
+    private final Element panelText;
+
+    private Tree(@Nonnull final Nifty nifty) {
+      root = createElement(nifty, "root", null, null);
+      root.setLayoutManager(new VerticalLayout());
+      setRootSize(400, 300);
+
+      Element header = createElement(nifty, "header", root, null);
+      header.setLayoutManager(new HorizontalLayout());
+      header.setConstraintHeight(SizeValue.percent(10));
+      Element headerText = createElement(nifty, "headerText", header, HEADER_TEXT);
+      headerText.setConstraintWidth(SizeValue.percent(50));
+      Element icon = createElement(nifty, "icon", header, null);
+      icon.setConstraintWidth(SizeValue.px(20));
+      icon.setConstraintHeight(SizeValue.px(20));
+
+      panel = createElement(nifty, "panel", root, null);
+      panel.setLayoutManager(new VerticalLayout());
+      panel.setClipChildren(true);
+      panel.setConstraintWidth(SizeValue.percent(80));
+      panel.setConstraintHeight(SizeValue.percent(50));
+      Element panelIcon = createElement(nifty, "panelIcon", panel, null);
+      panelIcon.setConstraintHeight(SizeValue.px(30));
+      panelText = createElement(nifty, "panelText", panel, PANEL_TEXT);
+      panelText.setConstraintWidth(SizeValue.percent(100));
+
+      Element footer = createElement(nifty, "footer", root, null);
+      footer.setConstraintHeight(SizeValue.px(40));
+    }
+
+    private void setRootSize(final int width, final int height) {
+      root.setConstraintWidth(SizeValue.px(width));
+      root.setConstraintHeight(SizeValue.px(height));
+      root.setWidth(width);
+      root.setHeight(height);
+    }
+
+    @Nonnull
+    private static Element createElement(
+        @Nonnull final Nifty nifty,
+        @Nonnull final String id,
+        @Nullable final Element parent,
+        @Nullable final String text) {
+      Element element;
+      if (text == null) {
+        element = new Element(nifty, null, id, parent, null, false, null);
+      } else {
+        TextRenderer textRenderer = new TextRenderer(nifty, nifty.getRenderEngine().getFont(), text);
+        element = new Element(nifty, null, id, parent, null, false, null, textRenderer);
+        new ApplyRenderText(new Convert()).apply(null, element, new Attributes("text", text, "wrap", "true"),
+            nifty.getRenderEngine());
+      }
+      if (parent != null) {
+        parent.addChild(element);
+      }
+      return element;
+    }
+  }
+}
@@ -0,0 +1,213 @@
+package de.lessvoid.nifty.elements;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.NiftyFrameStats;
+import de.lessvoid.nifty.controls.FocusHandler;
+import de.lessvoid.nifty.effects.Effect;
+import de.lessvoid.nifty.effects.EffectEventId;
+import de.lessvoid.nifty.effects.EffectImpl;
+import de.lessvoid.nifty.effects.EffectProperties;
+import de.lessvoid.nifty.effects.Falloff;
+import de.lessvoid.nifty.layout.Box;
+import de.lessvoid.nifty.layout.BoxConstraints;
+import de.lessvoid.nifty.layout.LayoutPart;
+import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.render.NiftyRenderEngineImpl;
+import de.lessvoid.nifty.spi.render.RenderDevice;
+import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Properties;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+
+public class ElementRenderTest {
+  private Nifty niftyMock;
+  private NiftyRenderEngine renderEngine;
+  private final FocusHandler focusHandler = new FocusHandler();
+  private final NiftyFrameStats frameStats = new NiftyFrameStats();
+
+  @Before
+  public void before() {
+    niftyMock = createNiceMock(Nifty.class);
+    expect(niftyMock.getCurrentFrameStats()).andStubReturn(frameStats);
+    RenderDevice renderDeviceMock = createNiceMock(RenderDevice.class);
+    expect(renderDeviceMock.getWidth()).andStubReturn(800);
+    expect(renderDeviceMock.getHeight()).andStubReturn(600);
+    replay(renderDeviceMock);
+    renderEngine = new NiftyRenderEngineImpl(renderDeviceMock);
+  }
+
+  @Test
+  public void testFrameStatsAreNotCollectedByDefault() {
+    replay(niftyMock);
+
+    Element root = createElement(null, 0, 0, 800, 600);
+    createElement(root, 10, 10, 50, 50);
+    assertRendered(root, 0, 0);
+  }
+
+  @Test
+  public void testFrameStatsAreCollectedWhenEnabled() {
+    enableFrameStats();
+
+    Element root = createElement(null, 0, 0, 800, 600);
+    createElement(root, 10, 10, 50, 50);
+    assertRendered(root, 2, 0);
+  }
+
+  @Test
+  public void testSubtreeOutsideOfTheDisplayIsCulled() {
+    enableFrameStats();
+
+    Element root = createElement(null, 0, 0, 800, 600);
+    Element panel = createElement(root, 900, 10, 100, 100);
+    createElement(panel, 920, 20, 10, 10);
+    assertRendered(root, 1, 2);
+  }
+
+  @Test
+  public void testChildInsideOfTheDisplayKeepsParentRendered() {
+    enableFrameStats();
+
+    Element root = createElement(null, 0, 0, 800, 600);
+    Element panel = createElement(root, 900, 10, 100, 100);
+    createElement(panel, 10, 10, 10, 10);
+    assertRendered(root, 3, 0);
+  }
+
+  @Test
+  public void testClippedChildDoesNotKeepParentRendered() {
+    enableFrameStats();
+
+    Element root = createElement(null, 0, 0, 800, 600);
+    Element panel = createElement(root, 900, 10, 100, 100);
+    createElement(panel, 10, 10, 10, 10);
+    panel.setClipChildren(true);
+    assertRendered(root, 1, 2);
+  }
+
+  @Test
+  public void testSubtreeBoundsFollowRenderOffset() {
+    enableFrameStats();
+
+    Element root = createElement(null, 0, 0, 800, 600);
+    Element panel = createElement(root, 900, 10, 100, 100);
+    assertRendered(root, 1, 1);
+
+    panel.setRenderOffset(-850, 0);
+    assertRendered(root, 2, 0);
+
+    panel.setRenderOffset(0, 0);
+    assertRendered(root, 1, 1);
+  }
+
+  @Test
+  public void testSubtreeBoundsFollowRenderOffsetOfChild() {
+    enableFrameStats();
+
+    Element root = createElement(null, 0, 0, 800, 600);
+    Element panel = createElement(root, 900, 10, 100, 100);
+    Element child = createElement(panel, 920, 20, 10, 10);
+    assertRendered(root, 1, 2);
+
+    child.setRenderOffset(-900, 0);
+    assertRendered(root, 3, 0);
+  }
+
+  @Test
+  public void testSubtreeBoundsFollowLayoutChange() {
+    enableFrameStats();
+
+    Element root = createElement(null, 0, 0, 800, 600);
+    Element panel = createElement(root, -300, 10, 100, 100);
+    assertRendered(root, 1, 1);
+
+    panel.setWidth(400);
+    assertRendered(root, 2, 0);
+  }
+
+  @Test
+  public void testNeverCullEffectOfChildKeepsParentRendered() {
+    enableFrameStats();
+
+    Element root = createElement(null, 0, 0, 800, 600);
+    Element panel = createElement(root, 900, 10, 100, 100);
+    Element child = createElement(panel, 920, 20, 10, 10);
+    child.registerEffect(EffectEventId.onCustom, createNeverCullEffect(child));
+    assertRendered(root, 1, 2);
+
+    child.startEffect(EffectEventId.onCustom);
+    assertRendered(root, 3, 0);
+
+    child.stopEffect(EffectEventId.onCustom);
+    assertRendered(root, 1, 2);
+  }
+
+  @Test
+  public void testNeverCullEffectOfClippedChildDoesNotKeepParentRendered() {
+    enableFrameStats();
+
+    Element root = createElement(null, 0, 0, 800, 600);
+    Element panel = createElement(root, 900, 10, 100, 100);
+    Element child = createElement(panel, 920, 20, 10, 10);
+    panel.setClipChildren(true);
+    child.registerEffect(EffectEventId.onCustom, createNeverCullEffect(child));
+
+    child.startEffect(EffectEventId.onCustom);
+    assertRendered(root, 1, 2);
+  }
+
+  private Effect createNeverCullEffect(final Element element) {
+    EffectImpl effectImpl = new EffectImpl() {
+      @Override
+      public void activate(
+          @Nonnull final Nifty nifty,
+          @Nonnull final Element element,
+          @Nonnull final EffectProperties parameter) {
+      }
+
+      @Override
+      public void execute(
+          @Nonnull final Element element,
+          final float effectTime,
+          @Nullable final Falloff falloff,
+          @Nonnull final NiftyRenderEngine r) {
+      }
+
+      @Override
+      public void deactivate() {
+      }
+    };
+    return new Effect(niftyMock, false, false, false, null, null, null, false, true, EffectEventId.onCustom, element,
+        effectImpl, new EffectProperties(new Properties()), new AccurateTimeProvider(), Collections.emptyList());
+  }
+
+  private void enableFrameStats() {
+    expect(niftyMock.isFrameStatsEnabled()).andStubReturn(true);
+    replay(niftyMock);
+  }
+
+  private void assertRendered(final Element root, final int expectedRendered, final int expectedCulled) {
+    frameStats.reset(0);
+    root.render(renderEngine);
+    assertEquals(expectedRendered, frameStats.getElementsRendered());
+    assertEquals(expectedCulled, frameStats.getElementsCulled());
+  }
+
+  private Element createElement(final Element parent, final int x, final int y, final int width, final int height) {
+    LayoutPart layoutPart = new LayoutPart(new Box(x, y, width, height), new BoxConstraints());
+    Element element = new Element(niftyMock, null, null, parent, layoutPart, focusHandler, false, null);
+    if (parent != null) {
+      parent.addChild(element);
+    }
+    return element;
+  }
+}
@@ -1,6 +1,7 @@
 package de.lessvoid.nifty.elements.render;
 
 import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.createNiceMock;
 import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.isA;
@@ -12,6 +13,7 @@ import org.bushe.swing.event.EventService;
 
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.NiftyLocaleChangedEvent;
+import de.lessvoid.nifty.elements.Element;
 import de.lessvoid.nifty.layout.align.HorizontalAlign;
 import de.lessvoid.nifty.layout.align.VerticalAlign;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
@@ -57,6 +59,57 @@ public class TextRendererTest extends TestCase {
     verify(eventServiceMock);
   }
 
+  public void testLinesAreOnlyMeasuredOnceForTheSameFont() {
+    RenderFont font = createMock(RenderFont.class);
+    expect(font.getHeight()).andReturn(10).anyTimes();
+    // once for the text width when the text is set and once for the first render call
+    expect(font.getWidth("a")).andReturn(5).times(2);
+    expect(font.getWidth("bc")).andReturn(10).times(2);
+    replay(font);
+
+    TextRenderer renderer = new TextRenderer(createNifty("a\nbc"), font, "a\nbc");
+    Element element = createNiceMock(Element.class);
+    replay(element);
+    NiftyRenderEngine renderEngine = createNiceMock(NiftyRenderEngine.class);
+    replay(renderEngine);
+
+    renderer.render(element, renderEngine);
+    renderer.render(element, renderEngine);
+    renderer.render(element, renderEngine);
+
+    verify(font);
+  }
+
+  public void testLinesAreMeasuredAgainWithAnotherFont() {
+    RenderFont otherFont = createMock(RenderFont.class);
+    expect(otherFont.getHeight()).andReturn(10).anyTimes();
+    expect(otherFont.getWidth("a")).andReturn(5).once();
+    replay(otherFont);
+
+    TextRenderer renderer = new TextRenderer(createNifty("a"), renderFont, "a");
+    Element element = createNiceMock(Element.class);
+    replay(element);
+    NiftyRenderEngine renderEngine = createNiceMock(NiftyRenderEngine.class);
+    replay(renderEngine);
+
+    renderer.render(element, renderEngine);
+    renderer.setFont(otherFont);
+    renderer.render(element, renderEngine);
+    renderer.render(element, renderEngine);
+
+    verify(otherFont);
+  }
+
+  private Nifty createNifty(final String text) {
+    EventService eventServiceMock = createNiceMock(EventService.class);
+    replay(eventServiceMock);
+    Nifty niftyMock = createNiceMock(Nifty.class);
+    expect(niftyMock.specialValuesReplace(text)).andReturn(text);
+    expect(niftyMock.getEventService()).andReturn(eventServiceMock);
+    replay(niftyMock);
+    return niftyMock;
+  }
+
   public void testGetStartYWithVerticalAlignTop() {
     assertEquals(0, TextRenderer.getStartYWithVerticalAlign(100, 200, VerticalAlign.top));
   }
@@ -0,0 +1,103 @@
+package de.lessvoid.nifty.input.mouse;
+
+import de.lessvoid.nifty.NiftyFrameStats;
+import de.lessvoid.nifty.input.NiftyMouseInputEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MouseInputEventProcessorTest {
+  private MouseInputEventProcessor processor;
+
+  @Before
+  public void before() {
+    processor = new MouseInputEventProcessor();
+  }
+
+  @Test
+  public void testMoveEventsAreNotCoalescedByDefault() {
+    assertFalse(processor.coalesce(createEvent(10, 10, 0, false)));
+    assertFalse(processor.coalesce(createEvent(11, 10, 0, false)));
+    assertNull(processor.takeCoalescedEvent());
+  }
+
+  @Test
+  public void testMoveEventsAreCoalescedToLatestPosition() {
+    processor.setCoalesceMoveEvents(true);
+    NiftyMouseInputEvent first = createEvent(10, 10, 0, false);
+    NiftyMouseInputEvent second = createEvent(12, 14, 0, false);
+    assertTrue(processor.coalesce(first));
+    assertTrue(processor.coalesce(second));
+    assertSame(second, processor.takeCoalescedEvent());
+    assertNull(processor.takeCoalescedEvent());
+  }
+
+  @Test
+  public void testButtonChangesAreNotCoalesced() {
+    processor.setCoalesceMoveEvents(true);
+    assertTrue(processor.coalesce(createEvent(10, 10, 0, false)));
+    assertFalse(processor.coalesce(createEvent(10, 10, 0, true)));
+    assertTrue(processor.coalesce(createEvent(20, 10, 0, true)));
+    assertFalse(processor.coalesce(createEvent(20, 10, 0, false)));
+  }
+
+  @Test
+  public void testWheelEventsAreNotCoalesced() {
+    processor.setCoalesceMoveEvents(true);
+    assertFalse(processor.coalesce(createEvent(10, 10, 1, false)));
+    assertFalse(processor.coalesce(createEvent(10, 10, -1, false)));
+  }
+
+  @Test
+  public void testEventCountsOfLastUpdate() {
+    processor.setCoalesceMoveEvents(true);
+    processor.begin();
+    for (int i = 0; i < 5; i++) {
+      processor.coalesce(createEvent(i, 0, 0, false));
+    }
+    processor.process(processor.takeCoalescedEvent());
+    assertEquals(0, processor.getReceivedEventCount());
+
+    processor.begin();
+    assertEquals(5, processor.getReceivedEventCount());
+    assertEquals(1, processor.getDispatchedEventCount());
+  }
+
+  @Test
+  public void testEventCountsAreAddedToFrameStats() {
+    processor.setCoalesceMoveEvents(true);
+    processor.begin();
+    for (int i = 0; i < 5; i++) {
+      processor.coalesce(createEvent(i, 0, 0, false));
+    }
+    processor.process(processor.takeCoalescedEvent());
+
+    NiftyFrameStats frameStats = new NiftyFrameStats();
+    processor.addFrameStats(frameStats);
+    assertEquals(5, frameStats.getMouseEventsReceived());
+    assertEquals(1, frameStats.getMouseEventsDispatched());
+
+    processor.begin();
+    processor.addFrameStats(frameStats);
+    assertEquals(5, frameStats.getMouseEventsReceived());
+  }
+
+  @Test
+  public void testResetDropsCoalescedEvent() {
+    processor.setCoalesceMoveEvents(true);
+    processor.coalesce(createEvent(10, 10, 0, false));
+    processor.reset();
+    assertNull(processor.takeCoalescedEvent());
+  }
+
+  private NiftyMouseInputEvent createEvent(final int x, final int y, final int wheel, final boolean button0Down) {
+    NiftyMouseInputEvent event = new NiftyMouseInputEvent();
+    event.initialize(x, y, wheel, button0Down, false, false);
+    return event;
+  }
+}
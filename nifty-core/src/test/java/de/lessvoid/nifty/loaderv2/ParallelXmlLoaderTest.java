@@ -0,0 +1,115 @@
+package de.lessvoid.nifty.loaderv2;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.loaderv2.types.NiftyStylesType;
+import de.lessvoid.nifty.loaderv2.types.UseStylesType;
+import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
+import de.lessvoid.xml.lwxs.XmlType;
+import de.lessvoid.xml.xpp3.Attributes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelXmlLoaderTest {
+  private final Map<String, List<String>> includes = new HashMap<String, List<String>>();
+  private final List<String> parsed = Collections.synchronizedList(new ArrayList<String>());
+  private final Map<String, XmlType> results = Collections.synchronizedMap(new HashMap<String, XmlType>());
+  private ParallelXmlLoader parallelLoader;
+
+  @Before
+  public void before() {
+    includes.put("main.xml", list("a.xml", "b.xml"));
+    includes.put("a.xml", list("c.xml"));
+    parallelLoader = new ParallelXmlLoader(new FakeNiftyLoader(), 2);
+  }
+
+  @After
+  public void after() {
+    parallelLoader.shutdown();
+  }
+
+  @Test
+  public void testTakeReturnsParsedFile() throws Exception {
+    XmlType main = parallelLoader.take(ParallelXmlLoader.STYLES_SCHEMA, "main.xml");
+    assertSame(results.get("main.xml"), main);
+  }
+
+  @Test
+  public void testIncludesAreParsedInTheBackground() throws Exception {
+    parallelLoader.take(ParallelXmlLoader.STYLES_SCHEMA, "main.xml");
+    XmlType a = parallelLoader.take(ParallelXmlLoader.STYLES_SCHEMA, "a.xml");
+    XmlType c = parallelLoader.take(ParallelXmlLoader.STYLES_SCHEMA, "c.xml");
+    XmlType b = parallelLoader.take(ParallelXmlLoader.STYLES_SCHEMA, "b.xml");
+
+    assertSame(results.get("a.xml"), a);
+    assertSame(results.get("b.xml"), b);
+    assertSame(results.get("c.xml"), c);
+    assertEquals(4, parsed.size());
+    assertTrue(parsed.containsAll(list("main.xml", "a.xml", "b.xml", "c.xml")));
+  }
+
+  @Test
+  public void testFileIsParsedAgainAfterClear() throws Exception {
+    parallelLoader.take(ParallelXmlLoader.STYLES_SCHEMA, "main.xml");
+    parallelLoader.take(ParallelXmlLoader.STYLES_SCHEMA, "a.xml");
+    parallelLoader.clear();
+    parallelLoader.take(ParallelXmlLoader.STYLES_SCHEMA, "main.xml");
+    assertEquals(2, Collections.frequency(parsed, "main.xml"));
+  }
+
+  @Test
+  public void testParseExceptionIsRethrown() throws Exception {
+    try {
+      parallelLoader.take(ParallelXmlLoader.STYLES_SCHEMA, "missing.xml");
+      fail("expected exception");
+    } catch (IOException e) {
+      assertEquals("missing.xml", e.getMessage());
+    }
+  }
+
+  @Nonnull
+  private static List<String> list(@Nonnull final String... values) {
+    List<String> result = new ArrayList<String>();
+    Collections.addAll(result, values);
+    return result;
+  }
+
+  private class FakeNiftyLoader extends NiftyLoader {
+    FakeNiftyLoader() {
+      super((Nifty) null, new AccurateTimeProvider());
+    }
+
+    @Nonnull
+    @Override
+    XmlType parseFile(@Nonnull final String schemaId, @Nonnull final String filename) throws Exception {
+      if (filename.startsWith("missing")) {
+        throw new IOException(filename);
+      }
+      NiftyStylesType styles = new NiftyStylesType();
+      List<String> included = includes.get(filename);
+      if (included != null) {
+        for (String include : included) {
+          UseStylesType useStyles = new UseStylesType();
+          useStyles.applyAttributes(new Attributes("filename", include));
+          styles.addUseStyles(useStyles);
+        }
+      }
+      parsed.add(filename);
+      results.put(filename, styles);
+      return styles;
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package de.lessvoid.nifty.loaderv2;
+
+import de.lessvoid.nifty.loaderv2.compiled.CompiledXml;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class XmlDefinitionCacheTest {
+  @Test
+  public void testKeyDependsOnPrefixAndContent() throws Exception {
+    String key = XmlDefinitionCache.key("nifty.nxs", bytes("<nifty/>"));
+    assertEquals(key, XmlDefinitionCache.key("nifty.nxs", bytes("<nifty/>")));
+    assertFalse(key.equals(XmlDefinitionCache.key("nifty.nxs", bytes("<nifty />"))));
+    assertFalse(key.equals(XmlDefinitionCache.key("nifty-styles.nxs", bytes("<nifty/>"))));
+    assertTrue(key.startsWith("nifty.nxs:"));
+  }
+
+  @Test
+  public void testDefinitionsAreCountedAsHitsAndMisses() {
+    XmlDefinitionCache cache = new XmlDefinitionCache(4);
+    CompiledXml definition = createDefinition();
+    assertNull(cache.getDefinition("a"));
+    cache.putDefinition("a", definition);
+    assertSame(definition, cache.getDefinition("a"));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedDefinitionIsDropped() {
+    XmlDefinitionCache cache = new XmlDefinitionCache(2);
+    cache.putDefinition("a", createDefinition());
+    cache.putDefinition("b", createDefinition());
+    cache.getDefinition("a");
+    cache.putDefinition("c", createDefinition());
+
+    assertEquals(2, cache.getDefinitionCount());
+    assertNotNull(cache.getDefinition("a"));
+    assertNull(cache.getDefinition("b"));
+    assertNotNull(cache.getDefinition("c"));
+  }
+
+  @Test
+  public void testClear() {
+    XmlDefinitionCache cache = new XmlDefinitionCache(2);
+    cache.putDefinition("a", createDefinition());
+    cache.getDefinition("a");
+    cache.clear();
+    assertEquals(0, cache.getDefinitionCount());
+    assertEquals(0, cache.getHitCount());
+  }
+
+  @Nonnull
+  private static CompiledXml createDefinition() {
+    return new CompiledXml.Recorder("nifty.nxs").build();
+  }
+
+  @Nonnull
+  private static byte[] bytes(@Nonnull final String value) throws Exception {
+    return value.getBytes("UTF-8");
+  }
+}
@@ -0,0 +1,106 @@
+package de.lessvoid.nifty.loaderv2.compiled;
+
+import de.lessvoid.nifty.loaderv2.types.LayerType;
+import de.lessvoid.nifty.loaderv2.types.NiftyType;
+import de.lessvoid.nifty.loaderv2.types.PanelType;
+import de.lessvoid.nifty.loaderv2.types.ScreenType;
+import de.lessvoid.nifty.loaderv2.types.UseStylesType;
+import de.lessvoid.xml.lwxs.XmlType;
+import de.lessvoid.xml.xpp3.Attributes;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompiledXmlTest {
+  private NiftyType niftyType;
+  private CompiledXml.Recorder recorder;
+
+  @Before
+  public void setUp() {
+    // records the same calls the schema would make while loading:
+    // <nifty><useStyles filename="a.xml"/><useStyles filename="b.xml"/><screen id="start">
+    // <layer id="layer" childLayout="center"><panel id="panel" width="50%"/><panel id="other"/></layer></screen></nifty>
+    recorder = new CompiledXml.Recorder("nifty.nxs");
+    niftyType = new NiftyType();
+    created(niftyType, null, null);
+
+    UseStylesType a = new UseStylesType();
+    niftyType.addUseStyles(created(a, niftyType, "addUseStyles", "filename", "a.xml"));
+    UseStylesType b = new UseStylesType();
+    niftyType.addUseStyles(created(b, niftyType, "addUseStyles", "filename", "b.xml"));
+
+    ScreenType screen = new ScreenType();
+    niftyType.addScreen(created(screen, niftyType, "addScreen", "id", "start"));
+    LayerType layer = new LayerType();
+    screen.addLayer(created(layer, screen, "addLayer", "id", "layer", "childLayout", "center"));
+    layer.addPanel(created(new PanelType(), layer, "addPanel", "id", "panel", "width", "50%"));
+    layer.addPanel(created(new PanelType(), layer, "addPanel", "id", "other"));
+  }
+
+  @Test
+  public void testMaterializeCreatesTheSameTypes() throws Exception {
+    CompiledXml compiledXml = recorder.build();
+    assertEquals(7, compiledXml.getNodeCount());
+    assertEquals("nifty.nxs", compiledXml.getSchemaId());
+
+    XmlType result = compiledXml.materialize();
+    assertNotSame(niftyType, result);
+    assertEquals(niftyType.output(), ((NiftyType) result).output());
+  }
+
+  @Test
+  public void testBundleRoundTrip() throws Exception {
+    CompiledXmlBundle bundle = new CompiledXmlBundle();
+    bundle.add("main.xml", recorder.build());
+    bundle.add("a.xml", new CompiledXml.Recorder("nifty-styles.nxs").build());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    bundle.write(out);
+    CompiledXmlBundle read = CompiledXmlBundle.read(new ByteArrayInputStream(out.toByteArray()));
+
+    assertEquals(Arrays.asList("main.xml", "a.xml"), Arrays.asList(read.getFiles().keySet().toArray()));
+    assertEquals("nifty-styles.nxs", read.get("a.xml").getSchemaId());
+    assertEquals(niftyType.output(), ((NiftyType) read.getMain().materialize()).output());
+  }
+
+  @Test
+  public void testGetAttributeValues() {
+    CompiledXml compiledXml = recorder.build();
+    assertEquals(
+        Arrays.asList("a.xml", "b.xml"),
+        compiledXml.getAttributeValues(UseStylesType.class.getName(), "filename"));
+    assertTrue(compiledXml.getAttributeValues(ScreenType.class.getName(), "filename").isEmpty());
+  }
+
+  @Test(expected = IOException.class)
+  public void testReadRejectsOtherFiles() throws Exception {
+    CompiledXmlBundle.read(new ByteArrayInputStream("<nifty/>".getBytes("UTF-8")));
+  }
+
+  @Test(expected = Exception.class)
+  public void testMaterializeEmptyFails() throws Exception {
+    new CompiledXml.Recorder("nifty.nxs").build().materialize();
+  }
+
+  @Nonnull
+  private <T extends XmlType> T created(
+      @Nonnull final T xmlType,
+      @Nullable final XmlType parent,
+      @Nullable final String parentMethod,
+      @Nonnull final String... attributes) {
+    Attributes values = new Attributes(attributes);
+    xmlType.applyAttributes(values);
+    recorder.xmlTypeCreated(xmlType, xmlType.getClass().getName(), values, parent, parentMethod);
+    return xmlType;
+  }
+}
@@ -0,0 +1,168 @@
+package de.lessvoid.nifty.loaderv2.compiled;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.loaderv2.NiftyLoader;
+import de.lessvoid.nifty.loaderv2.types.NiftyType;
+import de.lessvoid.nifty.spi.input.InputSystem;
+import de.lessvoid.nifty.spi.render.RenderDevice;
+import de.lessvoid.nifty.spi.sound.SoundDevice;
+import de.lessvoid.nifty.spi.time.TimeProvider;
+import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
+import de.lessvoid.xml.lwxs.Schema;
+import de.lessvoid.xml.lwxs.XmlType;
+import de.lessvoid.xml.lwxs.XmlTypeListener;
+import de.lessvoid.xml.xpp3.Attributes;
+import de.lessvoid.xml.xpp3.XmlParser;
+import org.junit.Before;
+import org.junit.Test;
+import org.xmlpull.v1.XmlPullParserFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NiftyXmlCompilerTest {
+  private static final String PATH = "de/lessvoid/nifty/loaderv2/compiled/";
+  private static final String MAIN_FILE = PATH + "round-trip.xml";
+  private static final String STYLES_FILE = PATH + "round-trip-styles.xml";
+  private static final String CONTROLS_FILE = PATH + "round-trip-controls.xml";
+
+  private Nifty nifty;
+  private TimeProvider timeProvider;
+
+  @Before
+  public void before() {
+    RenderDevice renderDeviceMock = createNiceMock(RenderDevice.class);
+    expect(renderDeviceMock.getWidth()).andStubReturn(800);
+    expect(renderDeviceMock.getHeight()).andStubReturn(600);
+    SoundDevice soundDeviceMock = createNiceMock(SoundDevice.class);
+    InputSystem inputSystemMock = createNiceMock(InputSystem.class);
+    replay(renderDeviceMock, soundDeviceMock, inputSystemMock);
+
+    timeProvider = new AccurateTimeProvider();
+    nifty = new Nifty(renderDeviceMock, soundDeviceMock, inputSystemMock, timeProvider);
+  }
+
+  @Test
+  public void testCompileIncludesReferencedFiles() throws Exception {
+    CompiledXmlBundle bundle = new NiftyXmlCompiler(nifty.getResourceLoader()).compile(MAIN_FILE);
+
+    assertEquals(
+        Arrays.asList(MAIN_FILE, STYLES_FILE, CONTROLS_FILE),
+        Arrays.asList(bundle.getFiles().keySet().toArray()));
+    assertEquals("nifty.nxs", bundle.getMain().getSchemaId());
+    assertEquals("nifty-styles.nxs", bundle.get(STYLES_FILE).getSchemaId());
+    assertEquals("nifty-controls.nxs", bundle.get(CONTROLS_FILE).getSchemaId());
+  }
+
+  @Test
+  public void testCompiledXmlLoadsTheSameAsTheXml() throws Exception {
+    NiftyType expected = createLoader().loadNiftyXml("nifty.nxs", nifty.getResourceAsStream(MAIN_FILE));
+
+    CompiledXmlBundle bundle = new NiftyXmlCompiler(nifty.getResourceLoader()).compile(MAIN_FILE);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    bundle.write(out);
+    NiftyType actual = createLoader().loadCompiledNiftyXml(new ByteArrayInputStream(out.toByteArray()));
+
+    String output = actual.output();
+    assertTrue(output.contains("round-trip-panel#text"));
+    assertTrue(output.contains("roundTripButton"));
+    assertEquals(expected.output(), output);
+  }
+
+  @Test
+  public void testSchemaReportsEveryTypeToTheListener() throws Exception {
+    RecordingListener listener = new RecordingListener();
+    NiftyType niftyType = (NiftyType) loadXml(MAIN_FILE, listener);
+
+    assertSame(niftyType, listener.types.get(0));
+    assertNull(listener.parents.get(0));
+    for (int i = 1; i < listener.types.size(); i++) {
+      XmlType parent = listener.parents.get(i);
+      assertTrue(listener.types.indexOf(parent) >= 0 && listener.types.indexOf(parent) < i);
+    }
+    // the parent methods are reported the way the schema names them, "add" or "set" and the xml element name
+    assertTrue(listener.links.contains("NiftyType.adduseStyles(UseStylesType)"));
+    assertTrue(listener.links.contains("NiftyType.addscreen(ScreenType)"));
+    assertTrue(listener.links.contains("LayerType.addpanel(PanelType)"));
+    assertTrue(listener.links.contains("PanelType.addcontrol(ControlType)"));
+    assertTrue(listener.links.contains("StyleType.seteffect(EffectsType)"));
+    assertTrue(listener.attributes.contains("title text=Round trip"));
+
+    CompiledXmlBundle bundle = new NiftyXmlCompiler(nifty.getResourceLoader()).compile(MAIN_FILE);
+    assertEquals(listener.types.size(), bundle.getMain().getNodeCount());
+  }
+
+  @Nonnull
+  private NiftyLoader createLoader() throws Exception {
+    NiftyLoader niftyLoader = new NiftyLoader(nifty, timeProvider);
+    niftyLoader.registerSchema("nifty.nxs", nifty.getResourceAsStream("nifty.nxs"));
+    niftyLoader.registerSchema("nifty-styles.nxs", nifty.getResourceAsStream("nifty-styles.nxs"));
+    niftyLoader.registerSchema("nifty-controls.nxs", nifty.getResourceAsStream("nifty-controls.nxs"));
+    return niftyLoader;
+  }
+
+  @Nonnull
+  private XmlType loadXml(@Nonnull final String filename, @Nonnull final XmlTypeListener listener) throws Exception {
+    XmlPullParserFactory parserFactory = XmlPullParserFactory.newInstance();
+    parserFactory.setNamespaceAware(true);
+    Schema schema = new Schema(parserFactory, nifty.getResourceLoader());
+    InputStream schemaStream = nifty.getResourceAsStream("nifty.nxs");
+    try {
+      XmlParser parser = new XmlParser(parserFactory.newPullParser());
+      parser.read(schemaStream);
+      parser.nextTag();
+      parser.required("nxs", schema);
+    } finally {
+      schemaStream.close();
+    }
+
+    InputStream xmlStream = nifty.getResourceAsStream(filename);
+    try {
+      XmlParser parser = new XmlParser(parserFactory.newPullParser());
+      parser.read(xmlStream);
+      return schema.loadXml(parser, listener);
+    } finally {
+      xmlStream.close();
+    }
+  }
+
+  private static class RecordingListener implements XmlTypeListener {
+    private final List<XmlType> types = new ArrayList<XmlType>();
+    private final List<XmlType> parents = new ArrayList<XmlType>();
+    private final List<String> links = new ArrayList<String>();
+    private final List<String> attributes = new ArrayList<String>();
+
+    @Override
+    public void xmlTypeCreated(
+        @Nonnull final XmlType xmlType,
+        @Nonnull final String className,
+        @Nonnull final Attributes xmlAttributes,
+        @Nullable final XmlType parent,
+        @Nullable final String parentMethod) {
+      assertEquals(xmlType.getClass().getName(), className);
+      types.add(xmlType);
+      parents.add(parent);
+      if (parent != null) {
+        links.add(parent.getClass().getSimpleName() + "." + parentMethod + "(" + xmlType.getClass().getSimpleName() +
+            ")");
+      }
+      if (xmlAttributes.isSet("text")) {
+        attributes.add(xmlAttributes.get("id") + " text=" + xmlAttributes.get("text"));
+      }
+    }
+  }
+}
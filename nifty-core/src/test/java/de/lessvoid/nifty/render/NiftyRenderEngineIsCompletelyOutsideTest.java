@@ -0,0 +1,59 @@
+package de.lessvoid.nifty.render;
+
+import de.lessvoid.nifty.spi.render.RenderDevice;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NiftyRenderEngineIsCompletelyOutsideTest {
+  private NiftyRenderEngineImpl engine;
+
+  @Before
+  public void before() {
+    RenderDevice renderDeviceMock = createNiceMock(RenderDevice.class);
+    expect(renderDeviceMock.getWidth()).andReturn(800).anyTimes();
+    expect(renderDeviceMock.getHeight()).andReturn(600).anyTimes();
+    replay(renderDeviceMock);
+    engine = new NiftyRenderEngineImpl(renderDeviceMock);
+  }
+
+  @Test
+  public void testInsideDisplay() {
+    assertFalse(engine.isCompletelyOutside(10, 10, 100, 100));
+    assertFalse(engine.isCompletelyOutside(-50, -50, 10, 10));
+    assertFalse(engine.isCompletelyOutside(-100, -100, 1000, 1000));
+  }
+
+  @Test
+  public void testOutsideDisplay() {
+    assertTrue(engine.isCompletelyOutside(900, 10, 1000, 100));
+    assertTrue(engine.isCompletelyOutside(10, 700, 100, 800));
+    assertTrue(engine.isCompletelyOutside(-100, 10, -50, 100));
+    assertTrue(engine.isCompletelyOutside(10, -100, 100, -50));
+  }
+
+  @Test
+  public void testClip() {
+    engine.enableClip(100, 100, 200, 200);
+    assertFalse(engine.isCompletelyOutside(150, 150, 160, 160));
+    assertFalse(engine.isCompletelyOutside(50, 50, 150, 150));
+    assertTrue(engine.isCompletelyOutside(300, 300, 400, 400));
+    assertTrue(engine.isCompletelyOutside(10, 10, 50, 50));
+
+    engine.disableClip();
+    assertFalse(engine.isCompletelyOutside(300, 300, 400, 400));
+  }
+
+  @Test
+  public void testCurrentPosition() {
+    engine.enableClip(0, 0, 100, 100);
+    engine.moveToRelative(0, 500);
+    assertTrue(engine.isCompletelyOutside(0, 0, 50, 50));
+    assertFalse(engine.isCompletelyOutside(0, -480, 50, -450));
+  }
+}
@@ -0,0 +1,89 @@
+package de.lessvoid.nifty.render;
+
+import de.lessvoid.nifty.spi.render.RenderDevice;
+import de.lessvoid.nifty.spi.render.RenderFont;
+import de.lessvoid.nifty.tools.Color;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NiftyRenderEngineSaveStatesTest {
+  private NiftyRenderEngineImpl engine;
+  private RenderFont font1;
+  private RenderFont font2;
+
+  @Before
+  public void before() {
+    RenderDevice renderDeviceMock = createNiceMock(RenderDevice.class);
+    replay(renderDeviceMock);
+    font1 = createNiceMock(RenderFont.class);
+    font2 = createNiceMock(RenderFont.class);
+    replay(font1, font2);
+    engine = new NiftyRenderEngineImpl(renderDeviceMock);
+  }
+
+  @Test
+  public void testRestoreChangedStates() {
+    engine.setFont(font1);
+    engine.saveStates();
+    engine.setFont(font2);
+    engine.setColor(Color.WHITE);
+    assertSame(font2, engine.getFont());
+    assertTrue(engine.isColorChanged());
+
+    engine.restoreStates();
+    assertSame(font1, engine.getFont());
+    assertFalse(engine.isColorChanged());
+    assertFalse(engine.isColorAlphaChanged());
+  }
+
+  @Test
+  public void testRestoreOnlyStatesChangedAtThisLevel() {
+    engine.saveStates();
+    engine.setFont(font1);
+    engine.saveStates();
+    engine.setColorAlpha(0.5f);
+    engine.restoreStates();
+    assertSame(font1, engine.getFont());
+    assertFalse(engine.isColorAlphaChanged());
+
+    engine.restoreStates();
+    assertNull(engine.getFont());
+  }
+
+  @Test
+  public void testStateChangedTwiceRestoresFirstValue() {
+    engine.setFont(font1);
+    engine.saveStates();
+    engine.setFont(font2);
+    engine.setFont(null);
+    engine.restoreStates();
+    assertSame(font1, engine.getFont());
+  }
+
+  @Test
+  public void testDeepNesting() {
+    RenderFont[] fonts = new RenderFont[100];
+    for (int i = 0; i < fonts.length; i++) {
+      fonts[i] = createNiceMock(RenderFont.class);
+      engine.saveStates();
+      engine.setFont(fonts[i]);
+    }
+    for (int i = fonts.length - 1; i >= 0; i--) {
+      assertSame(fonts[i], engine.getFont());
+      engine.restoreStates();
+    }
+    assertNull(engine.getFont());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRestoreWithoutSave() {
+    engine.restoreStates();
+  }
+}
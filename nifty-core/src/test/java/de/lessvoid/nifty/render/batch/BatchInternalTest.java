@@ -0,0 +1,104 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.render.batch.spi.BufferFactory;
+import de.lessvoid.nifty.render.batch.spi.GL;
+import de.lessvoid.nifty.render.batch.spi.IndexedGL;
+import de.lessvoid.nifty.tools.Color;
+import org.easymock.Capture;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+import static org.easymock.EasyMock.anyInt;
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
+
+public class BatchInternalTest {
+  private static final int GL_TRIANGLES = 4;
+  private static final int GL_UNSIGNED_SHORT = 5123;
+  private static final int ATTRIBUTES_PER_VERTEX = 8;
+
+  @Test
+  public void testIndexedQuads() {
+    IndexedGL gl = createNiceMock(IndexedGL.class);
+    expect(gl.GL_TRIANGLES()).andStubReturn(GL_TRIANGLES);
+    expect(gl.GL_UNSIGNED_SHORT()).andStubReturn(GL_UNSIGNED_SHORT);
+    Capture<FloatBuffer> vertices = new Capture<FloatBuffer>();
+    gl.glVertexPointer(eq(2), anyInt(), eq(ATTRIBUTES_PER_VERTEX * 4), capture(vertices));
+    Capture<ShortBuffer> indices = new Capture<ShortBuffer>();
+    gl.glDrawElements(eq(GL_TRIANGLES), eq(12), eq(GL_UNSIGNED_SHORT), capture(indices));
+    replay(gl);
+
+    BufferFactory bufferFactory = new DirectBufferFactory();
+    BatchInternal batch = new BatchInternal(gl, bufferFactory, BatchInternal.createQuadIndexBuffer(bufferFactory));
+    renderTwoQuads(batch);
+    verify(gl);
+
+    // 4 vertices per quad
+    FloatBuffer vertexBuffer = vertices.getValue();
+    assertEquals(2 * 4 * ATTRIBUTES_PER_VERTEX, vertexBuffer.limit());
+    assertVertex(vertexBuffer, 0, 10.f, 20.f);
+    assertVertex(vertexBuffer, 1, 110.f, 20.f);
+    assertVertex(vertexBuffer, 2, 110.f, 70.f);
+    assertVertex(vertexBuffer, 3, 10.f, 70.f);
+    assertVertex(vertexBuffer, 4, 200.f, 300.f);
+
+    ShortBuffer indexBuffer = indices.getValue();
+    assertEquals(0, indexBuffer.position());
+    assertEquals(12, indexBuffer.limit());
+    short[] expected = new short[] { 0, 1, 2, 0, 2, 3, 4, 5, 6, 4, 6, 7 };
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], indexBuffer.get(i));
+    }
+  }
+
+  @Test
+  public void testTrianglesWithoutIndexedGL() {
+    GL gl = createNiceMock(GL.class);
+    expect(gl.GL_TRIANGLES()).andStubReturn(GL_TRIANGLES);
+    Capture<FloatBuffer> vertices = new Capture<FloatBuffer>();
+    gl.glVertexPointer(eq(2), anyInt(), eq(ATTRIBUTES_PER_VERTEX * 4), capture(vertices));
+    gl.glDrawArrays(GL_TRIANGLES, 0, 12);
+    replay(gl);
+
+    BufferFactory bufferFactory = new DirectBufferFactory();
+    BatchInternal batch = new BatchInternal(gl, bufferFactory, BatchInternal.createQuadIndexBuffer(bufferFactory));
+    renderTwoQuads(batch);
+    verify(gl);
+
+    // the two triangles (0, 1, 2) and (3, 0, 2) of each quad
+    FloatBuffer vertexBuffer = vertices.getValue();
+    assertEquals(2 * 6 * ATTRIBUTES_PER_VERTEX, vertexBuffer.limit());
+    assertVertex(vertexBuffer, 0, 10.f, 20.f);
+    assertVertex(vertexBuffer, 1, 110.f, 20.f);
+    assertVertex(vertexBuffer, 2, 110.f, 70.f);
+    assertVertex(vertexBuffer, 3, 10.f, 70.f);
+    assertVertex(vertexBuffer, 4, 10.f, 20.f);
+    assertVertex(vertexBuffer, 5, 110.f, 70.f);
+    assertVertex(vertexBuffer, 6, 200.f, 300.f);
+  }
+
+  private void renderTwoQuads(@Nonnull final BatchInternal batch) {
+    batch.begin(BlendMode.BLEND, 1);
+    batch.addQuad(10.f, 20.f, 100.f, 50.f, Color.WHITE, Color.WHITE, Color.WHITE, Color.WHITE, 0.f, 0.f, 1.f, 1.f);
+    batch.addQuad(200.f, 300.f, 10.f, 10.f, Color.BLACK, Color.BLACK, Color.BLACK, Color.BLACK, 0.f, 0.f, 1.f, 1.f);
+    batch.render();
+  }
+
+  private void assertVertex(
+      @Nonnull final FloatBuffer vertexBuffer,
+      final int vertex,
+      final float expectedX,
+      final float expectedY) {
+    assertEquals(expectedX, vertexBuffer.get(vertex * ATTRIBUTES_PER_VERTEX), 0.f);
+    assertEquals(expectedY, vertexBuffer.get(vertex * ATTRIBUTES_PER_VERTEX + 1), 0.f);
+  }
+}
@@ -0,0 +1,143 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.tools.Color;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BatchRenderDeviceAsyncImageTest {
+  private static final long TIMEOUT_MS = 5000;
+  private RecordingBatchRenderBackend backend;
+  private BatchRenderDevice renderDevice;
+
+  @Before
+  public void before() {
+    backend = new RecordingBatchRenderBackend();
+    backend.decodeGate = new CountDownLatch(1);
+    BatchRenderConfiguration config = new BatchRenderConfiguration();
+    config.asyncImageLoading = true;
+    config.asyncImageUploadTimePerFrame = 0;
+    config.asyncImageLoadingThreads = 1;
+    renderDevice = new BatchRenderDevice(backend, config);
+  }
+
+  @Test
+  public void testImageIsDecodedInTheBackground() throws Exception {
+    BatchRenderImage image = (BatchRenderImage) renderDevice.createImage("image.png", true);
+    assertTrue(backend.loadStarted.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+    assertFalse(image.isDecoded());
+    assertFalse(image.isLoaded());
+
+    backend.decodeGate.countDown();
+    assertEquals(16, image.getWidth());
+    assertEquals(8, image.getHeight());
+    assertTrue(image.isDecoded());
+    assertFalse(image.isLoaded());
+  }
+
+  @Test
+  public void testImageIsNotRenderedUntilUploaded() throws Exception {
+    BatchRenderImage image = (BatchRenderImage) renderDevice.createImage("image.png", true);
+    renderFrame(image);
+    assertEquals(0, backend.imageQuads);
+    assertEquals(1, renderDevice.getPendingImageUploadCount());
+
+    backend.decodeGate.countDown();
+    image.getWidth();
+    renderFrame(image);
+    assertTrue(image.isUploaded());
+    assertTrue(image.isLoaded());
+    assertEquals(1, backend.imageQuads);
+    assertEquals(0, renderDevice.getPendingImageUploadCount());
+  }
+
+  @Test
+  public void testLoadedCallback() throws Exception {
+    final List<String> calls = new ArrayList<String>();
+    BatchRenderImage image = (BatchRenderImage) renderDevice.createImage("image.png", true);
+    image.whenLoaded(new Runnable() {
+      @Override
+      public void run() {
+        calls.add("loaded");
+      }
+    });
+    backend.decodeGate.countDown();
+    image.getWidth();
+    image.upload();
+    assertEquals(0, calls.size());
+
+    renderDevice.beginFrame();
+    assertEquals(1, calls.size());
+
+    image.whenLoaded(new Runnable() {
+      @Override
+      public void run() {
+        calls.add("already loaded");
+      }
+    });
+    assertEquals(2, calls.size());
+  }
+
+  @Test
+  public void testUploadsAreSpreadOverFrames() throws Exception {
+    backend.decodeGate.countDown();
+    BatchRenderImage first = (BatchRenderImage) renderDevice.createImage("first.png", true);
+    BatchRenderImage second = (BatchRenderImage) renderDevice.createImage("second.png", true);
+    first.getWidth();
+    second.getWidth();
+    first.upload();
+    second.upload();
+    int uploadsBefore = backend.atlasUploads;
+
+    renderDevice.beginFrame();
+    assertEquals(uploadsBefore + 1, backend.atlasUploads);
+    assertTrue(first.isUploaded());
+    assertFalse(second.isUploaded());
+
+    renderDevice.beginFrame();
+    assertEquals(uploadsBefore + 2, backend.atlasUploads);
+    assertTrue(second.isUploaded());
+  }
+
+  @Test
+  public void testDisposeCompletesImagesThatAreNotDecodedYet() throws Exception {
+    BatchRenderImage first = (BatchRenderImage) renderDevice.createImage("first.png", true);
+    BatchRenderImage second = (BatchRenderImage) renderDevice.createImage("second.png", true);
+    assertTrue(backend.loadStarted.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+    renderDevice.dispose();
+    assertEquals(0, second.getWidth());
+    assertTrue(second.isDecoded());
+
+    // the decoding that was already running is interrupted but still finishes
+    assertEquals(16, first.getWidth());
+    renderFrame(first);
+    renderFrame(first);
+    assertTrue(first.isUploaded());
+  }
+
+  @Test
+  public void testImagesAreLoadedImmediatelyAfterDispose() {
+    renderDevice.dispose();
+    backend.decodeGate.countDown();
+    BatchRenderImage image = (BatchRenderImage) renderDevice.createImage("image.png", true);
+    assertFalse(image.isLoadedAsync());
+    assertEquals(16, image.getWidth());
+  }
+
+  private void renderFrame(@Nonnull final BatchRenderImage image) {
+    renderDevice.beginFrame();
+    backend.imageQuads = 0;
+    renderDevice.renderImage(image, 0, 0, 16, 8, Color.WHITE, 1.f);
+    renderDevice.endFrame();
+  }
+}
@@ -0,0 +1,181 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.render.NiftyImageManagerExtBatch;
+import de.lessvoid.nifty.render.NiftyImageManagerExtBatch.ReferencedCountedImageBatch;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.tools.Color;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BatchRenderDevicePersistentAtlasTest {
+  private RecordingBatchRenderBackend backend;
+  private BatchRenderDevice renderDevice;
+
+  @Before
+  public void before() {
+    backend = new RecordingBatchRenderBackend();
+    backend.imageSizes.put("wide.png", new int[]{64, 32});
+    renderDevice = new BatchRenderDevice(backend, createConfig(true, true));
+  }
+
+  @Test
+  public void testPersistentTextureAtlasesRequireDisposingImages() {
+    assertTrue(renderDevice.hasPersistentTextureAtlases());
+    assertFalse(new BatchRenderDevice(backend, createConfig(false, true)).hasPersistentTextureAtlases());
+    assertFalse(new BatchRenderDevice(backend, createConfig(true, false)).hasPersistentTextureAtlases());
+  }
+
+  @Test
+  public void testReleasedImagesStayInAtlas() {
+    BatchRenderImage image = createRetainedImage("a.png");
+    renderDevice.releaseImage(image);
+    render(createRetainedImage("b.png"));
+    assertTrue(image.isUploaded());
+    assertEquals(0, backend.atlasRemovals);
+  }
+
+  @Test
+  public void testLeastRecentlyUsedImageIsEvictedWhenAtlasIsFull() {
+    BatchRenderImage a = createRetainedImage("a.png");
+    BatchRenderImage b = createRetainedImage("b.png");
+    createRetainedImage("c.png");
+    createRetainedImage("d.png");
+    renderDevice.releaseImage(a);
+    renderDevice.releaseImage(b);
+
+    BatchRenderImage e = createRetainedImage("e.png");
+    assertTrue(e.isUploaded());
+    assertFalse(a.isUploaded());
+    assertTrue(b.isUploaded());
+    assertEquals(1, backend.atlasRemovals);
+    assertEquals(1, backend.atlasesCreated);
+  }
+
+  @Test
+  public void testRetainedImagesAreNotEvicted() {
+    for (String name : new String[]{"a.png", "b.png", "c.png", "d.png", "e.png"}) {
+      assertTrue(createRetainedImage(name).isUploaded());
+    }
+    assertEquals(0, backend.atlasRemovals);
+    assertEquals(2, backend.atlasesCreated);
+  }
+
+  @Test
+  public void testImageIsReleasedOnlyWhenAllScreensReleasedIt() {
+    BatchRenderImage a = createRetainedImage("a.png");
+    renderDevice.retainImage(a);
+    renderDevice.releaseImage(a);
+    createRetainedImage("b.png");
+    createRetainedImage("c.png");
+    createRetainedImage("d.png");
+    createRetainedImage("e.png");
+    assertTrue(a.isUploaded());
+    assertEquals(2, backend.atlasesCreated);
+  }
+
+  @Test
+  public void testAtlasIsRebuiltWhenEvictingImagesDoesNotMakeEnoughRoom() {
+    BatchRenderImage a = createRetainedImage("a.png");
+    BatchRenderImage b = createRetainedImage("b.png");
+    BatchRenderImage c = createRetainedImage("c.png");
+    BatchRenderImage d = createRetainedImage("d.png");
+    assertEquals(0, a.getX());
+    assertEquals(32, b.getX());
+    assertEquals(32, c.getY());
+    renderDevice.releaseImage(a);
+    renderDevice.releaseImage(d);
+    int uploadsBefore = backend.atlasUploads;
+
+    BatchRenderImage wide = createRetainedImage("wide.png");
+    assertTrue(wide.isUploaded());
+    assertEquals(2, backend.atlasRemovals);
+    assertEquals(1, backend.atlasClears);
+    assertEquals(1, backend.atlasesCreated);
+    assertEquals(uploadsBefore + 3, backend.atlasUploads);
+    assertEquals(0, b.getX());
+    assertEquals(0, b.getY());
+    assertEquals(32, c.getX());
+    assertEquals(0, c.getY());
+    assertEquals(0, wide.getX());
+    assertEquals(32, wide.getY());
+  }
+
+  @Test
+  public void testResetTextureAtlasesForgetsReleasedImages() {
+    BatchRenderImage a = createRetainedImage("a.png");
+    renderDevice.releaseImage(a);
+    renderDevice.resetTextureAtlases();
+    a.markAsUnloaded();
+    assertFalse(a.isUploaded());
+    assertEquals(1, backend.atlasClears);
+  }
+
+  @Test
+  public void testUnregisteredImageIsForgotten() {
+    Screen screen = createNiceMock(Screen.class);
+    expect(screen.getScreenId()).andStubReturn("screen");
+    replay(screen);
+    NiftyImageManagerExtBatch imageManager = new NiftyImageManagerExtBatch();
+    BatchRenderImage image = (BatchRenderImage) renderDevice.createImage("a.png", true);
+    ReferencedCountedImageBatch reference = imageManager.createReferencedCountedImage(
+        renderDevice, screen, "a.png", true, image, "a.png");
+    imageManager.registerImage(screen, reference);
+    imageManager.uploadScreenImages(screen);
+    assertTrue(image.isUploaded());
+    assertEquals(1, renderDevice.getResidency().getReferencedCount());
+
+    imageManager.unregisterImage(reference);
+    assertFalse(image.isUploaded());
+    assertEquals(0, renderDevice.getResidency().getReferencedCount());
+    assertEquals(0, renderDevice.getResidency().getUnreferencedCount());
+  }
+
+  @Test
+  public void testEvictedImageIsForgotten() {
+    BatchRenderImage a = createRetainedImage("a.png");
+    renderDevice.releaseImage(a);
+    assertEquals(1, renderDevice.getResidency().getUnreferencedCount());
+    a.unload();
+    assertEquals(0, renderDevice.getResidency().getUnreferencedCount());
+  }
+
+  @Nonnull
+  private static BatchRenderConfiguration createConfig(
+      final boolean persistentTextureAtlases,
+      final boolean disposeImagesBetweenScreens) {
+    BatchRenderConfiguration config = new BatchRenderConfiguration();
+    config.atlasWidth = 64;
+    config.atlasHeight = 64;
+    config.atlasPadding = 0;
+    config.atlasTolerance = 1.f;
+    config.persistentTextureAtlases = persistentTextureAtlases;
+    config.disposeImagesBetweenScreens = disposeImagesBetweenScreens;
+    return config;
+  }
+
+  @Nonnull
+  private BatchRenderImage createRetainedImage(@Nonnull final String filename) {
+    if (!backend.imageSizes.containsKey(filename)) {
+      backend.imageSizes.put(filename, new int[]{32, 32});
+    }
+    BatchRenderImage image = (BatchRenderImage) renderDevice.createImage(filename, true);
+    renderDevice.retainImage(image);
+    render(image);
+    return image;
+  }
+
+  private void render(@Nonnull final BatchRenderImage image) {
+    renderDevice.beginFrame();
+    renderDevice.renderImage(image, 0, 0, image.getWidth(), image.getHeight(), Color.WHITE, 1.f);
+    renderDevice.endFrame();
+  }
+}
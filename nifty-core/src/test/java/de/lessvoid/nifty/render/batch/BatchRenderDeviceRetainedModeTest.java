@@ -0,0 +1,164 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.NiftyFrameStats;
+import de.lessvoid.nifty.tools.Color;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchRenderDeviceRetainedModeTest {
+  private RecordingBatchRenderBackend retainedBackend;
+  private BatchRenderDevice retainedDevice;
+  private BatchRenderImage retainedImage;
+  private RecordingBatchRenderBackend immediateBackend;
+  private BatchRenderDevice immediateDevice;
+  private BatchRenderImage immediateImage;
+
+  @Before
+  public void before() {
+    retainedBackend = new RecordingBatchRenderBackend();
+    retainedDevice = new BatchRenderDevice(retainedBackend, createConfig(true));
+    retainedImage = (BatchRenderImage) retainedDevice.createImage("image.png", true);
+
+    immediateBackend = new RecordingBatchRenderBackend();
+    immediateDevice = new BatchRenderDevice(immediateBackend, createConfig(false));
+    immediateImage = (BatchRenderImage) immediateDevice.createImage("image.png", true);
+  }
+
+  @Test
+  public void testReplayedFrameMatchesImmediateFrame() {
+    Scene scene = new Scene();
+    assertSameQuads(scene);
+    assertRetained(6, 0);
+
+    assertSameQuads(scene);
+    assertRetained(6, 6);
+  }
+
+  @Test
+  public void testChangedPositionIsRecordedAgain() {
+    Scene scene = new Scene();
+    assertSameQuads(scene);
+
+    scene.x = 15;
+    assertSameQuads(scene);
+    assertRetained(6, 0);
+
+    assertSameQuads(scene);
+    assertRetained(6, 6);
+  }
+
+  @Test
+  public void testChangedColorIsRecordedAgain() {
+    Scene scene = new Scene();
+    assertSameQuads(scene);
+
+    scene.color = new Color(0.5f, 0.25f, 1.f, 0.75f);
+    assertSameQuads(scene);
+    assertRetained(6, 1);
+  }
+
+  @Test
+  public void testChangedClippingIsRecordedAgain() {
+    Scene scene = new Scene();
+    assertSameQuads(scene);
+
+    scene.clipX1 = 30;
+    assertSameQuads(scene);
+    assertRetained(6, 3);
+  }
+
+  @Test
+  public void testChangedCallOnlyInvalidatesItsOwnSlot() {
+    Scene scene = new Scene();
+    assertSameQuads(scene);
+
+    scene.scale = 2.f;
+    assertSameQuads(scene);
+    assertRetained(6, 5);
+  }
+
+  @Test
+  public void testInsertedCallKeepsLaterCallsReplayed() {
+    Scene scene = new Scene();
+    assertSameQuads(scene);
+
+    scene.insertQuad = true;
+    assertSameQuads(scene);
+    assertRetained(7, 6);
+
+    scene.insertQuad = false;
+    assertSameQuads(scene);
+    assertRetained(6, 6);
+  }
+
+  @Test
+  public void testResetTextureAtlasesInvalidatesAllCalls() {
+    Scene scene = new Scene();
+    assertSameQuads(scene);
+
+    retainedDevice.resetTextureAtlases();
+    immediateDevice.resetTextureAtlases();
+    assertSameQuads(scene);
+    assertRetained(6, 0);
+  }
+
+  private void assertSameQuads(@Nonnull final Scene scene) {
+    List<String> expected = renderFrame(immediateDevice, immediateBackend, immediateImage, scene);
+    List<String> actual = renderFrame(retainedDevice, retainedBackend, retainedImage, scene);
+    assertTrue(expected.size() > 0);
+    assertEquals(expected, actual);
+  }
+
+  private void assertRetained(final int expectedCalls, final int expectedReplays) {
+    NiftyFrameStats frameStats = new NiftyFrameStats();
+    retainedDevice.addFrameStats(frameStats);
+    assertEquals(expectedCalls, frameStats.getRetainedCalls());
+    assertEquals(expectedReplays, frameStats.getRetainedReplays());
+  }
+
+  @Nonnull
+  private List<String> renderFrame(
+      @Nonnull final BatchRenderDevice renderDevice,
+      @Nonnull final RecordingBatchRenderBackend backend,
+      @Nonnull final BatchRenderImage image,
+      @Nonnull final Scene scene) {
+    renderDevice.beginFrame();
+    backend.quads.clear();
+    if (scene.insertQuad) {
+      renderDevice.renderQuad(0, 0, 5, 5, Color.BLACK);
+    }
+    renderDevice.renderQuad(scene.x, 10, 100, 50, scene.color);
+    renderDevice.renderQuad(scene.x, 70, 100, 50, Color.WHITE, scene.color, Color.BLACK, scene.color);
+    renderDevice.enableClip(0, 0, scene.clipX1, 600);
+    renderDevice.renderQuad(scene.x, 130, 100, 50, scene.color);
+    renderDevice.renderImage(image, scene.x, 200, 16, 8, scene.color, 1.f);
+    renderDevice.renderImage(image, scene.x, 220, 8, 8, 4, 0, 8, 8, scene.color, 1.f, 0, 0);
+    renderDevice.disableClip();
+    renderDevice.renderImage(image, scene.x, 300, 16, 8, Color.WHITE, scene.scale);
+    renderDevice.endFrame();
+    return new ArrayList<String>(backend.quads);
+  }
+
+  @Nonnull
+  private static BatchRenderConfiguration createConfig(final boolean useRetainedMode) {
+    BatchRenderConfiguration config = new BatchRenderConfiguration();
+    config.useRetainedMode = useRetainedMode;
+    return config;
+  }
+
+  private static class Scene {
+    private int x = 10;
+    @Nonnull
+    private Color color = Color.WHITE;
+    private int clipX1 = 800;
+    private float scale = 1.f;
+    private boolean insertQuad;
+  }
+}
@@ -0,0 +1,28 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.render.batch.spi.BufferFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * A BufferFactory that creates direct buffers in native byte order, like the ones of the renderer modules.
+ */
+public class DirectBufferFactory implements BufferFactory {
+  @Override
+  public ByteBuffer createNativeOrderedByteBuffer(final int numBytes) {
+    return ByteBuffer.allocateDirect(numBytes).order(ByteOrder.nativeOrder());
+  }
+
+  @Override
+  public FloatBuffer createNativeOrderedFloatBuffer(final int numFloats) {
+    return createNativeOrderedByteBuffer(numFloats * 4).asFloatBuffer();
+  }
+
+  @Override
+  public IntBuffer createNativeOrderedIntBuffer(final int numInts) {
+    return createNativeOrderedByteBuffer(numInts * 4).asIntBuffer();
+  }
+}
@@ -0,0 +1,70 @@
+package de.lessvoid.nifty.render.batch;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class GlyphTableTest {
+  private final GlyphTable<String> table = new GlyphTable<String>();
+
+  @Test
+  public void testEmptyTable() {
+    assertNull(table.get('a'));
+    assertNull(table.get(0x4e2d));
+    assertNull(table.get(-1));
+    assertEquals(0, table.size());
+  }
+
+  @Test
+  public void testDenseCodePoints() {
+    table.put('a', "a");
+    table.put(0, "zero");
+    table.put(GlyphTable.DENSE_CODE_POINTS - 1, "last");
+    assertEquals("a", table.get('a'));
+    assertEquals("zero", table.get(0));
+    assertEquals("last", table.get(GlyphTable.DENSE_CODE_POINTS - 1));
+    assertNull(table.get('b'));
+    assertEquals(3, table.size());
+  }
+
+  @Test
+  public void testSparseCodePoints() {
+    table.put(0x4e2d, "zhong");
+    table.put(0xfffd, "replacement");
+    table.put(0x1f600, "smiley");
+    assertEquals("zhong", table.get(0x4e2d));
+    assertEquals("replacement", table.get(0xfffd));
+    assertEquals("smiley", table.get(0x1f600));
+    assertNull(table.get(0x4e2e));
+    assertEquals(3, table.size());
+  }
+
+  @Test
+  public void testReplace() {
+    table.put('a', "a");
+    table.put('a', "A");
+    table.put(0x4e2d, "zhong");
+    table.put(0x4e2d, "ZHONG");
+    assertEquals("A", table.get('a'));
+    assertEquals("ZHONG", table.get(0x4e2d));
+    assertEquals(2, table.size());
+  }
+
+  @Test
+  public void testManySparseCodePoints() {
+    for (int c = 0x4e00; c < 0x5e00; c++) {
+      table.put(c, Integer.toHexString(c));
+    }
+    for (int c = 0x4e00; c < 0x5e00; c++) {
+      assertEquals(Integer.toHexString(c), table.get(c));
+    }
+    assertEquals(0x1000, table.size());
+    assertNull(table.get(0x5e00));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeCodePoint() {
+    table.put(-1, "invalid");
+  }
+}
@@ -0,0 +1,90 @@
+package de.lessvoid.nifty.render.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import de.lessvoid.nifty.render.batch.TextureAtlasGenerator.Result;
+
+import org.junit.Test;
+
+public class MaxRectsAtlasPackerTest {
+  @Test
+  public void testFirstImageIsPutIntoTopLeftCorner() {
+    MaxRectsAtlasPacker packer = new MaxRectsAtlasPacker(100, 100, 5);
+    Result result = packer.insert(30, 20);
+    assertNotNull(result);
+    assertEquals(0, result.getX());
+    assertEquals(0, result.getY());
+    assertEquals(30, result.getOriginalImageWidth());
+    assertEquals(20, result.getOriginalImageHeight());
+  }
+
+  @Test
+  public void testImagesFillTheWholeAtlas() {
+    MaxRectsAtlasPacker packer = new MaxRectsAtlasPacker(100, 100, 0);
+    for (int i = 0; i < 4; i++) {
+      assertNotNull(packer.insert(50, 50));
+    }
+    assertNull(packer.insert(1, 1));
+    assertEquals(0, packer.getFreeArea());
+  }
+
+  @Test
+  public void testPaddingIsOnlyAddedBetweenImages() {
+    MaxRectsAtlasPacker packer = new MaxRectsAtlasPacker(100, 100, 10);
+    assertNotNull(packer.insert(45, 100));
+    Result result = packer.insert(45, 100);
+    assertNotNull(result);
+    assertEquals(55, result.getX());
+    assertNull(packer.insert(1, 1));
+  }
+
+  @Test
+  public void testImageTooBigForAtlasIsNotInserted() {
+    MaxRectsAtlasPacker packer = new MaxRectsAtlasPacker(100, 100, 0);
+    assertNull(packer.insert(101, 10));
+  }
+
+  @Test
+  public void testSpaceOfRemovedImageIsReused() {
+    MaxRectsAtlasPacker packer = new MaxRectsAtlasPacker(100, 100, 0);
+    for (int i = 0; i < 4; i++) {
+      Result result = packer.insert(50, 50);
+      assertNotNull(result);
+      if (result.getY() == 0) {
+        packer.remove(result);
+        // fill the space again until all four quadrants are used
+        assertNotNull(packer.insert(50, 50));
+      }
+    }
+    assertNull(packer.insert(1, 1));
+  }
+
+  @Test
+  public void testRemovedNeighboursFormOneFreeRectangle() {
+    MaxRectsAtlasPacker packer = new MaxRectsAtlasPacker(100, 100, 0);
+    Result[] results = new Result[4];
+    for (int i = 0; i < 4; i++) {
+      results[i] = packer.insert(50, 50);
+    }
+    for (Result result : results) {
+      if (result.getY() == 0) {
+        packer.remove(result);
+      }
+    }
+    assertEquals(100 * 50, packer.getLargestFreeArea());
+    Result result = packer.insert(100, 50);
+    assertNotNull(result);
+    assertEquals(0, result.getY());
+  }
+
+  @Test
+  public void testResetFreesEverything() {
+    MaxRectsAtlasPacker packer = new MaxRectsAtlasPacker(100, 100, 0);
+    packer.insert(100, 100);
+    packer.reset(100, 100);
+    assertEquals(100 * 100, packer.getFreeArea());
+    assertNotNull(packer.insert(100, 100));
+  }
+}
@@ -0,0 +1,105 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.render.batch.spi.BufferFactory;
+import de.lessvoid.nifty.render.batch.spi.PackedVertexFormatBackend;
+import de.lessvoid.nifty.render.batch.spi.PackedVertexGL;
+import de.lessvoid.nifty.tools.Color;
+import org.easymock.Capture;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+
+import static org.easymock.EasyMock.anyInt;
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PackedBatchInternalTest {
+  private static final int GL_TRIANGLES = 4;
+  private static final int GL_UNSIGNED_BYTE = 5121;
+  private static final int GL_FLOAT = 5126;
+  private static final int BYTES_PER_VERTEX = 20;
+
+  @Test
+  public void testColorsAreSentAsUnsignedBytes() {
+    PackedVertexGL gl = createNiceMock(PackedVertexGL.class);
+    expect(gl.GL_TRIANGLES()).andStubReturn(GL_TRIANGLES);
+    expect(gl.GL_UNSIGNED_BYTE()).andStubReturn(GL_UNSIGNED_BYTE);
+    expect(gl.GL_FLOAT()).andStubReturn(GL_FLOAT);
+    Capture<ByteBuffer> vertices = new Capture<ByteBuffer>();
+    gl.glVertexPointer(eq(2), eq(GL_FLOAT), eq(BYTES_PER_VERTEX), capture(vertices));
+    gl.glColorPointer(eq(4), eq(GL_UNSIGNED_BYTE), eq(BYTES_PER_VERTEX), (ByteBuffer) anyObject());
+    gl.glTexCoordPointer(eq(2), eq(GL_FLOAT), eq(BYTES_PER_VERTEX), (ByteBuffer) anyObject());
+    gl.glDrawElements(eq(GL_TRIANGLES), eq(6), anyInt(), (ShortBuffer) anyObject());
+    replay(gl);
+
+    BufferFactory bufferFactory = new DirectBufferFactory();
+    PackedBatchInternal batch = new PackedBatchInternal(gl, bufferFactory,
+        BatchInternal.createQuadIndexBuffer(bufferFactory));
+    batch.begin(BlendMode.BLEND, 1);
+    Color color = new Color(1.f, 0.5f, 0.f, 1.f);
+    batch.addQuad(10.f, 20.f, 100.f, 50.f, color, color, color, color, 0.25f, 0.5f, 0.5f, 0.5f);
+    batch.render();
+    verify(gl);
+
+    ByteBuffer vertexBuffer = vertices.getValue();
+    assertEquals(4 * BYTES_PER_VERTEX, vertexBuffer.limit());
+    assertEquals(10.f, vertexBuffer.getFloat(0), 0.f);
+    assertEquals(20.f, vertexBuffer.getFloat(4), 0.f);
+    assertEquals(255, vertexBuffer.get(8) & 0xff);
+    assertEquals(128, vertexBuffer.get(9) & 0xff);
+    assertEquals(0, vertexBuffer.get(10) & 0xff);
+    assertEquals(255, vertexBuffer.get(11) & 0xff);
+    assertEquals(0.25f, vertexBuffer.getFloat(12), 0.f);
+    assertEquals(0.5f, vertexBuffer.getFloat(16), 0.f);
+
+    // the second vertex is the top right corner
+    assertEquals(110.f, vertexBuffer.getFloat(BYTES_PER_VERTEX), 0.f);
+    assertEquals(0.75f, vertexBuffer.getFloat(BYTES_PER_VERTEX + 12), 0.f);
+  }
+
+  @Test
+  public void testDeviceEnablesPackedFormatOfBackendsThatSupportIt() {
+    PackedRecordingBatchRenderBackend backend = new PackedRecordingBatchRenderBackend();
+    BatchRenderConfiguration config = new BatchRenderConfiguration();
+    config.usePackedVertexFormat = true;
+    new BatchRenderDevice(backend, config);
+    assertTrue(backend.packedVertexFormat);
+  }
+
+  @Test
+  public void testDeviceKeepsPackedFormatDisabledByDefault() {
+    PackedRecordingBatchRenderBackend backend = new PackedRecordingBatchRenderBackend();
+    backend.packedVertexFormat = true;
+    new BatchRenderDevice(backend, new BatchRenderConfiguration());
+    assertFalse(backend.packedVertexFormat);
+  }
+
+  @Test
+  public void testDeviceWorksWithBackendsWithoutPackedFormat() {
+    RecordingBatchRenderBackend backend = new RecordingBatchRenderBackend();
+    BatchRenderConfiguration config = new BatchRenderConfiguration();
+    config.usePackedVertexFormat = true;
+    BatchRenderDevice renderDevice = new BatchRenderDevice(backend, config);
+    assertEquals(1024, renderDevice.getWidth());
+  }
+
+  private static class PackedRecordingBatchRenderBackend extends RecordingBatchRenderBackend
+      implements PackedVertexFormatBackend {
+    private boolean packedVertexFormat;
+
+    @Override
+    public void usePackedVertexFormat(final boolean shouldUsePackedVertexFormat) {
+      packedVertexFormat = shouldUsePackedVertexFormat;
+    }
+  }
+}
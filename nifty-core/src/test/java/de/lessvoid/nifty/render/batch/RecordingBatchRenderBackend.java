@@ -0,0 +1,182 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.render.batch.spi.BatchRenderBackend;
+import de.lessvoid.nifty.spi.render.MouseCursor;
+import de.lessvoid.nifty.tools.Color;
+import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * A BatchRenderBackend without any graphics that counts the atlas operations and the quads it receives.
+ */
+class RecordingBatchRenderBackend implements BatchRenderBackend {
+  @Nonnull
+  final CountDownLatch loadStarted = new CountDownLatch(1);
+  @Nonnull
+  CountDownLatch decodeGate = new CountDownLatch(0); // loadImage() waits for it
+  @Nonnull
+  final Map<String, int[]> imageSizes = new HashMap<String, int[]>(); // width and height, 16 x 8 if missing
+  private int nextTextureId = 1;
+  int atlasesCreated;
+  int atlasUploads;
+  int atlasRemovals;
+  int atlasClears;
+  int imageQuads;
+  @Nonnull
+  final List<String> quads = new ArrayList<String>(); // all quads received, see addQuad()
+
+  @Override
+  public void setResourceLoader(@Nonnull final NiftyResourceLoader resourceLoader) {
+  }
+
+  @Override
+  public int getWidth() {
+    return 1024;
+  }
+
+  @Override
+  public int getHeight() {
+    return 768;
+  }
+
+  @Override
+  public void beginFrame() {
+  }
+
+  @Override
+  public void endFrame() {
+  }
+
+  @Override
+  public void clear() {
+  }
+
+  @Nullable
+  @Override
+  public MouseCursor createMouseCursor(@Nonnull final String filename, final int hotspotX, final int hotspotY) {
+    return null;
+  }
+
+  @Override
+  public void enableMouseCursor(@Nonnull final MouseCursor mouseCursor) {
+  }
+
+  @Override
+  public void disableMouseCursor() {
+  }
+
+  @Override
+  public int createTextureAtlas(final int atlasWidth, final int atlasHeight) {
+    atlasesCreated++;
+    return nextTextureId++;
+  }
+
+  @Override
+  public void clearTextureAtlas(final int atlasTextureId) {
+    atlasClears++;
+  }
+
+  @Nonnull
+  @Override
+  public Image loadImage(@Nonnull final String filename) {
+    if (filename.endsWith("nifty.png")) {
+      return new ByteBufferedImage(ByteBuffer.allocate(4), 1, 1);
+    }
+    loadStarted.countDown();
+    try {
+      decodeGate.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    int[] size = imageSizes.get(filename);
+    int width = size == null ? 16 : size[0];
+    int height = size == null ? 8 : size[1];
+    return new ByteBufferedImage(ByteBuffer.allocate(width * height * 4), width, height);
+  }
+
+  @Nullable
+  @Override
+  public Image loadImage(@Nonnull final ByteBuffer imageData, final int imageWidth, final int imageHeight) {
+    return new ByteBufferedImage(imageData, imageWidth, imageHeight);
+  }
+
+  @Override
+  public void addImageToAtlas(
+      @Nonnull final Image image,
+      final int atlasX,
+      final int atlasY,
+      final int atlasTextureId) {
+    atlasUploads++;
+  }
+
+  @Override
+  public int createNonAtlasTexture(@Nonnull final Image image) {
+    return nextTextureId++;
+  }
+
+  @Override
+  public void deleteNonAtlasTexture(final int textureId) {
+  }
+
+  @Override
+  public boolean existsNonAtlasTexture(final int textureId) {
+    return false;
+  }
+
+  @Override
+  public void addQuad(
+      final float x,
+      final float y,
+      final float width,
+      final float height,
+      @Nonnull final Color color1,
+      @Nonnull final Color color2,
+      @Nonnull final Color color3,
+      @Nonnull final Color color4,
+      final float textureX,
+      final float textureY,
+      final float textureWidth,
+      final float textureHeight,
+      final int textureId) {
+    imageQuads++;
+    quads.add(x + "," + y + "," + width + "," + height + " " + color1 + " " + color2 + " " + color3 + " " + color4 +
+        " " + textureX + "," + textureY + "," + textureWidth + "," + textureHeight + " " + textureId);
+  }
+
+  @Override
+  public void beginBatch(@Nonnull final BlendMode blendMode, final int textureId) {
+  }
+
+  @Override
+  public int render() {
+    return 0;
+  }
+
+  @Override
+  public void removeImageFromAtlas(
+      @Nonnull final Image image,
+      final int atlasX,
+      final int atlasY,
+      final int imageWidth,
+      final int imageHeight,
+      final int atlasTextureId) {
+    atlasRemovals++;
+  }
+
+  @Override
+  public void useHighQualityTextures(final boolean shouldUseHighQualityTextures) {
+  }
+
+  @Override
+  public void fillRemovedImagesInAtlas(final boolean shouldFill) {
+  }
+}
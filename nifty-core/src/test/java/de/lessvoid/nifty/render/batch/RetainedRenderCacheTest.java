@@ -0,0 +1,189 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.tools.Color;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RetainedRenderCacheTest {
+  private final RetainedRenderCache cache = new RetainedRenderCache();
+
+  @Test
+  public void testSameCallCanBeReplayed() {
+    record(cache.begin(RetainedRenderCache.CALL_QUAD).add(10).add(20).add(Color.WHITE).lookup());
+    cache.endFrame();
+
+    assertTrue(cache.begin(RetainedRenderCache.CALL_QUAD).add(10).add(20).add(Color.WHITE).lookup().canReplay());
+  }
+
+  @Test
+  public void testChangedCallIsNotReplayed() {
+    record(cache.begin(RetainedRenderCache.CALL_QUAD).add(10).add(20).add(Color.WHITE).lookup());
+    cache.endFrame();
+
+    assertFalse(cache.begin(RetainedRenderCache.CALL_QUAD).add(10).add(21).add(Color.WHITE).lookup().canReplay());
+  }
+
+  @Test
+  public void testChangedCallTypeIsNotReplayed() {
+    record(cache.begin(RetainedRenderCache.CALL_QUAD).add(10).add(20).lookup());
+    cache.endFrame();
+
+    assertFalse(cache.begin(RetainedRenderCache.CALL_IMAGE).add(10).add(20).lookup().canReplay());
+  }
+
+  @Test
+  public void testChangedObjectIsNotReplayed() {
+    Object image = new Object();
+    record(cache.begin(RetainedRenderCache.CALL_IMAGE).add(image).lookup());
+    cache.endFrame();
+
+    assertFalse(cache.begin(RetainedRenderCache.CALL_IMAGE).add(new Object()).lookup().canReplay());
+  }
+
+  @Test
+  public void testRemovedCallIsSkipped() {
+    recordFrame(1, 2, 3);
+
+    assertTrue(lookup(2).canReplay());
+    assertTrue(lookup(3).canReplay());
+    cache.endFrame();
+
+    assertFalse(lookup(1).canReplay());
+  }
+
+  @Test
+  public void testInsertedCallKeepsLaterCallsReplayable() {
+    recordFrame(1, 2, 3);
+
+    assertFalse(lookup(0).canReplay());
+    assertTrue(lookup(1).canReplay());
+    assertTrue(lookup(2).canReplay());
+    assertTrue(lookup(3).canReplay());
+  }
+
+  @Test
+  public void testChangedCallKeepsLaterCallsReplayable() {
+    recordFrame(1, 2, 3);
+
+    assertTrue(lookup(1).canReplay());
+    assertFalse(lookup(5).canReplay());
+    assertTrue(lookup(3).canReplay());
+  }
+
+  @Test
+  public void testCallsFurtherAwayThanResyncDistanceAreRecordedAgain() {
+    int[] calls = new int[RetainedRenderCache.RESYNC_DISTANCE + 2];
+    for (int i = 0; i < calls.length; i++) {
+      calls[i] = i;
+    }
+    recordFrame(calls);
+
+    assertFalse(lookup(RetainedRenderCache.RESYNC_DISTANCE + 1).canReplay());
+    assertTrue(lookup(0).canReplay());
+  }
+
+  @Test
+  public void testSlotsOfChangedCallsAreReused() {
+    Set<RetainedRenderCache.Slot> slots =
+        Collections.newSetFromMap(new IdentityHashMap<RetainedRenderCache.Slot, Boolean>());
+    for (int frame = 0; frame < 10; frame++) {
+      for (int i = 0; i < 3; i++) {
+        RetainedRenderCache.Slot slot = lookup(frame * 3 + i);
+        record(slot);
+        slots.add(slot);
+      }
+      cache.endFrame();
+    }
+    assertEquals(6, slots.size());
+  }
+
+  @Test
+  public void testIncompleteRecordingIsNotReplayed() {
+    cache.begin(RetainedRenderCache.CALL_QUAD).add(1).lookup();
+    cache.endFrame();
+
+    assertFalse(cache.begin(RetainedRenderCache.CALL_QUAD).add(1).lookup().canReplay());
+  }
+
+  @Test
+  public void testClearForgetsRecordedCalls() {
+    RetainedRenderCache.Slot slot = cache.begin(RetainedRenderCache.CALL_QUAD).add(1).lookup();
+    record(slot);
+    cache.endFrame();
+    cache.clear();
+
+    RetainedRenderCache.Slot next = cache.begin(RetainedRenderCache.CALL_QUAD).add(1).lookup();
+    assertSame(slot, next);
+    assertFalse(next.canReplay());
+  }
+
+  @Test
+  public void testMaxIntParameters() {
+    cache.begin(RetainedRenderCache.CALL_QUAD);
+    for (int i = 0; i < RetainedRenderCache.MAX_INT_PARAMS; i++) {
+      cache.add(i);
+    }
+    record(cache.lookup());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTooManyIntParametersFail() {
+    cache.begin(RetainedRenderCache.CALL_QUAD);
+    for (int i = 0; i <= RetainedRenderCache.MAX_INT_PARAMS; i++) {
+      cache.add(i);
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTooManyFloatParametersFail() {
+    cache.begin(RetainedRenderCache.CALL_QUAD);
+    for (int i = 0; i <= RetainedRenderCache.MAX_FLOAT_PARAMS; i++) {
+      cache.add((float) i);
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testSecondObjectParameterFails() {
+    cache.begin(RetainedRenderCache.CALL_IMAGE).add(new Object()).add(new Object());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testSecondTextParameterFails() {
+    cache.begin(RetainedRenderCache.CALL_FONT).add("first").add("second");
+  }
+
+  @Test
+  public void testParameterCountsAreResetForEachCall() {
+    for (int call = 0; call < 3; call++) {
+      cache.begin(RetainedRenderCache.CALL_FONT).add("text");
+      for (int i = 0; i < RetainedRenderCache.MAX_INT_PARAMS; i++) {
+        cache.add(i);
+      }
+      record(cache.lookup());
+    }
+  }
+
+  private void recordFrame(final int... calls) {
+    for (int call : calls) {
+      record(lookup(call));
+    }
+    cache.endFrame();
+  }
+
+  private RetainedRenderCache.Slot lookup(final int value) {
+    return cache.begin(RetainedRenderCache.CALL_QUAD).add(value).lookup();
+  }
+
+  private void record(final RetainedRenderCache.Slot slot) {
+    slot.recordQuad(0.f, 0.f, 1.f, 1.f, Color.WHITE, Color.WHITE, Color.WHITE, Color.WHITE, 0.f, 0.f, 1.f, 1.f, 1);
+    slot.recordDone();
+  }
+}
@@ -8,6 +8,8 @@ import static org.junit.Assert.assertTrue;
 
 import de.lessvoid.nifty.render.batch.TextureAtlasGenerator.Result;
 
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -52,6 +54,20 @@ public class TextureAtlasGeneratorTest {
     assertResult(0, 0, 30, 30, result);
   }
 
+  @Test
+  public void testGettingValidImageReturnsValidResult() {
+    GENERATOR.addImage(5, 5, "image-1");
+    GENERATOR.addImage(30, 20, "image-2");
+    assertResult(0, 10, 30, 20, GENERATOR.getImage("image-2"));
+  }
+
+  @Test
+  public void testGettingRemovedImageReturnsNull() {
+    GENERATOR.addImage(30, 30, "image");
+    GENERATOR.removeImage("image");
+    assertNull(GENERATOR.getImage("image"));
+  }
+
   @Test
   public void testShouldAddValidImageReturnsTrue() {
     assertTrue(GENERATOR.shouldAddImage(30, 30));
@@ -149,6 +165,66 @@ public class TextureAtlasGeneratorTest {
     assertNotNull(GENERATOR.removeImage("image-3"));
   }
 
+  @Test
+  public void testRebuildingAtlasFillsGapsOfRemovedImages() {
+    GENERATOR.addImage(30, 30, "image-1");
+    GENERATOR.addImage(30, 30, "image-2");
+    GENERATOR.removeImage("image-1");
+    GENERATOR.rebuild(ATLAS_WIDTH, ATLAS_HEIGHT);
+    assertResult(0, 0, 30, 30, GENERATOR.getImage("image-2"));
+  }
+
+  @Test
+  public void testRebuildingAtlasAtSmallerSizeRemovesImagesThatDontFit() {
+    GENERATOR.addImage(5, 5, "image-1");
+    GENERATOR.addImage(30, 20, "image-2");
+    List<Result> results = GENERATOR.rebuild(20, 20);
+    assertEquals(2, results.size());
+    assertNotNull(results.get(0));
+    assertNull(results.get(1));
+    assertNotNull(GENERATOR.getImage("image-1"));
+    assertNull(GENERATOR.getImage("image-2"));
+  }
+
+  @Test
+  public void testOccupancyCountsImagePixelsOnly() {
+    GENERATOR.addImage(30, 30, "image-1");
+    GENERATOR.addImage(20, 5, "image-2");
+    assertEquals((30 * 30 + 20 * 5) / (float) (ATLAS_WIDTH * ATLAS_HEIGHT), GENERATOR.getOccupancy(), 0.0001f);
+    GENERATOR.removeImage("image-1");
+    assertEquals(20 * 5 / (float) (ATLAS_WIDTH * ATLAS_HEIGHT), GENERATOR.getOccupancy(), 0.0001f);
+    assertEquals(1, GENERATOR.getImageCount());
+  }
+
+  @Test
+  public void testEmptyAtlasIsNotFragmented() {
+    assertEquals(0.f, GENERATOR.getFragmentation(), 0.0001f);
+  }
+
+  @Test
+  public void testFailedInsertsAreCounted() {
+    TextureAtlasGenerator generator = new TextureAtlasGenerator(100, 100, 0, 0.5f);
+    generator.addImage(70, 70, "image-1");
+    generator.addImage(50, 50, "image-2");
+    generator.addImage(90, 90, "image-3"); // exceeds the tolerance, no failed insert
+    assertEquals(1, generator.getFailedInsertCount());
+  }
+
+  @Test
+  public void testBinaryTreePackerDoesNotReuseSpaceOfNeighbouringRemovedImages() {
+    TextureAtlasGenerator generator = createGeneratorWithTopQuadrantsRemoved(BinaryTreeAtlasPacker.FACTORY);
+    assertNull(generator.addImage(100, 50, "wide"));
+    assertTrue(generator.getFragmentation() > 0.f);
+  }
+
+  @Test
+  public void testMaxRectsPackerReusesSpaceOfNeighbouringRemovedImages() {
+    TextureAtlasGenerator generator = createGeneratorWithTopQuadrantsRemoved(MaxRectsAtlasPacker.FACTORY);
+    assertEquals(0.f, generator.getFragmentation(), 0.0001f);
+    assertResult(0, 0, 100, 50, generator.addImage(100, 50, "wide"));
+    assertEquals(1.f, generator.getOccupancy(), 0.0001f);
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testCreatingGeneratorWithZeroWidthThrowsIllegalArgumentException() {
     int atlasWidth = 0;
@@ -191,6 +267,19 @@ public class TextureAtlasGeneratorTest {
     new TextureAtlasGenerator(ATLAS_WIDTH, ATLAS_HEIGHT, ATLAS_PADDING, atlasTolerance);
   }
 
+  private TextureAtlasGenerator createGeneratorWithTopQuadrantsRemoved(final TextureAtlasPacker.Factory packer) {
+    TextureAtlasGenerator generator = new TextureAtlasGenerator(100, 100, 0, 1.f, packer);
+    for (int i = 0; i < 4; i++) {
+      generator.addImage(50, 50, "image-" + i);
+    }
+    for (int i = 0; i < 4; i++) {
+      if (generator.getImage("image-" + i).getY() == 0) {
+        generator.removeImage("image-" + i);
+      }
+    }
+    return generator;
+  }
+
   private void assertResult(final int x, final int y, final int w, final int h, final Result result) {
     assertEquals(x, result.getX());
     assertEquals(y, result.getY());
@@ -0,0 +1,63 @@
+package de.lessvoid.nifty.render.batch.core;
+
+import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.render.batch.DirectBufferFactory;
+import de.lessvoid.nifty.render.batch.spi.core.CoreGL;
+import de.lessvoid.nifty.tools.Color;
+import org.easymock.Capture;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+import static org.easymock.EasyMock.anyInt;
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+
+public class CorePackedBatchInternalTest {
+  private static final int GL_ARRAY_BUFFER = 34962;
+  private static final int GL_ELEMENT_ARRAY_BUFFER = 34963;
+  private static final int BYTES_PER_VERTEX = 16;
+
+  @Test
+  public void testVerticesArePacked() {
+    CoreGL gl = createNiceMock(CoreGL.class);
+    expect(gl.GL_ARRAY_BUFFER()).andStubReturn(GL_ARRAY_BUFFER);
+    expect(gl.GL_ELEMENT_ARRAY_BUFFER()).andStubReturn(GL_ELEMENT_ARRAY_BUFFER);
+    Capture<IntBuffer> vertices = new Capture<IntBuffer>();
+    gl.glBufferData(eq(GL_ARRAY_BUFFER), capture(vertices), anyInt());
+    expectLastCall().anyTimes();
+    replay(gl);
+    CoreShader shader = createNiceMock(CoreShader.class);
+    replay(shader);
+    CoreTexture2D texture = createNiceMock(CoreTexture2D.class);
+    replay(texture);
+
+    CorePackedBatchInternal batch = new CorePackedBatchInternal(gl, shader, new DirectBufferFactory(), 0xffff);
+    batch.begin(BlendMode.BLEND, texture);
+    Color color = new Color(1.f, 0.5f, 0.f, 1.f);
+    batch.addQuad(10.f, 20.f, 100.f, 50.f, color, color, color, color, 0.25f, 0.5f, 0.5f, 0.5f);
+    batch.render();
+
+    IntBuffer intBuffer = vertices.getValue();
+    assertEquals(4 * BYTES_PER_VERTEX / 4, intBuffer.limit());
+    ByteBuffer vertexBuffer = ByteBuffer.allocate(intBuffer.limit() * 4).order(ByteOrder.nativeOrder());
+    vertexBuffer.asIntBuffer().put((IntBuffer) intBuffer.duplicate().rewind());
+
+    // the first vertex is the bottom left corner
+    assertEquals(10.f, vertexBuffer.getFloat(0), 0.f);
+    assertEquals(70.f, vertexBuffer.getFloat(4), 0.f);
+    assertEquals(255, vertexBuffer.get(8) & 0xff);
+    assertEquals(128, vertexBuffer.get(9) & 0xff);
+    assertEquals(0, vertexBuffer.get(10) & 0xff);
+    assertEquals(255, vertexBuffer.get(11) & 0xff);
+    assertEquals(16384, vertexBuffer.getShort(12) & 0xffff);
+    assertEquals(65535, vertexBuffer.getShort(14) & 0xffff);
+  }
+}
@@ -0,0 +1,214 @@
+package de.lessvoid.nifty.screen;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.controls.FocusHandler;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.input.NiftyMouseInputEvent;
+import de.lessvoid.nifty.layout.Box;
+import de.lessvoid.nifty.layout.BoxConstraints;
+import de.lessvoid.nifty.layout.LayoutPart;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+
+public class MouseHitIndexTest {
+  private Nifty niftyMock;
+  private FocusHandler focusHandler;
+  private final List<Element> layers = new ArrayList<Element>();
+  private final MouseHitIndex mouseHitIndex = new MouseHitIndex();
+  private Element panel;
+  private Element button;
+  private Element wide;
+
+  @Before
+  public void before() {
+    niftyMock = createNiceMock(Nifty.class);
+    replay(niftyMock);
+    focusHandler = new FocusHandler();
+
+    Element layer = createElement("layer", null, 0, 0, 400, 300, false);
+    panel = createElement("panel", layer, 50, 50, 200, 100, true);
+    button = createElement("button", panel, 60, 60, 50, 20, true);
+    wide = createElement("wide", panel, 200, 60, 150, 20, true);
+    createElement("label", panel, 60, 90, 100, 20, false);
+
+    Element popup = createElement("popup", null, 0, 0, 400, 300, true);
+    createElement("popupButton", popup, 300, 200, 80, 80, true);
+
+    layers.add(layer);
+    layers.add(popup);
+  }
+
+  @Test
+  public void testSameResultAsTreeWalk() {
+    assertSameResultEverywhere();
+  }
+
+  @Test
+  public void testSameResultWithInvisibleParent() {
+    panel.setVisible(false);
+    assertSameResultEverywhere();
+  }
+
+  @Test
+  public void testSameResultAfterVisibilityChanged() {
+    assertSameResultEverywhere();
+    panel.setVisible(false);
+    assertSameResultEverywhere();
+    panel.setVisible(true);
+    assertSameResultEverywhere();
+  }
+
+  @Test
+  public void testSameResultAfterMouseVisibilityChanged() {
+    assertSameResultEverywhere();
+    button.setVisibleToMouseEvents(false);
+    assertSameResultEverywhere();
+  }
+
+  @Test
+  public void testSameResultAfterResize() {
+    assertSameResultEverywhere();
+    wide.setWidth(20);
+    assertSameResultEverywhere();
+  }
+
+  @Test
+  public void testSameResultWithRenderOffset() {
+    assertSameResultEverywhere();
+    panel.setRenderOffset(30, -40);
+    assertSameResultEverywhere();
+    button.setRenderOffset(-20, 100);
+    assertSameResultEverywhere();
+  }
+
+  @Test
+  public void testRenderOffsetMovesHitArea() {
+    // the popup layer covers the whole screen and would hit everywhere
+    layers.remove(1);
+    panel.setRenderOffset(0, 100);
+    assertEquals(false, buildWithIndex(70, 70).hitsElement());
+    assertEquals(true, buildWithIndex(70, 170).hitsElement());
+    assertEquals(true, button.isMouseInsideElement(70, 170));
+  }
+
+  @Test
+  public void testIndexIsRebuiltWhenRenderOffsetChanged() {
+    buildWithIndex(70, 70);
+    assertEquals(1, mouseHitIndex.getRebuildCount());
+
+    panel.setRenderOffset(0, 10);
+    buildWithIndex(70, 70);
+    assertEquals(2, mouseHitIndex.getRebuildCount());
+  }
+
+  @Test
+  public void testIndexIsOnlyRebuiltWhenChanged() {
+    buildWithIndex(10, 10);
+    buildWithIndex(70, 70);
+    assertEquals(1, mouseHitIndex.getRebuildCount());
+
+    button.setVisibleToMouseEvents(false);
+    buildWithIndex(70, 70);
+    assertEquals(2, mouseHitIndex.getRebuildCount());
+  }
+
+  @Test
+  public void testOnlyElementsBelowTheMouseAreVisited() {
+    assertEquals("mouse over elements: [popup][button][panel] mouse elements: ---",
+        buildWithIndex(70, 70).getInfoString());
+  }
+
+  @Test
+  public void testPressedElementIsVisitedUntilReleased() {
+    // the popup layer covers the whole screen and would take the click
+    layers.remove(1);
+    processWithIndex(createEvent(70, 70, true, true, false));
+    assertEquals("mouse over elements: --- mouse elements: [button]",
+        processWithIndex(createEvent(300, 10, true, false, false)).getInfoString());
+    assertEquals("mouse over elements: --- mouse elements: [button]",
+        processWithIndex(createEvent(300, 10, false, false, true)).getInfoString());
+    assertEquals("mouse over elements: --- mouse elements: ---",
+        processWithIndex(createEvent(300, 10, false, false, false)).getInfoString());
+  }
+
+  private void assertSameResultEverywhere() {
+    for (int x = -10; x <= 410; x += 5) {
+      for (int y = -10; y <= 310; y += 5) {
+        MouseOverHandler expected = buildWithTreeWalk(x, y);
+        MouseOverHandler actual = buildWithIndex(x, y);
+        assertEquals("x: " + x + ", y: " + y, getMouseOverElements(expected), getMouseOverElements(actual));
+        assertEquals("x: " + x + ", y: " + y, expected.hitsElement(), actual.hitsElement());
+      }
+    }
+  }
+
+  private MouseOverHandler buildWithTreeWalk(final int x, final int y) {
+    MouseOverHandler mouseOverHandler = new MouseOverHandler();
+    for (int i = 0; i < layers.size(); i++) {
+      layers.get(i).buildMouseOverElements(createEvent(x, y), 0, mouseOverHandler);
+    }
+    return mouseOverHandler;
+  }
+
+  private MouseOverHandler buildWithIndex(final int x, final int y) {
+    MouseOverHandler mouseOverHandler = new MouseOverHandler();
+    mouseHitIndex.buildMouseOverElements(layers, createEvent(x, y), mouseOverHandler);
+    return mouseOverHandler;
+  }
+
+  private MouseOverHandler processWithIndex(final NiftyMouseInputEvent event) {
+    MouseOverHandler mouseOverHandler = new MouseOverHandler();
+    mouseHitIndex.buildMouseOverElements(layers, event, mouseOverHandler);
+    mouseOverHandler.processMouseEvent(event, 0);
+    return mouseOverHandler;
+  }
+
+  /**
+   * Elements without mouse over are only added by the index when they can still react to the mouse event so we only
+   * compare the elements with mouse over.
+   */
+  private String getMouseOverElements(final MouseOverHandler mouseOverHandler) {
+    String info = mouseOverHandler.getInfoString();
+    return info.substring(0, info.indexOf(" mouse elements: "));
+  }
+
+  private NiftyMouseInputEvent createEvent(final int x, final int y) {
+    return createEvent(x, y, false, false, false);
+  }
+
+  private NiftyMouseInputEvent createEvent(
+      final int x,
+      final int y,
+      final boolean button0Down,
+      final boolean button0InitialDown,
+      final boolean button0Release) {
+    NiftyMouseInputEvent event = new NiftyMouseInputEvent();
+    event.initialize(x, y, 0, button0Down, false, false);
+    event.setButton0InitialDown(button0InitialDown);
+    event.setButton0Release(button0Release);
+    return event;
+  }
+
+  private Element createElement(
+      final String id,
+      final Element parent,
+      final int x,
+      final int y,
+      final int width,
+      final int height,
+      final boolean visibleToMouse) {
+    LayoutPart layoutPart = new LayoutPart(new Box(x, y, width, height), new BoxConstraints());
+    Element element = new Element(niftyMock, null, id, parent, layoutPart, focusHandler, visibleToMouse, null);
+    if (parent != null) {
+      parent.addChild(element);
+    }
+    return element;
+  }
+}
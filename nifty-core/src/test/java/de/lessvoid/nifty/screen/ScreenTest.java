@@ -38,6 +38,7 @@ public class ScreenTest {
     niftyMock.subscribeAnnotations(screenControllerMock);
     expect(niftyMock.getRenderEngine()).andStubReturn(niftyRenderEngineMock);
     expect(niftyMock.getNiftyMouse()).andStubReturn(niftyMouseMock);
+    expect(niftyMock.isMouseHitIndex()).andStubReturn(false);
     replay(niftyMock);
 
     screenControllerMock.onStartScreen();
@@ -0,0 +1,38 @@
+package de.lessvoid.nifty.tools;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AlphaTest {
+  private static final float EPSILON = 0.01f;
+
+  @Test
+  public void testShortAndLongMode() {
+    assertEquals(1.0f, new Alpha("#f").getAlpha(), EPSILON);
+    assertEquals(0.5f, new Alpha("#80").getAlpha(), EPSILON);
+  }
+
+  @Test
+  public void testLinearInPlace() {
+    Alpha result = new Alpha(0.0f);
+    result.linear(new Alpha(0.2f), new Alpha(0.6f), 0.5f);
+    assertEquals(0.4f, result.getAlpha(), EPSILON);
+  }
+
+  @Test
+  public void testLinearInPlaceWithResultAliasingStart() {
+    Alpha start = new Alpha(0.2f);
+    Alpha end = new Alpha(0.6f);
+    start.linear(start, end, 1.0f);
+    assertEquals(0.6f, start.getAlpha(), EPSILON);
+    assertEquals(0.6f, end.getAlpha(), EPSILON);
+  }
+
+  @Test
+  public void testMultiplyInPlace() {
+    Alpha result = new Alpha(0.0f);
+    result.multiply(new Alpha(0.8f), 0.5f);
+    assertEquals(0.4f, result.getAlpha(), EPSILON);
+  }
+}
@@ -0,0 +1,64 @@
+package de.lessvoid.nifty.tools;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class StyledTextRunsTest {
+  private static final float EPSILON = 0.01f;
+
+  @Test
+  public void testTextWithoutColors() {
+    assertSame(StyledTextRuns.NONE, StyledTextRuns.parse("hello world"));
+  }
+
+  @Test
+  public void testInvalidMarkupIsNoRun() {
+    assertSame(StyledTextRuns.NONE, StyledTextRuns.parse("\\#xyz#hello \\#ffff"));
+  }
+
+  @Test
+  public void testSingleColor() {
+    StyledTextRuns runs = StyledTextRuns.parse("ab\\#f00#cd");
+    assertEquals(1, runs.getRunCount());
+    assertEquals(2, runs.getMarkupStart(0));
+    assertEquals(8, runs.getTextStart(0));
+    assertColor(runs, 0, 1.0f, 0.0f, 0.0f, 1.0f);
+  }
+
+  @Test
+  public void testConsecutiveColors() {
+    StyledTextRuns runs = StyledTextRuns.parse("\\#f00#\\#0f08#a\\#00f#b");
+    assertEquals(3, runs.getRunCount());
+    assertEquals(runs.getTextStart(0), runs.getMarkupStart(1));
+    assertColor(runs, 1, 0.0f, 1.0f, 0.0f, 0.53f);
+    assertEquals(14, runs.getMarkupStart(2));
+    assertEquals(20, runs.getTextStart(2));
+    assertColor(runs, 2, 0.0f, 0.0f, 1.0f, 1.0f);
+  }
+
+  @Test
+  public void testManyColors() {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 10; i++) {
+      text.append("\\#fff#x");
+    }
+    StyledTextRuns runs = StyledTextRuns.parse(text.toString());
+    assertEquals(10, runs.getRunCount());
+    assertEquals(63, runs.getMarkupStart(9));
+  }
+
+  private static void assertColor(
+      final StyledTextRuns runs,
+      final int run,
+      final float red,
+      final float green,
+      final float blue,
+      final float alpha) {
+    assertEquals(red, runs.getRed(run), EPSILON);
+    assertEquals(green, runs.getGreen(run), EPSILON);
+    assertEquals(blue, runs.getBlue(run), EPSILON);
+    assertEquals(alpha, runs.getAlpha(run), EPSILON);
+  }
+}
@@ -0,0 +1,65 @@
+package de.lessvoid.nifty.tools.time;
+
+import de.lessvoid.nifty.spi.time.TimeProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class FrameClockTest {
+  private ManualTimeProvider timeProvider;
+  private FrameClock frameClock;
+
+  @Before
+  public void before() {
+    timeProvider = new ManualTimeProvider();
+    timeProvider.time = 1000;
+    frameClock = new FrameClock(timeProvider);
+  }
+
+  @Test
+  public void testTimeStaysTheSameDuringFrame() {
+    assertEquals(1000, frameClock.getMsTime());
+    timeProvider.time = 1010;
+    assertEquals(1000, frameClock.getMsTime());
+    frameClock.nextFrame();
+    timeProvider.time = 1020;
+    assertEquals(1010, frameClock.getMsTime());
+    assertEquals(1, frameClock.getFrameCount());
+  }
+
+  @Test
+  public void testFixedTimeStepIgnoresRealTime() {
+    frameClock.setFixedTimeStep(16);
+    timeProvider.time = 5000;
+    frameClock.nextFrame();
+    frameClock.nextFrame();
+    assertEquals(1032, frameClock.getMsTime());
+  }
+
+  @Test
+  public void testTimeContinuesWhenFixedTimeStepIsSwitchedOff() {
+    frameClock.setFixedTimeStep(100);
+    frameClock.nextFrame();
+    frameClock.nextFrame();
+    timeProvider.time = 1050;
+    frameClock.setFixedTimeStep(0);
+    timeProvider.time = 1060;
+    frameClock.nextFrame();
+    assertEquals(1210, frameClock.getMsTime());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeTimeStep() {
+    frameClock.setFixedTimeStep(-1);
+  }
+
+  private static class ManualTimeProvider implements TimeProvider {
+    private long time;
+
+    @Override
+    public long getMsTime() {
+      return time;
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package de.lessvoid.xml.tools;
+
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ResolvedMethodCacheTest {
+  @Test
+  public void testConstantParametersAreParsedOnce() {
+    ResolvedMethodCache cache = new ResolvedMethodCache("select(1, second)");
+    assertArrayEquals(new Object[]{"1", "second"}, cache.getConstantParameters());
+    assertSame(cache.getConstantParameters(), cache.getConstantParameters());
+  }
+
+  @Test
+  public void testNoConstantParameters() {
+    ResolvedMethodCache cache = new ResolvedMethodCache("select()");
+    assertEquals(0, cache.getConstantParameters().length);
+  }
+
+  @Test
+  public void testFindMethodIsCached() {
+    ResolvedMethodCache cache = new ResolvedMethodCache("select()");
+    Method method = cache.findMethod(Target.class);
+    assertEquals("select", method.getName());
+    assertSame(method, cache.findMethod(Target.class));
+  }
+
+  @Test
+  public void testFindMethodPerClass() {
+    ResolvedMethodCache cache = new ResolvedMethodCache("select()");
+    Method method = cache.findMethod(Target.class);
+    Method other = cache.findMethod(OtherTarget.class);
+    Method third = cache.findMethod(ThirdTarget.class);
+    assertEquals(Target.class, method.getDeclaringClass());
+    assertEquals(OtherTarget.class, other.getDeclaringClass());
+    assertEquals(ThirdTarget.class, third.getDeclaringClass());
+    assertSame(method, cache.findMethod(Target.class));
+    assertSame(other, cache.findMethod(OtherTarget.class));
+    assertSame(third, cache.findMethod(ThirdTarget.class));
+  }
+
+  @Test
+  public void testMissingMethodIsCached() {
+    ResolvedMethodCache cache = new ResolvedMethodCache("unknown()");
+    assertNull(cache.findMethod(Target.class));
+    assertNull(cache.findMethod(Target.class));
+  }
+
+  public static class Target {
+    public void select() {
+    }
+  }
+
+  public static class OtherTarget {
+    public void select() {
+    }
+  }
+
+  public static class ThirdTarget {
+    public void select() {
+    }
+  }
+}
@@ -3,7 +3,6 @@ package de.lessvoid.nifty.issues.issue55;
 import javax.annotation.Nonnull;
 
 import de.lessvoid.nifty.Nifty;
-import de.lessvoid.nifty.NiftyEventAnnotationProcessor;
 import de.lessvoid.nifty.NiftyEventSubscriber;
 import de.lessvoid.nifty.builder.LayerBuilder;
 import de.lessvoid.nifty.builder.PanelBuilder;
@@ -64,7 +63,7 @@ public class Issue55Main {
   public static class MyScreenController extends DefaultScreenController {
     @Override
     public void onStartScreen() {
-      NiftyEventAnnotationProcessor.process(this);
+      nifty.subscribeAnnotations(this);
     }
     @NiftyEventSubscriber(id = "redPanel")
     public void onMouse(final String id, @Nonnull final NiftyMousePrimaryClickedEvent event) {
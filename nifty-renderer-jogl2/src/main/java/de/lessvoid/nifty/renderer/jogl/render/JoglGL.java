@@ -10,7 +10,7 @@ import javax.media.opengl.GL2;
 import javax.media.opengl.GL2ES2;
 import javax.media.opengl.GLContext;
 
-import de.lessvoid.nifty.render.batch.spi.GL;
+import de.lessvoid.nifty.render.batch.spi.PackedVertexGL;
 
 /**
  * @author Aaron Mahan &lt;aaron@forerunnergames.com&gt;
@@ -18,7 +18,7 @@ import de.lessvoid.nifty.render.batch.spi.GL;
  *         become invalidated at runtime and it would allow to 
  *         call OpenGL when there is no current context on this thread
  */
-public class JoglGL implements GL {
+public class JoglGL implements PackedVertexGL {
 
   @Override
   public int GL_ALPHA() {
@@ -330,6 +330,11 @@ public class JoglGL implements GL {
     GLContext.getCurrentGL().getGL2().glColorPointer(size, type, stride, pointer);
   }
 
+  @Override
+  public void glColorPointer(int size, int type, int stride, ByteBuffer pointer) {
+    GLContext.getCurrentGL().getGL2().glColorPointer(size, type, stride, pointer);
+  }
+
   @Override
   public void glDeleteTextures(int n, IntBuffer textures) {
     GLContext.getCurrentGL().glDeleteTextures(n, textures);
@@ -355,6 +360,11 @@ public class JoglGL implements GL {
     GLContext.getCurrentGL().glDrawElements(mode, count, type, indices);
   }
 
+  @Override
+  public void glDrawElements(int mode, int count, int type, ShortBuffer indices) {
+    GLContext.getCurrentGL().getGL2().glDrawElements(mode, count, type, indices);
+  }
+
   @Override
   public void glEnable(int cap) {
     GLContext.getCurrentGL().glEnable(cap);
@@ -410,6 +420,11 @@ public class JoglGL implements GL {
     GLContext.getCurrentGL().getGL2().glTexCoordPointer(size, type, stride, pointer);
   }
 
+  @Override
+  public void glTexCoordPointer(int size, int type, int stride, ByteBuffer pointer) {
+    GLContext.getCurrentGL().getGL2().glTexCoordPointer(size, type, stride, pointer);
+  }
+
   @Override
   public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, ByteBuffer pixels) {
     GLContext.getCurrentGL().glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
@@ -460,6 +475,11 @@ public class JoglGL implements GL {
     GLContext.getCurrentGL().getGL2().glVertexPointer(size, type, stride, pointer);
   }
 
+  @Override
+  public void glVertexPointer(int size, int type, int stride, ByteBuffer pointer) {
+    GLContext.getCurrentGL().getGL2().glVertexPointer(size, type, stride, pointer);
+  }
+
   @Override
   public void glViewport(int x, int y, int width, int height) {
     GLContext.getCurrentGL().glViewport(x, y, width, height);
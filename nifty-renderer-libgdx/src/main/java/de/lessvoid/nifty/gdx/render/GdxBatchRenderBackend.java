@@ -4,6 +4,7 @@ import com.badlogic.gdx.Gdx;
 
 import de.lessvoid.nifty.render.batch.BatchRenderBackendInternal;
 import de.lessvoid.nifty.render.batch.spi.BatchRenderBackend;
+import de.lessvoid.nifty.render.batch.spi.PackedVertexFormatBackend;
 import de.lessvoid.nifty.gdx.render.GdxImage;
 import de.lessvoid.nifty.render.BlendMode;
 import de.lessvoid.nifty.spi.render.MouseCursor;
@@ -28,11 +29,11 @@ import javax.annotation.Nullable;
  *
  * @author Aaron Mahan &lt;aaron@forerunnergames.com&gt;
  */
-public class GdxBatchRenderBackend implements BatchRenderBackend {
+public class GdxBatchRenderBackend implements BatchRenderBackend, PackedVertexFormatBackend {
   @Nonnull
   private static final Logger log = Logger.getLogger(BatchRenderBackendInternal.class.getName());
   @Nonnull
-  private final BatchRenderBackend internalBackend;
+  private final BatchRenderBackendInternal internalBackend;
 
   GdxBatchRenderBackend(@Nonnull final BatchRenderBackendInternal internalBackend) {
     this.internalBackend = internalBackend;
@@ -190,4 +191,9 @@ public class GdxBatchRenderBackend implements BatchRenderBackend {
   public void fillRemovedImagesInAtlas(boolean shouldFill) {
     internalBackend.fillRemovedImagesInAtlas(shouldFill);
   }
+
+  @Override
+  public void usePackedVertexFormat(boolean shouldUsePackedVertexFormat) {
+    internalBackend.usePackedVertexFormat(shouldUsePackedVertexFormat);
+  }
 }
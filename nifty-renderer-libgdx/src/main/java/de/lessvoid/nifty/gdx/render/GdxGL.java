@@ -4,7 +4,7 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL10;
 import com.badlogic.gdx.graphics.GL11;
 
-import de.lessvoid.nifty.render.batch.spi.GL;
+import de.lessvoid.nifty.render.batch.spi.PackedVertexGL;
 
 import java.nio.ByteBuffer;
 import java.nio.DoubleBuffer;
@@ -12,7 +12,7 @@ import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.ShortBuffer;
 
-public class GdxGL implements GL {
+public class GdxGL implements PackedVertexGL {
   @Override
   public int GL_ALPHA() {
     return GL10.GL_ALPHA;
@@ -323,6 +323,11 @@ public class GdxGL implements GL {
     Gdx.gl10.glColorPointer(size, type, stride, pointer);
   }
 
+  @Override
+  public void glColorPointer(int size, int type, int stride, ByteBuffer pointer) {
+    Gdx.gl10.glColorPointer(size, type, stride, pointer);
+  }
+
   @Override
   public void glDeleteTextures(int n, IntBuffer textures) {
     Gdx.gl10.glDeleteTextures(n, textures);
@@ -348,6 +353,11 @@ public class GdxGL implements GL {
     Gdx.gl11.glDrawElements(mode, count, type, indices);
   }
 
+  @Override
+  public void glDrawElements(int mode, int count, int type, ShortBuffer indices) {
+    Gdx.gl10.glDrawElements(mode, count, type, indices);
+  }
+
   @Override
   public void glEnable(int cap) {
     Gdx.gl10.glEnable(cap);
@@ -403,6 +413,11 @@ public class GdxGL implements GL {
     Gdx.gl10.glTexCoordPointer(size, type, stride, pointer);
   }
 
+  @Override
+  public void glTexCoordPointer(int size, int type, int stride, ByteBuffer pointer) {
+    Gdx.gl10.glTexCoordPointer(size, type, stride, pointer);
+  }
+
   @Override
   public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, ByteBuffer pixels) {
     Gdx.gl10.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
@@ -453,6 +468,11 @@ public class GdxGL implements GL {
     Gdx.gl10.glVertexPointer(size, type, stride, pointer);
   }
 
+  @Override
+  public void glVertexPointer(int size, int type, int stride, ByteBuffer pointer) {
+    Gdx.gl10.glVertexPointer(size, type, stride, pointer);
+  }
+
   @Override
   public void glViewport(int x, int y, int width, int height) {
     Gdx.gl10.glViewport(x, y, width, height);
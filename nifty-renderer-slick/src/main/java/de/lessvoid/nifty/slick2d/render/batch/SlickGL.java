@@ -1,6 +1,6 @@
 package de.lessvoid.nifty.slick2d.render.batch;
 
-import de.lessvoid.nifty.render.batch.spi.GL;
+import de.lessvoid.nifty.render.batch.spi.PackedVertexGL;
 
 import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.GL11;
@@ -11,7 +11,7 @@ import java.nio.*;
 /**
  * @author Aaron Mahan &lt;aaron@forerunnergames.com&gt;
  */
-public class SlickGL implements GL {
+public class SlickGL implements PackedVertexGL {
   @Override
   public int GL_ALPHA() {
     return GL11.GL_ALPHA;
@@ -322,6 +322,11 @@ public class SlickGL implements GL {
     GL11.glColorPointer(size, stride, pointer);
   }
 
+  @Override
+  public void glColorPointer(int size, int type, int stride, ByteBuffer pointer) {
+    GL11.glColorPointer(size, type, stride, pointer);
+  }
+
   @Override
   public void glDeleteTextures(int n, IntBuffer textures) {
     GL11.glDeleteTextures(textures);
@@ -347,6 +352,11 @@ public class SlickGL implements GL {
     GL11.glDrawElements(mode, count, type, indices);
   }
 
+  @Override
+  public void glDrawElements(int mode, int count, int type, ShortBuffer indices) {
+    GL11.glDrawElements(mode, indices);
+  }
+
   @Override
   public void glEnable(int cap) {
     GL11.glEnable(cap);
@@ -407,6 +417,11 @@ public class SlickGL implements GL {
     GL11.glTexCoordPointer(size, stride, pointer);
   }
 
+  @Override
+  public void glTexCoordPointer(int size, int type, int stride, ByteBuffer pointer) {
+    GL11.glTexCoordPointer(size, type, stride, pointer);
+  }
+
   @Override
   public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, ByteBuffer pixels) {
     GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
@@ -457,6 +472,11 @@ public class SlickGL implements GL {
     GL11.glVertexPointer(size, stride, pointer);
   }
 
+  @Override
+  public void glVertexPointer(int size, int type, int stride, ByteBuffer pointer) {
+    GL11.glVertexPointer(size, type, stride, pointer);
+  }
+
   @Override
   public void glViewport(int x, int y, int width, int height) {
     GL11.glViewport(x, y, width, height);
@@ -0,0 +1,57 @@
+package de.lessvoid.nifty.compiler;
+
+import de.lessvoid.nifty.loaderv2.compiled.CompiledXml;
+import de.lessvoid.nifty.loaderv2.compiled.CompiledXmlBundle;
+import de.lessvoid.nifty.loaderv2.compiled.NiftyXmlCompiler;
+import de.lessvoid.nifty.tools.resourceloader.FileSystemLocation;
+import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Command line front end of the {@link NiftyXmlCompiler}.
+ * <p/>
+ * Usage: {@code java -jar nifty-xml-compiler.jar [--resources dir]* <xml resource> <output file>}
+ * <p/>
+ * The xml file and all files it references are searched on the classpath, in the current directory and in all the
+ * directories given with "--resources".
+ *
+ * @author void
+ */
+public final class NiftyXmlCompilerMain {
+  private NiftyXmlCompilerMain() {
+  }
+
+  public static void main(@Nonnull final String[] args) throws Exception {
+    NiftyResourceLoader resourceLoader = new NiftyResourceLoader();
+    int i = 0;
+    while (i < args.length - 1 && "--resources".equals(args[i])) {
+      resourceLoader.addResourceLocation(new FileSystemLocation(new File(args[i + 1])));
+      i += 2;
+    }
+    if (args.length - i != 2) {
+      System.err.println("usage: NiftyXmlCompilerMain [--resources dir]* <xml resource> <output file>");
+      System.exit(1);
+      return;
+    }
+    String input = args[i];
+    File output = new File(args[i + 1]);
+
+    CompiledXmlBundle bundle = new NiftyXmlCompiler(resourceLoader).compile(input);
+    OutputStream out = new FileOutputStream(output);
+    try {
+      bundle.write(out);
+    } finally {
+      out.close();
+    }
+
+    for (Map.Entry<String, CompiledXml> entry : bundle.getFiles().entrySet()) {
+      System.out.println("compiled [" + entry.getKey() + "] with [" + entry.getValue().getNodeCount() + "] elements");
+    }
+    System.out.println("written [" + output + "] with [" + output.length() + "] bytes");
+  }
+}